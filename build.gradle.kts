@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils
  * CurrentFile build.gradle.kts
- * LastUpdate 2026-03-12 10:29:17
+ * LastUpdate 2026-10-18 23:22:58
  * UpdateUser MingLiPro
  */
 
@@ -63,6 +63,8 @@ dependencies {
     compileOnly("com.squareup.okhttp3:okhttp:5.3.2")
     compileOnly("com.fasterxml.jackson.core:jackson-databind:2.21.0")
     compileOnly("com.fasterxml.jackson.module:jackson-module-kotlin:2.21.0")
+    compileOnly("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.21.0")
+    compileOnly("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor:2.21.0")
     compileOnly("org.springframework:spring-context:5.3.0")
     compileOnly("org.springframework.boot:spring-boot-autoconfigure:2.7.16")
     compileOnly("tools.jackson.core:jackson-databind:3.1.0")
@@ -80,6 +82,10 @@ dependencies {
     testImplementation("com.google.code.gson:gson:2.13.2")
     testImplementation("com.fasterxml.jackson.core:jackson-databind:2.21.0")
     testImplementation("com.fasterxml.jackson.module:jackson-module-kotlin:2.21.0")
+    testImplementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.21.0")
+    testImplementation("tools.jackson.core:jackson-databind:3.1.0")
+    testImplementation("io.netty:netty-all:4.1.130.Final")
+    testImplementation("org.mindrot:jbcrypt:0.4")
 }
 
 
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile AesGcmEngine.kt
+ * LastUpdate 2026-10-18 23:20:16
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.aes
+
+import com.mingliqiye.utils.base.BaseType
+import com.mingliqiye.utils.hash.DigestPool
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.security.GeneralSecurityException
+import javax.crypto.AEADBadTagException
+import javax.crypto.Cipher
+import javax.crypto.CipherInputStream
+import javax.crypto.CipherOutputStream
+import javax.crypto.SecretKey
+import javax.crypto.ShortBufferException
+import javax.crypto.spec.GCMParameterSpec
+import javax.crypto.spec.SecretKeySpec
+
+/**
+ * AES-GCM 加解密引擎。
+ *
+ * 密钥在构造时确定，Cipher 按线程复用；密文格式为紧凑的二进制 `iv || ciphertext || tag`，
+ * 字符串形式只做一次 Base64URL 编码。实例线程安全，应长期持有并复用。
+ *
+ * 每次加密使用随机 12 字节 IV，同一密钥加密的消息数不宜超过 2^32 条。
+ *
+ * @property key AES 密钥（128/192/256 位）
+ */
+class AesGcmEngine(private val key: SecretKey) {
+
+    init {
+        require(key.algorithm.equals(ALGORITHM, ignoreCase = true)) {
+            "Key algorithm must be $ALGORITHM but was ${key.algorithm}"
+        }
+    }
+
+    companion object {
+        /**
+         * 密文中 IV 与认证标签的总长度
+         */
+        const val OVERHEAD = GCM_IV_LENGTH + GCM_TAG_LENGTH
+
+        private val ciphers = ThreadLocal.withInitial { Cipher.getInstance(TRANSFORMATION) }
+
+        /**
+         * 使用原始密钥字节创建引擎
+         *
+         * @param key 16、24 或 32 字节的 AES 密钥
+         * @return 引擎实例
+         */
+        @JvmStatic
+        fun of(key: ByteArray): AesGcmEngine {
+            require(key.size == 16 || key.size == 24 || key.size == 32) {
+                "AES key must be 16, 24 or 32 bytes but was ${key.size}"
+            }
+            return AesGcmEngine(SecretKeySpec(key, ALGORITHM))
+        }
+
+        /**
+         * 使用任意长度的字符串密钥创建引擎，密钥经 MD5 派生为 128 位，与 AesUtils 中的 encrypt/decrypt 兼容
+         *
+         * 不缓存实例，以免在内存中长期保留明文口令；派生开销为一次 MD5，
+         * 频繁使用同一口令时应自行持有返回的实例。
+         *
+         * @param sKey 字符串密钥
+         * @return 引擎实例
+         */
+        @JvmStatic
+        fun fromPassword(sKey: String): AesGcmEngine {
+            val digest = DigestPool.digest("MD5", sKey.toByteArray(StandardCharsets.UTF_8))
+            return AesGcmEngine(SecretKeySpec(digest, ALGORITHM))
+        }
+
+        /**
+         * 计算指定长度明文加密后的密文长度
+         *
+         * @param plaintextLength 明文长度
+         * @return 密文长度
+         */
+        @JvmStatic
+        fun sealedSize(plaintextLength: Int): Int = plaintextLength + OVERHEAD
+    }
+
+    /**
+     * 加密数据
+     *
+     * @param plaintext 明文
+     * @param associatedData 附加认证数据，可为 null
+     * @return `iv || ciphertext || tag`
+     * @throws GeneralSecurityException 加密错误
+     */
+    @Throws(GeneralSecurityException::class)
+    fun encrypt(plaintext: ByteArray, associatedData: ByteArray? = null): ByteArray {
+        val sealed = ByteArray(sealedSize(plaintext.size))
+        val iv = nextIv()
+        iv.copyInto(sealed)
+        val cipher = encryptCipher(iv, associatedData)
+        cipher.doFinal(plaintext, 0, plaintext.size, sealed, GCM_IV_LENGTH)
+        return sealed
+    }
+
+    /**
+     * 解密数据
+     *
+     * @param sealed `iv || ciphertext || tag`
+     * @param associatedData 加密时使用的附加认证数据，可为 null
+     * @return 明文
+     * @throws AEADBadTagException 密文被篡改、密钥错误或长度不足时抛出
+     * @throws GeneralSecurityException 解密错误
+     */
+    @Throws(GeneralSecurityException::class)
+    fun decrypt(sealed: ByteArray, associatedData: ByteArray? = null): ByteArray {
+        if (sealed.size < OVERHEAD) {
+            throw AEADBadTagException("Sealed data too short: ${sealed.size} bytes")
+        }
+        val cipher = decryptCipher(GCMParameterSpec(GCM_TAG_LENGTH * 8, sealed, 0, GCM_IV_LENGTH), associatedData)
+        return cipher.doFinal(sealed, GCM_IV_LENGTH, sealed.size - GCM_IV_LENGTH)
+    }
+
+    /**
+     * 加密字符串，结果为 `iv || ciphertext || tag` 的 Base64URL 编码
+     *
+     * @param plaintext 明文字符串
+     * @return Base64URL 字符串
+     * @throws GeneralSecurityException 加密错误
+     */
+    @Throws(GeneralSecurityException::class)
+    fun encryptToString(plaintext: String): String {
+        return BaseType.BASE64URL.encode(encrypt(plaintext.toByteArray(StandardCharsets.UTF_8)))
+    }
+
+    /**
+     * 解密 [encryptToString] 生成的字符串
+     *
+     * @param token Base64URL 字符串
+     * @return 明文字符串
+     * @throws IllegalArgumentException 不是合法的 Base64URL 时抛出
+     * @throws GeneralSecurityException 解密错误
+     */
+    @Throws(GeneralSecurityException::class)
+    fun decryptToString(token: String): String {
+        return String(decrypt(BaseType.BASE64URL.decode(token)), StandardCharsets.UTF_8)
+    }
+
+    /**
+     * 加密 input 的剩余数据并写入 output，两者可以是直接缓冲区
+     *
+     * 写入 `iv || ciphertext || tag`，input 的 position 移动到 limit，output 的 position 前移写入的字节数。
+     *
+     * @param input 明文
+     * @param output 输出缓冲区，剩余空间至少为 [sealedSize]
+     * @return 写入的字节数
+     * @throws ShortBufferException 输出空间不足时抛出
+     * @throws GeneralSecurityException 加密错误
+     */
+    @Throws(GeneralSecurityException::class)
+    fun encrypt(input: ByteBuffer, output: ByteBuffer): Int {
+        val required = sealedSize(input.remaining())
+        if (output.remaining() < required) {
+            throw ShortBufferException("Output buffer needs $required bytes but has ${output.remaining()}")
+        }
+        val iv = nextIv()
+        val cipher = encryptCipher(iv, null)
+        output.put(iv, 0, GCM_IV_LENGTH)
+        return GCM_IV_LENGTH + cipher.doFinal(input, output)
+    }
+
+    /**
+     * 解密 input 中的 `iv || ciphertext || tag` 并写入 output
+     *
+     * @param input 密文
+     * @param output 输出缓冲区，剩余空间至少为密文长度减去 [OVERHEAD]
+     * @return 写入的明文字节数
+     * @throws AEADBadTagException 认证失败时抛出
+     * @throws GeneralSecurityException 解密错误
+     */
+    @Throws(GeneralSecurityException::class)
+    fun decrypt(input: ByteBuffer, output: ByteBuffer): Int {
+        if (input.remaining() < OVERHEAD) {
+            throw AEADBadTagException("Sealed data too short: ${input.remaining()} bytes")
+        }
+        val iv = ByteArray(GCM_IV_LENGTH)
+        input.get(iv)
+        return decryptCipher(GCMParameterSpec(GCM_TAG_LENGTH * 8, iv), null).doFinal(input, output)
+    }
+
+    /**
+     * 原地加密缓冲区
+     *
+     * 调用前 position 起的 [GCM_IV_LENGTH] 字节为预留的 IV 空间，其后到 limit 为明文，
+     * limit 之后至少还有 [GCM_TAG_LENGTH] 字节容量。调用后 position 到 limit 为 `iv || ciphertext || tag`。
+     *
+     * @param buffer 缓冲区
+     * @return 密文总长度
+     * @throws ShortBufferException 空间不足时抛出
+     * @throws GeneralSecurityException 加密错误
+     */
+    @Throws(GeneralSecurityException::class)
+    fun encryptInPlace(buffer: ByteBuffer): Int {
+        val start = buffer.position()
+        if (buffer.remaining() < GCM_IV_LENGTH || buffer.capacity() - buffer.limit() < GCM_TAG_LENGTH) {
+            throw ShortBufferException("Buffer needs $GCM_IV_LENGTH bytes before and $GCM_TAG_LENGTH bytes after the plaintext")
+        }
+        val iv = nextIv()
+        buffer.put(start, iv)
+        val src = buffer.duplicate().position(start + GCM_IV_LENGTH)
+        val dst = buffer.duplicate().limit(buffer.capacity()).position(start + GCM_IV_LENGTH)
+        val written = encryptCipher(iv, null).doFinal(src, dst)
+        buffer.limit(start + GCM_IV_LENGTH + written)
+        return GCM_IV_LENGTH + written
+    }
+
+    /**
+     * 原地解密缓冲区
+     *
+     * 调用前 position 到 limit 为 `iv || ciphertext || tag`，调用后 position 到 limit 为明文。
+     *
+     * @param buffer 缓冲区
+     * @return 明文长度
+     * @throws AEADBadTagException 认证失败时抛出
+     * @throws GeneralSecurityException 解密错误
+     */
+    @Throws(GeneralSecurityException::class)
+    fun decryptInPlace(buffer: ByteBuffer): Int {
+        val start = buffer.position()
+        if (buffer.remaining() < OVERHEAD) {
+            throw AEADBadTagException("Sealed data too short: ${buffer.remaining()} bytes")
+        }
+        val iv = ByteArray(GCM_IV_LENGTH)
+        buffer.get(start, iv)
+        val src = buffer.duplicate().position(start + GCM_IV_LENGTH)
+        val dst = buffer.duplicate().position(start + GCM_IV_LENGTH)
+        val written = decryptCipher(GCMParameterSpec(GCM_TAG_LENGTH * 8, iv), null).doFinal(src, dst)
+        buffer.position(start + GCM_IV_LENGTH).limit(start + GCM_IV_LENGTH + written)
+        return written
+    }
+
+    /**
+     * 创建加密输出流，适合大数据量
+     *
+     * 立即向 out 写入 IV，之后写入的数据加密后输出；关闭时写入认证标签并关闭 out。
+     *
+     * @param out 目标输出流
+     * @return 加密输出流
+     * @throws IOException 写入 IV 失败时抛出
+     * @throws GeneralSecurityException 初始化错误
+     */
+    @Throws(IOException::class, GeneralSecurityException::class)
+    fun newEncryptingStream(out: OutputStream): OutputStream {
+        val iv = nextIv()
+        // 流的生命周期跨越多次调用，不能使用线程复用的 Cipher
+        val cipher = Cipher.getInstance(TRANSFORMATION)
+        cipher.init(Cipher.ENCRYPT_MODE, key, GCMParameterSpec(GCM_TAG_LENGTH * 8, iv))
+        out.write(iv)
+        return CipherOutputStream(out, cipher)
+    }
+
+    /**
+     * 创建解密输入流，读取 [newEncryptingStream] 写出的数据
+     *
+     * GCM 需要在末尾校验认证标签，JDK 实现会在读到流末尾前缓存密文，认证失败时读取抛出 IOException。
+     *
+     * @param input 密文输入流
+     * @return 明文输入流
+     * @throws IOException IV 读取失败时抛出
+     * @throws GeneralSecurityException 初始化错误
+     */
+    @Throws(IOException::class, GeneralSecurityException::class)
+    fun newDecryptingStream(input: InputStream): InputStream {
+        val iv = input.readNBytes(GCM_IV_LENGTH)
+        if (iv.size != GCM_IV_LENGTH) {
+            throw IOException("Truncated stream: missing IV")
+        }
+        val cipher = Cipher.getInstance(TRANSFORMATION)
+        cipher.init(Cipher.DECRYPT_MODE, key, GCMParameterSpec(GCM_TAG_LENGTH * 8, iv))
+        return CipherInputStream(input, cipher)
+    }
+
+    private fun nextIv(): ByteArray {
+        val iv = ByteArray(GCM_IV_LENGTH)
+        SECURE_RANDOM.nextBytes(iv)
+        return iv
+    }
+
+    private fun encryptCipher(iv: ByteArray, associatedData: ByteArray?): Cipher {
+        val cipher = ciphers.get()
+        cipher.init(Cipher.ENCRYPT_MODE, key, GCMParameterSpec(GCM_TAG_LENGTH * 8, iv))
+        associatedData?.let { cipher.updateAAD(it) }
+        return cipher
+    }
+
+    private fun decryptCipher(spec: GCMParameterSpec, associatedData: ByteArray?): Cipher {
+        val cipher = ciphers.get()
+        cipher.init(Cipher.DECRYPT_MODE, key, spec)
+        associatedData?.let { cipher.updateAAD(it) }
+        return cipher
+    }
+}
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile AesUtils.kt
- * LastUpdate 2026-03-12 10:34:36
+ * LastUpdate 2026-10-19 00:10:12
  * UpdateUser MingLiPro
  */
 
@@ -26,19 +26,17 @@
 package com.mingliqiye.utils.aes
 
 import com.mingliqiye.utils.base.BaseType
+import com.mingliqiye.utils.random.RandomSources
 import java.nio.charset.StandardCharsets
 import java.security.GeneralSecurityException
-import java.security.MessageDigest
 import java.security.SecureRandom
-import javax.crypto.Cipher
-import javax.crypto.spec.GCMParameterSpec
-import javax.crypto.spec.SecretKeySpec
 
 const val ALGORITHM = "AES"
 const val TRANSFORMATION = "AES/GCM/NoPadding"
 const val GCM_IV_LENGTH = 12
 const val GCM_TAG_LENGTH = 16
-val SECURE_RANDOM = SecureRandom()
+val SECURE_RANDOM: SecureRandom
+    get() = RandomSources.secure()
 
 
 /**
@@ -54,23 +52,10 @@ fun encrypt(sSrc: String, sKey: String?): String? {
         return null
     }
 
-    // 生成密钥
-    val secretKeySpec = createSecretKey(sKey)
-
-    // 生成安全随机IV
-    val iv = ByteArray(GCM_IV_LENGTH)
-    SECURE_RANDOM.nextBytes(iv)
-
-    // 初始化加密器
-    val cipher = Cipher.getInstance(TRANSFORMATION)
-    val gcmParameterSpec = GCMParameterSpec(
-        GCM_TAG_LENGTH * 8, iv
-    )
-    cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, gcmParameterSpec)
-
-    val encrypted = cipher.doFinal(
-        sSrc.toByteArray(StandardCharsets.UTF_8)
-    )
+    // 每次调用都按口令重新派生 MD5 密钥（不缓存口令），加密器按线程复用，输出保持旧格式
+    val sealed = AesGcmEngine.fromPassword(sKey).encrypt(sSrc.toByteArray(StandardCharsets.UTF_8))
+    val iv = sealed.copyOfRange(0, GCM_IV_LENGTH)
+    val encrypted = sealed.copyOfRange(GCM_IV_LENGTH, sealed.size)
     return BaseType.BASE64.encode(
         "${BaseType.BASE64.encode(iv)}:${BaseType.BASE64.encode(encrypted)}".toByteArray()
     )
@@ -95,29 +80,9 @@ fun decrypt(sSrc: String, sKey: String): String? {
         if (iv.size != GCM_IV_LENGTH) {
             return null
         }
-        val secretKeySpec = createSecretKey(sKey)
-        val cipher = Cipher.getInstance(TRANSFORMATION)
-        val gcmParameterSpec = GCMParameterSpec(
-            GCM_TAG_LENGTH * 8, iv
-        )
-        cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, gcmParameterSpec)
-        val original = cipher.doFinal(encryptedData)
+        val original = AesGcmEngine.fromPassword(sKey).decrypt(iv + encryptedData)
         return String(original, StandardCharsets.UTF_8)
     } catch (e: Exception) {
         return null
     }
 }
-
-/**
- * 创建AES密钥，支持任意长度的密钥
- * @param sKey 字符串密钥
- * @return SecretKeySpec对象
- * @throws Exception 可能抛出的异常
- */
-@Throws(Exception::class)
-private fun createSecretKey(sKey: String): SecretKeySpec {
-    val key = sKey.toByteArray(StandardCharsets.UTF_8)
-    val md = MessageDigest.getInstance("MD5")
-    val digest = md.digest(key)
-    return SecretKeySpec(digest, ALGORITHM)
-}
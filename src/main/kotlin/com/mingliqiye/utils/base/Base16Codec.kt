@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile Base16Codec.kt
- * LastUpdate 2026-03-12 10:34:36
+ * LastUpdate 2026-10-18 22:08:31
  * UpdateUser MingLiPro
  */
 
@@ -27,16 +27,25 @@ package com.mingliqiye.utils.base
  * 提供字节数组与十六进制字符串之间的相互转换功能
  */
 internal class Base16Codec : BaseCodec {
+
+    companion object {
+        private val HEX_DIGITS = "0123456789abcdef".toCharArray()
+    }
+
     /**
      * 将字节数组编码为十六进制字符串
      * @param bytes 待编码的字节数组
      * @return 编码后的十六进制字符串，每个字节对应两位十六进制字符
      */
     override fun encode(bytes: ByteArray): String {
-        // 将每个字节转换为两位十六进制字符串并拼接
-        return bytes.joinToString("") {
-            it.toInt().and(0xff).toString(16).padStart(2, '0')
+        // 查表将每个字节写为两位十六进制字符，不创建中间字符串
+        val chars = CharArray(bytes.size * 2)
+        for (i in bytes.indices) {
+            val v = bytes[i].toInt() and 0xff
+            chars[i * 2] = HEX_DIGITS[v ushr 4]
+            chars[i * 2 + 1] = HEX_DIGITS[v and 0x0f]
         }
+        return String(chars)
     }
 
     /**
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile BcryptService.kt
+ * LastUpdate 2026-10-19 00:24:09
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.bcrypt
+
+import com.mingliqiye.utils.concurrent.NamedThreadFactory
+import com.mingliqiye.utils.random.RandomSources
+import com.mingliqiye.utils.system.availableProcessors
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.function.Supplier
+import org.mindrot.jbcrypt.BCrypt as JBCrypt
+
+/**
+ * BCrypt 异步计算服务。
+ *
+ * 哈希与校验在独立的有界线程池中执行，调用线程只拿到 CompletableFuture，
+ * 登录高峰时不会占满 Web 请求线程；队列已满时返回的 Future 以 RejectedExecutionException 失败。
+ *
+ * @param threads 工作线程数，默认等于 CPU 核心数
+ * @param queueCapacity 等待队列容量，默认每个线程 64 个任务
+ * @param cost 初始工作因子（4-31）
+ * @param name 工作线程名称前缀
+ */
+class BcryptService(
+    threads: Int = availableProcessors,
+    queueCapacity: Int = threads * 64,
+    cost: Int = DEFAULT_COST,
+    name: String = "BcryptService",
+) : AutoCloseable {
+
+    companion object {
+        /**
+         * 默认工作因子
+         */
+        const val DEFAULT_COST = 10
+
+        /**
+         * 允许的最小工作因子
+         */
+        const val MIN_COST = 4
+
+        /**
+         * 允许的最大工作因子
+         */
+        const val MAX_COST = 31
+
+        private val defaultService by lazy { BcryptService() }
+
+        /**
+         * 获取共享的默认实例
+         *
+         * @return 默认实例
+         */
+        @JvmStatic
+        fun getDefault(): BcryptService = defaultService
+
+        /**
+         * 在当前线程上测量并选出耗时不超过目标时间的最大工作因子
+         *
+         * 从 minCost 开始逐级测量，每提高 1 级耗时约翻倍，下一级预计超过目标时停止；
+         * 若 minCost 已超过目标时间仍返回 minCost。
+         *
+         * @param targetMillis 单次哈希的目标耗时（毫秒）
+         * @param minCost 最小工作因子
+         * @param maxCost 最大工作因子
+         * @return 工作因子
+         */
+        @JvmStatic
+        fun calibrateCost(targetMillis: Long, minCost: Int = DEFAULT_COST, maxCost: Int = MAX_COST): Int {
+            require(targetMillis > 0) { "targetMillis must be positive" }
+            checkCost(minCost)
+            checkCost(maxCost)
+            require(minCost <= maxCost) { "minCost must not exceed maxCost" }
+            // 预热，避免首次测量包含 JIT 编译时间
+            repeat(8) { JBCrypt.hashpw("calibrate", JBCrypt.gensalt(MIN_COST)) }
+            val targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis)
+            var cost = minCost
+            while (cost < maxCost) {
+                val salt = JBCrypt.gensalt(cost, RandomSources.secure())
+                val start = System.nanoTime()
+                JBCrypt.hashpw("calibrate", salt)
+                val elapsed = System.nanoTime() - start
+                if (elapsed > targetNanos) {
+                    return maxOf(minCost, cost - 1)
+                }
+                if (elapsed * 2 > targetNanos) {
+                    return cost
+                }
+                cost++
+            }
+            return cost
+        }
+
+        private fun checkCost(cost: Int) {
+            require(cost in MIN_COST..MAX_COST) { "cost must be in $MIN_COST..$MAX_COST but was $cost" }
+        }
+    }
+
+    private val executor: ThreadPoolExecutor
+
+    private val rejected = AtomicLong()
+
+    /**
+     * 当前用于生成新哈希的工作因子，校验已有哈希时使用哈希中自带的工作因子
+     */
+    @Volatile
+    var cost: Int = cost
+        set(value) {
+            checkCost(value)
+            field = value
+        }
+
+    init {
+        require(threads > 0) { "threads must be positive" }
+        require(queueCapacity > 0) { "queueCapacity must be positive" }
+        checkCost(cost)
+        val factory = NamedThreadFactory.of(name)
+        executor = ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS, ArrayBlockingQueue(queueCapacity),
+            ThreadFactory { r -> factory.newThread(r).also { it.isDaemon = true } }
+        )
+    }
+
+    /**
+     * 等待执行的任务数
+     */
+    val queueDepth: Int
+        get() = executor.queue.size
+
+    /**
+     * 正在执行的任务数
+     */
+    val activeCount: Int
+        get() = executor.activeCount
+
+    /**
+     * 已完成的任务数（近似值）
+     */
+    val completedCount: Long
+        get() = executor.completedTaskCount
+
+    /**
+     * 因队列已满或服务已关闭而被拒绝的任务数
+     */
+    val rejectedCount: Long
+        get() = rejected.get()
+
+    /**
+     * 使用当前工作因子异步计算哈希
+     *
+     * @param password 明文
+     * @return 完成时为 BCrypt 哈希字符串
+     */
+    fun hash(password: String): CompletableFuture<String> {
+        val cost = cost
+        return submit { JBCrypt.hashpw(password, JBCrypt.gensalt(cost, RandomSources.secure())) }
+    }
+
+    /**
+     * 异步校验明文与哈希是否匹配
+     *
+     * @param password 明文
+     * @param hashed BCrypt 哈希字符串
+     * @return 完成时为是否匹配；哈希格式错误时以 IllegalArgumentException 失败
+     */
+    fun check(password: String, hashed: String): CompletableFuture<Boolean> {
+        return submit { JBCrypt.checkpw(password, hashed) }
+    }
+
+    /**
+     * 在工作线程上重新测量并更新工作因子，使单次哈希耗时接近目标时间
+     *
+     * @param targetMillis 单次哈希的目标耗时（毫秒）
+     * @param minCost 最小工作因子
+     * @return 完成时为新的工作因子
+     */
+    fun calibrate(targetMillis: Long, minCost: Int = DEFAULT_COST): CompletableFuture<Int> {
+        return submit { calibrateCost(targetMillis, minCost).also { cost = it } }
+    }
+
+    private fun <T> submit(task: Supplier<T>): CompletableFuture<T> {
+        return try {
+            CompletableFuture.supplyAsync(task, executor)
+        } catch (e: RejectedExecutionException) {
+            rejected.incrementAndGet()
+            CompletableFuture.failedFuture(e)
+        }
+    }
+
+    /**
+     * 关闭服务，已提交的任务会继续执行完毕
+     */
+    override fun close() {
+        executor.shutdown()
+    }
+}
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile ByteBufferUtils.kt
- * LastUpdate 2026-03-11 08:46:40
+ * LastUpdate 2026-10-19 00:26:52
  * UpdateUser MingLiPro
  */
 
@@ -214,48 +214,81 @@ fun ByteArray.toByteBuffer(): ByteBuffer {
  * - 如果最高位为1，则表示还有下一个字节；
  * - 如果最高位为0，则表示当前字节是最后一个字节。
  *
- * @param size 最大允许读取的字节数，默认为8（即Long类型的最大长度）。
+ * @param size 最大允许读取的字节数，默认为10（即Long类型的最大长度）。
  * @return 解码后的长整型数值。
- * @throws IOException 当读取过程中发生IO异常时抛出。
+ * @throws IOException 当编码长度超过size时抛出。
  */
-fun ByteBuffer.getVarLong(size: Int = 8): Long {
-    var numRead = 0
-    var result: Long = 0
-    var read: Byte
+fun ByteBuffer.getVarLong(size: Int = MAX_VAR_LONG_SIZE): Long {
+    var read = this.get().toInt()
+    if (read >= 0) {
+        return read.toLong()
+    }
+    var result = (read and 127).toLong()
+    var numRead = 1
     do {
-        read = this.get()
-        // 将当前字节的有效7位数据左移相应位置后与结果进行按位或运算
-        result = result or ((read.toLong() and 127) shl (7 * numRead))
-        numRead++
-        if (numRead > size) {
+        if (numRead >= size) {
             throw IOException("VarNumber is too big")
         }
-    } while ((read.toLong() and 128) != 0L)
+        read = this.get().toInt()
+        // 将当前字节的有效7位数据左移相应位置后与结果进行按位或运算
+        result = result or ((read and 127).toLong() shl (7 * numRead))
+        numRead++
+    } while (read < 0)
     return result
 }
 
 /**
  * 从ByteBuffer中读取一个变长整数（VarNumber），返回Int类型。
  *
+ * 1 到 3 字节的数值走展开的快速路径，最多读取5个字节，第5个字节只允许低4位有值。
+ *
  * @return 解码后的整型数值。
+ * @throws IOException 当编码长度超过5个字节或数值超出32位时抛出。
  */
-fun ByteBuffer.getVarInt(): Int = this.getVarLong(4).toInt()
+fun ByteBuffer.getVarInt(): Int {
+    var read = this.get().toInt()
+    if (read >= 0) {
+        return read
+    }
+    var result = read and 127
+    read = this.get().toInt()
+    if (read >= 0) {
+        return result or (read shl 7)
+    }
+    result = result or ((read and 127) shl 7)
+    read = this.get().toInt()
+    if (read >= 0) {
+        return result or (read shl 14)
+    }
+    result = result or ((read and 127) shl 14)
+    read = this.get().toInt()
+    if (read >= 0) {
+        return result or (read shl 21)
+    }
+    result = result or ((read and 127) shl 21)
+    read = this.get().toInt()
+    // 第5个字节只剩4位有效数据，超出部分无法放入 Int
+    if ((read and 0xF0) != 0) {
+        throw IOException("VarNumber is too big")
+    }
+    return result or (read shl 28)
+}
 
 /**
  * 从ByteBuffer中读取一个变长整数（VarNumber），返回Short类型。
  *
  * @return 解码后的短整型数值。
  */
-fun ByteBuffer.getVarShort(): Short = this.getVarLong(2).toShort()
+fun ByteBuffer.getVarShort(): Short = this.getVarLong(3).toShort()
 
 /**
- * 从输入流中读取一个变长长整数（VarLong），最大长度默认为8个字节。
+ * 从输入流中读取一个变长长整数（VarLong），最大长度为10个字节。
  *
  * @return 解码后的长整型数值。
  * @throws IOException 当读取过程中发生IO异常时抛出。
  */
 @Throws(IOException::class)
-fun ByteBuffer.getVarLong(): Long = this.getVarLong(8)
+fun ByteBuffer.getVarLong(): Long = this.getVarLong(MAX_VAR_LONG_SIZE)
 
 
 /**
@@ -265,14 +298,19 @@ fun ByteBuffer.getVarLong(): Long = this.getVarLong(8)
  * - 如果数值还有更多字节，则最高位设为1；
  * - 最后一个字节最高位设为0。
  *
+ * 数值按无符号处理，负数占用10个字节；有符号数值建议使用 [putSignedVarLong]。
+ *
  * @param value 要写入的长整型数值
  * @return 当前ByteBuffer实例（支持链式调用）
  */
 fun ByteBuffer.putVarLong(value: Long): ByteBuffer {
+    if (value ushr 28 == 0L) {
+        return this.putVarInt(value.toInt())
+    }
     var v = value
-    while (v >= 0x80) {
+    while (v and 0x7FL.inv() != 0L) {
         this.put((v and 0x7F or 0x80).toByte())
-        v = v shr 7
+        v = v ushr 7
     }
     this.put(v.toByte())
     return this
@@ -281,18 +319,41 @@ fun ByteBuffer.putVarLong(value: Long): ByteBuffer {
 /**
  * 将整型数值编码为变长格式并写入ByteBuffer
  *
+ * 数值按无符号32位处理，最多占用5个字节；1 到 3 字节的数值走展开的快速路径。
+ *
  * @param value 要写入的整型数值
  * @return 当前ByteBuffer实例（支持链式调用）
  */
-fun ByteBuffer.putVarInt(value: Int): ByteBuffer = this.putVarLong(value.toLong())
+fun ByteBuffer.putVarInt(value: Int): ByteBuffer {
+    if (value and (-1 shl 7) == 0) {
+        this.put(value.toByte())
+    } else if (value and (-1 shl 14) == 0) {
+        this.put((value or 0x80).toByte())
+        this.put((value ushr 7).toByte())
+    } else if (value and (-1 shl 21) == 0) {
+        this.put((value or 0x80).toByte())
+        this.put((value ushr 7 or 0x80).toByte())
+        this.put((value ushr 14).toByte())
+    } else {
+        var v = value
+        while (v and 0x7F.inv() != 0) {
+            this.put((v or 0x80).toByte())
+            v = v ushr 7
+        }
+        this.put(v.toByte())
+    }
+    return this
+}
 
 /**
  * 将短整型数值编码为变长格式并写入ByteBuffer
  *
+ * 数值按无符号16位处理，最多占用3个字节。
+ *
  * @param value 要写入的短整型数值
  * @return 当前ByteBuffer实例（支持链式调用）
  */
-fun ByteBuffer.putVarShort(value: Short): ByteBuffer = this.putVarLong(value.toLong())
+fun ByteBuffer.putVarShort(value: Short): ByteBuffer = this.putVarInt(value.toInt() and 0xFFFF)
 
 
 fun ByteBuffer.writeStream(outputStream: OutputStream) = outputStream.write(this.toByteArray())
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile StreamUtils.kt
- * LastUpdate 2026-01-11 09:41:14
+ * LastUpdate 2026-10-19 00:26:52
  * UpdateUser MingLiPro
  */
 @file:JvmName("StreamUtils")
@@ -35,12 +35,12 @@ import java.io.OutputStream
  * - 如果最高位为1，则表示还有下一个字节；
  * - 如果最高位为0，则表示当前字节是最后一个字节。
  *
- * @param size 最大允许读取的字节数，默认为8（即Long类型的最大长度）。
+ * @param size 最大允许读取的字节数，默认为10（即Long类型的最大长度）。
  * @return 解码后的长整型数值。
  * @throws IOException 当读取过程中发生IO异常或到达流末尾时抛出。
  */
 @Throws(IOException::class)
-fun InputStream.readVarNumber(size: Int = 8): Long {
+fun InputStream.readVarNumber(size: Int = MAX_VAR_LONG_SIZE): Long {
     var numRead = 0
     var result: Long = 0
     var read: Byte
@@ -61,27 +61,33 @@ fun InputStream.readVarNumber(size: Int = 8): Long {
 }
 
 /**
- * 从输入流中读取一个变长整数（VarInt），最大长度限制为4个字节。
+ * 从输入流中读取一个变长整数（VarInt），最大长度限制为5个字节。
  *
  * @return 解码后的整型数值。
- * @throws IOException 当读取过程中发生IO异常时抛出。
+ * @throws IOException 当读取过程中发生IO异常或数值超出32位时抛出。
  */
 @Throws(IOException::class)
-fun InputStream.readVarInt(): Int = this.readVarNumber(4).toInt()
+fun InputStream.readVarInt(): Int {
+    val value = this.readVarNumber(MAX_VAR_INT_SIZE)
+    if (value ushr 32 != 0L) {
+        throw IOException("VarNumber is too big")
+    }
+    return value.toInt()
+}
 
 
 /**
- * 从输入流中读取一个变长短整数（VarShort），最大长度限制为2个字节。
+ * 从输入流中读取一个变长短整数（VarShort），最大长度限制为3个字节。
  *
  * @return 解码后的短整型数值。
  * @throws IOException 当读取过程中发生IO异常时抛出。
  */
 @Throws(IOException::class)
-fun InputStream.readVarShort(): Short = this.readVarNumber(2).toShort()
+fun InputStream.readVarShort(): Short = this.readVarNumber(3).toShort()
 
 
 /**
- * 从输入流中读取一个变长长整数（VarLong），最大长度默认为8个字节。
+ * 从输入流中读取一个变长长整数（VarLong），最大长度为10个字节。
  *
  * @return 解码后的长整型数值。
  * @throws IOException 当读取过程中发生IO异常时抛出。
@@ -96,26 +102,20 @@ fun InputStream.readVarLong(): Long = this.readVarNumber()
  * - 如果数值还有更多字节，则最高位设为1；
  * - 最后一个字节最高位设为0。
  *
+ * 数值按无符号处理，编码后一次性写入输出流。
+ *
  * @param value 要写入的长整型数值
- * @param size 最大允许写入的字节数，默认为8
- * @throws IOException 当写入过程中发生IO异常时抛出
+ * @param size 最大允许写入的字节数，默认为10
+ * @throws IOException 当写入过程中发生IO异常或编码长度超过size时抛出
  */
 @Throws(IOException::class)
-fun OutputStream.writeVarNumber(value: Long, size: Int = 8) {
-    var v = value
-    var numWritten = 0
-
-    while (v >= 0x80 && numWritten < size - 1) {
-        this.write((v and 0x7F or 0x80).toInt())
-        v = v ushr 7
-        numWritten++
-    }
-
-    if (numWritten >= size) {
+fun OutputStream.writeVarNumber(value: Long, size: Int = MAX_VAR_LONG_SIZE) {
+    val bytes = ByteArray(MAX_VAR_LONG_SIZE)
+    val numWritten = writeVarLong(bytes, 0, value)
+    if (numWritten > size) {
         throw IOException("VarNumber is too big")
     }
-
-    this.write(v.toInt())
+    this.write(bytes, 0, numWritten)
 }
 
 /**
@@ -125,7 +125,7 @@ fun OutputStream.writeVarNumber(value: Long, size: Int = 8) {
  * @throws IOException 当写入过程中发生IO异常时抛出
  */
 @Throws(IOException::class)
-fun OutputStream.writeVarInt(value: Int): Unit = this.writeVarNumber(value.toLong(), 4)
+fun OutputStream.writeVarInt(value: Int): Unit = this.writeVarNumber(value.toLong() and 0xFFFFFFFFL, MAX_VAR_INT_SIZE)
 
 /**
  * 将短整型数值编码为变长格式并写入输出流
@@ -134,7 +134,7 @@ fun OutputStream.writeVarInt(value: Int): Unit = this.writeVarNumber(value.toLon
  * @throws IOException 当写入过程中发生IO异常时抛出
  */
 @Throws(IOException::class)
-fun OutputStream.writeVarShort(value: Short): Unit = this.writeVarNumber(value.toLong(), 2)
+fun OutputStream.writeVarShort(value: Short): Unit = this.writeVarNumber(value.toLong() and 0xFFFFL, 3)
 
 /**
  * 将长整型数值编码为变长格式并写入输出流
@@ -143,4 +143,4 @@ fun OutputStream.writeVarShort(value: Short): Unit = this.writeVarNumber(value.t
  * @throws IOException 当写入过程中发生IO异常时抛出
  */
 @Throws(IOException::class)
-fun OutputStream.writeVarLong(value: Long): Unit = this.writeVarNumber(value, 8)
+fun OutputStream.writeVarLong(value: Long): Unit = this.writeVarNumber(value, MAX_VAR_LONG_SIZE)
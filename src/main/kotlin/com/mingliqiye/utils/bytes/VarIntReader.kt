@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile VarIntReader.kt
+ * LastUpdate 2026-10-19 00:26:52
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.bytes
+
+import java.io.Closeable
+import java.io.EOFException
+import java.io.IOException
+import java.io.InputStream
+
+/**
+ * 带缓冲的变长整数读取器。
+ *
+ * 在内部缓冲区上直接解码，避免每个字节一次 InputStream.read() 调用；缓冲区剩余字节足够时走无边界检查的快速路径。
+ * 非线程安全。
+ *
+ * @param input 输入流
+ * @param bufferSize 缓冲区大小，默认 8KB
+ */
+class VarIntReader(private val input: InputStream, bufferSize: Int = 8192) : Closeable {
+
+    private val buffer = ByteArray(maxOf(bufferSize, MAX_VAR_LONG_SIZE))
+    private var position = 0
+    private var limit = 0
+
+    /**
+     * 读取一个字节
+     *
+     * @return 字节值
+     * @throws EOFException 到达流末尾时抛出
+     */
+    @Throws(IOException::class)
+    fun readByte(): Byte {
+        if (position == limit && !fill()) {
+            throw EOFException("Reached end of stream")
+        }
+        return buffer[position++]
+    }
+
+    /**
+     * 读取一个无符号变长整数
+     *
+     * @return 整数
+     * @throws IOException 编码长度超过5个字节、数值超出32位或到达流末尾时抛出
+     */
+    @Throws(IOException::class)
+    fun readVarInt(): Int {
+        if (limit - position >= MAX_VAR_INT_SIZE) {
+            var read = buffer[position++].toInt()
+            if (read >= 0) {
+                return read
+            }
+            var result = read and 127
+            var shift = 7
+            do {
+                read = buffer[position++].toInt()
+                // 第5个字节只允许低4位有值，且不能再有后续字节
+                if (shift == 28 && (read and 0xF0) != 0) {
+                    throw IOException("VarNumber is too big")
+                }
+                result = result or ((read and 127) shl shift)
+                shift += 7
+            } while (read < 0)
+            return result
+        }
+        val value = readVarLongSlow(MAX_VAR_INT_SIZE)
+        if (value ushr 32 != 0L) {
+            throw IOException("VarNumber is too big")
+        }
+        return value.toInt()
+    }
+
+    /**
+     * 读取一个无符号变长长整数
+     *
+     * @return 长整数
+     * @throws IOException 编码长度超过10个字节或到达流末尾时抛出
+     */
+    @Throws(IOException::class)
+    fun readVarLong(): Long {
+        if (limit - position >= MAX_VAR_LONG_SIZE) {
+            var read = buffer[position++].toInt()
+            var result = (read and 127).toLong()
+            var shift = 7
+            while (read < 0) {
+                if (shift > 63) {
+                    throw IOException("VarNumber is too big")
+                }
+                read = buffer[position++].toInt()
+                result = result or ((read and 127).toLong() shl shift)
+                shift += 7
+            }
+            return result
+        }
+        return readVarLongSlow(MAX_VAR_LONG_SIZE)
+    }
+
+    /**
+     * 读取一个 ZigZag 编码的有符号变长整数
+     *
+     * @return 有符号整数
+     * @throws IOException 编码错误或到达流末尾时抛出
+     */
+    @Throws(IOException::class)
+    fun readSignedVarInt(): Int = zigZagDecode(readVarInt())
+
+    /**
+     * 读取一个 ZigZag 编码的有符号变长长整数
+     *
+     * @return 有符号长整数
+     * @throws IOException 编码错误或到达流末尾时抛出
+     */
+    @Throws(IOException::class)
+    fun readSignedVarLong(): Long = zigZagDecode(readVarLong())
+
+    /**
+     * 批量读取变长整数
+     *
+     * @param dest 目标数组
+     * @param offset 起始下标
+     * @param length 读取个数
+     * @param zigZag 是否进行 ZigZag 解码
+     * @return 目标数组
+     * @throws IOException 编码错误或到达流末尾时抛出
+     */
+    @Throws(IOException::class)
+    fun readVarInts(dest: IntArray, offset: Int = 0, length: Int = dest.size - offset, zigZag: Boolean = false): IntArray {
+        if (offset < 0 || length < 0 || offset > dest.size - length) {
+            throw IndexOutOfBoundsException("offset=$offset, length=$length, size=${dest.size}")
+        }
+        for (i in offset..<offset + length) {
+            val value = readVarInt()
+            dest[i] = if (zigZag) zigZagDecode(value) else value
+        }
+        return dest
+    }
+
+    /**
+     * 读取指定长度的字节，数据不足时抛出 EOFException
+     *
+     * @param dest 目标数组
+     * @param offset 起始下标
+     * @param length 读取长度
+     * @throws IOException 到达流末尾时抛出
+     */
+    @Throws(IOException::class)
+    fun readFully(dest: ByteArray, offset: Int = 0, length: Int = dest.size - offset) {
+        if (offset < 0 || length < 0 || offset > dest.size - length) {
+            throw IndexOutOfBoundsException("offset=$offset, length=$length, size=${dest.size}")
+        }
+        var pos = offset
+        var remaining = length
+        while (remaining > 0) {
+            if (position == limit && !fill()) {
+                throw EOFException("Reached end of stream")
+            }
+            val n = minOf(remaining, limit - position)
+            System.arraycopy(buffer, position, dest, pos, n)
+            position += n
+            pos += n
+            remaining -= n
+        }
+    }
+
+    /**
+     * 关闭底层输入流
+     */
+    override fun close() {
+        input.close()
+    }
+
+    private fun readVarLongSlow(size: Int): Long {
+        var numRead = 0
+        var result = 0L
+        var read: Int
+        do {
+            if (numRead >= size) {
+                throw IOException("VarNumber is too big")
+            }
+            read = readByte().toInt()
+            result = result or ((read and 127).toLong() shl (7 * numRead))
+            numRead++
+        } while (read < 0)
+        return result
+    }
+
+    // 将未读数据移到缓冲区开头并尽量填满，返回是否读到新数据
+    private fun fill(): Boolean {
+        val remaining = limit - position
+        if (remaining > 0 && position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining)
+        }
+        position = 0
+        limit = remaining
+        val read = input.read(buffer, limit, buffer.size - limit)
+        if (read <= 0) {
+            return false
+        }
+        limit += read
+        return true
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile VarInts.kt
+ * LastUpdate 2026-10-19 00:26:52
+ * UpdateUser MingLiPro
+ */
+
+@file:JvmName("VarInts")
+
+package com.mingliqiye.utils.bytes
+
+import java.io.IOException
+import java.nio.ByteBuffer
+
+/**
+ * 32位变长整数的最大编码长度
+ */
+const val MAX_VAR_INT_SIZE = 5
+
+/**
+ * 64位变长整数的最大编码长度
+ */
+const val MAX_VAR_LONG_SIZE = 10
+
+/**
+ * ZigZag 编码，将有符号整数映射为无符号整数，使绝对值小的负数也能编码为短的变长整数。
+ *
+ * @param value 有符号整数
+ * @return 编码后的整数
+ */
+fun zigZagEncode(value: Int): Int = (value shl 1) xor (value shr 31)
+
+/**
+ * ZigZag 解码
+ *
+ * @param value 编码后的整数
+ * @return 原始有符号整数
+ */
+fun zigZagDecode(value: Int): Int = (value ushr 1) xor -(value and 1)
+
+/**
+ * ZigZag 编码（Long）
+ *
+ * @param value 有符号长整数
+ * @return 编码后的长整数
+ */
+fun zigZagEncode(value: Long): Long = (value shl 1) xor (value shr 63)
+
+/**
+ * ZigZag 解码（Long）
+ *
+ * @param value 编码后的长整数
+ * @return 原始有符号长整数
+ */
+fun zigZagDecode(value: Long): Long = (value ushr 1) xor -(value and 1)
+
+/**
+ * 计算整数按无符号变长编码后的字节数
+ *
+ * @param value 整数
+ * @return 1 到 5
+ */
+fun varIntSize(value: Int): Int = (38 - Integer.numberOfLeadingZeros(value or 1)) / 7
+
+/**
+ * 计算长整数按无符号变长编码后的字节数
+ *
+ * @param value 长整数
+ * @return 1 到 10
+ */
+fun varLongSize(value: Long): Int = (70 - java.lang.Long.numberOfLeadingZeros(value or 1)) / 7
+
+/**
+ * 将有符号整数经 ZigZag 编码后以变长格式写入ByteBuffer
+ *
+ * @param value 有符号整数
+ * @return 当前ByteBuffer实例（支持链式调用）
+ */
+fun ByteBuffer.putSignedVarInt(value: Int): ByteBuffer = this.putVarInt(zigZagEncode(value))
+
+/**
+ * 从ByteBuffer中读取 ZigZag 编码的变长有符号整数
+ *
+ * @return 有符号整数
+ * @throws IOException 当编码长度超过5个字节时抛出
+ */
+@Throws(IOException::class)
+fun ByteBuffer.getSignedVarInt(): Int = zigZagDecode(this.getVarInt())
+
+/**
+ * 将有符号长整数经 ZigZag 编码后以变长格式写入ByteBuffer
+ *
+ * @param value 有符号长整数
+ * @return 当前ByteBuffer实例（支持链式调用）
+ */
+fun ByteBuffer.putSignedVarLong(value: Long): ByteBuffer = this.putVarLong(zigZagEncode(value))
+
+/**
+ * 从ByteBuffer中读取 ZigZag 编码的变长有符号长整数
+ *
+ * @return 有符号长整数
+ * @throws IOException 当编码长度超过10个字节时抛出
+ */
+@Throws(IOException::class)
+fun ByteBuffer.getSignedVarLong(): Long = zigZagDecode(this.getVarLong())
+
+/**
+ * 批量将整数数组以变长格式写入ByteBuffer
+ *
+ * 堆内缓冲区且剩余空间足够时直接写入底层数组，只在最后更新一次 position。
+ *
+ * @param values 整数数组
+ * @param offset 起始下标
+ * @param length 写入个数
+ * @param zigZag 是否先进行 ZigZag 编码（有符号数值）
+ * @return 当前ByteBuffer实例（支持链式调用）
+ */
+fun ByteBuffer.putVarInts(
+    values: IntArray, offset: Int = 0, length: Int = values.size - offset, zigZag: Boolean = false
+): ByteBuffer {
+    checkRange(values.size, offset, length)
+    if (this.hasArray() && !this.isReadOnly && this.remaining() >= length.toLong() * MAX_VAR_INT_SIZE) {
+        val array = this.array()
+        var pos = this.arrayOffset() + this.position()
+        for (i in offset..<offset + length) {
+            val value = values[i]
+            pos = writeVarInt(array, pos, if (zigZag) zigZagEncode(value) else value)
+        }
+        this.position(pos - this.arrayOffset())
+        return this
+    }
+    for (i in offset..<offset + length) {
+        val value = values[i]
+        this.putVarInt(if (zigZag) zigZagEncode(value) else value)
+    }
+    return this
+}
+
+/**
+ * 批量从ByteBuffer中读取变长整数到数组
+ *
+ * 堆内缓冲区且剩余字节足够时直接从底层数组解码，只在最后更新一次 position。
+ *
+ * @param dest 目标数组
+ * @param offset 起始下标
+ * @param length 读取个数
+ * @param zigZag 是否对读取结果进行 ZigZag 解码（有符号数值）
+ * @return 目标数组
+ * @throws IOException 当某个编码长度超过5个字节或数值超出32位时抛出
+ */
+@Throws(IOException::class)
+fun ByteBuffer.getVarInts(
+    dest: IntArray, offset: Int = 0, length: Int = dest.size - offset, zigZag: Boolean = false
+): IntArray {
+    checkRange(dest.size, offset, length)
+    if (this.hasArray() && this.remaining() >= length.toLong() * MAX_VAR_INT_SIZE) {
+        val array = this.array()
+        var pos = this.arrayOffset() + this.position()
+        for (i in offset..<offset + length) {
+            var read = array[pos++].toInt()
+            var result = read and 127
+            var shift = 7
+            while (read < 0) {
+                read = array[pos++].toInt()
+                // 第5个字节只允许低4位有值，且不能再有后续字节
+                if (shift == 28 && (read and 0xF0) != 0) {
+                    throw IOException("VarNumber is too big")
+                }
+                result = result or ((read and 127) shl shift)
+                shift += 7
+            }
+            dest[i] = if (zigZag) zigZagDecode(result) else result
+        }
+        this.position(pos - this.arrayOffset())
+        return dest
+    }
+    for (i in offset..<offset + length) {
+        val value = this.getVarInt()
+        dest[i] = if (zigZag) zigZagDecode(value) else value
+    }
+    return dest
+}
+
+/**
+ * 从ByteBuffer中读取指定个数的变长整数
+ *
+ * @param count 读取个数
+ * @param zigZag 是否对读取结果进行 ZigZag 解码（有符号数值）
+ * @return 整数数组
+ * @throws IOException 当某个编码长度超过5个字节或数值超出32位时抛出
+ */
+@Throws(IOException::class)
+fun ByteBuffer.getVarInts(count: Int, zigZag: Boolean = false): IntArray =
+    this.getVarInts(IntArray(count), 0, count, zigZag)
+
+/**
+ * 将整数按无符号变长格式写入字节数组
+ *
+ * @param dest 目标数组，从 offset 起至少有 [varIntSize] 个字节空间
+ * @param offset 写入位置
+ * @param value 整数
+ * @return 写入后的下一个位置
+ */
+internal fun writeVarInt(dest: ByteArray, offset: Int, value: Int): Int {
+    var pos = offset
+    var v = value
+    while (v and 0x7F.inv() != 0) {
+        dest[pos++] = (v or 0x80).toByte()
+        v = v ushr 7
+    }
+    dest[pos++] = v.toByte()
+    return pos
+}
+
+/**
+ * 将长整数按无符号变长格式写入字节数组
+ *
+ * @param dest 目标数组，从 offset 起至少有 [varLongSize] 个字节空间
+ * @param offset 写入位置
+ * @param value 长整数
+ * @return 写入后的下一个位置
+ */
+internal fun writeVarLong(dest: ByteArray, offset: Int, value: Long): Int {
+    var pos = offset
+    var v = value
+    while (v and 0x7FL.inv() != 0L) {
+        dest[pos++] = (v and 0x7F or 0x80).toByte()
+        v = v ushr 7
+    }
+    dest[pos++] = v.toByte()
+    return pos
+}
+
+private fun checkRange(size: Int, offset: Int, length: Int) {
+    if (offset < 0 || length < 0 || offset > size - length) {
+        throw IndexOutOfBoundsException("offset=$offset, length=$length, size=$size")
+    }
+}
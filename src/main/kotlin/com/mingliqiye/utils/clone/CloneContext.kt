@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile CloneContext.kt
+ * LastUpdate 2026-10-18 22:03:32
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.clone
+
+/**
+ * 单次深拷贝过程的上下文，记录已拷贝的对象以处理共享引用与循环引用。
+ */
+interface CloneContext {
+    /**
+     * 拷贝对象图中的一个值，同一源对象在一次拷贝过程中只会被拷贝一次。
+     *
+     * @param value 源值，可以为 null
+     * @return 拷贝后的值
+     */
+    fun <V> clone(value: V): V
+
+    /**
+     * 登记源对象对应的新实例，之后对该源对象的引用都会指向此实例。
+     *
+     * @param source 源对象
+     * @param copy 新实例
+     */
+    fun register(source: Any, copy: Any)
+}
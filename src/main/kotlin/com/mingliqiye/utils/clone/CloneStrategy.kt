@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile CloneStrategy.kt
+ * LastUpdate 2026-10-18 22:03:32
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.clone
+
+/**
+ * 自定义深拷贝策略，用于替换 [DeepCloner] 对某个类型的默认拷贝方式。
+ *
+ * @param T 适用的类型
+ */
+fun interface CloneStrategy<T : Any> {
+    /**
+     * 创建源对象的深拷贝。
+     *
+     * 子对象应通过 [CloneContext.clone] 拷贝，以保持对象图中的共享引用与循环引用；
+     * 若子对象可能反向引用源对象，需先调用 [CloneContext.register] 登记新实例再拷贝子对象。
+     *
+     * @param source 源对象
+     * @param context 当前拷贝上下文
+     * @return 拷贝后的新对象
+     */
+    fun clone(source: T, context: CloneContext): T
+}
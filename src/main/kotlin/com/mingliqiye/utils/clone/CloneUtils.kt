@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile CloneUtils.kt
- * LastUpdate 2026-02-08 10:36:51
+ * LastUpdate 2026-10-18 22:04:19
  * UpdateUser MingLiPro
  */
 @file:JvmName("CloneUtils")
@@ -60,3 +60,21 @@ fun <T : Serializable?> deepClone(obj: T): T {
         throw RuntimeException(e)
     }
 }
+
+/**
+ * 使用缓存拷贝计划的深拷贝，不要求对象实现 Serializable。
+ *
+ * 相比 [deepClone] 与 [deepJsonClone] 不经过序列化或 JSON 中转，
+ * 支持循环引用，不可变对象直接复用引用，详见 [DeepCloner]。
+ *
+ * @param obj 源对象，可以为 null
+ * @return 拷贝后的对象
+ */
+fun <T> deepCopy(obj: T): T {
+    return DeepCloner.getDefault().clone(obj)
+}
+
+@JvmName("_inline_deepCopy")
+fun <T> T.deepCopy(): T {
+    return deepCopy(this)
+}
@@ -0,0 +1,539 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile DeepCloner.kt
+ * LastUpdate 2026-10-19 00:01:52
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.clone
+
+import com.mingliqiye.utils.time.DateTime
+import com.mingliqiye.utils.uuid.UUID
+import java.io.File
+import java.io.Serializable
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.reflect.Constructor
+import java.lang.reflect.Field
+import java.lang.reflect.Modifier
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.net.URI
+import java.nio.charset.Charset
+import java.time.*
+import java.util.*
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.LinkedBlockingDeque
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.PriorityBlockingQueue
+import java.util.regex.Pattern
+import java.util.UUID as JUUID
+
+/**
+ * 基于缓存拷贝计划的深拷贝器。
+ *
+ * - 每个类型的字段访问器只在首次遇到时解析一次，之后直接通过 MethodHandle 读写
+ * - 使用 IdentityHashMap 记录已拷贝对象，正确处理共享引用与循环引用
+ * - String、UUID、DateTime、基本类型包装类、枚举等不可变类型直接复用引用
+ * - 数组使用 System.arraycopy 复制，元素为可变对象时再逐个深拷贝
+ * - 可通过 [registerStrategy] 为指定类型注册自定义拷贝策略，通过 [registerImmutable] 声明不可变类型
+ *
+ * 普通对象的新实例不调用构造函数创建（与 Java 序列化一致），并复制包括 transient 在内的全部非静态字段。
+ * 无法反射访问的 JDK 类型中，集合与 Map 创建同一类型的空实例后按元素重建：优先调用公开的 clone 再清空，
+ * 从而保留访问顺序、比较器等内部配置，否则仅在能还原比较器与容量时通过构造函数创建；
+ * 无法得到同一类型的实例时，实现了 Serializable 的类型退回到序列化拷贝，其余抛出异常，不会返回其他类型。
+ * 继承自这类 JDK 类型的子类（如 HashMap、Exception 的子类）同样处理：集合与 Map 另外反射复制子类自身的字段；
+ * 其余类型退回到序列化拷贝。
+ *
+ * record 的拷贝在其组件拷贝完成后才能创建，创建后立即登记，共享引用保持共享；
+ * 经由组件回到 record 自身的循环引用无法还原，会抛出 IllegalStateException。
+ *
+ * 类型相关的缓存与登记信息存放在 ClassValue 中，不会阻止类及其类加载器被卸载。
+ *
+ * 创建实例依赖 jdk.unsupported 模块中的 sun.reflect.ReflectionFactory，
+ * 以模块方式运行的应用需要在 module-info 中声明 `requires jdk.unsupported`。
+ */
+class DeepCloner {
+
+    companion object {
+        private val defaultCloner by lazy { DeepCloner() }
+
+        /**
+         * 获取默认的深拷贝器实例。
+         *
+         * @return 共享的 DeepCloner 实例
+         */
+        @JvmStatic
+        fun getDefault(): DeepCloner = defaultCloner
+
+        private val lookup = MethodHandles.lookup()
+
+        private val OBJECT_GETTER_TYPE = MethodType.methodType(Any::class.java, Any::class.java)
+        private val OBJECT_SETTER_TYPE = MethodType.methodType(Void.TYPE, Any::class.java, Any::class.java)
+
+        private val DEFAULT_IMMUTABLES: Set<Class<*>> = setOf(
+            String::class.java,
+            java.lang.Boolean::class.java,
+            java.lang.Byte::class.java,
+            java.lang.Short::class.java,
+            java.lang.Character::class.java,
+            java.lang.Integer::class.java,
+            java.lang.Long::class.java,
+            java.lang.Float::class.java,
+            java.lang.Double::class.java,
+            BigInteger::class.java,
+            BigDecimal::class.java,
+            UUID::class.java,
+            JUUID::class.java,
+            DateTime::class.java,
+            Instant::class.java,
+            LocalDate::class.java,
+            LocalTime::class.java,
+            LocalDateTime::class.java,
+            ZonedDateTime::class.java,
+            OffsetDateTime::class.java,
+            OffsetTime::class.java,
+            Duration::class.java,
+            Period::class.java,
+            Year::class.java,
+            YearMonth::class.java,
+            MonthDay::class.java,
+            Locale::class.java,
+            Currency::class.java,
+            URI::class.java,
+            File::class.java,
+            Pattern::class.java,
+            Class::class.java,
+            OptionalInt::class.java,
+            OptionalLong::class.java,
+            OptionalDouble::class.java,
+            Unit::class.java
+        )
+
+        // 直接复用引用，不做任何拷贝
+        private val IDENTITY = Handler { source, _ -> source }
+
+        // 新实例创建前占位（自定义策略未登记新实例、record 组件拷贝中），用于发现无法还原的循环引用
+        private val IN_PROGRESS = Any()
+    }
+
+    /**
+     * 通过 [registerStrategy]、[registerImmutable] 为单个类型登记的信息
+     */
+    private class Registration {
+        @Volatile
+        var strategy: CloneStrategy<*>? = null
+
+        @Volatile
+        var immutable = false
+    }
+
+    private val registrations = object : ClassValue<Registration>() {
+        override fun computeValue(type: Class<*>): Registration = Registration()
+    }
+
+    // 登记信息变化时整体替换，丢弃按旧配置创建的处理器
+    @Volatile
+    private var handlers = newHandlers()
+
+    private fun newHandlers() = object : ClassValue<Handler>() {
+        override fun computeValue(type: Class<*>): Handler = createHandler(type)
+    }
+
+    /**
+     * 为指定类型注册自定义拷贝策略，仅对该类型本身生效，不作用于子类。
+     *
+     * @param clazz 目标类型
+     * @param strategy 拷贝策略
+     * @return 当前实例，便于链式调用
+     */
+    fun <T : Any> registerStrategy(clazz: Class<T>, strategy: CloneStrategy<T>): DeepCloner {
+        registrations.get(clazz).strategy = strategy
+        handlers = newHandlers()
+        return this
+    }
+
+    /**
+     * 声明指定类型为不可变类型，拷贝时直接复用引用。
+     *
+     * @param clazz 目标类型
+     * @return 当前实例，便于链式调用
+     */
+    fun registerImmutable(clazz: Class<*>): DeepCloner {
+        registrations.get(clazz).immutable = true
+        handlers = newHandlers()
+        return this
+    }
+
+    /**
+     * 深拷贝对象。
+     *
+     * @param obj 源对象，可以为 null
+     * @return 拷贝后的对象
+     * @throws IllegalArgumentException 遇到无法拷贝的类型时抛出
+     */
+    fun <T> clone(obj: T): T {
+        return Context().clone(obj)
+    }
+
+    private fun interface Handler {
+        fun copy(source: Any, context: Context): Any
+    }
+
+    private inner class Context : CloneContext {
+        private val copies = IdentityHashMap<Any, Any>()
+
+        @Suppress("UNCHECKED_CAST")
+        override fun <V> clone(value: V): V {
+            if (value == null) return value
+            val source: Any = value
+            val handler = handlerFor(source.javaClass)
+            if (handler === IDENTITY) return value
+            copies[source]?.let {
+                check(it !== IN_PROGRESS) {
+                    "Cyclic reference to ${source.javaClass.name}: its copy is created after its children are cloned " +
+                            "(a record, or a CloneStrategy that does not register the copy first)"
+                }
+                return it as V
+            }
+            return handler.copy(source, this) as V
+        }
+
+        override fun register(source: Any, copy: Any) {
+            copies[source] = copy
+        }
+
+        // 子对象拷贝完成后才创建新实例的拷贝过程，期间遇到同一源对象视为无法还原的循环引用
+        inline fun cloneDeferred(source: Any, create: () -> Any): Any {
+            copies[source] = IN_PROGRESS
+            try {
+                val copy = create()
+                // 未自行登记时补登，保证之后对同一源对象的引用指向同一拷贝
+                if (copies[source] === IN_PROGRESS) {
+                    copies[source] = copy
+                }
+                return copy
+            } catch (e: Throwable) {
+                if (copies[source] === IN_PROGRESS) {
+                    copies.remove(source)
+                }
+                throw e
+            }
+        }
+    }
+
+    private fun handlerFor(clazz: Class<*>): Handler = handlers.get(clazz)
+
+    private fun isImmutable(clazz: Class<*>): Boolean {
+        return clazz.isPrimitive || clazz in DEFAULT_IMMUTABLES || registrations.get(clazz).immutable
+                || Enum::class.java.isAssignableFrom(clazz)
+                || ZoneId::class.java.isAssignableFrom(clazz) || Charset::class.java.isAssignableFrom(clazz)
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun createHandler(clazz: Class<*>): Handler {
+        val strategy = registrations.get(clazz).strategy as CloneStrategy<Any>?
+        if (strategy != null) {
+            return Handler { source, context -> context.cloneDeferred(source) { strategy.clone(source, context) } }
+        }
+        // 隐藏类（如 lambda 实例）无法写入字段，按不可变处理
+        if (isImmutable(clazz) || clazz.isHidden) {
+            return IDENTITY
+        }
+        if (clazz.isArray) {
+            return createArrayHandler(clazz.componentType)
+        }
+        if (!isReflectable(clazz)) {
+            return createOpaqueHandler(clazz)
+        }
+        if (clazz.isRecord) {
+            return createRecordHandler(clazz)
+        }
+        return createFieldHandler(clazz)
+    }
+
+    private fun isReflectable(clazz: Class<*>): Boolean {
+        val module = clazz.module
+        return !module.isNamed || module.isOpen(clazz.packageName, DeepCloner::class.java.module)
+    }
+
+    private fun createArrayHandler(componentType: Class<*>): Handler {
+        // 组件类型为不可变的 final 类型时，arraycopy 之后无需再逐个拷贝元素
+        val shallow = componentType.isPrimitive || (Modifier.isFinal(componentType.modifiers) && isImmutable(componentType))
+        return Handler { source, context ->
+            val length = java.lang.reflect.Array.getLength(source)
+            val copy = java.lang.reflect.Array.newInstance(componentType, length)
+            System.arraycopy(source, 0, copy, 0, length)
+            // 无论是否逐个拷贝元素都要登记，使共享同一数组的引用在拷贝后仍然共享
+            context.register(source, copy)
+            if (!shallow) {
+                @Suppress("UNCHECKED_CAST")
+                val array = copy as Array<Any?>
+                for (i in 0 until length) {
+                    array[i] = context.clone(array[i])
+                }
+            }
+            copy
+        }
+    }
+
+    /**
+     * 无法反射访问内部字段的 JDK 类型：集合与 Map 创建同一类型的空实例后按元素重建，其余退回序列化拷贝。
+     */
+    @Suppress("UNCHECKED_CAST")
+    private fun createOpaqueHandler(clazz: Class<*>): Handler {
+        if (clazz == Optional::class.java) {
+            return Handler { source, context -> Optional.ofNullable(context.clone((source as Optional<Any?>).orElse(null))) }
+        }
+        if (EnumSet::class.java.isAssignableFrom(clazz)) {
+            // 与 EnumSet.copyOf 相同，元素为枚举常量，无需逐个拷贝
+            return Handler { source, context -> (source as EnumSet<*>).clone().also { context.register(source, it) } }
+        }
+        if (EnumMap::class.java.isAssignableFrom(clazz)) {
+            // 与 new EnumMap(map) 相同，保留键类型（空 EnumMap 也能还原），键为枚举常量，只拷贝值
+            return Handler { source, context ->
+                val copy = (source as EnumMap<*, Any?>).clone() as EnumMap<*, Any?>
+                context.register(source, copy)
+                for (entry in copy.entries) {
+                    entry.setValue(context.clone(entry.value))
+                }
+                copy
+            }
+        }
+        if (Map::class.java.isAssignableFrom(clazz) || Collection::class.java.isAssignableFrom(clazz)) {
+            return createContainerHandler(clazz, clazz, emptyArray())
+        }
+        if (Serializable::class.java.isAssignableFrom(clazz)) {
+            return Handler { source, _ -> deepClone(source as Serializable) }
+        }
+        throw IllegalArgumentException("Cannot deep clone ${clazz.name}")
+    }
+
+    /**
+     * 集合与 Map 的拷贝：创建与源对象类型相同的空实例，复制 [copiers] 对应的字段后逐个拷贝元素。
+     *
+     * @param clazz 源对象类型
+     * @param base 内部状态无法反射访问的类型，为 clazz 本身或其父类
+     * @param copiers clazz 中可反射访问的字段
+     */
+    @Suppress("UNCHECKED_CAST")
+    private fun createContainerHandler(clazz: Class<*>, base: Class<*>, copiers: Array<FieldCopier>): Handler {
+        val factory = emptyContainerFactory(clazz, base)
+        val serializable = Serializable::class.java.isAssignableFrom(clazz)
+        return Handler { source, context ->
+            val copy = factory(source)
+            if (copy == null) {
+                // 无法得到同一类型、同一配置的空实例时不改变类型，退回序列化拷贝
+                require(serializable) { "Cannot deep clone ${clazz.name}: no way to create an equivalent empty instance" }
+                return@Handler deepClone(source as Serializable)
+            }
+            context.register(source, copy)
+            copyFields(copiers, source, copy, context)
+            if (source is Map<*, *>) {
+                val map = copy as MutableMap<Any?, Any?>
+                // 按源对象的迭代顺序放入，访问顺序的 LinkedHashMap 也得到相同的顺序
+                for ((key, value) in source) {
+                    map[context.clone(key)] = context.clone(value)
+                }
+            } else {
+                val collection = copy as MutableCollection<Any?>
+                for (element in source as Collection<*>) {
+                    collection.add(context.clone(element))
+                }
+            }
+            copy
+        }
+    }
+
+    /**
+     * 获取创建空容器的方法，得到的实例与源对象类型相同，访问顺序、比较器与容量一致；无法保证时返回 null。
+     *
+     * 优先调用 base 公开的 clone 后清空，clone 会保留所有内部配置；
+     * 否则通过构造函数创建，只能还原比较器（需要 Comparator 参数的构造函数）与 LinkedBlocking 队列的容量。
+     */
+    private fun emptyContainerFactory(clazz: Class<*>, base: Class<*>): (Any) -> Any? {
+        val clone = cloneHandle(base)
+        if (clone != null) {
+            return { source ->
+                (clone.invokeExact(source) as Any).takeIf { it.javaClass == clazz }?.also {
+                    if (it is MutableMap<*, *>) it.clear() else (it as MutableCollection<*>).clear()
+                }
+            }
+        }
+        val exact = clazz == base && Modifier.isPublic(clazz.modifiers)
+        val noArg = when {
+            exact -> publicConstructor(clazz)
+            hasNoArgConstructor(base) -> serializationConstructor(clazz, base)
+            else -> null
+        }
+        val withComparator = if (exact) publicConstructor(clazz, Comparator::class.java) else null
+        val withCapacity = if (exact && (clazz == LinkedBlockingQueue::class.java || clazz == LinkedBlockingDeque::class.java)) {
+            publicConstructor(clazz, Int::class.javaPrimitiveType!!)
+        } else {
+            null
+        }
+        return { source ->
+            val comparator = comparatorOf(source)
+            val capacity = if (source is BlockingQueue<*>) source.remainingCapacity().toLong() + source.size else Long.MAX_VALUE
+            when {
+                comparator != null -> withComparator?.newInstance(comparator)
+                capacity < Int.MAX_VALUE -> withCapacity?.newInstance(capacity.toInt())
+                else -> noArg?.newInstance()
+            }
+        }
+    }
+
+    // base 或其最近的公开父类中声明的公开 clone 方法，调用时按实际类型分派
+    private fun cloneHandle(base: Class<*>): MethodHandle? {
+        if (!Cloneable::class.java.isAssignableFrom(base)) return null
+        var type: Class<*>? = base
+        while (type != null && !Modifier.isPublic(type.modifiers)) {
+            type = type.superclass
+        }
+        if (type == null || type == Any::class.java) return null
+        val method = try {
+            type.getMethod("clone")
+        } catch (e: NoSuchMethodException) {
+            return null
+        }
+        if (!Modifier.isPublic(method.declaringClass.modifiers)) return null
+        return lookup.unreflect(method).asType(OBJECT_GETTER_TYPE)
+    }
+
+    private fun publicConstructor(clazz: Class<*>, vararg parameterTypes: Class<*>): Constructor<*>? {
+        return try {
+            clazz.getConstructor(*parameterTypes)
+        } catch (e: NoSuchMethodException) {
+            null
+        }
+    }
+
+    private fun comparatorOf(source: Any): Comparator<*>? = when (source) {
+        is SortedMap<*, *> -> source.comparator()
+        is SortedSet<*> -> source.comparator()
+        is PriorityQueue<*> -> source.comparator()
+        is PriorityBlockingQueue<*> -> source.comparator()
+        else -> null
+    }
+
+    private fun createRecordHandler(clazz: Class<*>): Handler {
+        val components = clazz.recordComponents
+        val accessors = components.map { component ->
+            component.accessor.isAccessible = true
+            lookup.unreflect(component.accessor).asType(OBJECT_GETTER_TYPE)
+        }
+        val canonical = clazz.getDeclaredConstructor(*components.map { it.type }.toTypedArray()).apply {
+            isAccessible = true
+        }
+        val constructor = lookup.unreflectConstructor(canonical)
+            .asSpreader(Array<Any?>::class.java, components.size)
+            .asType(MethodType.methodType(Any::class.java, Array<Any?>::class.java))
+        // 组件拷贝完成后才能调用规范构造函数，创建后立即登记
+        return Handler { source, context ->
+            context.cloneDeferred(source) {
+                val args = arrayOfNulls<Any?>(accessors.size)
+                for (i in accessors.indices) {
+                    args[i] = context.clone(accessors[i].invokeExact(source) as Any?)
+                }
+                constructor.invokeExact(args) as Any
+            }
+        }
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun createFieldHandler(clazz: Class<*>): Handler {
+        val fields = mutableListOf<FieldCopier>()
+        var currentClass: Class<*>? = clazz
+        // 字段遍历止于第一个无法反射访问的父类，其内部状态另行处理
+        while (currentClass != null && currentClass != Any::class.java && isReflectable(currentClass)) {
+            for (field in currentClass.declaredFields) {
+                if (!Modifier.isStatic(field.modifiers)) {
+                    fields.add(createFieldCopier(field))
+                }
+            }
+            currentClass = currentClass.superclass
+        }
+        val copiers = fields.toTypedArray()
+        val opaqueBase = currentClass?.takeIf { it != Any::class.java }
+        if (opaqueBase == null) {
+            val instantiator = serializationConstructor(clazz, Any::class.java)
+            return Handler { source, context ->
+                val copy = instantiator.newInstance()
+                context.register(source, copy)
+                copyFields(copiers, source, copy, context)
+                copy
+            }
+        }
+        // 父类部分按元素重建，子类字段反射复制
+        if (Map::class.java.isAssignableFrom(clazz) || Collection::class.java.isAssignableFrom(clazz)) {
+            return createContainerHandler(clazz, opaqueBase, copiers)
+        }
+        if (Serializable::class.java.isAssignableFrom(clazz)) {
+            return Handler { source, _ -> deepClone(source as Serializable) }
+        }
+        throw IllegalArgumentException("Cannot deep clone ${clazz.name}: superclass ${opaqueBase.name} is not accessible")
+    }
+
+    private fun copyFields(copiers: Array<FieldCopier>, source: Any, copy: Any, context: Context) {
+        for (copier in copiers) {
+            val value: Any? = copier.getter.invokeExact(source) as Any?
+            copier.setter.invokeExact(copy, if (copier.shallow) value else context.clone(value))
+        }
+    }
+
+    private fun hasNoArgConstructor(clazz: Class<*>): Boolean {
+        return clazz.declaredConstructors.any {
+            it.parameterCount == 0 && (Modifier.isPublic(it.modifiers) || Modifier.isProtected(it.modifiers))
+        }
+    }
+
+    private fun createFieldCopier(field: Field): FieldCopier {
+        field.isAccessible = true
+        val type = field.type
+        return FieldCopier(
+            lookup.unreflectGetter(field).asType(OBJECT_GETTER_TYPE),
+            lookup.unreflectSetter(field).asType(OBJECT_SETTER_TYPE),
+            type.isPrimitive || (Modifier.isFinal(type.modifiers) && isImmutable(type))
+        )
+    }
+
+    /**
+     * 获取只调用父类 base 的无参构造函数即可创建实例的构造器，与 Java 反序列化的实例化方式一致；
+     * base 为 Object 时不执行任何构造逻辑。
+     *
+     * sun.reflect.ReflectionFactory 位于 jdk.unsupported 模块。
+     */
+    private fun serializationConstructor(clazz: Class<*>, base: Class<*>): Constructor<*> {
+        return sun.reflect.ReflectionFactory.getReflectionFactory()
+            .newConstructorForSerialization(clazz, base.getDeclaredConstructor())
+    }
+
+    /**
+     * 单个字段的拷贝步骤。
+     *
+     * @property getter `(Object)Object`，读取字段
+     * @property setter `(Object, Object)void`，写入字段
+     * @property shallow 字段值是否可以直接复用（基本类型或不可变的 final 类型）
+     */
+    private class FieldCopier(
+        val getter: MethodHandle,
+        val setter: MethodHandle,
+        val shallow: Boolean
+    )
+}
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile DtoUtils.kt
- * LastUpdate 2025-09-19 13:38:56
+ * LastUpdate 2026-10-19 00:04:33
  * UpdateUser MingLiPro
  */
 
@@ -24,35 +24,109 @@
 
 package com.mingliqiye.utils.dto
 
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.invoke.WrongMethodTypeException
 import java.lang.reflect.Field
+import java.lang.reflect.Modifier
 
+/**
+ * 单个字段的拷贝步骤，getter 与 setter 均已擦除为 Object 签名。
+ *
+ * @property getter `(Object)Object`，读取源字段
+ * @property setter `(Object, Object)void`，写入目标字段
+ * @property primitive 目标字段是否为基本类型，基本类型不接收 null
+ * @property checkType 声明类型不能保证可赋值时，运行时值必须是该类型的实例才写入；可保证时为 null。
+ * 目标为基本类型时为其包装类型，此时可拓宽为目标类型的包装值（如 Integer 写入 long）同样写入，
+ * setter 在写入时完成拆箱与拓宽，与 Field.set 一致
+ */
+private class FieldCopier(
+    val getter: MethodHandle,
+    val setter: MethodHandle,
+    val primitive: Boolean,
+    val checkType: Class<*>?
+)
 
 /**
- * 克隆一个对象，通过反射创建新实例并复制所有非静态字段值。
+ * 针对一组（源类型, 目标类型）预先编译的拷贝计划。
  *
- * @param obj 要克隆的对象，必须是非空的任意类型实例。
- * @return 返回一个新的对象实例，其字段值与原对象一致。
+ * @property constructor `()Object`，创建目标实例
+ * @property copiers 按源字段顺序排列的拷贝步骤
  */
-fun <T : Any> clone(obj: T): T {
-    val clazz = obj.javaClass
-    val constructor = clazz.getDeclaredConstructor().apply {
-        isAccessible = true
+private class CopyPlan(
+    val constructor: MethodHandle,
+    val copiers: Array<FieldCopier>
+) {
+    fun copy(obj: Any): Any {
+        val instance: Any = constructor.invokeExact() as Any
+        for (copier in copiers) {
+            val value: Any? = copier.getter.invokeExact(obj) as Any?
+            if (value == null) {
+                if (copier.primitive) {
+                    continue
+                }
+            } else if (copier.checkType != null && !copier.checkType.isInstance(value)
+                && !(copier.primitive && WIDENING[value.javaClass]?.contains(copier.checkType) == true)
+            ) {
+                // 声明类型兼容但运行时值不匹配，与原实现一样跳过该字段
+                continue
+            }
+            copier.setter.invokeExact(instance, value)
+        }
+        return instance
     }
-    val instance = constructor.newInstance()
+}
 
-    // 遍历类及其父类的所有字段进行赋值
-    var currentClass: Class<*>? = clazz
-    while (currentClass != null) {
-        currentClass.declaredFields.forEach { field ->
-            if (!java.lang.reflect.Modifier.isStatic(field.modifiers)) {
-                field.isAccessible = true
-                field.set(instance, field.get(obj))
-            }
+private val lookup = MethodHandles.lookup()
+
+// 包装类型 -> 其基本类型可拓宽到的基本类型的包装类型（JLS 5.1.2）
+private val WIDENING: Map<Class<*>, Set<Class<*>>> = run {
+    val byte = java.lang.Byte::class.java
+    val short = java.lang.Short::class.java
+    val char = java.lang.Character::class.java
+    val int = java.lang.Integer::class.java
+    val long = java.lang.Long::class.java
+    val float = java.lang.Float::class.java
+    val double = java.lang.Double::class.java
+    mapOf(
+        byte to setOf(short, int, long, float, double),
+        short to setOf(int, long, float, double),
+        char to setOf(int, long, float, double),
+        int to setOf(long, float, double),
+        long to setOf(float, double),
+        float to setOf(double)
+    )
+}
+
+private val OBJECT_GETTER_TYPE = MethodType.methodType(Any::class.java, Any::class.java)
+private val OBJECT_SETTER_TYPE = MethodType.methodType(Void.TYPE, Any::class.java, Any::class.java)
+
+// 源类型 -> 目标类型 -> 拷贝计划；使用 ClassValue 缓存，类卸载时计划随之释放，不会持有类加载器
+private val dtoPlans = object : ClassValue<ClassValue<CopyPlan>>() {
+    override fun computeValue(sourceClass: Class<*>): ClassValue<CopyPlan> {
+        return object : ClassValue<CopyPlan>() {
+            override fun computeValue(dtoClass: Class<*>): CopyPlan = createDtoPlan(sourceClass, dtoClass)
         }
-        currentClass = currentClass.superclass
     }
+}
+
+// 类型 -> 克隆计划
+private val clonePlans = object : ClassValue<CopyPlan>() {
+    override fun computeValue(type: Class<*>): CopyPlan = createClonePlan(type)
+}
 
-    return instance
+/**
+ * 克隆一个对象，通过反射创建新实例并复制所有非静态字段值。
+ *
+ * 每个类型的字段访问器只在首次调用时解析一次并缓存。
+ *
+ * @param obj 要克隆的对象，必须是非空的任意类型实例。
+ * @return 返回一个新的对象实例，其字段值与原对象一致。
+ */
+@Suppress("UNCHECKED_CAST")
+fun <T : Any> clone(obj: T): T {
+    return clonePlans.get(obj.javaClass).copy(obj) as T
 }
 
 /**
@@ -87,47 +161,48 @@ annotation class DtoCopy(val type: DotCopyType = DotCopyType.COPY)
 /**
  * 将源对象转换为目标 DTO 类型的实例，并根据字段名匹配拷贝字段值。
  *
+ * 每组（源类型, 目标类型）的字段匹配只在首次调用时计算一次并缓存为 MethodHandle，
+ * 之后的调用不再进行字段查找。
+ *
  * @param obj 源对象，包含需要被拷贝的数据。
  * @param dtoClass 目标 DTO 的 Class 对象。
  * @return 返回一个新的目标 DTO 实例，字段值已从源对象拷贝。
  */
 fun <R : Any> toDto(obj: Any, dtoClass: Class<R>): R {
-    val instance = dtoClass.getDeclaredConstructor().apply {
-        isAccessible = true
-    }.newInstance()
-
-    val sourceFields = getAllFields(obj.javaClass)
-
-    for (sourceField in sourceFields) {
-        sourceField.isAccessible = true
-        val fieldName = sourceField.name
-        val fieldValue = sourceField.get(obj)
-
-        try {
-            val targetField = dtoClass.getDeclaredField(fieldName).apply {
-                isAccessible = true
-            }
-            if (java.lang.reflect.Modifier.isStatic(targetField.modifiers)) {
-                continue
-            }
-            val ta = targetField.getAnnotation(DtoCopy::class.java)
-            if (ta != null) {
-                if (ta.type == DotCopyType.DOT_COPY) {
-                    continue
-                }
-            }
-            targetField.set(instance, fieldValue)
+    return dtoClass.cast(getDtoPlan(obj.javaClass, dtoClass).copy(obj))
+}
 
-        } catch (e: NoSuchFieldException) {
-            continue
-        } catch (e: IllegalArgumentException) {
-            continue
+/**
+ * 将源对象集合批量转换为目标 DTO 类型的列表。
+ *
+ * 连续的同类型元素复用同一拷贝计划，不重复查询缓存。
+ *
+ * @param objs 源对象集合。
+ * @param dtoClass 目标 DTO 的 Class 对象。
+ * @return 与源集合顺序一致的 DTO 列表。
+ */
+fun <R : Any> toDtoList(objs: Iterable<Any>, dtoClass: Class<R>): List<R> {
+    val result = if (objs is Collection<*>) ArrayList<R>(objs.size) else ArrayList()
+    var lastClass: Class<*>? = null
+    var plan: CopyPlan? = null
+    for (obj in objs) {
+        if (obj.javaClass !== lastClass) {
+            lastClass = obj.javaClass
+            plan = getDtoPlan(obj.javaClass, dtoClass)
         }
+        result.add(dtoClass.cast(plan!!.copy(obj)))
     }
-
-    return instance
+    return result
 }
 
+/**
+ * 将源对象集合批量转换为目标 DTO 类型的列表。
+ *
+ * @param R 目标 DTO 类型。
+ * @return 与源集合顺序一致的 DTO 列表。
+ */
+inline fun <reified R : Any> Iterable<Any>.toDtoList(): List<R> = toDtoList(this, R::class.java)
+
 /**
  * 获取指定类及其所有父类中声明的所有字段。
  *
@@ -144,3 +219,83 @@ private fun getAllFields(clazz: Class<*>): List<Field> {
     return fields
 }
 
+private fun getDtoPlan(sourceClass: Class<*>, dtoClass: Class<*>): CopyPlan {
+    return dtoPlans.get(sourceClass).get(dtoClass)
+}
+
+/**
+ * 按原有规则匹配字段：源字段取自整个继承链，目标字段只取 dtoClass 自身声明的同名非静态字段，
+ * 标注 [DotCopyType.DOT_COPY] 的目标字段跳过，类型无法转换的字段跳过。
+ */
+private fun createDtoPlan(sourceClass: Class<*>, dtoClass: Class<*>): CopyPlan {
+    val targetFields = dtoClass.declaredFields.associateBy { it.name }
+    val copiers = mutableListOf<FieldCopier>()
+    for (sourceField in getAllFields(sourceClass)) {
+        val targetField = targetFields[sourceField.name] ?: continue
+        if (Modifier.isStatic(targetField.modifiers)) {
+            continue
+        }
+        if (targetField.getAnnotation(DtoCopy::class.java)?.type == DotCopyType.DOT_COPY) {
+            continue
+        }
+        createCopier(sourceField, targetField)?.let { copiers.add(it) }
+    }
+    return CopyPlan(createConstructor(dtoClass), copiers.toTypedArray())
+}
+
+private fun createClonePlan(clazz: Class<*>): CopyPlan {
+    val copiers = mutableListOf<FieldCopier>()
+    var currentClass: Class<*>? = clazz
+    while (currentClass != null) {
+        for (field in currentClass.declaredFields) {
+            if (!Modifier.isStatic(field.modifiers)) {
+                createCopier(field, field)?.let { copiers.add(it) }
+            }
+        }
+        currentClass = currentClass.superclass
+    }
+    return CopyPlan(createConstructor(clazz), copiers.toTypedArray())
+}
+
+private fun createConstructor(clazz: Class<*>): MethodHandle {
+    val constructor = clazz.getDeclaredConstructor().apply {
+        isAccessible = true
+    }
+    return lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Any::class.java))
+}
+
+/**
+ * 创建字段拷贝步骤，源与目标类型在编译期即可判定不兼容时返回 null。
+ */
+private fun createCopier(sourceField: Field, targetField: Field): FieldCopier? {
+    val sourceType = sourceField.type
+    val targetType = targetField.type
+    if (sourceType.isPrimitive && !targetType.isPrimitive && !targetType.isAssignableFrom(box(sourceType))) {
+        return null
+    }
+    sourceField.isAccessible = true
+    targetField.isAccessible = true
+    var getter = lookup.unreflectGetter(sourceField)
+    if (Modifier.isStatic(sourceField.modifiers)) {
+        getter = MethodHandles.dropArguments(getter, 0, Any::class.java)
+    }
+    if (sourceType.isPrimitive && targetType.isPrimitive) {
+        // 基本类型之间只允许拓宽转换，在此处一次性完成，避免装箱后类型不匹配
+        getter = try {
+            getter.asType(getter.type().changeReturnType(targetType))
+        } catch (e: WrongMethodTypeException) {
+            return null
+        }
+    }
+    // 基本类型的值经拓宽后与目标类型一致；引用类型只有声明类型可赋值时才无需逐次检查
+    val valueType = if (sourceType.isPrimitive) box(getter.type().returnType()) else sourceType
+    val boxedTarget = if (targetType.isPrimitive) box(targetType) else targetType
+    return FieldCopier(
+        getter.asType(OBJECT_GETTER_TYPE),
+        lookup.unreflectSetter(targetField).asType(OBJECT_SETTER_TYPE),
+        targetType.isPrimitive,
+        if (boxedTarget.isAssignableFrom(valueType)) null else boxedTarget
+    )
+}
+
+private fun box(type: Class<*>): Class<*> = MethodType.methodType(type).wrap().returnType()
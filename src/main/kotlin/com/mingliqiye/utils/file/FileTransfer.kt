@@ -0,0 +1,329 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile FileTransfer.kt
+ * LastUpdate 2026-10-18 23:15:53
+ * UpdateUser MingLiPro
+ */
+
+@file:JvmName("FileTransferUtils")
+
+package com.mingliqiye.utils.file
+
+import com.mingliqiye.utils.functions.P2Function
+import java.io.File
+import java.io.Closeable
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.SelectableChannel
+import java.nio.channels.SelectionKey
+import java.nio.channels.Selector
+import java.nio.channels.WritableByteChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * 默认的单次传输块大小（8MB），决定进度回调与限速的粒度
+ */
+const val DEFAULT_TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024
+
+// FileChannel.transferTo/transferFrom 单次调用最多传输约 2GB，超出部分必须分块
+private const val MAX_TRANSFER_CHUNK_SIZE = Int.MAX_VALUE.toLong()
+
+/**
+ * 分块传输循环，统一处理块大小、限速与进度回调。
+ *
+ * @param total 需要传输的总字节数
+ * @param chunkSize 单次传输块大小
+ * @param bytesPerSecond 限速（字节/秒），小于等于 0 表示不限速
+ * @param progress 进度回调，参数为已传输字节数与总字节数
+ * @param step 执行一次传输，参数为已传输字节数与本次请求的字节数，返回实际传输的字节数；
+ * 返回 0 表示通道暂未就绪（step 已阻塞等待过），返回负数表示数据结束
+ * @return 实际传输的总字节数
+ */
+private inline fun transferLoop(
+    total: Long,
+    chunkSize: Long,
+    bytesPerSecond: Long,
+    progress: P2Function<Long, Long>?,
+    step: (Long, Long) -> Long
+): Long {
+    require(chunkSize > 0) { "chunkSize must be positive: $chunkSize" }
+    val chunk = minOf(chunkSize, MAX_TRANSFER_CHUNK_SIZE)
+    val start = System.nanoTime()
+    var transferred = 0L
+    while (transferred < total) {
+        val n = step(transferred, minOf(chunk, total - transferred))
+        if (n < 0) break
+        if (n == 0L) continue
+        transferred += n
+        progress?.call(transferred, total)
+        if (bytesPerSecond > 0) {
+            // 按已传输量计算应耗时间，超前时休眠等待
+            val expected = transferred * 1_000_000_000L / bytesPerSecond
+            val ahead = expected - (System.nanoTime() - start)
+            if (ahead > 0) LockSupport.parkNanos(ahead)
+        }
+    }
+    return transferred
+}
+
+/**
+ * 通过 Selector 阻塞等待非阻塞通道就绪，避免在通道暂不可读写时空转。
+ * Selector 在首次等待时才打开。
+ */
+private class ReadyWaiter(private val channel: SelectableChannel, private val ops: Int) : Closeable {
+    private var selector: Selector? = null
+
+    fun await() {
+        val selector = this.selector ?: Selector.open().also {
+            this.selector = it
+            channel.register(it, ops)
+        }
+        selector.select()
+        selector.selectedKeys().clear()
+    }
+
+    override fun close() {
+        selector?.close()
+    }
+}
+
+@Throws(IOException::class)
+        /**
+         * 使用 FileChannel.transferTo 将文件区域零拷贝传输到目标通道
+         *
+         * 目标为 SocketChannel 时由内核直接发送文件数据，不经过用户态缓冲区；
+         * 非阻塞目标通道暂时不可写时通过 Selector 等待其可写后重试
+         *
+         * @param position 起始位置
+         * @param count 传输字节数
+         * @param target 目标通道
+         * @param chunkSize 单次传输块大小
+         * @param bytesPerSecond 限速（字节/秒），小于等于 0 表示不限速
+         * @param progress 进度回调，参数为已传输字节数与总字节数，可为 null
+         * @return 实际传输的字节数，文件被截断时可能小于 count
+         * @throws IOException 传输时发生错误
+         */
+fun FileChannel.transferFully(
+    position: Long,
+    count: Long,
+    target: WritableByteChannel,
+    chunkSize: Long = DEFAULT_TRANSFER_CHUNK_SIZE,
+    bytesPerSecond: Long = 0,
+    progress: P2Function<Long, Long>? = null
+): Long {
+    val waiter = if (target is SelectableChannel && !target.isBlocking) {
+        ReadyWaiter(target, SelectionKey.OP_WRITE)
+    } else {
+        null
+    }
+    waiter.use {
+        return transferLoop(count, chunkSize, bytesPerSecond, progress) { transferred, length ->
+            val n = this.transferTo(position + transferred, length, target)
+            when {
+                n > 0 -> n
+                // 文件已被截断，不再重试
+                position + transferred >= this.size() -> -1
+                waiter == null -> -1
+                else -> {
+                    waiter.await()
+                    0
+                }
+            }
+        }
+    }
+}
+
+@Throws(IOException::class)
+        /**
+         * 使用 FileChannel.transferFrom 将源通道的数据零拷贝写入文件
+         *
+         * 阻塞的源通道在单次读取为 0 字节时视为数据结束；
+         * 非阻塞源通道读取为 0 字节时通过 Selector 等待其可读，再读取一个字节区分暂无数据与数据结束，
+         * 直到读满 count 或遇到数据结束
+         *
+         * @param source 源通道
+         * @param position 文件中的写入起始位置
+         * @param count 最多传输的字节数
+         * @param chunkSize 单次传输块大小
+         * @param bytesPerSecond 限速（字节/秒），小于等于 0 表示不限速
+         * @param progress 进度回调，参数为已传输字节数与总字节数，可为 null
+         * @return 实际传输的字节数
+         * @throws IOException 传输时发生错误
+         */
+fun FileChannel.transferFullyFrom(
+    source: ReadableByteChannel,
+    position: Long,
+    count: Long,
+    chunkSize: Long = DEFAULT_TRANSFER_CHUNK_SIZE,
+    bytesPerSecond: Long = 0,
+    progress: P2Function<Long, Long>? = null
+): Long {
+    val waiter = if (source is SelectableChannel && !source.isBlocking) {
+        ReadyWaiter(source, SelectionKey.OP_READ)
+    } else {
+        null
+    }
+    waiter.use {
+        val probe = ByteBuffer.allocate(1)
+        return transferLoop(count, chunkSize, bytesPerSecond, progress) { transferred, length ->
+            val n = this.transferFrom(source, position + transferred, length)
+            if (n > 0 || waiter == null) {
+                if (n > 0) n else -1
+            } else {
+                // transferFrom 在暂无数据与数据结束时都返回 0，等待可读后读取一个字节加以区分
+                waiter.await()
+                probe.clear()
+                when (source.read(probe)) {
+                    -1 -> -1
+                    0 -> 0
+                    else -> {
+                        probe.flip()
+                        this.write(probe, position + transferred)
+                        1
+                    }
+                }
+            }
+        }
+    }
+}
+
+// 零拷贝复制文件
+@Throws(IOException::class)
+        /**
+         * 使用 FileChannel.transferTo 复制文件，超过 2GB 的文件自动分块
+         *
+         * @param target 目标文件路径，已存在时会被覆盖
+         * @param chunkSize 单次传输块大小
+         * @param bytesPerSecond 限速（字节/秒），小于等于 0 表示不限速
+         * @param progress 进度回调，参数为已传输字节数与总字节数，可为 null
+         * @return 复制的字节数
+         * @throws IOException 复制文件时发生错误
+         */
+fun Path.transferFile(
+    target: Path,
+    chunkSize: Long = DEFAULT_TRANSFER_CHUNK_SIZE,
+    bytesPerSecond: Long = 0,
+    progress: P2Function<Long, Long>? = null
+): Long {
+    target.toAbsolutePath().parent?.let { Files.createDirectories(it) }
+    return FileChannel.open(this, StandardOpenOption.READ).use { source ->
+        FileChannel.open(
+            target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+        ).use { dest ->
+            source.transferFully(0, source.size(), dest, chunkSize, bytesPerSecond, progress)
+        }
+    }
+}
+
+// 零拷贝发送文件到通道
+@Throws(IOException::class)
+        /**
+         * 将整个文件零拷贝发送到目标通道，例如 SocketChannel
+         *
+         * @param target 目标通道，调用方负责关闭
+         * @param chunkSize 单次传输块大小
+         * @param bytesPerSecond 限速（字节/秒），小于等于 0 表示不限速
+         * @param progress 进度回调，参数为已传输字节数与总字节数，可为 null
+         * @return 发送的字节数
+         * @throws IOException 发送时发生错误
+         */
+fun Path.transferTo(
+    target: WritableByteChannel,
+    chunkSize: Long = DEFAULT_TRANSFER_CHUNK_SIZE,
+    bytesPerSecond: Long = 0,
+    progress: P2Function<Long, Long>? = null
+): Long {
+    return FileChannel.open(this, StandardOpenOption.READ).use { source ->
+        source.transferFully(0, source.size(), target, chunkSize, bytesPerSecond, progress)
+    }
+}
+
+// 从通道零拷贝接收文件
+@Throws(IOException::class)
+        /**
+         * 从源通道（例如 SocketChannel）接收数据并零拷贝写入文件
+         *
+         * @param source 源通道，调用方负责关闭
+         * @param count 最多接收的字节数
+         * @param chunkSize 单次传输块大小
+         * @param bytesPerSecond 限速（字节/秒），小于等于 0 表示不限速
+         * @param progress 进度回调，参数为已传输字节数与总字节数，可为 null
+         * @return 接收的字节数
+         * @throws IOException 接收时发生错误
+         */
+fun Path.transferFrom(
+    source: ReadableByteChannel,
+    count: Long,
+    chunkSize: Long = DEFAULT_TRANSFER_CHUNK_SIZE,
+    bytesPerSecond: Long = 0,
+    progress: P2Function<Long, Long>? = null
+): Long {
+    this.toAbsolutePath().parent?.let { Files.createDirectories(it) }
+    return FileChannel.open(
+        this, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+    ).use { dest ->
+        dest.transferFullyFrom(source, 0, count, chunkSize, bytesPerSecond, progress)
+    }
+}
+
+// 零拷贝复制文件
+@Throws(IOException::class)
+        /**
+         * 使用 FileChannel.transferTo 复制文件，超过 2GB 的文件自动分块
+         *
+         * @param target 目标文件，已存在时会被覆盖
+         * @param chunkSize 单次传输块大小
+         * @param bytesPerSecond 限速（字节/秒），小于等于 0 表示不限速
+         * @param progress 进度回调，参数为已传输字节数与总字节数，可为 null
+         * @return 复制的字节数
+         * @throws IOException 复制文件时发生错误
+         */
+fun File.transferFile(
+    target: File,
+    chunkSize: Long = DEFAULT_TRANSFER_CHUNK_SIZE,
+    bytesPerSecond: Long = 0,
+    progress: P2Function<Long, Long>? = null
+): Long {
+    return this.toPath().transferFile(target.toPath(), chunkSize, bytesPerSecond, progress)
+}
+
+// 零拷贝发送文件到通道
+@Throws(IOException::class)
+        /**
+         * 将整个文件零拷贝发送到目标通道，例如 SocketChannel
+         *
+         * @param target 目标通道，调用方负责关闭
+         * @param chunkSize 单次传输块大小
+         * @param bytesPerSecond 限速（字节/秒），小于等于 0 表示不限速
+         * @param progress 进度回调，参数为已传输字节数与总字节数，可为 null
+         * @return 发送的字节数
+         * @throws IOException 发送时发生错误
+         */
+fun File.transferTo(
+    target: WritableByteChannel,
+    chunkSize: Long = DEFAULT_TRANSFER_CHUNK_SIZE,
+    bytesPerSecond: Long = 0,
+    progress: P2Function<Long, Long>? = null
+): Long {
+    return this.toPath().transferTo(target, chunkSize, bytesPerSecond, progress)
+}
@@ -16,16 +16,19 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile FileUtils.kt
- * LastUpdate 2026-01-28 10:49:14
+ * LastUpdate 2026-10-18 22:05:39
  * UpdateUser MingLiPro
  */
 @file:JvmName("FileUtils")
 
 package com.mingliqiye.utils.file
 
+import com.mingliqiye.utils.functions.P1Function
 import com.mingliqiye.utils.path.OsPath
 import java.io.File
 import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
 import java.nio.charset.Charset
 import java.nio.charset.StandardCharsets
 import java.nio.file.Files
@@ -38,6 +41,11 @@ import java.nio.file.StandardOpenOption
  */
 var DEFAULT_CHARSET: Charset = StandardCharsets.UTF_8
 
+/**
+ * 聚集写入时单次提交的最大块数
+ */
+private const val GATHER_BATCH_SIZE = 64
+
 // 读取文件内容为字符串
 @Throws(IOException::class)
         /**
@@ -301,6 +309,56 @@ fun String.writeByteArrayChunks(chunks: List<ByteArray>) {
     }
 }
 
+// 以内存映射方式分块读取文件
+@Throws(IOException::class)
+        /**
+         * 以内存映射方式分块读取文件，返回惰性序列
+         *
+         * @param chunkSize 每个块的大小
+         * @return 只读 ByteBuffer 序列
+         * @throws IOException 读取文件时发生错误
+         */
+fun String.mapChunks(chunkSize: Int): Sequence<ByteBuffer> {
+    return Paths.get(this).mapChunks(chunkSize)
+}
+
+// 复用缓冲区分块读取文件
+@Throws(IOException::class)
+        /**
+         * 分块读取文件，所有块复用同一个直接缓冲区
+         *
+         * @param bufferSize 缓冲区大小
+         * @param handler 块处理函数，接收已 flip 的缓冲区
+         * @throws IOException 读取文件时发生错误
+         */
+fun String.forEachChunk(bufferSize: Int, handler: P1Function<ByteBuffer>) {
+    Paths.get(this).forEachChunk(bufferSize, handler)
+}
+
+// 将字节数组迭代器写入文件
+@Throws(IOException::class)
+        /**
+         * 将字节数组迭代器写入文件，使用聚集写入一次提交多个块
+         *
+         * @param chunks 字节数组迭代器
+         * @throws IOException 写入文件时发生错误
+         */
+fun String.writeByteArrayChunks(chunks: Iterator<ByteArray>) {
+    Paths.get(this).writeByteArrayChunks(chunks)
+}
+
+// 将字节数组序列写入文件
+@Throws(IOException::class)
+        /**
+         * 将字节数组序列写入文件，使用聚集写入一次提交多个块
+         *
+         * @param chunks 字节数组序列
+         * @throws IOException 写入文件时发生错误
+         */
+fun String.writeByteArrayChunks(chunks: Sequence<ByteArray>) {
+    Paths.get(this).writeByteArrayChunks(chunks.iterator())
+}
+
 // 读取文件内容为字符串
 @Throws(IOException::class)
         /**
@@ -532,6 +590,113 @@ fun Path.writeByteArrayChunks(chunks: List<ByteArray>) {
     }
 }
 
+// 以内存映射方式分块读取文件
+@Throws(IOException::class)
+        /**
+         * 以内存映射方式分块读取文件，返回惰性序列
+         *
+         * 每个块通过 FileChannel.map 映射为只读 ByteBuffer，不会把文件复制到堆内存，
+         * 适合读取超过 2GB 的大文件；映射在 ByteBuffer 被回收后释放
+         *
+         * @param chunkSize 每个块的大小
+         * @return 只读 ByteBuffer 序列
+         * @throws IOException 读取文件时发生错误
+         */
+fun Path.mapChunks(chunkSize: Int): Sequence<ByteBuffer> {
+    require(chunkSize > 0) { "chunkSize must be positive: $chunkSize" }
+    val path = this
+    return sequence {
+        val size = Files.size(path)
+        var position = 0L
+        while (position < size) {
+            val length = minOf(chunkSize.toLong(), size - position)
+            // 每块单独打开通道，序列未遍历完也不会泄漏文件句柄；映射在通道关闭后仍然有效
+            val buffer = FileChannel.open(path, StandardOpenOption.READ).use {
+                it.map(FileChannel.MapMode.READ_ONLY, position, length)
+            }
+            yield(buffer)
+            position += length
+        }
+    }
+}
+
+// 复用缓冲区分块读取文件
+@Throws(IOException::class)
+        /**
+         * 分块读取文件，所有块复用同一个直接缓冲区
+         *
+         * 除最后一块外每块都会被填满；缓冲区在 handler 返回后即被复用，handler 不应保留其引用
+         *
+         * @param bufferSize 缓冲区大小
+         * @param handler 块处理函数，接收已 flip 的缓冲区
+         * @throws IOException 读取文件时发生错误
+         */
+fun Path.forEachChunk(bufferSize: Int, handler: P1Function<ByteBuffer>) {
+    require(bufferSize > 0) { "bufferSize must be positive: $bufferSize" }
+    FileChannel.open(this, StandardOpenOption.READ).use { channel ->
+        val buffer = ByteBuffer.allocateDirect(bufferSize)
+        var eof = false
+        while (!eof) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    eof = true
+                    break
+                }
+            }
+            buffer.flip()
+            if (buffer.hasRemaining()) {
+                handler.call(buffer)
+            }
+            buffer.clear()
+        }
+    }
+}
+
+// 将字节数组迭代器写入文件
+@Throws(IOException::class)
+        /**
+         * 将字节数组迭代器写入文件，使用聚集写入一次提交多个块
+         *
+         * @param chunks 字节数组迭代器
+         * @throws IOException 写入文件时发生错误
+         */
+fun Path.writeByteArrayChunks(chunks: Iterator<ByteArray>) {
+    this.toAbsolutePath().parent?.let { Files.createDirectories(it) }
+
+    FileChannel.open(
+        this, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+    ).use { channel ->
+        val batch = arrayOfNulls<ByteBuffer>(GATHER_BATCH_SIZE)
+        while (chunks.hasNext()) {
+            var count = 0
+            var remaining = 0L
+            while (count < batch.size && chunks.hasNext()) {
+                val chunk = chunks.next()
+                batch[count++] = ByteBuffer.wrap(chunk)
+                remaining += chunk.size
+            }
+            @Suppress("UNCHECKED_CAST")
+            val buffers = batch as Array<ByteBuffer>
+            while (remaining > 0) {
+                remaining -= channel.write(buffers, 0, count)
+            }
+            batch.fill(null)
+        }
+    }
+}
+
+// 将字节数组序列写入文件
+@Throws(IOException::class)
+        /**
+         * 将字节数组序列写入文件，使用聚集写入一次提交多个块
+         *
+         * @param chunks 字节数组序列
+         * @throws IOException 写入文件时发生错误
+         */
+fun Path.writeByteArrayChunks(chunks: Sequence<ByteArray>) {
+    this.writeByteArrayChunks(chunks.iterator())
+}
+
 // 读取文件内容为字符串
 @Throws(IOException::class)
         /**
@@ -742,3 +907,53 @@ fun File.writeByteArrayChunks(chunks: List<ByteArray>) {
         }
     }
 }
+
+// 以内存映射方式分块读取文件
+@Throws(IOException::class)
+        /**
+         * 以内存映射方式分块读取文件，返回惰性序列
+         *
+         * @param chunkSize 每个块的大小
+         * @return 只读 ByteBuffer 序列
+         * @throws IOException 读取文件时发生错误
+         */
+fun File.mapChunks(chunkSize: Int): Sequence<ByteBuffer> {
+    return this.toPath().mapChunks(chunkSize)
+}
+
+// 复用缓冲区分块读取文件
+@Throws(IOException::class)
+        /**
+         * 分块读取文件，所有块复用同一个直接缓冲区
+         *
+         * @param bufferSize 缓冲区大小
+         * @param handler 块处理函数，接收已 flip 的缓冲区
+         * @throws IOException 读取文件时发生错误
+         */
+fun File.forEachChunk(bufferSize: Int, handler: P1Function<ByteBuffer>) {
+    this.toPath().forEachChunk(bufferSize, handler)
+}
+
+// 将字节数组迭代器写入文件
+@Throws(IOException::class)
+        /**
+         * 将字节数组迭代器写入文件，使用聚集写入一次提交多个块
+         *
+         * @param chunks 字节数组迭代器
+         * @throws IOException 写入文件时发生错误
+         */
+fun File.writeByteArrayChunks(chunks: Iterator<ByteArray>) {
+    this.toPath().writeByteArrayChunks(chunks)
+}
+
+// 将字节数组序列写入文件
+@Throws(IOException::class)
+        /**
+         * 将字节数组序列写入文件，使用聚集写入一次提交多个块
+         *
+         * @param chunks 字节数组序列
+         * @throws IOException 写入文件时发生错误
+         */
+fun File.writeByteArrayChunks(chunks: Sequence<ByteArray>) {
+    this.toPath().writeByteArrayChunks(chunks.iterator())
+}
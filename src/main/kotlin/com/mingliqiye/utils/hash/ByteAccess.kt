@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile ByteAccess.kt
+ * LastUpdate 2026-10-18 22:11:07
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.hash
+
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.VarHandle
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * 以小端序读取输入数据的访问器，使同一套哈希实现可以作用于不同的输入类型。
+ *
+ * @param T 输入类型
+ */
+internal abstract class ByteAccess<T> {
+    /**
+     * 读取小端序 64 位整数
+     */
+    abstract fun getLong(input: T, offset: Int): Long
+
+    /**
+     * 读取小端序 32 位整数
+     */
+    abstract fun getInt(input: T, offset: Int): Int
+
+    /**
+     * 读取无符号字节
+     */
+    abstract fun getByte(input: T, offset: Int): Int
+
+    /**
+     * 读取小端序无符号 32 位整数
+     */
+    fun getUnsignedInt(input: T, offset: Int): Long = getInt(input, offset).toLong() and 0xFFFFFFFFL
+}
+
+/**
+ * 字节数组访问器，通过 VarHandle 一次读取多个字节
+ */
+internal object ByteArrayAccess : ByteAccess<ByteArray>() {
+    private val LONG_HANDLE: VarHandle =
+        MethodHandles.byteArrayViewVarHandle(LongArray::class.java, ByteOrder.LITTLE_ENDIAN)
+    private val INT_HANDLE: VarHandle =
+        MethodHandles.byteArrayViewVarHandle(IntArray::class.java, ByteOrder.LITTLE_ENDIAN)
+
+    override fun getLong(input: ByteArray, offset: Int): Long = LONG_HANDLE.get(input, offset) as Long
+
+    override fun getInt(input: ByteArray, offset: Int): Int = INT_HANDLE.get(input, offset) as Int
+
+    override fun getByte(input: ByteArray, offset: Int): Int = input[offset].toInt() and 0xFF
+}
+
+/**
+ * ByteBuffer 访问器，使用绝对位置读取，不改变缓冲区的 position。
+ *
+ * 传入的缓冲区必须已设置为小端序。
+ */
+internal object ByteBufferAccess : ByteAccess<ByteBuffer>() {
+    override fun getLong(input: ByteBuffer, offset: Int): Long = input.getLong(offset)
+
+    override fun getInt(input: ByteBuffer, offset: Int): Int = input.getInt(offset)
+
+    override fun getByte(input: ByteBuffer, offset: Int): Int = input.get(offset).toInt() and 0xFF
+}
+
+/**
+ * 字符序列访问器，按 UTF-16LE 字节序直接读取字符，不进行编码转换。
+ *
+ * 偏移量以字节为单位，每个字符占 2 个字节。
+ */
+internal object CharSequenceAccess : ByteAccess<CharSequence>() {
+    override fun getLong(input: CharSequence, offset: Int): Long {
+        if (offset and 1 != 0) {
+            return getUnsignedInt(input, offset) or (getUnsignedInt(input, offset + 4) shl 32)
+        }
+        val i = offset shr 1
+        return input[i].code.toLong() or
+                (input[i + 1].code.toLong() shl 16) or
+                (input[i + 2].code.toLong() shl 32) or
+                (input[i + 3].code.toLong() shl 48)
+    }
+
+    override fun getInt(input: CharSequence, offset: Int): Int {
+        if (offset and 1 != 0) {
+            return getByte(input, offset) or
+                    (getByte(input, offset + 1) shl 8) or
+                    (getByte(input, offset + 2) shl 16) or
+                    (getByte(input, offset + 3) shl 24)
+        }
+        val i = offset shr 1
+        return input[i].code or (input[i + 1].code shl 16)
+    }
+
+    override fun getByte(input: CharSequence, offset: Int): Int {
+        val c = input[offset shr 1].code
+        return if (offset and 1 == 0) c and 0xFF else c ushr 8
+    }
+}
+
+/**
+ * 将 ByteBuffer 的 position 到 limit 区间转换为小端序视图，不影响原缓冲区
+ */
+internal fun ByteBuffer.littleEndianView(): ByteBuffer = this.duplicate().order(ByteOrder.LITTLE_ENDIAN)
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile DigestPool.kt
+ * LastUpdate 2026-10-19 00:11:55
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.hash
+
+import java.security.MessageDigest
+import java.security.NoSuchAlgorithmException
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+
+/**
+ * 线程本地的 MessageDigest / Mac 实例池。
+ *
+ * 每个线程按算法名缓存 MessageDigest 与未初始化的 Mac 原型，避免短输入时 Provider 查找占据主要开销。
+ * 已用密钥初始化的 Mac 不做缓存：HMAC 初始化后的内部状态等同于密钥，
+ * 缓存会使密钥在线程存活期间一直留在内存中，因此每次从原型 clone 出新实例再初始化。
+ *
+ * 返回的实例已重置，只能在当前线程内使用，且不要跨调用保存引用。
+ */
+object DigestPool {
+
+    private val digests = ThreadLocal.withInitial { HashMap<String, MessageDigest>() }
+
+    private val macs = ThreadLocal.withInitial { HashMap<String, Mac>() }
+
+    /**
+     * 获取当前线程的 MessageDigest 实例
+     *
+     * @param algorithm 算法名称（如 MD5、SHA-1、SHA-256）
+     * @return 已重置的 MessageDigest
+     * @throws NoSuchAlgorithmException 算法不可用时抛出
+     */
+    @JvmStatic
+    @Throws(NoSuchAlgorithmException::class)
+    fun digest(algorithm: String): MessageDigest {
+        val digest = digests.get().getOrPut(algorithm) { MessageDigest.getInstance(algorithm) }
+        digest.reset()
+        return digest
+    }
+
+    /**
+     * 使用当前线程的实例计算摘要
+     *
+     * @param algorithm 算法名称
+     * @param data 输入数据
+     * @return 摘要字节数组
+     * @throws NoSuchAlgorithmException 算法不可用时抛出
+     */
+    @JvmStatic
+    @Throws(NoSuchAlgorithmException::class)
+    fun digest(algorithm: String, data: ByteArray): ByteArray = digest(algorithm).digest(data)
+
+    /**
+     * 创建使用指定密钥初始化的 Mac 实例
+     *
+     * 实例由当前线程缓存的原型 clone 得到，不会被缓存，调用方用完即可丢弃。
+     *
+     * @param algorithm 算法名称（如 HmacSHA256、HmacMD5）
+     * @param key 密钥字节
+     * @return 已初始化的 Mac
+     * @throws NoSuchAlgorithmException 算法不可用时抛出
+     */
+    @JvmStatic
+    @Throws(NoSuchAlgorithmException::class)
+    fun mac(algorithm: String, key: ByteArray): Mac {
+        val mac = newMac(algorithm)
+        mac.init(SecretKeySpec(key, algorithm))
+        return mac
+    }
+
+    /**
+     * 创建使用指定密钥初始化的 Mac 实例
+     *
+     * @param algorithm 算法名称
+     * @param key 密钥字符串，按 UTF-8 编码
+     * @return 已初始化的 Mac
+     * @throws NoSuchAlgorithmException 算法不可用时抛出
+     */
+    @JvmStatic
+    @Throws(NoSuchAlgorithmException::class)
+    fun mac(algorithm: String, key: String): Mac = mac(algorithm, key.toByteArray())
+
+    /**
+     * 使用当前线程的实例计算消息认证码
+     *
+     * @param algorithm 算法名称
+     * @param key 密钥字节
+     * @param data 输入数据
+     * @return 认证码字节数组
+     * @throws NoSuchAlgorithmException 算法不可用时抛出
+     */
+    @JvmStatic
+    @Throws(NoSuchAlgorithmException::class)
+    fun mac(algorithm: String, key: ByteArray, data: ByteArray): ByteArray = mac(algorithm, key).doFinal(data)
+
+    /**
+     * 清除当前线程缓存的所有实例
+     */
+    @JvmStatic
+    fun clear() {
+        digests.remove()
+        macs.remove()
+    }
+
+    // 未初始化的 Mac 原型按算法缓存，通过 clone 创建新实例以跳过 Provider 查找
+    private fun newMac(algorithm: String): Mac {
+        val prototype = macs.get().getOrPut(algorithm) { Mac.getInstance(algorithm) }
+        return try {
+            prototype.clone() as Mac
+        } catch (e: CloneNotSupportedException) {
+            Mac.getInstance(algorithm)
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile Hash128.kt
+ * LastUpdate 2026-10-18 22:14:27
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.hash
+
+/**
+ * 128 位哈希值，以两个 long 表示
+ *
+ * @property low 低 64 位（按小端序对应摘要的前 8 个字节）
+ * @property high 高 64 位（按小端序对应摘要的后 8 个字节）
+ */
+data class Hash128(val low: Long, val high: Long) {
+
+    /**
+     * 按小端序转换为 16 字节数组，与参考实现的字节输出一致
+     *
+     * @return 16 字节数组
+     */
+    fun toByteArray(): ByteArray {
+        val bytes = ByteArray(16)
+        for (i in 0 until 8) {
+            bytes[i] = (low ushr (8 * i)).toByte()
+            bytes[i + 8] = (high ushr (8 * i)).toByte()
+        }
+        return bytes
+    }
+
+    /**
+     * 转换为 32 位小写十六进制字符串，字节顺序与 [toByteArray] 相同
+     *
+     * @return 十六进制字符串
+     */
+    override fun toString(): String {
+        val hex = "0123456789abcdef"
+        val chars = CharArray(32)
+        toByteArray().forEachIndexed { i, b ->
+            chars[i * 2] = hex[(b.toInt() shr 4) and 0xF]
+            chars[i * 2 + 1] = hex[b.toInt() and 0xF]
+        }
+        return String(chars)
+    }
+}
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile HashUtils.kt
- * LastUpdate 2026-01-11 09:09:52
+ * LastUpdate 2026-10-18 23:16:48
  * UpdateUser MingLiPro
  */
 @file:JvmName("HashUtils")
@@ -24,14 +24,32 @@
 package com.mingliqiye.utils.hash
 
 
+import com.mingliqiye.utils.bcrypt.BcryptService
 import com.mingliqiye.utils.bcrypt.checkpw
 import com.mingliqiye.utils.bcrypt.hashpw
 import com.mingliqiye.utils.bytes.bytesToHex
 import java.io.File
-import java.io.FileInputStream
 import java.io.IOException
+import java.io.UncheckedIOException
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
 import java.security.MessageDigest
 import java.security.NoSuchAlgorithmException
+import java.util.concurrent.CompletableFuture
+import java.util.stream.IntStream
+
+/**
+ * 文件哈希读取使用的缓冲区大小（64KB）
+ */
+private const val HASH_BUFFER_SIZE = 64 shl 10
+
+/**
+ * 树哈希默认的分块大小（4MB）
+ */
+const val DEFAULT_TREE_HASH_BLOCK_SIZE = 4 shl 20
 
 /**
  * 计算指定文件的哈希值。
@@ -44,24 +62,201 @@ import java.security.NoSuchAlgorithmException
  */
 @Throws(IOException::class, NoSuchAlgorithmException::class)
 fun calculateFileHash(file: File, algorithm: String): String {
+    return calculateFileHash(file.toPath(), algorithm)
+}
+
+/**
+ * 计算指定文件的哈希值。
+ *
+ * @param path      要计算哈希值的文件路径
+ * @param algorithm 使用的哈希算法名称（如 SHA-256、MD5 等）
+ * @return 文件的十六进制格式哈希值字符串
+ * @throws IOException              当文件不存在或读取过程中发生 I/O 错误时抛出
+ * @throws NoSuchAlgorithmException 当指定的哈希算法不可用时抛出
+ */
+@Throws(IOException::class, NoSuchAlgorithmException::class)
+fun calculateFileHash(path: Path, algorithm: String): String {
+    return calculateFileHashes(path, algorithm).getValue(algorithm)
+}
+
+/**
+ * 一次读取文件，同时计算多种哈希值。
+ *
+ * @param file       要计算哈希值的文件对象
+ * @param algorithms 使用的哈希算法名称（如 MD5、SHA-256 等）
+ * @return 算法名称到十六进制哈希值的映射，顺序与参数一致
+ * @throws IOException              当文件不存在或读取过程中发生 I/O 错误时抛出
+ * @throws NoSuchAlgorithmException 当指定的哈希算法不可用时抛出
+ */
+@Throws(IOException::class, NoSuchAlgorithmException::class)
+fun calculateFileHashes(file: File, vararg algorithms: String): Map<String, String> {
+    return calculateFileHashes(file.toPath(), *algorithms)
+}
+
+/**
+ * 一次读取文件，同时计算多种哈希值。
+ *
+ * 使用 FileChannel 分块读入堆缓冲区，每块数据依次交给所有摘要，文件只读取一遍。
+ * 摘要直接读取堆缓冲区的底层数组，缓冲区随调用结束回收，不会长期占用线程的直接内存。
+ *
+ * @param path       要计算哈希值的文件路径
+ * @param algorithms 使用的哈希算法名称（如 MD5、SHA-256 等）
+ * @return 算法名称到十六进制哈希值的映射，顺序与参数一致
+ * @throws IOException              当文件不存在或读取过程中发生 I/O 错误时抛出
+ * @throws NoSuchAlgorithmException 当指定的哈希算法不可用时抛出
+ */
+@Throws(IOException::class, NoSuchAlgorithmException::class)
+fun calculateFileHashes(path: Path, vararg algorithms: String): Map<String, String> {
     // 检查文件是否存在
-    if (!file.exists()) {
-        throw IOException("File not found: " + file.absolutePath)
+    if (!Files.exists(path)) {
+        throw IOException("File not found: " + path.toAbsolutePath())
     }
 
-    val digest = MessageDigest.getInstance(algorithm)
+    val digests = algorithms.map { MessageDigest.getInstance(it) }
+    val buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE)
+
+    FileChannel.open(path, StandardOpenOption.READ).use { channel ->
+        buffer.clear()
+        // 分块读取文件内容，并依次更新每个摘要
+        while (channel.read(buffer) != -1) {
+            buffer.flip()
+            for (digest in digests) {
+                buffer.rewind()
+                digest.update(buffer)
+            }
+            buffer.clear()
+        }
+    }
+
+    val result = LinkedHashMap<String, String>(algorithms.size)
+    for (i in algorithms.indices) {
+        result[algorithms[i]] = bytesToHex(digests[i].digest())
+    }
+    return result
+}
+
+/**
+ * 并行计算文件的 Merkle 树哈希。
+ *
+ * 文件按 [blockSize] 切分为固定大小的块，各块在公共 ForkJoinPool 中并行计算：
+ * 叶子节点为 `H(0x00 || 块数据)`，内部节点为 `H(0x01 || 左子节点 || 右子节点)`，
+ * 某层节点数为奇数时最后一个节点直接提升到上一层；空文件按一个空块计算。
+ *
+ * 结果与普通的整文件摘要不同，只能与同算法、同块大小的树哈希比较。
+ *
+ * @param path      要计算哈希值的文件路径
+ * @param algorithm 使用的哈希算法名称，默认 SHA-256
+ * @param blockSize 分块大小，默认 4MB
+ * @return 十六进制格式的根哈希值
+ * @throws IOException              当文件不存在或读取过程中发生 I/O 错误时抛出
+ * @throws NoSuchAlgorithmException 当指定的哈希算法不可用时抛出
+ */
+@Throws(IOException::class, NoSuchAlgorithmException::class)
+fun calculateFileTreeHash(
+    path: Path,
+    algorithm: String = "SHA-256",
+    blockSize: Int = DEFAULT_TREE_HASH_BLOCK_SIZE
+): String {
+    require(blockSize > 0) { "blockSize must be positive: $blockSize" }
+    if (!Files.exists(path)) {
+        throw IOException("File not found: " + path.toAbsolutePath())
+    }
+    // 提前校验算法，避免在并行任务中才失败
+    MessageDigest.getInstance(algorithm)
 
-    FileInputStream(file).use { fis ->
-        val buffer = ByteArray(8192)
-        var bytesRead: Int
+    FileChannel.open(path, StandardOpenOption.READ).use { channel ->
+        val size = channel.size()
+        // 块数以 Long 计算后再检查范围，避免 toInt() 静默溢出
+        val blockCount = maxOf(1L, size / blockSize + if (size % blockSize == 0L) 0 else 1)
+        require(blockCount <= Int.MAX_VALUE) {
+            "File too large for blockSize $blockSize: $size bytes would need $blockCount blocks"
+        }
+        val blocks = blockCount.toInt()
+        var level: List<ByteArray> = try {
+            IntStream.range(0, blocks).parallel().mapToObj { index ->
+                hashBlock(channel, algorithm, index.toLong() * blockSize, minOf(blockSize.toLong(), size - index.toLong() * blockSize))
+            }.toList()
+        } catch (e: UncheckedIOException) {
+            throw unwrapIOException(e)
+        }
 
-        // 分块读取文件内容并更新摘要
-        while (fis.read(buffer).also { bytesRead = it } != -1) {
-            digest.update(buffer, 0, bytesRead)
+        val digest = MessageDigest.getInstance(algorithm)
+        while (level.size > 1) {
+            val next = ArrayList<ByteArray>((level.size + 1) / 2)
+            var i = 0
+            while (i + 1 < level.size) {
+                digest.update(0x01)
+                digest.update(level[i])
+                digest.update(level[i + 1])
+                next.add(digest.digest())
+                i += 2
+            }
+            if (i < level.size) {
+                next.add(level[i])
+            }
+            level = next
         }
+        return bytesToHex(level[0])
     }
+}
 
-    return bytesToHex(digest.digest())
+/**
+ * 并行计算文件的 Merkle 树哈希。
+ *
+ * @param file      要计算哈希值的文件对象
+ * @param algorithm 使用的哈希算法名称，默认 SHA-256
+ * @param blockSize 分块大小，默认 4MB
+ * @return 十六进制格式的根哈希值
+ * @see calculateFileTreeHash
+ */
+@Throws(IOException::class, NoSuchAlgorithmException::class)
+fun calculateFileTreeHash(
+    file: File,
+    algorithm: String = "SHA-256",
+    blockSize: Int = DEFAULT_TREE_HASH_BLOCK_SIZE
+): String {
+    return calculateFileTreeHash(file.toPath(), algorithm, blockSize)
+}
+
+/**
+ * 取出并行任务包装的 IOException。
+ *
+ * ForkJoinPool 在其他线程抛出的异常可能被重新构造后再抛出，因此沿异常链查找，而不假定 cause 就是 IOException；
+ * 找不到时原样返回，保留完整的堆栈信息。
+ */
+private fun unwrapIOException(e: UncheckedIOException): Exception {
+    var cause: Throwable? = e
+    while (cause != null) {
+        if (cause is IOException) {
+            return cause
+        }
+        cause = cause.cause
+    }
+    return e
+}
+
+/**
+ * 使用定位读取计算单个块的叶子哈希，可在多个线程中共享同一个 FileChannel。
+ */
+private fun hashBlock(channel: FileChannel, algorithm: String, position: Long, length: Long): ByteArray {
+    val digest = MessageDigest.getInstance(algorithm)
+    digest.update(0x00)
+    val buffer = ByteBuffer.allocate(minOf(HASH_BUFFER_SIZE.toLong(), maxOf(length, 1L)).toInt())
+    var offset = 0L
+    try {
+        while (offset < length) {
+            buffer.clear()
+            buffer.limit(minOf(buffer.capacity().toLong(), length - offset).toInt())
+            val read = channel.read(buffer, position + offset)
+            if (read == -1) break
+            buffer.flip()
+            digest.update(buffer)
+            offset += read
+        }
+    } catch (e: IOException) {
+        throw UncheckedIOException(e)
+    }
+    return digest.digest()
 }
 
 /**
@@ -84,3 +279,24 @@ fun bcrypt(string: String): String {
 fun checkBcrypt(string: String, bcrypted: String): Boolean {
     return checkpw(string, bcrypted)
 }
+
+/**
+ * 在 [BcryptService] 的默认线程池中异步使用 BCrypt 算法对字符串进行加密。
+ *
+ * @param string 需要加密的明文字符串
+ * @return 完成时为 BCrypt 哈希字符串
+ */
+fun bcryptAsync(string: String): CompletableFuture<String> {
+    return BcryptService.getDefault().hash(string)
+}
+
+/**
+ * 在 [BcryptService] 的默认线程池中异步验证给定字符串与 BCrypt 哈希是否匹配。
+ *
+ * @param string   明文字符串
+ * @param bcrypted 已经使用 BCrypt 加密的哈希字符串
+ * @return 完成时为是否匹配
+ */
+fun checkBcryptAsync(string: String, bcrypted: String): CompletableFuture<Boolean> {
+    return BcryptService.getDefault().check(string, bcrypted)
+}
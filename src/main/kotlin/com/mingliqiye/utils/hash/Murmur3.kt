@@ -0,0 +1,315 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile Murmur3.kt
+ * LastUpdate 2026-10-18 22:14:27
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.hash
+
+import java.io.IOException
+import java.io.InputStream
+import java.lang.Long.rotateLeft
+import java.nio.ByteBuffer
+
+/**
+ * MurmurHash3 x64 128 位哈希算法的纯 JVM 实现，结果与官方 MurmurHash3_x64_128 一致。
+ *
+ * 种子为 32 位无符号整数；CharSequence 按 UTF-16LE 字节直接计算，不进行字符编码。
+ */
+object Murmur3 {
+
+    private const val C1 = -0x783c846eeebdac2bL
+    private const val C2 = 0x4cf5ad432745937fL
+
+    /**
+     * 计算字节数组的哈希值
+     *
+     * @param bytes 输入数据
+     * @param seed 种子，默认 0
+     * @return 128 位哈希值
+     */
+    @JvmStatic
+    fun hash128(bytes: ByteArray, seed: Int = 0): Hash128 = hash128(ByteArrayAccess, bytes, 0, bytes.size, seed)
+
+    /**
+     * 计算字节数组指定区间的哈希值
+     *
+     * @param bytes 输入数据
+     * @param offset 起始偏移
+     * @param length 长度
+     * @param seed 种子
+     * @return 128 位哈希值
+     */
+    @JvmStatic
+    fun hash128(bytes: ByteArray, offset: Int, length: Int, seed: Int): Hash128 {
+        if (offset < 0 || length < 0 || offset > bytes.size - length) {
+            throw IndexOutOfBoundsException("offset=$offset, length=$length, size=${bytes.size}")
+        }
+        return hash128(ByteArrayAccess, bytes, offset, length, seed)
+    }
+
+    /**
+     * 计算 ByteBuffer 中 position 到 limit 区间的哈希值，不改变缓冲区状态，支持堆内与直接缓冲区
+     *
+     * @param buffer 输入数据
+     * @param seed 种子，默认 0
+     * @return 128 位哈希值
+     */
+    @JvmStatic
+    fun hash128(buffer: ByteBuffer, seed: Int = 0): Hash128 {
+        if (buffer.hasArray()) {
+            return hash128(
+                ByteArrayAccess, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed
+            )
+        }
+        return hash128(ByteBufferAccess, buffer.littleEndianView(), buffer.position(), buffer.remaining(), seed)
+    }
+
+    /**
+     * 计算字符序列的哈希值，按 UTF-16LE 字节计算，不进行编码转换
+     *
+     * @param chars 输入字符序列
+     * @param seed 种子，默认 0
+     * @return 128 位哈希值
+     */
+    @JvmStatic
+    fun hash128(chars: CharSequence, seed: Int = 0): Hash128 =
+        hash128(CharSequenceAccess, chars, 0, chars.length * 2, seed)
+
+    /**
+     * 读取输入流直到结束并计算哈希值，不关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param seed 种子，默认 0
+     * @return 128 位哈希值
+     * @throws IOException 读取失败时抛出
+     */
+    @JvmStatic
+    @Throws(IOException::class)
+    fun hash128(inputStream: InputStream, seed: Int = 0): Hash128 {
+        val hasher = newHasher(seed)
+        val buffer = ByteArray(8192)
+        var read: Int
+        while (inputStream.read(buffer).also { read = it } != -1) {
+            hasher.update(buffer, 0, read)
+        }
+        return hasher.digest()
+    }
+
+    /**
+     * 计算字节数组的哈希值，仅返回低 64 位
+     *
+     * @param bytes 输入数据
+     * @param seed 种子，默认 0
+     * @return 低 64 位哈希值
+     */
+    @JvmStatic
+    fun hash64(bytes: ByteArray, seed: Int = 0): Long = hash128(bytes, seed).low
+
+    /**
+     * 计算字符序列的哈希值，仅返回低 64 位
+     *
+     * @param chars 输入字符序列
+     * @param seed 种子，默认 0
+     * @return 低 64 位哈希值
+     */
+    @JvmStatic
+    fun hash64(chars: CharSequence, seed: Int = 0): Long = hash128(chars, seed).low
+
+    /**
+     * 创建流式哈希计算器
+     *
+     * @param seed 种子，默认 0
+     * @return 流式计算器
+     */
+    @JvmStatic
+    fun newHasher(seed: Int = 0): Hasher = Hasher(seed)
+
+    private fun <T> hash128(access: ByteAccess<T>, input: T, offset: Int, length: Int, seed: Int): Hash128 {
+        var h1 = seed.toLong() and 0xFFFFFFFFL
+        var h2 = h1
+        var pos = offset
+        val blockEnd = offset + (length and 15.inv())
+        while (pos < blockEnd) {
+            h1 = mixH1(h1, h2, access.getLong(input, pos))
+            h2 = mixH2(h2, h1, access.getLong(input, pos + 8))
+            pos += 16
+        }
+        var k1 = 0L
+        var k2 = 0L
+        val tail = length and 15
+        for (i in tail - 1 downTo 0) {
+            val b = access.getByte(input, pos + i).toLong() and 0xFF
+            if (i >= 8) k2 = k2 or (b shl ((i - 8) * 8)) else k1 = k1 or (b shl (i * 8))
+        }
+        return finish(h1, h2, k1, k2, tail, length.toLong())
+    }
+
+    private fun mixK1(k: Long): Long = rotateLeft(k * C1, 31) * C2
+
+    private fun mixK2(k: Long): Long = rotateLeft(k * C2, 33) * C1
+
+    private fun mixH1(h1: Long, h2: Long, k1: Long): Long {
+        val h = rotateLeft(h1 xor mixK1(k1), 27) + h2
+        return h * 5 + 0x52dce729
+    }
+
+    private fun mixH2(h2: Long, h1: Long, k2: Long): Long {
+        val h = rotateLeft(h2 xor mixK2(k2), 31) + h1
+        return h * 5 + 0x38495ab5
+    }
+
+    private fun finish(h1In: Long, h2In: Long, k1: Long, k2: Long, tail: Int, length: Long): Hash128 {
+        var h1 = h1In
+        var h2 = h2In
+        if (tail > 8) h2 = h2 xor mixK2(k2)
+        if (tail > 0) h1 = h1 xor mixK1(k1)
+        h1 = h1 xor length
+        h2 = h2 xor length
+        h1 += h2
+        h2 += h1
+        h1 = fmix(h1)
+        h2 = fmix(h2)
+        h1 += h2
+        h2 += h1
+        return Hash128(h1, h2)
+    }
+
+    private fun fmix(k: Long): Long {
+        var h = k xor (k ushr 33)
+        h *= -0xae502812aa7333L
+        h = h xor (h ushr 33)
+        h *= -0x3b314601e57a13adL
+        return h xor (h ushr 33)
+    }
+
+    /**
+     * MurmurHash3 流式计算器，分多次输入数据，结果与一次性计算相同。
+     *
+     * 非线程安全。
+     *
+     * @property seed 种子
+     */
+    class Hasher internal constructor(private val seed: Int) {
+        private val buffer = ByteArray(16)
+        private var h1 = 0L
+        private var h2 = 0L
+        private var buffered = 0
+        private var totalLength = 0L
+
+        init {
+            reset()
+        }
+
+        /**
+         * 重置为初始状态
+         *
+         * @return 当前实例
+         */
+        fun reset(): Hasher {
+            h1 = seed.toLong() and 0xFFFFFFFFL
+            h2 = h1
+            buffered = 0
+            totalLength = 0
+            return this
+        }
+
+        /**
+         * 输入字节数组
+         *
+         * @param bytes 输入数据
+         * @return 当前实例
+         */
+        fun update(bytes: ByteArray): Hasher = update(bytes, 0, bytes.size)
+
+        /**
+         * 输入字节数组的指定区间
+         *
+         * @param bytes 输入数据
+         * @param offset 起始偏移
+         * @param length 长度
+         * @return 当前实例
+         */
+        fun update(bytes: ByteArray, offset: Int, length: Int): Hasher {
+            if (offset < 0 || length < 0 || offset > bytes.size - length) {
+                throw IndexOutOfBoundsException("offset=$offset, length=$length, size=${bytes.size}")
+            }
+            totalLength += length
+            var pos = offset
+            val end = offset + length
+            if (buffered > 0) {
+                val fill = minOf(16 - buffered, length)
+                System.arraycopy(bytes, pos, buffer, buffered, fill)
+                buffered += fill
+                pos += fill
+                if (buffered < 16) return this
+                block(ByteArrayAccess, buffer, 0)
+                buffered = 0
+            }
+            while (end - pos >= 16) {
+                block(ByteArrayAccess, bytes, pos)
+                pos += 16
+            }
+            System.arraycopy(bytes, pos, buffer, 0, end - pos)
+            buffered = end - pos
+            return this
+        }
+
+        /**
+         * 输入 ByteBuffer 的剩余数据，输入后 position 移动到 limit
+         *
+         * @param byteBuffer 输入数据
+         * @return 当前实例
+         */
+        fun update(byteBuffer: ByteBuffer): Hasher {
+            if (byteBuffer.hasArray()) {
+                update(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining())
+                byteBuffer.position(byteBuffer.limit())
+                return this
+            }
+            val chunk = ByteArray(minOf(byteBuffer.remaining(), 8192))
+            while (byteBuffer.hasRemaining()) {
+                val n = minOf(chunk.size, byteBuffer.remaining())
+                byteBuffer.get(chunk, 0, n)
+                update(chunk, 0, n)
+            }
+            return this
+        }
+
+        /**
+         * 计算当前已输入数据的哈希值，不影响后续继续输入
+         *
+         * @return 128 位哈希值
+         */
+        fun digest(): Hash128 {
+            var k1 = 0L
+            var k2 = 0L
+            for (i in buffered - 1 downTo 0) {
+                val b = buffer[i].toLong() and 0xFF
+                if (i >= 8) k2 = k2 or (b shl ((i - 8) * 8)) else k1 = k1 or (b shl (i * 8))
+            }
+            return finish(h1, h2, k1, k2, buffered, totalLength)
+        }
+
+        private fun <T> block(access: ByteAccess<T>, input: T, offset: Int) {
+            h1 = mixH1(h1, h2, access.getLong(input, offset))
+            h2 = mixH2(h2, h1, access.getLong(input, offset + 8))
+        }
+    }
+}
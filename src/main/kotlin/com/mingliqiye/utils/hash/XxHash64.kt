@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile XxHash64.kt
+ * LastUpdate 2026-10-18 22:11:33
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.hash
+
+import java.io.IOException
+import java.io.InputStream
+import java.lang.Long.rotateLeft
+import java.nio.ByteBuffer
+
+/**
+ * xxHash64 非加密哈希算法的纯 JVM 实现，结果与官方 XXH64 一致。
+ *
+ * 适用于分片、布隆过滤器、缓存键等不需要抗碰撞攻击的场景，速度远高于 MD5/SHA-1。
+ * CharSequence 按 UTF-16LE 字节直接计算，不进行字符编码。
+ */
+object XxHash64 {
+
+    private const val P1 = -0x61c8864e7a143579L
+    private const val P2 = -0x3d4d51c2d82b14b1L
+    private const val P3 = 0x165667b19e3779f9L
+    private const val P4 = -0x7a1435883d4d519dL
+    private const val P5 = 0x27d4eb2f165667c5L
+
+    /**
+     * 计算字节数组的哈希值
+     *
+     * @param bytes 输入数据
+     * @param seed 种子，默认 0
+     * @return 64 位哈希值
+     */
+    @JvmStatic
+    fun hash(bytes: ByteArray, seed: Long = 0): Long = hash(ByteArrayAccess, bytes, 0, bytes.size, seed)
+
+    /**
+     * 计算字节数组指定区间的哈希值
+     *
+     * @param bytes 输入数据
+     * @param offset 起始偏移
+     * @param length 长度
+     * @param seed 种子
+     * @return 64 位哈希值
+     */
+    @JvmStatic
+    fun hash(bytes: ByteArray, offset: Int, length: Int, seed: Long): Long {
+        checkRange(bytes.size, offset, length)
+        return hash(ByteArrayAccess, bytes, offset, length, seed)
+    }
+
+    /**
+     * 计算 ByteBuffer 中 position 到 limit 区间的哈希值，不改变缓冲区状态，支持堆内与直接缓冲区
+     *
+     * @param buffer 输入数据
+     * @param seed 种子，默认 0
+     * @return 64 位哈希值
+     */
+    @JvmStatic
+    fun hash(buffer: ByteBuffer, seed: Long = 0): Long {
+        if (buffer.hasArray()) {
+            return hash(ByteArrayAccess, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed)
+        }
+        return hash(ByteBufferAccess, buffer.littleEndianView(), buffer.position(), buffer.remaining(), seed)
+    }
+
+    /**
+     * 计算字符序列的哈希值，按 UTF-16LE 字节计算，不进行编码转换
+     *
+     * @param chars 输入字符序列
+     * @param seed 种子，默认 0
+     * @return 64 位哈希值
+     */
+    @JvmStatic
+    fun hash(chars: CharSequence, seed: Long = 0): Long = hash(CharSequenceAccess, chars, 0, chars.length * 2, seed)
+
+    /**
+     * 读取输入流直到结束并计算哈希值，不关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param seed 种子，默认 0
+     * @return 64 位哈希值
+     * @throws IOException 读取失败时抛出
+     */
+    @JvmStatic
+    @Throws(IOException::class)
+    fun hash(inputStream: InputStream, seed: Long = 0): Long {
+        val hasher = newHasher(seed)
+        val buffer = ByteArray(8192)
+        var read: Int
+        while (inputStream.read(buffer).also { read = it } != -1) {
+            hasher.update(buffer, 0, read)
+        }
+        return hasher.digest()
+    }
+
+    /**
+     * 创建流式哈希计算器
+     *
+     * @param seed 种子，默认 0
+     * @return 流式计算器
+     */
+    @JvmStatic
+    fun newHasher(seed: Long = 0): Hasher = Hasher(seed)
+
+    internal fun <T> hash(access: ByteAccess<T>, input: T, offset: Int, length: Int, seed: Long): Long {
+        val end = offset + length
+        var pos = offset
+        var h: Long
+        if (length >= 32) {
+            var v1 = seed + P1 + P2
+            var v2 = seed + P2
+            var v3 = seed
+            var v4 = seed - P1
+            val limit = end - 32
+            do {
+                v1 = round(v1, access.getLong(input, pos))
+                v2 = round(v2, access.getLong(input, pos + 8))
+                v3 = round(v3, access.getLong(input, pos + 16))
+                v4 = round(v4, access.getLong(input, pos + 24))
+                pos += 32
+            } while (pos <= limit)
+            h = mergeAccumulators(v1, v2, v3, v4)
+        } else {
+            h = seed + P5
+        }
+        h += length.toLong()
+        return finish(h, access, input, pos, end)
+    }
+
+    private fun round(acc: Long, input: Long): Long = rotateLeft(acc + input * P2, 31) * P1
+
+    private fun mergeRound(acc: Long, value: Long): Long = (acc xor round(0, value)) * P1 + P4
+
+    private fun mergeAccumulators(v1: Long, v2: Long, v3: Long, v4: Long): Long {
+        var h = rotateLeft(v1, 1) + rotateLeft(v2, 7) + rotateLeft(v3, 12) + rotateLeft(v4, 18)
+        h = mergeRound(h, v1)
+        h = mergeRound(h, v2)
+        h = mergeRound(h, v3)
+        h = mergeRound(h, v4)
+        return h
+    }
+
+    // 处理不足 32 字节的尾部数据并做最终混合
+    private fun <T> finish(hash: Long, access: ByteAccess<T>, input: T, offset: Int, end: Int): Long {
+        var h = hash
+        var pos = offset
+        while (pos + 8 <= end) {
+            h = rotateLeft(h xor round(0, access.getLong(input, pos)), 27) * P1 + P4
+            pos += 8
+        }
+        if (pos + 4 <= end) {
+            h = rotateLeft(h xor (access.getUnsignedInt(input, pos) * P1), 23) * P2 + P3
+            pos += 4
+        }
+        while (pos < end) {
+            h = rotateLeft(h xor (access.getByte(input, pos) * P5), 11) * P1
+            pos++
+        }
+        return avalanche(h)
+    }
+
+    internal fun avalanche(hash: Long): Long {
+        var h = hash
+        h = (h xor (h ushr 33)) * P2
+        h = (h xor (h ushr 29)) * P3
+        return h xor (h ushr 32)
+    }
+
+    private fun checkRange(size: Int, offset: Int, length: Int) {
+        if (offset < 0 || length < 0 || offset > size - length) {
+            throw IndexOutOfBoundsException("offset=$offset, length=$length, size=$size")
+        }
+    }
+
+    /**
+     * xxHash64 流式计算器，分多次输入数据，结果与一次性计算相同。
+     *
+     * 非线程安全。
+     *
+     * @property seed 种子
+     */
+    class Hasher internal constructor(private val seed: Long) {
+        private val buffer = ByteArray(32)
+        private var buffered = 0
+        private var totalLength = 0L
+        private var v1 = 0L
+        private var v2 = 0L
+        private var v3 = 0L
+        private var v4 = 0L
+
+        init {
+            reset()
+        }
+
+        /**
+         * 重置为初始状态
+         *
+         * @return 当前实例
+         */
+        fun reset(): Hasher {
+            v1 = seed + P1 + P2
+            v2 = seed + P2
+            v3 = seed
+            v4 = seed - P1
+            buffered = 0
+            totalLength = 0
+            return this
+        }
+
+        /**
+         * 输入字节数组
+         *
+         * @param bytes 输入数据
+         * @return 当前实例
+         */
+        fun update(bytes: ByteArray): Hasher = update(bytes, 0, bytes.size)
+
+        /**
+         * 输入字节数组的指定区间
+         *
+         * @param bytes 输入数据
+         * @param offset 起始偏移
+         * @param length 长度
+         * @return 当前实例
+         */
+        fun update(bytes: ByteArray, offset: Int, length: Int): Hasher {
+            checkRange(bytes.size, offset, length)
+            totalLength += length
+            var pos = offset
+            val end = offset + length
+            if (buffered > 0) {
+                val fill = minOf(32 - buffered, length)
+                System.arraycopy(bytes, pos, buffer, buffered, fill)
+                buffered += fill
+                pos += fill
+                if (buffered < 32) return this
+                consumeStripe(ByteArrayAccess, buffer, 0)
+                buffered = 0
+            }
+            while (pos + 32 <= end) {
+                consumeStripe(ByteArrayAccess, bytes, pos)
+                pos += 32
+            }
+            if (pos < end) {
+                System.arraycopy(bytes, pos, buffer, 0, end - pos)
+                buffered = end - pos
+            }
+            return this
+        }
+
+        /**
+         * 输入 ByteBuffer 的剩余数据，输入后 position 移动到 limit
+         *
+         * @param byteBuffer 输入数据
+         * @return 当前实例
+         */
+        fun update(byteBuffer: ByteBuffer): Hasher {
+            if (byteBuffer.hasArray()) {
+                update(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining())
+                byteBuffer.position(byteBuffer.limit())
+                return this
+            }
+            val chunk = ByteArray(minOf(byteBuffer.remaining(), 8192))
+            while (byteBuffer.hasRemaining()) {
+                val n = minOf(chunk.size, byteBuffer.remaining())
+                byteBuffer.get(chunk, 0, n)
+                update(chunk, 0, n)
+            }
+            return this
+        }
+
+        /**
+         * 计算当前已输入数据的哈希值，不影响后续继续输入
+         *
+         * @return 64 位哈希值
+         */
+        fun digest(): Long {
+            var h = if (totalLength >= 32) mergeAccumulators(v1, v2, v3, v4) else seed + P5
+            h += totalLength
+            return finish(h, ByteArrayAccess, buffer, 0, buffered)
+        }
+
+        private fun <T> consumeStripe(access: ByteAccess<T>, input: T, pos: Int) {
+            v1 = round(v1, access.getLong(input, pos))
+            v2 = round(v2, access.getLong(input, pos + 8))
+            v3 = round(v3, access.getLong(input, pos + 16))
+            v4 = round(v4, access.getLong(input, pos + 24))
+        }
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile Xxh3.kt
+ * LastUpdate 2026-10-18 22:12:43
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.hash
+
+import java.io.IOException
+import java.io.InputStream
+import java.lang.Long.rotateLeft
+import java.nio.ByteBuffer
+
+/**
+ * XXH3 64 位非加密哈希算法的纯 JVM 实现，结果与官方 XXH3_64bits/XXH3_64bits_withSeed 一致。
+ *
+ * 对短输入（不超过 240 字节）有专门优化，适合缓存键与分片；长输入按 64 字节条带累加。
+ * CharSequence 按 UTF-16LE 字节直接计算，不进行字符编码。
+ */
+object Xxh3 {
+
+    private const val PRIME32_1 = 0x9E3779B1L
+    private const val PRIME32_2 = 0x85EBCA77L
+    private const val PRIME32_3 = 0xC2B2AE3DL
+    private const val PRIME64_1 = -0x61c8864e7a143579L
+    private const val PRIME64_2 = -0x3d4d51c2d82b14b1L
+    private const val PRIME64_3 = 0x165667b19e3779f9L
+    private const val PRIME64_4 = -0x7a1435883d4d519dL
+    private const val PRIME64_5 = 0x27d4eb2f165667c5L
+    private const val PRIME_MX1 = 0x165667919E3779F9L
+    private const val PRIME_MX2 = -0x604de39ae16720dbL
+
+    private const val SECRET_SIZE = 192
+    private const val STRIPE_LEN = 64
+    private const val SECRET_CONSUME_RATE = 8
+    private const val STRIPES_PER_BLOCK = (SECRET_SIZE - STRIPE_LEN) / SECRET_CONSUME_RATE
+    private const val BLOCK_LEN = STRIPE_LEN * STRIPES_PER_BLOCK
+    private const val MIDSIZE_MAX = 240
+
+    // 官方默认密钥
+    private val DEFAULT_SECRET = intArrayOf(
+        0xb8, 0xfe, 0x6c, 0x39, 0x23, 0xa4, 0x4b, 0xbe, 0x7c, 0x01, 0x81, 0x2c, 0xf7, 0x21, 0xad, 0x1c,
+        0xde, 0xd4, 0x6d, 0xe9, 0x83, 0x90, 0x97, 0xdb, 0x72, 0x40, 0xa4, 0xa4, 0xb7, 0xb3, 0x67, 0x1f,
+        0xcb, 0x79, 0xe6, 0x4e, 0xcc, 0xc0, 0xe5, 0x78, 0x82, 0x5a, 0xd0, 0x7d, 0xcc, 0xff, 0x72, 0x21,
+        0xb8, 0x08, 0x46, 0x74, 0xf7, 0x43, 0x24, 0x8e, 0xe0, 0x35, 0x90, 0xe6, 0x81, 0x3a, 0x26, 0x4c,
+        0x3c, 0x28, 0x52, 0xbb, 0x91, 0xc3, 0x00, 0xcb, 0x88, 0xd0, 0x65, 0x8b, 0x1b, 0x53, 0x2e, 0xa3,
+        0x71, 0x64, 0x48, 0x97, 0xa2, 0x0d, 0xf9, 0x4e, 0x38, 0x19, 0xef, 0x46, 0xa9, 0xde, 0xac, 0xd8,
+        0xa8, 0xfa, 0x76, 0x3f, 0xe3, 0x9c, 0x34, 0x3f, 0xf9, 0xdc, 0xbb, 0xc7, 0xc7, 0x0b, 0x4f, 0x1d,
+        0x8a, 0x51, 0xe0, 0x4b, 0xcd, 0xb4, 0x59, 0x31, 0xc8, 0x9f, 0x7e, 0xc9, 0xd9, 0x78, 0x73, 0x64,
+        0xea, 0xc5, 0xac, 0x83, 0x34, 0xd3, 0xeb, 0xc3, 0xc5, 0x81, 0xa0, 0xff, 0xfa, 0x13, 0x63, 0xeb,
+        0x17, 0x0d, 0xdd, 0x51, 0xb7, 0xf0, 0xda, 0x49, 0xd3, 0x16, 0x55, 0x26, 0x29, 0xd4, 0x68, 0x9e,
+        0x2b, 0x16, 0xbe, 0x58, 0x7d, 0x47, 0xa1, 0xfc, 0x8f, 0xf8, 0xb8, 0xd1, 0x7a, 0xd0, 0x31, 0xce,
+        0x45, 0xcb, 0x3a, 0x8f, 0x95, 0x16, 0x04, 0x28, 0xaf, 0xd7, 0xfb, 0xca, 0xbb, 0x4b, 0x40, 0x7e,
+    ).let { ints -> ByteArray(ints.size) { ints[it].toByte() } }
+
+    /**
+     * 计算字节数组的哈希值
+     *
+     * @param bytes 输入数据
+     * @param seed 种子，默认 0
+     * @return 64 位哈希值
+     */
+    @JvmStatic
+    fun hash(bytes: ByteArray, seed: Long = 0): Long = hash(ByteArrayAccess, bytes, 0, bytes.size, seed)
+
+    /**
+     * 计算字节数组指定区间的哈希值
+     *
+     * @param bytes 输入数据
+     * @param offset 起始偏移
+     * @param length 长度
+     * @param seed 种子
+     * @return 64 位哈希值
+     */
+    @JvmStatic
+    fun hash(bytes: ByteArray, offset: Int, length: Int, seed: Long): Long {
+        if (offset < 0 || length < 0 || offset > bytes.size - length) {
+            throw IndexOutOfBoundsException("offset=$offset, length=$length, size=${bytes.size}")
+        }
+        return hash(ByteArrayAccess, bytes, offset, length, seed)
+    }
+
+    /**
+     * 计算 ByteBuffer 中 position 到 limit 区间的哈希值，不改变缓冲区状态，支持堆内与直接缓冲区
+     *
+     * @param buffer 输入数据
+     * @param seed 种子，默认 0
+     * @return 64 位哈希值
+     */
+    @JvmStatic
+    fun hash(buffer: ByteBuffer, seed: Long = 0): Long {
+        if (buffer.hasArray()) {
+            return hash(ByteArrayAccess, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed)
+        }
+        return hash(ByteBufferAccess, buffer.littleEndianView(), buffer.position(), buffer.remaining(), seed)
+    }
+
+    /**
+     * 计算字符序列的哈希值，按 UTF-16LE 字节计算，不进行编码转换
+     *
+     * @param chars 输入字符序列
+     * @param seed 种子，默认 0
+     * @return 64 位哈希值
+     */
+    @JvmStatic
+    fun hash(chars: CharSequence, seed: Long = 0): Long = hash(CharSequenceAccess, chars, 0, chars.length * 2, seed)
+
+    /**
+     * 读取输入流直到结束并计算哈希值，不关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param seed 种子，默认 0
+     * @return 64 位哈希值
+     * @throws IOException 读取失败时抛出
+     */
+    @JvmStatic
+    @Throws(IOException::class)
+    fun hash(inputStream: InputStream, seed: Long = 0): Long {
+        val hasher = newHasher(seed)
+        val buffer = ByteArray(8192)
+        var read: Int
+        while (inputStream.read(buffer).also { read = it } != -1) {
+            hasher.update(buffer, 0, read)
+        }
+        return hasher.digest()
+    }
+
+    /**
+     * 创建流式哈希计算器
+     *
+     * @param seed 种子，默认 0
+     * @return 流式计算器
+     */
+    @JvmStatic
+    fun newHasher(seed: Long = 0): Hasher = Hasher(seed)
+
+    private fun <T> hash(access: ByteAccess<T>, input: T, offset: Int, length: Int, seed: Long): Long {
+        return when {
+            length <= 16 -> hashLen0To16(access, input, offset, length, seed)
+            length <= 128 -> hashLen17To128(access, input, offset, length, seed)
+            length <= MIDSIZE_MAX -> hashLen129To240(access, input, offset, length, seed)
+            else -> hashLong(access, input, offset, length, secretFor(seed))
+        }
+    }
+
+    private fun secretFor(seed: Long): ByteArray {
+        if (seed == 0L) return DEFAULT_SECRET
+        // 由种子派生自定义密钥
+        val secret = ByteArray(SECRET_SIZE)
+        val view = ByteBuffer.wrap(secret).order(java.nio.ByteOrder.LITTLE_ENDIAN)
+        for (i in 0 until SECRET_SIZE / 16) {
+            view.putLong(i * 16, secretLong(i * 16) + seed)
+            view.putLong(i * 16 + 8, secretLong(i * 16 + 8) - seed)
+        }
+        return secret
+    }
+
+    private fun secretLong(offset: Int): Long = ByteArrayAccess.getLong(DEFAULT_SECRET, offset)
+
+    private fun secretInt(offset: Int): Long = ByteArrayAccess.getUnsignedInt(DEFAULT_SECRET, offset)
+
+    private fun <T> hashLen0To16(access: ByteAccess<T>, input: T, offset: Int, length: Int, seed: Long): Long {
+        if (length > 8) {
+            val bitflip1 = (secretLong(24) xor secretLong(32)) + seed
+            val bitflip2 = (secretLong(40) xor secretLong(48)) - seed
+            val low = access.getLong(input, offset) xor bitflip1
+            val high = access.getLong(input, offset + length - 8) xor bitflip2
+            val acc = length.toLong() + java.lang.Long.reverseBytes(low) + high + mul128Fold64(low, high)
+            return avalanche(acc)
+        }
+        if (length >= 4) {
+            val s = seed xor (Integer.reverseBytes(seed.toInt()).toLong() shl 32)
+            val input1 = access.getUnsignedInt(input, offset)
+            val input2 = access.getUnsignedInt(input, offset + length - 4)
+            val bitflip = (secretLong(8) xor secretLong(16)) - s
+            val keyed = (input2 + (input1 shl 32)) xor bitflip
+            return rrmxmx(keyed, length)
+        }
+        if (length > 0) {
+            val c1 = access.getByte(input, offset)
+            val c2 = access.getByte(input, offset + (length shr 1))
+            val c3 = access.getByte(input, offset + length - 1)
+            val combined = ((c1 shl 16) or (c2 shl 24) or c3 or (length shl 8)).toLong() and 0xFFFFFFFFL
+            val bitflip = (secretInt(0) xor secretInt(4)) + seed
+            return XxHash64.avalanche(combined xor bitflip)
+        }
+        return XxHash64.avalanche(seed xor (secretLong(56) xor secretLong(64)))
+    }
+
+    private fun <T> hashLen17To128(access: ByteAccess<T>, input: T, offset: Int, length: Int, seed: Long): Long {
+        var acc = length * PRIME64_1
+        val end = offset + length
+        if (length > 32) {
+            if (length > 64) {
+                if (length > 96) {
+                    acc += mix16(access, input, offset + 48, DEFAULT_SECRET, 96, seed)
+                    acc += mix16(access, input, end - 64, DEFAULT_SECRET, 112, seed)
+                }
+                acc += mix16(access, input, offset + 32, DEFAULT_SECRET, 64, seed)
+                acc += mix16(access, input, end - 48, DEFAULT_SECRET, 80, seed)
+            }
+            acc += mix16(access, input, offset + 16, DEFAULT_SECRET, 32, seed)
+            acc += mix16(access, input, end - 32, DEFAULT_SECRET, 48, seed)
+        }
+        acc += mix16(access, input, offset, DEFAULT_SECRET, 0, seed)
+        acc += mix16(access, input, end - 16, DEFAULT_SECRET, 16, seed)
+        return avalanche(acc)
+    }
+
+    private fun <T> hashLen129To240(access: ByteAccess<T>, input: T, offset: Int, length: Int, seed: Long): Long {
+        var acc = length * PRIME64_1
+        val rounds = length / 16
+        for (i in 0 until 8) {
+            acc += mix16(access, input, offset + 16 * i, DEFAULT_SECRET, 16 * i, seed)
+        }
+        acc = avalanche(acc)
+        for (i in 8 until rounds) {
+            acc += mix16(access, input, offset + 16 * i, DEFAULT_SECRET, 16 * (i - 8) + 3, seed)
+        }
+        acc += mix16(access, input, offset + length - 16, DEFAULT_SECRET, 136 - 17, seed)
+        return avalanche(acc)
+    }
+
+    private fun <T> hashLong(access: ByteAccess<T>, input: T, offset: Int, length: Int, secret: ByteArray): Long {
+        val acc = initAccumulators()
+        val blocks = (length - 1) / BLOCK_LEN
+        for (n in 0 until blocks) {
+            accumulate(acc, access, input, offset + n * BLOCK_LEN, secret, 0, STRIPES_PER_BLOCK)
+            scramble(acc, secret)
+        }
+        val stripes = ((length - 1) - BLOCK_LEN * blocks) / STRIPE_LEN
+        accumulate(acc, access, input, offset + blocks * BLOCK_LEN, secret, 0, stripes)
+        accumulate512(acc, access, input, offset + length - STRIPE_LEN, secret, SECRET_SIZE - STRIPE_LEN - 7)
+        return mergeAccumulators(acc, secret, length * PRIME64_1)
+    }
+
+    private fun initAccumulators() = longArrayOf(
+        PRIME32_3, PRIME64_1, PRIME64_2, PRIME64_3, PRIME64_4, PRIME32_2, PRIME64_5, PRIME32_1
+    )
+
+    private fun <T> accumulate(
+        acc: LongArray, access: ByteAccess<T>, input: T, offset: Int, secret: ByteArray, secretOffset: Int, stripes: Int
+    ) {
+        for (n in 0 until stripes) {
+            accumulate512(acc, access, input, offset + n * STRIPE_LEN, secret, secretOffset + n * SECRET_CONSUME_RATE)
+        }
+    }
+
+    private fun <T> accumulate512(
+        acc: LongArray, access: ByteAccess<T>, input: T, offset: Int, secret: ByteArray, secretOffset: Int
+    ) {
+        for (i in 0 until 8) {
+            val value = access.getLong(input, offset + 8 * i)
+            val key = value xor ByteArrayAccess.getLong(secret, secretOffset + 8 * i)
+            acc[i xor 1] += value
+            acc[i] += (key and 0xFFFFFFFFL) * (key ushr 32)
+        }
+    }
+
+    private fun scramble(acc: LongArray, secret: ByteArray) {
+        for (i in 0 until 8) {
+            var a = acc[i]
+            a = a xor (a ushr 47)
+            a = a xor ByteArrayAccess.getLong(secret, SECRET_SIZE - STRIPE_LEN + 8 * i)
+            acc[i] = a * PRIME32_1
+        }
+    }
+
+    private fun mergeAccumulators(acc: LongArray, secret: ByteArray, start: Long): Long {
+        var result = start
+        for (i in 0 until 4) {
+            result += mul128Fold64(
+                acc[2 * i] xor ByteArrayAccess.getLong(secret, 11 + 16 * i),
+                acc[2 * i + 1] xor ByteArrayAccess.getLong(secret, 11 + 16 * i + 8)
+            )
+        }
+        return avalanche(result)
+    }
+
+    private fun <T> mix16(access: ByteAccess<T>, input: T, offset: Int, secret: ByteArray, secretOffset: Int, seed: Long): Long {
+        val low = access.getLong(input, offset)
+        val high = access.getLong(input, offset + 8)
+        return mul128Fold64(
+            low xor (ByteArrayAccess.getLong(secret, secretOffset) + seed),
+            high xor (ByteArrayAccess.getLong(secret, secretOffset + 8) - seed)
+        )
+    }
+
+    // 128 位无符号乘积的高低 64 位异或
+    private fun mul128Fold64(a: Long, b: Long): Long {
+        val high = Math.multiplyHigh(a, b) + ((a shr 63) and b) + ((b shr 63) and a)
+        return (a * b) xor high
+    }
+
+    private fun avalanche(hash: Long): Long {
+        var h = hash xor (hash ushr 37)
+        h *= PRIME_MX1
+        return h xor (h ushr 32)
+    }
+
+    private fun rrmxmx(hash: Long, length: Int): Long {
+        var h = hash xor rotateLeft(hash, 49) xor rotateLeft(hash, 24)
+        h *= PRIME_MX2
+        h = h xor ((h ushr 35) + length)
+        h *= PRIME_MX2
+        return h xor (h ushr 28)
+    }
+
+    /**
+     * XXH3 流式计算器，分多次输入数据，结果与一次性计算相同。
+     *
+     * 非线程安全。
+     *
+     * @property seed 种子
+     */
+    class Hasher internal constructor(private val seed: Long) {
+        private val secret = secretFor(seed)
+        private val buffer = ByteArray(BUFFER_SIZE)
+        private val acc = initAccumulators()
+        private var buffered = 0
+        private var stripesSoFar = 0
+        private var totalLength = 0L
+
+        private companion object {
+            const val BUFFER_SIZE = 256
+            const val BUFFER_STRIPES = BUFFER_SIZE / STRIPE_LEN
+        }
+
+        /**
+         * 重置为初始状态
+         *
+         * @return 当前实例
+         */
+        fun reset(): Hasher {
+            initAccumulators().copyInto(acc)
+            buffered = 0
+            stripesSoFar = 0
+            totalLength = 0
+            return this
+        }
+
+        /**
+         * 输入字节数组
+         *
+         * @param bytes 输入数据
+         * @return 当前实例
+         */
+        fun update(bytes: ByteArray): Hasher = update(bytes, 0, bytes.size)
+
+        /**
+         * 输入字节数组的指定区间
+         *
+         * @param bytes 输入数据
+         * @param offset 起始偏移
+         * @param length 长度
+         * @return 当前实例
+         */
+        fun update(bytes: ByteArray, offset: Int, length: Int): Hasher {
+            if (offset < 0 || length < 0 || offset > bytes.size - length) {
+                throw IndexOutOfBoundsException("offset=$offset, length=$length, size=${bytes.size}")
+            }
+            totalLength += length
+            // 缓冲区恰好填满时先不处理，保证摘要时缓冲区中至少有 1 个字节
+            if (buffered + length <= BUFFER_SIZE) {
+                System.arraycopy(bytes, offset, buffer, buffered, length)
+                buffered += length
+                return this
+            }
+            var pos = offset
+            val end = offset + length
+            if (buffered > 0) {
+                val fill = BUFFER_SIZE - buffered
+                System.arraycopy(bytes, pos, buffer, buffered, fill)
+                pos += fill
+                consumeStripes(acc, ByteArrayAccess, buffer, 0, BUFFER_STRIPES)
+                buffered = 0
+            }
+            if (end - pos > BUFFER_SIZE) {
+                do {
+                    consumeStripes(acc, ByteArrayAccess, bytes, pos, BUFFER_STRIPES)
+                    pos += BUFFER_SIZE
+                } while (end - pos > BUFFER_SIZE)
+                // 保留最后一个条带，供摘要时补齐不足 64 字节的尾部
+                System.arraycopy(bytes, pos - STRIPE_LEN, buffer, BUFFER_SIZE - STRIPE_LEN, STRIPE_LEN)
+            }
+            System.arraycopy(bytes, pos, buffer, 0, end - pos)
+            buffered = end - pos
+            return this
+        }
+
+        /**
+         * 输入 ByteBuffer 的剩余数据，输入后 position 移动到 limit
+         *
+         * @param byteBuffer 输入数据
+         * @return 当前实例
+         */
+        fun update(byteBuffer: ByteBuffer): Hasher {
+            if (byteBuffer.hasArray()) {
+                update(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining())
+                byteBuffer.position(byteBuffer.limit())
+                return this
+            }
+            val chunk = ByteArray(minOf(byteBuffer.remaining(), 8192))
+            while (byteBuffer.hasRemaining()) {
+                val n = minOf(chunk.size, byteBuffer.remaining())
+                byteBuffer.get(chunk, 0, n)
+                update(chunk, 0, n)
+            }
+            return this
+        }
+
+        /**
+         * 计算当前已输入数据的哈希值，不影响后续继续输入
+         *
+         * @return 64 位哈希值
+         */
+        fun digest(): Long {
+            if (totalLength <= MIDSIZE_MAX) {
+                return hash(ByteArrayAccess, buffer, 0, totalLength.toInt(), seed)
+            }
+            val accCopy = acc.copyOf()
+            val savedStripes = stripesSoFar
+            if (buffered >= STRIPE_LEN) {
+                consumeStripes(accCopy, ByteArrayAccess, buffer, 0, (buffered - 1) / STRIPE_LEN)
+                accumulate512(accCopy, ByteArrayAccess, buffer, buffered - STRIPE_LEN, secret, SECRET_SIZE - STRIPE_LEN - 7)
+            } else {
+                val lastStripe = ByteArray(STRIPE_LEN)
+                val catchup = STRIPE_LEN - buffered
+                System.arraycopy(buffer, BUFFER_SIZE - catchup, lastStripe, 0, catchup)
+                System.arraycopy(buffer, 0, lastStripe, catchup, buffered)
+                accumulate512(accCopy, ByteArrayAccess, lastStripe, 0, secret, SECRET_SIZE - STRIPE_LEN - 7)
+            }
+            stripesSoFar = savedStripes
+            return mergeAccumulators(accCopy, secret, totalLength * PRIME64_1)
+        }
+
+        private fun <T> consumeStripes(target: LongArray, access: ByteAccess<T>, input: T, offset: Int, stripes: Int) {
+            val toEnd = STRIPES_PER_BLOCK - stripesSoFar
+            if (toEnd <= stripes) {
+                accumulate(target, access, input, offset, secret, stripesSoFar * SECRET_CONSUME_RATE, toEnd)
+                scramble(target, secret)
+                accumulate(target, access, input, offset + toEnd * STRIPE_LEN, secret, 0, stripes - toEnd)
+                stripesSoFar = stripes - toEnd
+            } else {
+                accumulate(target, access, input, offset, secret, stripesSoFar * SECRET_CONSUME_RATE, stripes)
+                stripesSoFar += stripes
+            }
+        }
+    }
+}
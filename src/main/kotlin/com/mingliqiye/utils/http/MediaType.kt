@@ -16,12 +16,23 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile MediaType.kt
- * LastUpdate 2026-03-11 08:46:40
+ * LastUpdate 2026-10-18 22:59:55
  * UpdateUser MingLiPro
  */
 
 package com.mingliqiye.utils.http
 
+import com.mingliqiye.utils.exception.UnsupportedMediaTypeException
+import java.nio.charset.Charset
+
+/**
+ * IANA 注册的媒体类型
+ *
+ * 通过 [of]/[find] 按 Content-Type 字符串查找（忽略大小写与参数），通过 [ofExtension]/[ofFileName] 按文件扩展名查找，
+ * 二者均为预先构建的哈希索引，查找时不分配对象。
+ *
+ * @param value 媒体类型字符串，如"application/json"
+ */
 enum class MediaType(val value: String) {
     APPLICATION_1D_INTERLEAVED_PARITYFEC("application/1d-interleaved-parityfec"),
     APPLICATION_3GPDASH_QOE_REPORT_XML("application/3gpdash-qoe-report+xml"),
@@ -2275,4 +2286,251 @@ enum class MediaType(val value: String) {
     VIDEO_VND_VIVO("video/vnd.vivo"),
     VIDEO_VP8("video/VP8"),
     VIDEO_VP9("video/VP9");
+
+    companion object {
+
+        // 开放寻址哈希表，槽位存放 ordinal + 1，0 表示空
+        private val VALUES = entries.toTypedArray()
+
+        private val TABLE: IntArray
+
+        private val MASK: Int
+
+        private val EXTENSIONS: Map<String, MediaType>
+
+        init {
+            val capacity = Integer.highestOneBit(VALUES.size) shl 2
+            TABLE = IntArray(capacity)
+            MASK = capacity - 1
+            for (type in VALUES) {
+                var slot = hash(type.value, 0, type.value.length) and MASK
+                while (TABLE[slot] != 0) {
+                    slot = (slot + 1) and MASK
+                }
+                TABLE[slot] = type.ordinal + 1
+            }
+            val extensions = HashMap<String, MediaType>()
+            for ((type, names) in listOf(
+                "application/json" to "json map",
+                "application/ld+json" to "jsonld",
+                "application/manifest+json" to "webmanifest",
+                "application/xml" to "xml xsd xsl",
+                "application/xhtml+xml" to "xhtml xht",
+                "application/atom+xml" to "atom",
+                "application/yaml" to "yaml yml",
+                "application/toml" to "toml",
+                "application/pdf" to "pdf",
+                "application/rtf" to "rtf",
+                "application/zip" to "zip",
+                "application/gzip" to "gz tgz",
+                "application/zstd" to "zst",
+                "application/vnd.rar" to "rar",
+                "application/java-archive" to "jar war ear",
+                "application/epub+zip" to "epub",
+                "application/octet-stream" to "bin exe dll so class iso img dmg",
+                "application/wasm" to "wasm",
+                "application/sql" to "sql",
+                "application/ogg" to "ogx",
+                "application/cbor" to "cbor",
+                "application/jwt" to "jwt",
+                "application/msword" to "doc dot",
+                "application/vnd.openxmlformats-officedocument.wordprocessingml.document" to "docx",
+                "application/vnd.ms-excel" to "xls xlt",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" to "xlsx",
+                "application/vnd.ms-powerpoint" to "ppt pot pps",
+                "application/vnd.openxmlformats-officedocument.presentationml.presentation" to "pptx",
+                "application/vnd.oasis.opendocument.text" to "odt",
+                "application/vnd.oasis.opendocument.spreadsheet" to "ods",
+                "application/vnd.oasis.opendocument.presentation" to "odp",
+                "text/plain" to "txt text log conf ini properties",
+                "text/html" to "html htm",
+                "text/css" to "css",
+                "text/csv" to "csv",
+                "text/javascript" to "js mjs cjs",
+                "text/markdown" to "md markdown",
+                "text/calendar" to "ics ifb",
+                "text/vcard" to "vcf vcard",
+                "image/png" to "png",
+                "image/jpeg" to "jpg jpeg jpe jfif",
+                "image/gif" to "gif",
+                "image/webp" to "webp",
+                "image/avif" to "avif",
+                "image/heic" to "heic",
+                "image/jxl" to "jxl",
+                "image/svg+xml" to "svg svgz",
+                "image/bmp" to "bmp",
+                "image/tiff" to "tif tiff",
+                "image/vnd.microsoft.icon" to "ico",
+                "audio/mpeg" to "mp3 mpga",
+                "audio/ogg" to "oga ogg",
+                "audio/opus" to "opus",
+                "audio/aac" to "aac",
+                "audio/mp4" to "m4a",
+                "audio/flac" to "flac",
+                "video/mp4" to "mp4 m4v",
+                "video/mpeg" to "mpeg mpg",
+                "video/ogg" to "ogv",
+                "video/quicktime" to "mov qt",
+                "video/3gpp" to "3gp",
+                "font/woff" to "woff",
+                "font/woff2" to "woff2",
+                "font/ttf" to "ttf",
+                "font/otf" to "otf",
+            )) {
+                val mediaType = of(type)
+                for (name in names.split(' ')) {
+                    extensions[name] = mediaType
+                }
+            }
+            EXTENSIONS = extensions
+        }
+
+        // 忽略 ASCII 大小写的哈希
+        private fun hash(s: CharSequence, start: Int, end: Int): Int {
+            var h = 0
+            for (i in start until end) {
+                var c = s[i].code
+                if (c in 'A'.code..'Z'.code) {
+                    c += 32
+                }
+                h = 31 * h + c
+            }
+            return h xor (h ushr 16)
+        }
+
+        /**
+         * 按 Content-Type 查找媒体类型，忽略大小写、首尾空白和参数部分
+         *
+         * @param contentType Content-Type 字符串，如"application/json; charset=utf-8"
+         * @return 媒体类型，未注册时返回null
+         */
+        @JvmStatic
+        fun find(contentType: String): MediaType? {
+            var start = 0
+            var end = contentType.length
+            while (start < end && contentType[start] <= ' ') {
+                start++
+            }
+            for (i in start until end) {
+                val c = contentType[i]
+                if (c == ';' || c <= ' ') {
+                    end = i
+                    break
+                }
+            }
+            val length = end - start
+            if (length == 0) {
+                return null
+            }
+            var slot = hash(contentType, start, end) and MASK
+            while (true) {
+                val index = TABLE[slot]
+                if (index == 0) {
+                    return null
+                }
+                val type = VALUES[index - 1]
+                if (type.value.length == length && type.value.regionMatches(0, contentType, start, length, true)) {
+                    return type
+                }
+                slot = (slot + 1) and MASK
+            }
+        }
+
+        /**
+         * 按 Content-Type 查找媒体类型，忽略大小写、首尾空白和参数部分
+         *
+         * @param contentType Content-Type 字符串，如"application/json; charset=utf-8"
+         * @return 媒体类型
+         * @throws UnsupportedMediaTypeException 未注册的媒体类型
+         */
+        @JvmStatic
+        fun of(contentType: String): MediaType {
+            return find(contentType) ?: throw UnsupportedMediaTypeException("Unsupported Media Type: $contentType")
+        }
+
+        /**
+         * 按文件扩展名查找常见的媒体类型，忽略大小写，可带前导"."
+         *
+         * @param extension 扩展名，如"json"或".json"
+         * @return 媒体类型，未知扩展名时返回null
+         */
+        @JvmStatic
+        fun ofExtension(extension: String): MediaType? {
+            val name = if (extension.startsWith('.')) extension.substring(1) else extension
+            return EXTENSIONS[name] ?: EXTENSIONS[name.lowercase()]
+        }
+
+        /**
+         * 按文件名的扩展名查找常见的媒体类型
+         *
+         * @param fileName 文件名或路径
+         * @return 媒体类型，没有扩展名或扩展名未知时返回null
+         */
+        @JvmStatic
+        fun ofFileName(fileName: String): MediaType? {
+            val dot = fileName.lastIndexOf('.')
+            if (dot < 0 || dot < fileName.lastIndexOf('/') || dot < fileName.lastIndexOf('\\')) {
+                return null
+            }
+            return ofExtension(fileName.substring(dot + 1))
+        }
+
+        /**
+         * 获取 Content-Type 中的 charset 参数
+         *
+         * UTF-8、ISO-8859-1、US-ASCII 等常见字符集直接返回常量，不分配对象
+         *
+         * @param contentType Content-Type 字符串
+         * @return 字符集，未指定或不支持时返回null
+         */
+        @JvmStatic
+        fun charsetOf(contentType: String): Charset? {
+            var i = contentType.indexOf(';')
+            val length = contentType.length
+            while (i in 0 until length) {
+                i++
+                while (i < length && contentType[i] <= ' ') {
+                    i++
+                }
+                if (contentType.regionMatches(i, "charset", 0, 7, true)) {
+                    var j = i + 7
+                    while (j < length && contentType[j] <= ' ') {
+                        j++
+                    }
+                    if (j < length && contentType[j] == '=') {
+                        return parseCharset(contentType, j + 1)
+                    }
+                }
+                i = contentType.indexOf(';', i)
+            }
+            return null
+        }
+
+        private fun parseCharset(s: String, from: Int): Charset? {
+            var start = from
+            var end = s.indexOf(';', start).let { if (it < 0) s.length else it }
+            while (start < end && s[start] <= ' ') {
+                start++
+            }
+            while (end > start && s[end - 1] <= ' ') {
+                end--
+            }
+            if (end - start >= 2 && s[start] == '"' && s[end - 1] == '"') {
+                start++
+                end--
+            }
+            val length = end - start
+            for (charset in arrayOf(Charsets.UTF_8, Charsets.ISO_8859_1, Charsets.US_ASCII, Charsets.UTF_16)) {
+                val name = charset.name()
+                if (name.length == length && name.regionMatches(0, s, start, length, true)) {
+                    return charset
+                }
+            }
+            return try {
+                Charset.forName(s.substring(start, end))
+            } catch (e: IllegalArgumentException) {
+                null
+            }
+        }
+    }
 }
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile MediaTypeUtils.kt
- * LastUpdate 2026-02-27 22:15:03
+ * LastUpdate 2026-10-18 22:59:55
  * UpdateUser MingLiPro
  */
 @file:JvmName("MediaTypeUtils")
@@ -25,5 +25,15 @@ package com.mingliqiye.utils.http
 
 import okhttp3.MediaType.Companion.toMediaType
 
+// 按 ordinal 缓存解析后的 okhttp3.MediaType，并发时重复解析的结果相同，无需同步
+private val OKHTTP_MEDIA_TYPES = arrayOfNulls<okhttp3.MediaType>(MediaType.entries.size)
 
-fun MediaType.okhttp(): okhttp3.MediaType = this.value.toMediaType()
+/**
+ * 获取对应的 okhttp3.MediaType，每个常量只解析一次
+ *
+ * @receiver MediaType 媒体类型
+ * @return okhttp3.MediaType
+ */
+fun MediaType.okhttp(): okhttp3.MediaType {
+    return OKHTTP_MEDIA_TYPES[ordinal] ?: value.toMediaType().also { OKHTTP_MEDIA_TYPES[ordinal] = it }
+}
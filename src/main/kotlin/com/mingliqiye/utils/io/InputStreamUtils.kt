@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile InputStreamUtils.kt
- * LastUpdate 2026-03-11 08:46:40
+ * LastUpdate 2026-10-18 22:07:02
  * UpdateUser MingLiPro
  */
 @file:JvmName("InputStreamUtils")
@@ -31,7 +31,8 @@ import java.nio.charset.Charset
 fun InputStream.readAllText(charset: Charset = Charsets.UTF_8) = this.readAllBytes().toString(charset)
 
 fun InputStream.exportBytes(out: OutputStream) {
-    out.write(this.readAllBytes())
+    // 分块流式复制，不再把整个输入读入内存
+    this.transferTo(out)
     out.flush()
 }
 
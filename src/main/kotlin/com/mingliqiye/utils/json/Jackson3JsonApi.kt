@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile Jackson3JsonApi.kt
- * LastUpdate 2026-03-11 08:46:40
+ * LastUpdate 2026-10-19 00:05:56
  * UpdateUser MingLiPro
  */
 
@@ -31,6 +31,7 @@ import tools.jackson.core.type.TypeReference
 import tools.jackson.databind.JsonNode
 import tools.jackson.databind.ObjectMapper
 import tools.jackson.databind.node.ObjectNode
+import java.io.InputStream
 import java.lang.reflect.Type
 
 class Jackson3JsonApi : JsonApi {
@@ -95,8 +96,23 @@ class Jackson3JsonApi : JsonApi {
 
     override fun isValidJson(json: String): Boolean {
         return try {
-            objectMapper.readTree(json)
-            true
+            objectMapper.createParser(json).use { it.isSingleDocument() }
+        } catch (e: Exception) {
+            false
+        }
+    }
+
+    override fun isValidJson(json: ByteArray): Boolean {
+        return try {
+            objectMapper.createParser(json).use { it.isSingleDocument() }
+        } catch (e: Exception) {
+            false
+        }
+    }
+
+    override fun isValidJson(inputStream: InputStream): Boolean {
+        return try {
+            objectMapper.createParser(inputStream).use { it.isSingleDocument() }
         } catch (e: Exception) {
             false
         }
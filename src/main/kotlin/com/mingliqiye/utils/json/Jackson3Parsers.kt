@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile Jackson3Parsers.kt
+ * LastUpdate 2026-10-19 00:05:56
+ * UpdateUser MingLiPro
+ */
+
+@file:JvmName("Jackson3Parsers")
+
+package com.mingliqiye.utils.json
+
+import tools.jackson.core.JsonParser
+
+/**
+ * 读取一个完整的根值并跳过其子节点，随后必须到达输入末尾。
+ *
+ * 只遍历词法单元，不构建节点树；Jackson 3 版本，供 [Jackson3JsonApi] 使用。
+ *
+ * @return 输入恰好包含一个值时返回true，空输入或存在多余内容时返回false
+ */
+internal fun JsonParser.isSingleDocument(): Boolean {
+    if (nextToken() == null) {
+        return false
+    }
+    skipChildren()
+    // Smile 等格式在内嵌的文档头处返回 null 后继续下一个文档，需连续两次为 null 才是输入末尾
+    return nextToken() == null && nextToken() == null
+}
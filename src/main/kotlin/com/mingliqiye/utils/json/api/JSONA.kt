@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile JSONA.kt
- * LastUpdate 2026-02-26 14:14:18
+ * LastUpdate 2026-10-18 21:54:56
  * UpdateUser MingLiPro
  */
 
@@ -426,6 +426,24 @@ object JSONA {
     @JvmStatic
     fun isValidJson(json: String): Boolean = getJsonApi().isValidJson(json)
 
+    /**
+     * 验证字节数组是否为有效的JSON格式
+     *
+     * @param json 待验证的JSON字节数组
+     * @return 如果是有效的JSON格式返回true，否则返回false
+     */
+    @JvmStatic
+    fun isValidJson(json: ByteArray): Boolean = getJsonApi().isValidJson(json)
+
+    /**
+     * 验证输入流中的内容是否为有效的JSON格式
+     *
+     * @param inputStream 输入流
+     * @return 如果是有效的JSON格式返回true，否则返回false
+     */
+    @JvmStatic
+    fun isValidJson(inputStream: InputStream): Boolean = getJsonApi().isValidJson(inputStream)
+
     /**
      * 将对象转换为JSON字节数组
      *
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile JacksonBinaryFormat.kt
+ * LastUpdate 2026-10-18 21:55:42
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.json.api
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper
+
+/**
+ * Jackson 支持的二进制 JSON 编码格式
+ *
+ * 需要在运行时提供对应的 jackson-dataformat 依赖
+ *
+ * @property mediaType 对应的媒体类型
+ */
+enum class JacksonBinaryFormat(val mediaType: String) {
+
+    /**
+     * Smile 格式，依赖 jackson-dataformat-smile
+     */
+    SMILE("application/x-jackson-smile") {
+        override fun createObjectMapper(): ObjectMapper = SmileMapper()
+    },
+
+    /**
+     * CBOR 格式（RFC 8949），依赖 jackson-dataformat-cbor
+     */
+    CBOR("application/cbor") {
+        override fun createObjectMapper(): ObjectMapper = CBORMapper()
+    };
+
+    /**
+     * 创建使用该格式编码的 ObjectMapper
+     *
+     * @return 新的 ObjectMapper 实例
+     */
+    abstract fun createObjectMapper(): ObjectMapper
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile JacksonBinaryJsonApi.kt
+ * LastUpdate 2026-10-19 00:05:56
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.json.api
+
+import com.fasterxml.jackson.core.JsonGenerator
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.mingliqiye.utils.exception.JsonException
+import com.mingliqiye.utils.json.api.base.JsonApi
+import com.mingliqiye.utils.json.api.type.JsonTypeReference
+import com.mingliqiye.utils.json.converters.base.BaseJsonConverter
+import com.mingliqiye.utils.json.converters.base.getJacksonModule
+import java.io.InputStream
+import java.io.OutputStream
+
+/**
+ * 基于Jackson二进制数据格式（Smile/CBOR）的JSON处理实现类。
+ *
+ * 字节数组与流相关的方法（[formatBytes]、[toBytes]、[parse]、[parseFrom] 等）使用二进制编码，
+ * 字符串相关的方法（[format]、[formatPretty]、[merge] 等）仍输出/读取文本JSON，
+ * 通过 [addJsonConverter] 注册的转换器会同时注册到两个ObjectMapper，对两种编码同时生效。
+ */
+class JacksonBinaryJsonApi : JsonApi {
+
+    private val objectMapper: ObjectMapper
+
+    private val textJsonApi: JacksonJsonApi
+
+    /**
+     * 使用指定的二进制格式构造实例
+     *
+     * @param format 二进制编码格式
+     */
+    constructor(format: JacksonBinaryFormat) : this(format.createObjectMapper(), ObjectMapper())
+
+    /**
+     * 使用指定的二进制ObjectMapper构造实例，文本JSON操作使用默认的ObjectMapper
+     *
+     * @param objectMapper 基于 SmileFactory/CBORFactory 等二进制工厂的ObjectMapper
+     */
+    constructor(objectMapper: ObjectMapper) : this(objectMapper, ObjectMapper())
+
+    /**
+     * 使用指定的二进制与文本ObjectMapper构造实例
+     *
+     * @param objectMapper     基于 SmileFactory/CBORFactory 等二进制工厂的ObjectMapper
+     * @param textObjectMapper 处理文本JSON的ObjectMapper
+     */
+    constructor(objectMapper: ObjectMapper, textObjectMapper: ObjectMapper) {
+        this.objectMapper = objectMapper
+        this.textJsonApi = JacksonJsonApi(textObjectMapper)
+    }
+
+    /**
+     * 将字节数组形式的二进制数据解析为指定类型的对象
+     *
+     * @param json  二进制编码的数据
+     * @param clazz 目标对象类型
+     * @return 解析后的对象
+     * @throws JsonException 当解析失败时抛出异常
+     */
+    override fun <T> parse(json: ByteArray, clazz: Class<T>): T {
+        return try {
+            objectMapper.readValue(json, clazz)
+        } catch (e: Exception) {
+            throw JsonException("Failed to parse binary JSON", e)
+        }
+    }
+
+    /**
+     * 将字节数组形式的二进制数据解析为复杂泛型结构的对象
+     *
+     * @param json 二进制编码的数据
+     * @param type 泛型类型引用
+     * @return 解析后的对象
+     * @throws JsonException 当解析失败时抛出异常
+     */
+    override fun <T> parse(json: ByteArray, type: JsonTypeReference<T>): T {
+        return try {
+            objectMapper.readerFor(objectMapper.constructType(type.type)).readValue(json)
+        } catch (e: Exception) {
+            throw JsonException("Failed to parse binary JSON", e)
+        }
+    }
+
+    /**
+     * 从输入流读取二进制数据并解析为指定类型的对象
+     *
+     * @param inputStream 输入流
+     * @param clazz       目标对象类型
+     * @return 解析后的对象
+     * @throws JsonException 当解析失败时抛出异常
+     */
+    override fun <T> parseFrom(inputStream: InputStream, clazz: Class<T>): T {
+        return try {
+            objectMapper.readValue(inputStream, clazz)
+        } catch (e: Exception) {
+            throw JsonException("Failed to parse binary JSON stream", e)
+        }
+    }
+
+    /**
+     * 从输入流读取二进制数据并解析为复杂泛型结构的对象
+     *
+     * @param inputStream 输入流
+     * @param type        泛型类型引用
+     * @return 解析后的对象
+     * @throws JsonException 当解析失败时抛出异常
+     */
+    override fun <T> parseFrom(inputStream: InputStream, type: JsonTypeReference<T>): T {
+        return try {
+            objectMapper.readerFor(objectMapper.constructType(type.type)).readValue(inputStream)
+        } catch (e: Exception) {
+            throw JsonException("Failed to parse binary JSON stream", e)
+        }
+    }
+
+    /**
+     * 将对象编码为二进制字节数组
+     *
+     * @param obj 待编码的对象
+     * @return 二进制编码后的字节数组
+     * @throws JsonException 当编码失败时抛出异常
+     */
+    override fun formatBytes(obj: Any): ByteArray {
+        return try {
+            objectMapper.writeValueAsBytes(obj)
+        } catch (e: Exception) {
+            throw JsonException("Failed to format object to binary JSON", e)
+        }
+    }
+
+    /**
+     * 将对象编码为二进制字节数组
+     *
+     * @param obj 待编码的对象
+     * @return 二进制编码后的字节数组
+     */
+    override fun toBytes(obj: Any): ByteArray = formatBytes(obj)
+
+    /**
+     * 将对象以二进制编码写入输出流，写入后不会关闭输出流
+     *
+     * @param obj    待编码的对象
+     * @param stream 输出流
+     * @throws JsonException 当编码失败时抛出异常
+     */
+    override fun format(obj: Any, stream: OutputStream) {
+        try {
+            objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(stream, obj)
+        } catch (e: Exception) {
+            throw JsonException("Failed to format object to binary JSON", e)
+        }
+    }
+
+    /**
+     * 判断字节数组是否为有效的二进制编码数据
+     *
+     * @param json 待验证的字节数组
+     * @return 如果有效返回true，否则返回false
+     */
+    override fun isValidJson(json: ByteArray): Boolean {
+        return try {
+            objectMapper.createParser(json).use { it.isSingleDocument() }
+        } catch (e: Exception) {
+            false
+        }
+    }
+
+    /**
+     * 判断输入流中的内容是否为有效的二进制编码数据
+     *
+     * @param inputStream 输入流
+     * @return 如果有效返回true，否则返回false
+     */
+    override fun isValidJson(inputStream: InputStream): Boolean {
+        return try {
+            objectMapper.createParser(inputStream).use { it.isSingleDocument() }
+        } catch (e: Exception) {
+            false
+        }
+    }
+
+    override fun <T> parse(json: String, clazz: Class<T>): T = textJsonApi.parse(json, clazz)
+
+    override fun <T> parse(json: String, type: JsonTypeReference<T>): T = textJsonApi.parse(json, type)
+
+    override fun format(obj: Any): String = textJsonApi.format(obj)
+
+    override fun formatPretty(obj: Any): String = textJsonApi.formatPretty(obj)
+
+    override fun isValidJson(json: String): Boolean = textJsonApi.isValidJson(json)
+
+    override fun merge(vararg jsons: String): String = textJsonApi.merge(*jsons)
+
+    override fun getNodeValue(json: String, path: String): String? = textJsonApi.getNodeValue(json, path)
+
+    override fun updateNodeValue(json: String, path: String, newValue: Any): String =
+        textJsonApi.updateNodeValue(json, path, newValue)
+
+    override fun <D> convert(source: Any, destinationClass: Class<D>): D =
+        textJsonApi.convert(source, destinationClass)
+
+    override fun <D> convert(source: Any, destinationType: JsonTypeReference<D>): D =
+        textJsonApi.convert(source, destinationType)
+
+    /**
+     * 添加JSON转换器，同时注册到二进制与文本两个ObjectMapper
+     *
+     * @param c JSON转换器
+     */
+    override fun addJsonConverter(c: BaseJsonConverter<*, *>) {
+        try {
+            objectMapper.registerModule(c.getJacksonModule())
+        } catch (e: Exception) {
+            throw JsonException("Failed to add json converter", e)
+        }
+        textJsonApi.addJsonConverter(c)
+    }
+}
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile JacksonJsonApi.kt
- * LastUpdate 2026-03-11 08:46:40
+ * LastUpdate 2026-10-19 00:05:56
  * UpdateUser MingLiPro
  */
 
@@ -33,6 +33,7 @@ import com.mingliqiye.utils.json.api.base.JsonApi
 import com.mingliqiye.utils.json.api.type.JsonTypeReference
 import com.mingliqiye.utils.json.converters.base.BaseJsonConverter
 import com.mingliqiye.utils.json.converters.base.getJacksonModule
+import java.io.InputStream
 
 /**
  * 基于Jackson的JSON处理实现类，提供JSON字符串解析、格式化、合并、节点操作等功能。
@@ -151,13 +152,46 @@ class JacksonJsonApi : JsonApi {
     /**
      * 判断给定字符串是否是有效的JSON格式
      *
+     * 仅遍历词法单元，不构建节点树
+     *
      * @param json 待验证的字符串
      * @return 如果是有效JSON返回true，否则返回false
      */
     override fun isValidJson(json: String): Boolean {
         return try {
-            objectMapper.readTree(json)
-            true
+            objectMapper.createParser(json).use { it.isSingleDocument() }
+        } catch (e: Exception) {
+            false
+        }
+    }
+
+    /**
+     * 判断给定字节数组是否是有效的JSON格式
+     *
+     * 直接在字节上解析，不解码为字符串
+     *
+     * @param json 待验证的字节数组
+     * @return 如果是有效JSON返回true，否则返回false
+     */
+    override fun isValidJson(json: ByteArray): Boolean {
+        return try {
+            objectMapper.createParser(json).use { it.isSingleDocument() }
+        } catch (e: Exception) {
+            false
+        }
+    }
+
+    /**
+     * 判断输入流中的内容是否是有效的JSON格式
+     *
+     * 流式解析，不会将内容完整读入内存
+     *
+     * @param inputStream 输入流
+     * @return 如果是有效JSON返回true，否则返回false
+     */
+    override fun isValidJson(inputStream: InputStream): Boolean {
+        return try {
+            objectMapper.createParser(inputStream).use { it.isSingleDocument() }
         } catch (e: Exception) {
             false
         }
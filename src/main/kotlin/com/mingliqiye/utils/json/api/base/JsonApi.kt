@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile JsonApi.kt
- * LastUpdate 2026-03-11 08:46:40
+ * LastUpdate 2026-10-18 21:54:56
  * UpdateUser MingLiPro
  */
 
@@ -431,6 +431,26 @@ interface JsonApi {
      */
     fun isValidJson(json: String): Boolean
 
+    /**
+     * 验证字节数组是否为有效的JSON格式
+     *
+     * @param json 待验证的JSON字节数组
+     * @return 如果是有效的JSON格式返回true，否则返回false
+     */
+    fun isValidJson(json: ByteArray): Boolean {
+        return isValidJson(String(json))
+    }
+
+    /**
+     * 验证输入流中的内容是否为有效的JSON格式
+     *
+     * @param inputStream 输入流
+     * @return 如果是有效的JSON格式返回true，否则返回false
+     */
+    fun isValidJson(inputStream: InputStream): Boolean {
+        return isValidJson(inputStream.readBytes())
+    }
+
     /**
      * 将对象转换为JSON字节数组
      *
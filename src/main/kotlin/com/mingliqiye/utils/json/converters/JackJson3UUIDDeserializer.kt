@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile JackJson3UUIDDeserializer.kt
+ * LastUpdate 2026-10-18 21:59:35
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.json.converters
+
+import com.mingliqiye.utils.annotation.UUIDJsonFormat
+import com.mingliqiye.utils.base.BaseType
+import com.mingliqiye.utils.string.isNullish
+import com.mingliqiye.utils.uuid.UUID
+import tools.jackson.core.JsonParser
+import tools.jackson.core.JsonToken
+import tools.jackson.databind.BeanProperty
+import tools.jackson.databind.DeserializationContext
+import tools.jackson.databind.ValueDeserializer
+
+/**
+ * UUID 专用的 Jackson 3 反序列化器，行为与 [JackUUIDDeserializer] 一致。
+ *
+ * @property format 当前属性上的 UUIDJsonFormat 注解，为 null 时使用默认格式
+ */
+class JackJson3UUIDDeserializer(
+    val format: UUIDJsonFormat? = null
+) : ValueDeserializer<UUID>() {
+
+    private val baseType = format?.base?.takeIf { it != BaseType.BASE16 }
+
+    override fun deserialize(p: JsonParser, ctxt: DeserializationContext): UUID? {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return ctxt.handleUnexpectedToken(UUID::class.java, p) as UUID?
+        }
+        val length = p.stringLength
+        try {
+            if (baseType == null && (length == 36 || length == 32)) {
+                return UUID.of(p.stringCharacters, p.stringOffset, length)
+            }
+            val text = p.string
+            if (text.isNullish()) return null
+            return if (baseType != null) UUID.of(text, baseType) else UUID.of(text)
+        } catch (e: IllegalArgumentException) {
+            throw ctxt.weirdStringException(p.string, UUID::class.java, e.message)
+        }
+    }
+
+    override fun handledType(): Class<*> = UUID::class.java
+
+    override fun createContextual(ctxt: DeserializationContext?, property: BeanProperty?): ValueDeserializer<*> {
+        val format = property?.getAnnotation(UUIDJsonFormat::class.java) ?: return this
+        return JackJson3UUIDDeserializer(format)
+    }
+}
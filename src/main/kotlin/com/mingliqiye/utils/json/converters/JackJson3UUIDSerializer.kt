@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile JackJson3UUIDSerializer.kt
+ * LastUpdate 2026-10-18 21:59:35
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.json.converters
+
+import com.mingliqiye.utils.annotation.UUIDJsonFormat
+import com.mingliqiye.utils.base.BaseType
+import com.mingliqiye.utils.uuid.UUID
+import tools.jackson.core.JsonGenerator
+import tools.jackson.databind.BeanProperty
+import tools.jackson.databind.SerializationContext
+import tools.jackson.databind.ValueSerializer
+
+/**
+ * UUID 专用的 Jackson 3 序列化器，行为与 [JackUUIDSerializer] 一致。
+ *
+ * @property format 当前属性上的 UUIDJsonFormat 注解，为 null 时使用默认格式
+ */
+class JackJson3UUIDSerializer(
+    val format: UUIDJsonFormat? = null
+) : ValueSerializer<UUID>() {
+
+    companion object {
+        private val charBuffer = ThreadLocal.withInitial { CharArray(36) }
+    }
+
+    private val isUpper = format?.value?.isUpper ?: false
+    private val isnotSpace = format?.value?.isnotSpace ?: false
+    private val baseType = format?.base?.takeIf { it != BaseType.BASE16 }
+
+    override fun serialize(value: UUID, gen: JsonGenerator, ctxt: SerializationContext) {
+        if (baseType != null) {
+            gen.writeString(value.getString(baseType))
+            return
+        }
+        val chars = charBuffer.get()
+        gen.writeString(chars, 0, value.writeChars(chars, 0, isUpper, isnotSpace))
+    }
+
+    override fun handledType(): Class<*> = UUID::class.java
+
+    override fun createContextual(ctxt: SerializationContext?, property: BeanProperty?): ValueSerializer<*> {
+        val format = property?.getAnnotation(UUIDJsonFormat::class.java) ?: return this
+        return JackJson3UUIDSerializer(format)
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile JackUUIDDeserializer.kt
+ * LastUpdate 2026-10-18 21:59:35
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.json.converters
+
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
+import com.fasterxml.jackson.databind.BeanProperty
+import com.fasterxml.jackson.databind.DeserializationContext
+import com.fasterxml.jackson.databind.JsonDeserializer
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer
+import com.mingliqiye.utils.annotation.UUIDJsonFormat
+import com.mingliqiye.utils.base.BaseType
+import com.mingliqiye.utils.string.isNullish
+import com.mingliqiye.utils.uuid.UUID
+
+/**
+ * UUID 专用的 Jackson 反序列化器。
+ *
+ * 十六进制格式下直接从解析器的文本缓冲区解析 UUID，不创建中间字符串；
+ * [UUIDJsonFormat] 注解在 [createContextual] 中按属性解析一次。
+ *
+ * @property format 当前属性上的 UUIDJsonFormat 注解，为 null 时使用默认格式
+ */
+class JackUUIDDeserializer(
+    val format: UUIDJsonFormat? = null
+) : JsonDeserializer<UUID>(), ContextualDeserializer {
+
+    private val baseType = format?.base?.takeIf { it != BaseType.BASE16 }
+
+    override fun deserialize(p: JsonParser, ctxt: DeserializationContext): UUID? {
+        if (p.currentToken == JsonToken.VALUE_NULL) return null
+        if (p.currentToken != JsonToken.VALUE_STRING) {
+            return ctxt.handleUnexpectedToken(UUID::class.java, p) as UUID?
+        }
+        val length = p.textLength
+        try {
+            if (baseType == null && (length == 36 || length == 32)) {
+                return UUID.of(p.textCharacters, p.textOffset, length)
+            }
+            val text = p.text
+            if (text.isNullish()) return null
+            return if (baseType != null) UUID.of(text, baseType) else UUID.of(text)
+        } catch (e: IllegalArgumentException) {
+            throw ctxt.weirdStringException(p.text, UUID::class.java, e.message)
+        }
+    }
+
+    override fun handledType(): Class<UUID> = UUID::class.java
+
+    /**
+     * 上下文感知方法：读取当前属性上的 UUIDJsonFormat 注解。
+     *
+     * @param ctxt 反序列化上下文，可选参数。
+     * @param property 当前属性信息。
+     * @return 绑定了该属性格式的反序列化器实例。
+     */
+    override fun createContextual(ctxt: DeserializationContext?, property: BeanProperty?): JsonDeserializer<*> {
+        val format = property?.getAnnotation(UUIDJsonFormat::class.java) ?: return this
+        return JackUUIDDeserializer(format)
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile JackUUIDSerializer.kt
+ * LastUpdate 2026-10-18 21:59:35
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.json.converters
+
+import com.fasterxml.jackson.core.JsonGenerator
+import com.fasterxml.jackson.databind.BeanProperty
+import com.fasterxml.jackson.databind.JsonSerializer
+import com.fasterxml.jackson.databind.SerializerProvider
+import com.fasterxml.jackson.databind.ser.ContextualSerializer
+import com.mingliqiye.utils.annotation.UUIDJsonFormat
+import com.mingliqiye.utils.base.BaseType
+import com.mingliqiye.utils.uuid.UUID
+
+/**
+ * UUID 专用的 Jackson 序列化器。
+ *
+ * 与通用的 [com.mingliqiye.utils.json.converters.base.JackJsonSerializer] 不同，
+ * 十六进制格式下直接将字符写入线程内复用的字符数组，再通过 `writeString(char[], off, len)` 输出，
+ * 不创建中间字符串；[UUIDJsonFormat] 注解在 [createContextual] 中按属性解析一次。
+ *
+ * @property format 当前属性上的 UUIDJsonFormat 注解，为 null 时使用默认格式
+ */
+class JackUUIDSerializer(
+    val format: UUIDJsonFormat? = null
+) : JsonSerializer<UUID>(), ContextualSerializer {
+
+    companion object {
+        private val charBuffer = ThreadLocal.withInitial { CharArray(36) }
+    }
+
+    private val isUpper = format?.value?.isUpper ?: false
+    private val isnotSpace = format?.value?.isnotSpace ?: false
+    private val baseType = format?.base?.takeIf { it != BaseType.BASE16 }
+
+    override fun serialize(value: UUID?, gen: JsonGenerator, provider: SerializerProvider?) {
+        if (value == null) {
+            gen.writeNull()
+            return
+        }
+        if (baseType != null) {
+            gen.writeString(value.getString(baseType))
+            return
+        }
+        val chars = charBuffer.get()
+        gen.writeString(chars, 0, value.writeChars(chars, 0, isUpper, isnotSpace))
+    }
+
+    override fun handledType(): Class<UUID> = UUID::class.java
+
+    /**
+     * 上下文感知方法：读取当前属性上的 UUIDJsonFormat 注解。
+     *
+     * @param prov 序列化提供者，可选参数。
+     * @param property 当前属性信息。
+     * @return 绑定了该属性格式的序列化器实例。
+     */
+    override fun createContextual(prov: SerializerProvider?, property: BeanProperty?): JsonSerializer<*> {
+        val format = property?.getAnnotation(UUIDJsonFormat::class.java) ?: return this
+        return JackUUIDSerializer(format)
+    }
+}
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile JsonConverterUtils.kt
- * LastUpdate 2026-02-26 16:01:49
+ * LastUpdate 2026-10-18 21:59:35
  * UpdateUser MingLiPro
  */
 @file:JvmName("JsonConverterUtils")
@@ -24,7 +24,13 @@
 package com.mingliqiye.utils.json.converters.base
 
 
+import com.mingliqiye.utils.json.converters.JackJson3UUIDDeserializer
+import com.mingliqiye.utils.json.converters.JackJson3UUIDSerializer
+import com.mingliqiye.utils.json.converters.JackUUIDDeserializer
+import com.mingliqiye.utils.json.converters.JackUUIDSerializer
+import com.mingliqiye.utils.json.converters.UUIDJsonConverter
 import com.mingliqiye.utils.logger.MingLiLoggerFactory
+import com.mingliqiye.utils.uuid.UUID
 import java.lang.reflect.ParameterizedType
 import java.lang.reflect.Type
 
@@ -71,14 +77,30 @@ inline fun <reified T : BaseJsonConverter<*, *>> com.fasterxml.jackson.databind.
 /**
  * 创建并返回一个 Jackson 模块，该模块包含自定义的序列化器和反序列化器。
  *
+ * [UUIDJsonConverter] 使用专用的 [JackUUIDSerializer]/[JackUUIDDeserializer]，直接读写字符缓冲区。
+ *
  * @return 配置了自定义序列化器和反序列化器的 SimpleModule 对象。
  */
-fun <F, T> JsonConverter<F, T>.getJacksonModule(): com.fasterxml.jackson.databind.module.SimpleModule =
-    com.fasterxml.jackson.databind.module.SimpleModule("${getFromClass().name}To${getToClass().name}")
+fun <F, T> JsonConverter<F, T>.getJacksonModule(): com.fasterxml.jackson.databind.module.SimpleModule {
+    val module = com.fasterxml.jackson.databind.module.SimpleModule("${getFromClass().name}To${getToClass().name}")
+    if (this is UUIDJsonConverter) {
+        return module
+            .addSerializer(UUID::class.java, JackUUIDSerializer())
+            .addDeserializer(UUID::class.java, JackUUIDDeserializer())
+    }
+    return module
         .addSerializer(getFromClass(), JackJsonSerializer(null, this))
         .addDeserializer(getFromClass(), JackJsonDeserializer(null, this))
+}
 
-fun <F, T> JsonConverter<F, T>.getJackson3Module(): tools.jackson.databind.module.SimpleModule =
-    tools.jackson.databind.module.SimpleModule("${getFromClass().name}To${getToClass().name}")
+fun <F, T> JsonConverter<F, T>.getJackson3Module(): tools.jackson.databind.module.SimpleModule {
+    val module = tools.jackson.databind.module.SimpleModule("${getFromClass().name}To${getToClass().name}")
+    if (this is UUIDJsonConverter) {
+        return module
+            .addSerializer(UUID::class.java, JackJson3UUIDSerializer())
+            .addDeserializer(UUID::class.java, JackJson3UUIDDeserializer())
+    }
+    return module
         .addSerializer(getFromClass(), JackJson3Serializer(null, this))
         .addDeserializer(getFromClass(), JackJson3Deserializer(null, this))
+}
@@ -16,30 +16,83 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile ClientScheduleReconnect.kt
- * LastUpdate 2026-01-20 08:10:15
+ * LastUpdate 2026-10-18 23:22:31
  * UpdateUser MingLiPro
  */
 
 package com.mingliqiye.utils.netty
 
+import com.mingliqiye.utils.network.DnsResolver
 import io.netty.bootstrap.Bootstrap
 import io.netty.channel.Channel
 import io.netty.channel.ChannelFuture
 import io.netty.channel.ChannelFutureListener
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInboundHandlerAdapter
+import io.netty.handler.timeout.IdleState
+import io.netty.handler.timeout.IdleStateEvent
+import io.netty.handler.timeout.IdleStateHandler
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * 客户端调度重连抽象类，用于处理Netty客户端的自动重连机制
+ *
+ * 默认按固定延迟重连；可通过 [setBackoff] 切换为带抖动的指数退避，通过 [setHeartbeat] 启用基于空闲检测的连接健康检查。
+ * 连接建立后只有收到第一条数据或保持 [setStableTime] 指定的时间，才视为稳定并重置重连次数，
+ * 避免服务端接受连接后立即断开时退避失效。状态字段可在事件循环线程与调用线程之间安全访问。
+ *
  * @param bootstrap Netty引导配置对象
  * @param delay 重连延迟时间，默认为10秒
  * @param timeUnit 延迟时间单位，默认为秒
  */
 abstract class ClientScheduleReconnect {
 
+    companion object {
+        /**
+         * 空闲检测处理器在管道中的名称
+         */
+        const val IDLE_STATE_HANDLER_NAME = "reconnectIdleState"
+
+        /**
+         * 心跳事件处理器在管道中的名称
+         */
+        const val HEARTBEAT_HANDLER_NAME = "reconnectHeartbeat"
+
+        /**
+         * 连接稳定检测处理器在管道中的名称
+         */
+        const val STABILITY_HANDLER_NAME = "reconnectStability"
+
+        /**
+         * 默认的连接稳定时间（秒）
+         */
+        const val DEFAULT_STABLE_TIME_SECONDS = 10L
+    }
+
     private val bootstrap: Bootstrap
+
+    @Volatile
     private var delay: Long = 10L
+
+    @Volatile
     private var timeUnit: TimeUnit = TimeUnit.SECONDS
 
+    @Volatile
+    private var backoff: ReconnectBackoff? = null
+
+    @Volatile
+    private var heartbeat: Heartbeat? = null
+
+    // 连续失败次数与上一次等待时间，连接稳定后重置
+    private val attempts = AtomicInteger()
+
+    @Volatile
+    private var lastDelayNanos = 0L
+
+    @Volatile
+    private var stableNanos = TimeUnit.SECONDS.toNanos(DEFAULT_STABLE_TIME_SECONDS)
+
     constructor() : this(Bootstrap())
     constructor(bootstrap: Bootstrap) : this(bootstrap, 10L)
     constructor(bootstrap: Bootstrap, delay: Long) : this(bootstrap, delay, TimeUnit.SECONDS)
@@ -100,7 +153,82 @@ abstract class ClientScheduleReconnect {
      */
     open fun isConnected(): Boolean = channel?.isActive ?: false
 
+    /**
+     * 获取重连退避策略
+     * @return ReconnectBackoff? 退避策略，为空时使用固定延迟
+     */
+    open fun getBackoff(): ReconnectBackoff? = backoff
+
+    /**
+     * 设置重连退避策略
+     * @param backoff 退避策略，为空时恢复为 [getDelay]/[getTimeUnit] 指定的固定延迟
+     */
+    open fun setBackoff(backoff: ReconnectBackoff?) {
+        this.backoff = backoff
+    }
+
+    /**
+     * 获取自上次连接稳定以来连续重连的次数
+     * @return Int 重连次数
+     */
+    open fun getReconnectAttempts(): Int = attempts.get()
+
+    /**
+     * 设置连接稳定时间，下次连接成功时生效
+     *
+     * 连接建立后收到第一条数据，或保持该时间未断开，才重置重连次数与退避等待时间。
+     * 为 0 时连接成功即重置。
+     *
+     * @param time 稳定时间
+     * @param unit 时间单位
+     */
+    open fun setStableTime(time: Long, unit: TimeUnit) {
+        require(time >= 0) { "Stable time must not be negative" }
+        this.stableNanos = unit.toNanos(time)
+    }
+
+    /**
+     * 设置连接时使用的主机名解析器
+     *
+     * [doConnect] 连接未解析的地址（如 [com.mingliqiye.utils.network.NetworkEndpoint.toUnresolvedAddress]）时，
+     * 每次重连都会通过该解析器重新解析，解析在后台线程执行，结果按解析器的TTL缓存，不阻塞事件循环。
+     *
+     * @param resolver 解析器
+     */
+    open fun setResolver(resolver: DnsResolver) {
+        bootstrap.resolver(DnsAddressResolverGroup(resolver))
+    }
+
+    /**
+     * 启用心跳健康检查，下次连接成功时生效
+     *
+     * 在管道最前端加入 [IdleStateHandler]：写空闲时回调 [onHeartbeat] 发送心跳，
+     * 读空闲（超时未收到任何数据）时回调 [onIdleTimeout]，默认关闭通道并触发重连。
+     *
+     * @param readerIdleTime 读空闲超时，0 表示不检测
+     * @param writerIdleTime 写空闲间隔，0 表示不发送心跳
+     * @param unit 时间单位
+     */
+    open fun setHeartbeat(readerIdleTime: Long, writerIdleTime: Long, unit: TimeUnit) {
+        require(readerIdleTime >= 0 && writerIdleTime >= 0) { "Idle time must not be negative" }
+        heartbeat = if (readerIdleTime == 0L && writerIdleTime == 0L) {
+            null
+        } else {
+            Heartbeat(readerIdleTime, writerIdleTime, unit)
+        }
+    }
+
+    /**
+     * 关闭心跳健康检查，下次连接成功时生效
+     */
+    open fun disableHeartbeat() {
+        heartbeat = null
+    }
+
+    @Volatile
     private var isStop = false
+
+    @Volatile
     private var channel: Channel? = null
 
     /**
@@ -121,6 +249,22 @@ abstract class ClientScheduleReconnect {
     abstract fun onStoppedLog()
     abstract fun onConnectClosed()
 
+    /**
+     * 写空闲时的回调，用于发送心跳包，默认不做任何事
+     * @param channel 当前通道
+     */
+    open fun onHeartbeat(channel: Channel) {
+
+    }
+
+    /**
+     * 读空闲超时的回调，默认认为连接已失效并关闭通道，关闭后自动调度重连
+     * @param channel 当前通道
+     */
+    open fun onIdleTimeout(channel: Channel) {
+        channel.close()
+    }
+
     /**
      * 执行连接操作
      * @return ChannelFuture 连接结果的异步操作对象
@@ -174,8 +318,9 @@ abstract class ClientScheduleReconnect {
      * 断开当前连接并清理通道引用
      */
     open fun disConnect() {
-        channel?.close()
+        val current = channel
         channel = null
+        current?.close()
     }
 
     /**
@@ -187,6 +332,7 @@ abstract class ClientScheduleReconnect {
             onStoppedLog()
             return
         }
+        val delayNanos = nextDelayNanos()
         bootstrap.config().group().schedule({
             // 再次检查停止状态，避免在调度期间被停止
             if (isStop) {
@@ -194,7 +340,18 @@ abstract class ClientScheduleReconnect {
                 return@schedule
             }
             connect()
-        }, delay, timeUnit)
+        }, delayNanos, TimeUnit.NANOSECONDS)
+    }
+
+    /**
+     * 计算下一次重连的等待时间，并累加重连次数
+     * @return Long 等待的纳秒数
+     */
+    protected open fun nextDelayNanos(): Long {
+        val attempt = attempts.getAndIncrement()
+        val delayNanos = backoff?.nextDelayNanos(attempt, lastDelayNanos) ?: timeUnit.toNanos(delay)
+        lastDelayNanos = delayNanos
+        return maxOf(0L, delayNanos)
     }
 
     /**
@@ -202,15 +359,58 @@ abstract class ClientScheduleReconnect {
      * @param channel 成功连接的通道
      */
     open fun onConnected(channel: Channel) {
+        // 连接过程中被停止时直接关闭，不再调度重连
+        if (isStop) {
+            channel.close()
+            onStoppedLog()
+            return
+        }
         this.channel = channel
+        val stableNanos = this.stableNanos
+        val stableTask = if (stableNanos == 0L) {
+            onStable(channel)
+            null
+        } else {
+            installStabilityCheck(channel)
+            channel.eventLoop().schedule({ onStable(channel) }, stableNanos, TimeUnit.NANOSECONDS)
+        }
+        heartbeat?.install(channel)
         onConnectedLog(channel)
         // 监听通道关闭事件，以便在断开后重新调度连接
         channel.closeFuture().addListener { _ ->
+            stableTask?.cancel(false)
             scheduleReconnect()
             onConnectClosed()
         }
     }
 
+    /**
+     * 连接被确认稳定时调用，重置重连次数与退避等待时间
+     * @param channel 稳定的通道
+     */
+    protected open fun onStable(channel: Channel) {
+        if (channel !== this.channel || !channel.isActive) {
+            return
+        }
+        attempts.set(0)
+        lastDelayNanos = 0L
+    }
+
+    // 收到第一条数据即视为连接可用，随后移除自身
+    private fun installStabilityCheck(channel: Channel) {
+        val pipeline = channel.pipeline()
+        if (pipeline.get(STABILITY_HANDLER_NAME) != null) {
+            return
+        }
+        pipeline.addFirst(STABILITY_HANDLER_NAME, object : ChannelInboundHandlerAdapter() {
+            override fun channelRead(ctx: ChannelHandlerContext, msg: Any) {
+                ctx.pipeline().remove(this)
+                onStable(ctx.channel())
+                ctx.fireChannelRead(msg)
+            }
+        })
+    }
+
     /**
      * 处理连接失败的逻辑
      * @param cause 连接失败的原因
@@ -220,4 +420,30 @@ abstract class ClientScheduleReconnect {
         scheduleReconnect()
     }
 
+    private inner class Heartbeat(
+        private val readerIdleTime: Long,
+        private val writerIdleTime: Long,
+        private val unit: TimeUnit,
+    ) {
+        fun install(channel: Channel) {
+            val pipeline = channel.pipeline()
+            if (pipeline.get(IDLE_STATE_HANDLER_NAME) != null) {
+                return
+            }
+            pipeline.addFirst(IDLE_STATE_HANDLER_NAME, IdleStateHandler(readerIdleTime, writerIdleTime, 0, unit))
+            pipeline.addAfter(IDLE_STATE_HANDLER_NAME, HEARTBEAT_HANDLER_NAME, object : ChannelInboundHandlerAdapter() {
+                override fun userEventTriggered(ctx: ChannelHandlerContext, evt: Any) {
+                    if (evt is IdleStateEvent) {
+                        when (evt.state()) {
+                            IdleState.READER_IDLE -> onIdleTimeout(ctx.channel())
+                            IdleState.WRITER_IDLE -> onHeartbeat(ctx.channel())
+                            else -> {}
+                        }
+                        return
+                    }
+                    ctx.fireUserEventTriggered(evt)
+                }
+            })
+        }
+    }
 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile CoalescingChannelWriter.kt
+ * LastUpdate 2026-10-18 23:36:00
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.netty
+
+import com.mingliqiye.utils.functions.P1Function
+import com.mingliqiye.utils.logger.MingLiLoggerFactory
+import io.netty.channel.Channel
+import io.netty.channel.ChannelFuture
+import io.netty.channel.ChannelFutureListener
+import io.netty.util.AttributeKey
+import io.netty.util.ReferenceCountUtil
+import java.util.Queue
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 合并刷新的通道写入器。
+ *
+ * 任意线程调用 [write] 时消息先进入无锁队列，由事件循环中的单个任务批量写入；
+ * 同一批次中每累计 [maxMessages] 条消息或 [maxBytes] 字节刷新一次，批次结束时再刷新一次，
+ * 从而将逐条 writeAndFlush 的多次系统调用合并为少量几次。
+ *
+ * 通过同一写入器写入的消息保持顺序；与直接调用 channel.write 的消息之间不保证顺序。
+ * 写入失败按刷新批次汇总：同一批次内的失败只调用一次 onFailure（传入首个异常），
+ * 未设置时只记录一条日志。
+ *
+ * @param channel 目标通道
+ * @param maxMessages 每次刷新前最多写入的消息数
+ * @param maxBytes 每次刷新前最多写入的字节数，按通道的 MessageSizeEstimator 估算
+ * @param onFailure 写入失败回调，每个刷新批次最多调用一次，为空时记录日志
+ */
+class CoalescingChannelWriter(
+    val channel: Channel,
+    val maxMessages: Int = DEFAULT_MAX_MESSAGES,
+    val maxBytes: Int = DEFAULT_MAX_BYTES,
+    private val onFailure: P1Function<Throwable>? = null,
+) {
+
+    companion object {
+        private val log = MingLiLoggerFactory.getLogger(CoalescingChannelWriter::class.java)
+
+        /**
+         * 默认每次刷新前最多写入的消息数
+         */
+        const val DEFAULT_MAX_MESSAGES = 64
+
+        /**
+         * 默认每次刷新前最多写入的字节数
+         */
+        const val DEFAULT_MAX_BYTES = 64 * 1024
+
+        // 单个任务最多处理的消息数，超出后重新提交任务，避免长时间占用事件循环
+        private const val DRAIN_LIMIT = 1024
+
+        private val WRITER_KEY = AttributeKey.valueOf<CoalescingChannelWriter>(
+            CoalescingChannelWriter::class.java, "WRITER"
+        )
+
+        /**
+         * 记录写入失败的监听器
+         */
+        internal val LOG_FAILURE = ChannelFutureListener { future ->
+            if (!future.isSuccess) {
+                log.warn("Write to {} failed", future.channel(), future.cause())
+            }
+        }
+
+        /**
+         * 获取绑定在通道上的默认写入器，不存在时创建
+         *
+         * @param channel 目标通道
+         * @return 通道的默认写入器
+         */
+        @JvmStatic
+        fun of(channel: Channel): CoalescingChannelWriter {
+            val attr = channel.attr(WRITER_KEY)
+            return attr.get() ?: CoalescingChannelWriter(channel).let { attr.setIfAbsent(it) ?: it }
+        }
+    }
+
+    private val queue: Queue<Any> = ConcurrentLinkedQueue()
+
+    private val scheduled = AtomicBoolean()
+
+    private val pending = AtomicInteger()
+
+    private val written = AtomicLong()
+
+    private val flushes = AtomicLong()
+
+    private val sizeHandle = channel.config().messageSizeEstimator.newHandle()
+
+    private val drainTask = Runnable { drain() }
+
+    init {
+        require(maxMessages > 0) { "maxMessages must be positive" }
+        require(maxBytes > 0) { "maxBytes must be positive" }
+    }
+
+    /**
+     * 尚未写入通道的消息数
+     */
+    val pendingMessages: Int
+        get() = pending.get()
+
+    /**
+     * 已写入通道的消息数
+     */
+    val writtenCount: Long
+        get() = written.get()
+
+    /**
+     * 已执行的刷新次数
+     */
+    val flushCount: Long
+        get() = flushes.get()
+
+    /**
+     * 写入消息，可在任意线程调用，消息由写入器负责写出或释放
+     *
+     * @param msg 消息
+     */
+    fun write(msg: Any) {
+        queue.offer(msg)
+        pending.incrementAndGet()
+        if (scheduled.compareAndSet(false, true)) {
+            schedule()
+        }
+    }
+
+    private fun schedule() {
+        try {
+            channel.eventLoop().execute(drainTask)
+        } catch (e: RejectedExecutionException) {
+            scheduled.set(false)
+            discard(e)
+        }
+    }
+
+    private fun drain() {
+        var messages = 0
+        var bytes = 0L
+        var drained = 0
+        var batch = Batch()
+        while (drained < DRAIN_LIMIT) {
+            val msg = queue.poll() ?: break
+            pending.decrementAndGet()
+            drained++
+            bytes += sizeHandle.size(msg).coerceAtLeast(0)
+            batch.add(channel.write(msg))
+            if (++messages >= maxMessages || bytes >= maxBytes) {
+                flush(batch)
+                batch = Batch()
+                messages = 0
+                bytes = 0
+            }
+        }
+        if (messages > 0) {
+            flush(batch)
+        }
+        written.addAndGet(drained.toLong())
+        scheduled.set(false)
+        if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            schedule()
+        }
+    }
+
+    private fun flush(batch: Batch) {
+        channel.flush()
+        flushes.incrementAndGet()
+        batch.seal()
+    }
+
+    // 事件循环已关闭时释放所有排队的消息
+    private fun discard(cause: Throwable) {
+        var discarded = 0
+        while (true) {
+            val msg = queue.poll() ?: break
+            pending.decrementAndGet()
+            ReferenceCountUtil.safeRelease(msg)
+            discarded++
+        }
+        if (discarded > 0) {
+            reportFailure(cause, discarded, discarded)
+        }
+    }
+
+    private fun reportFailure(cause: Throwable, failed: Int, total: Int) {
+        val callback = onFailure
+        if (callback == null) {
+            log.warn("{} of {} writes to {} failed", failed, total, channel, cause)
+            return
+        }
+        try {
+            callback.call(cause)
+        } catch (e: Throwable) {
+            log.warn("Write failure callback threw", e)
+        }
+    }
+
+    /**
+     * 一个刷新批次的写入结果汇总，所有回调都在事件循环中执行，无需同步
+     */
+    private inner class Batch : ChannelFutureListener {
+        private var total = 0
+        private var remaining = 0
+        private var failed = 0
+        private var firstCause: Throwable? = null
+        private var sealed = false
+
+        fun add(future: ChannelFuture) {
+            total++
+            remaining++
+            future.addListener(this)
+        }
+
+        fun seal() {
+            sealed = true
+            complete()
+        }
+
+        override fun operationComplete(future: ChannelFuture) {
+            remaining--
+            if (!future.isSuccess) {
+                failed++
+                if (firstCause == null) {
+                    firstCause = future.cause()
+                }
+            }
+            complete()
+        }
+
+        private fun complete() {
+            if (sealed && remaining == 0) {
+                firstCause?.let {
+                    firstCause = null
+                    reportFailure(it, failed, total)
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile DnsAddressResolverGroup.kt
+ * LastUpdate 2026-10-18 23:12:12
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.netty
+
+import com.mingliqiye.utils.network.DnsResolver
+import io.netty.resolver.AddressResolver
+import io.netty.resolver.AddressResolverGroup
+import io.netty.resolver.InetNameResolver
+import io.netty.util.concurrent.EventExecutor
+import io.netty.util.concurrent.Promise
+import java.net.InetAddress
+import java.net.InetSocketAddress
+
+/**
+ * 基于 [DnsResolver] 的 Netty 地址解析器组，用于 Bootstrap.resolver()
+ *
+ * 连接未解析的地址（InetSocketAddress.createUnresolved）时，Netty 会通过该解析器异步解析，
+ * 解析在 [DnsResolver] 的线程池中执行，结果按其TTL缓存，不会阻塞事件循环。
+ * 主机名解析到多个地址时，resolveAll 的结果从轮询位置开始排列，使连接分散到各个地址。
+ *
+ * @param resolver 主机名解析器
+ */
+class DnsAddressResolverGroup(val resolver: DnsResolver) : AddressResolverGroup<InetSocketAddress>() {
+
+    override fun newResolver(executor: EventExecutor): AddressResolver<InetSocketAddress> {
+        return NameResolver(executor, resolver).asAddressResolver()
+    }
+
+    private class NameResolver(executor: EventExecutor, private val resolver: DnsResolver) :
+        InetNameResolver(executor) {
+
+        override fun doResolve(inetHost: String, promise: Promise<InetAddress>) {
+            resolver.resolve(inetHost).whenComplete { address, e ->
+                if (e != null) {
+                    promise.tryFailure(DnsResolver.unwrap(e))
+                } else {
+                    promise.trySuccess(address.toInetAddress())
+                }
+            }
+        }
+
+        override fun doResolveAll(inetHost: String, promise: Promise<List<InetAddress>>) {
+            resolver.resolveAllRotated(inetHost).whenComplete { addresses, e ->
+                if (e != null) {
+                    promise.tryFailure(DnsResolver.unwrap(e))
+                } else {
+                    promise.trySuccess(addresses.map { it.toInetAddress() })
+                }
+            }
+        }
+    }
+}
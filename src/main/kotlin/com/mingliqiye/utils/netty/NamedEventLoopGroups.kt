@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile NamedEventLoopGroups.kt
+ * LastUpdate 2026-10-19 00:24:09
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.netty
+
+import com.mingliqiye.utils.concurrent.NamedThreadFactory
+import com.mingliqiye.utils.logger.MingLiLoggerFactory
+import com.mingliqiye.utils.system.availableProcessors
+import io.netty.channel.EventLoopGroup
+import io.netty.channel.epoll.Epoll
+import io.netty.channel.epoll.EpollEventLoopGroup
+import io.netty.channel.epoll.EpollServerSocketChannel
+import io.netty.channel.epoll.EpollSocketChannel
+import io.netty.channel.kqueue.KQueue
+import io.netty.channel.kqueue.KQueueEventLoopGroup
+import io.netty.channel.kqueue.KQueueServerSocketChannel
+import io.netty.channel.kqueue.KQueueSocketChannel
+import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.ServerSocketChannel
+import io.netty.channel.socket.SocketChannel
+import io.netty.channel.socket.nio.NioServerSocketChannel
+import io.netty.channel.socket.nio.NioSocketChannel
+import java.util.concurrent.ThreadFactory
+
+/**
+ * 按运行平台选择 Netty 传输实现的命名事件循环组工厂
+ *
+ * 运行时依次检测 io_uring、epoll、kqueue 原生传输，均不可用时回退到 NIO。
+ * 原生传输依赖对应的 netty 原生库，缺少依赖或平台不支持时视为不可用，不会抛出异常。
+ * 检测结果在首次使用时计算并缓存。
+ */
+object NamedEventLoopGroups {
+
+    private val log = MingLiLoggerFactory.getLogger(NamedEventLoopGroups::class.java)
+
+    /**
+     * 线程名称模板，{0} 名字 {2} 线程池序号 {3} 线程池内线程的序号
+     */
+    const val DEFAULT_TEMPLATE = "{0}-{2}-{3}"
+
+    private val available: List<NettyTransport> by lazy {
+        NettyTransport.entries.filter { detect(it) }.also { log.debug("Available netty transports: {}", it) }
+    }
+
+    /**
+     * 获取当前平台可用的传输实现，按优先级排列，至少包含 [NettyTransport.NIO]
+     *
+     * @return 可用的传输实现列表
+     */
+    @JvmStatic
+    fun availableTransports(): List<NettyTransport> = available
+
+    /**
+     * 判断传输实现是否可用
+     *
+     * @param transport 传输实现类型
+     * @return 可用时返回 true
+     */
+    @JvmStatic
+    fun isAvailable(transport: NettyTransport): Boolean = transport in available
+
+    /**
+     * 获取当前平台优先级最高的传输实现
+     *
+     * @return 传输实现类型
+     */
+    @JvmStatic
+    fun bestTransport(): NettyTransport = available.first()
+
+    /**
+     * 使用当前平台最优的传输实现创建命名事件循环组，线程数为核心数的2倍
+     *
+     * @param name 线程名称前缀
+     * @return 事件循环组及匹配的通道类型
+     */
+    @JvmStatic
+    fun best(name: String): TransportEventLoopGroup = best(name, availableProcessors * 2)
+
+    /**
+     * 使用当前平台最优的传输实现创建命名事件循环组
+     *
+     * @param name 线程名称前缀
+     * @param nThreads 线程数量
+     * @return 事件循环组及匹配的通道类型
+     */
+    @JvmStatic
+    fun best(name: String, nThreads: Int): TransportEventLoopGroup = of(bestTransport(), name, nThreads)
+
+    /**
+     * 使用指定传输实现创建命名事件循环组
+     *
+     * @param transport 传输实现类型
+     * @param name 线程名称前缀
+     * @param nThreads 线程数量
+     * @return 事件循环组及匹配的通道类型
+     * @throws IllegalStateException 传输实现在当前平台不可用
+     */
+    @JvmStatic
+    fun of(transport: NettyTransport, name: String, nThreads: Int): TransportEventLoopGroup {
+        check(isAvailable(transport)) { "Netty transport $transport is not available" }
+        val factory = NamedThreadFactory.ofTemplate(DEFAULT_TEMPLATE, name)
+        return when (transport) {
+            NettyTransport.IO_URING -> IoUringSupport.create(nThreads, factory)
+            NettyTransport.EPOLL -> EpollSupport.create(nThreads, factory)
+            NettyTransport.KQUEUE -> KQueueSupport.create(nThreads, factory)
+            NettyTransport.NIO -> TransportEventLoopGroup(
+                NettyTransport.NIO,
+                NioEventLoopGroup(nThreads, factory),
+                NioSocketChannel::class.java,
+                NioServerSocketChannel::class.java
+            )
+        }
+    }
+
+    // 原生传输的类只在各自的辅助对象中引用，缺少依赖时不会影响其他传输
+    private fun detect(transport: NettyTransport): Boolean {
+        return try {
+            when (transport) {
+                NettyTransport.IO_URING -> IoUringSupport.isAvailable()
+                NettyTransport.EPOLL -> EpollSupport.isAvailable()
+                NettyTransport.KQUEUE -> KQueueSupport.isAvailable()
+                NettyTransport.NIO -> true
+            }
+        } catch (e: Throwable) {
+            log.debug("Netty transport {} is not available: {}", transport, e.toString())
+            false
+        }
+    }
+
+    private object EpollSupport {
+        fun isAvailable(): Boolean = Epoll.isAvailable()
+
+        fun create(nThreads: Int, factory: ThreadFactory) = TransportEventLoopGroup(
+            NettyTransport.EPOLL,
+            EpollEventLoopGroup(nThreads, factory),
+            EpollSocketChannel::class.java,
+            EpollServerSocketChannel::class.java
+        )
+    }
+
+    private object KQueueSupport {
+        fun isAvailable(): Boolean = KQueue.isAvailable()
+
+        fun create(nThreads: Int, factory: ThreadFactory) = TransportEventLoopGroup(
+            NettyTransport.KQUEUE,
+            KQueueEventLoopGroup(nThreads, factory),
+            KQueueSocketChannel::class.java,
+            KQueueServerSocketChannel::class.java
+        )
+    }
+
+    // io_uring 传输位于独立的 incubator 模块，不在编译依赖中，通过反射加载
+    private object IoUringSupport {
+        private const val PACKAGE = "io.netty.incubator.channel.uring"
+
+        fun isAvailable(): Boolean {
+            return Class.forName("$PACKAGE.IOUring").getMethod("isAvailable").invoke(null) as Boolean
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        fun create(nThreads: Int, factory: ThreadFactory): TransportEventLoopGroup {
+            val group = Class.forName("$PACKAGE.IOUringEventLoopGroup")
+                .getConstructor(Int::class.javaPrimitiveType, ThreadFactory::class.java)
+                .newInstance(nThreads, factory) as EventLoopGroup
+            return TransportEventLoopGroup(
+                NettyTransport.IO_URING,
+                group,
+                Class.forName("$PACKAGE.IOUringSocketChannel") as Class<out SocketChannel>,
+                Class.forName("$PACKAGE.IOUringServerSocketChannel") as Class<out ServerSocketChannel>
+            )
+        }
+    }
+}
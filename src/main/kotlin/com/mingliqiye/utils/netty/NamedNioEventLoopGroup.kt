@@ -16,19 +16,20 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile NamedNioEventLoopGroup.kt
- * LastUpdate 2026-02-05 10:20:31
+ * LastUpdate 2026-10-19 00:24:09
  * UpdateUser MingLiPro
  */
 
 package com.mingliqiye.utils.netty
 
+import com.mingliqiye.utils.concurrent.NamedThreadFactory
 import com.mingliqiye.utils.system.availableProcessors
 import io.netty.channel.nio.NioEventLoopGroup
-import java.text.MessageFormat
 
 /**
  * 命名的NIO事件循环组，继承自NioEventLoopGroup
  * 用于创建具有自定义命名规则的线程池，便于线程管理和调试
+ * 需要按平台选择 epoll/io_uring 等原生传输时使用 [NamedEventLoopGroups.best]
  *
  * @param name 线程池的名称，默认为"NioEventLoopGroup"
  * @param template 线程名称的格式模板，默认为"{0}-{2}-{3}"，{0} 名字 {1} 类名 {2} 线程池序号 {3} 线程池内线程的序号
@@ -41,7 +42,5 @@ open class NamedNioEventLoopGroup(
 ) :
     NioEventLoopGroup(
         nThreads,
-        NamedThreadFactory(
-            getName = { a, b, c -> MessageFormat.format(template, name, a, b, c) }
-        )
+        NamedThreadFactory.ofTemplate(template, name)
     )
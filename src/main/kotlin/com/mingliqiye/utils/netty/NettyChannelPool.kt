@@ -0,0 +1,325 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile NettyChannelPool.kt
+ * LastUpdate 2026-10-18 23:27:30
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.netty
+
+import com.mingliqiye.utils.functions.P1Function
+import com.mingliqiye.utils.logger.MingLiLoggerFactory
+import com.mingliqiye.utils.network.DnsResolver
+import com.mingliqiye.utils.network.NetworkEndpoint
+import com.mingliqiye.utils.network.NetworkException
+import io.netty.bootstrap.Bootstrap
+import io.netty.channel.Channel
+import io.netty.channel.ChannelFuture
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInboundHandlerAdapter
+import io.netty.channel.ChannelOption
+import io.netty.channel.WriteBufferWaterMark
+import io.netty.util.AttributeKey
+import io.netty.util.ReferenceCountUtil
+import io.netty.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 面向单个端点的多连接 Netty 客户端连接池。
+ *
+ * 每个连接都是独立的 [ClientScheduleReconnect]，断开后按退避策略自动重连；
+ * 写入时按 [Selection] 在活跃且可写的连接中选择一个，所有连接都达到高水位时拒绝写入以形成背压。
+ *
+ * @param endpoint 目标端点
+ * @param bootstrap 已配置 group、channel 与 handler 的引导对象，连接池会克隆后使用
+ * @param size 连接数
+ * @param selection 连接选择策略
+ * @param backoff 重连退避策略，为空时使用 1 秒到 30 秒的全抖动指数退避
+ * @param waterMark 写缓冲区高低水位，为空时保留引导对象中的设置，引导对象也未设置时使用 Netty 默认值
+ * @param resolver 由域名创建的端点在每次连接时使用的解析器
+ */
+class NettyChannelPool(
+    val endpoint: NetworkEndpoint,
+    bootstrap: Bootstrap,
+    val size: Int,
+    val selection: Selection = Selection.LEAST_PENDING,
+    backoff: ReconnectBackoff? = null,
+    waterMark: WriteBufferWaterMark? = null,
+    resolver: DnsResolver = DnsResolver.getDefault(),
+) : AutoCloseable {
+
+    /**
+     * 连接选择策略
+     */
+    enum class Selection {
+        /**
+         * 轮询
+         */
+        ROUND_ROBIN,
+
+        /**
+         * 选择未完成写入最少的连接，相同时选择写缓冲区剩余空间最大的连接
+         */
+        LEAST_PENDING,
+    }
+
+    companion object {
+        private val log = MingLiLoggerFactory.getLogger(NettyChannelPool::class.java)
+
+        /**
+         * 可写状态处理器在管道中的名称
+         */
+        const val WRITABILITY_HANDLER_NAME = "poolWritability"
+
+        // 每个连接上尚未完成的写入数，随通道实例存在，重连后的新通道从 0 开始
+        private val PENDING_WRITES = AttributeKey.valueOf<AtomicInteger>(NettyChannelPool::class.java, "pendingWrites")
+
+        private fun pendingCounter(channel: Channel): AtomicInteger {
+            val attr = channel.attr(PENDING_WRITES)
+            return attr.get() ?: AtomicInteger().let { attr.setIfAbsent(it) ?: it }
+        }
+    }
+
+    private val bootstrap: Bootstrap = bootstrap.clone()
+        .resolver(DnsAddressResolverGroup(resolver))
+        .also { if (waterMark != null) it.option(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark) }
+
+    private val members: List<Member>
+
+    private val next = AtomicInteger()
+
+    private val reconnects = AtomicLong()
+
+    private val rejected = AtomicLong()
+
+    private val started = AtomicBoolean()
+
+    @Volatile
+    private var closed = false
+
+    @Volatile
+    private var writable = false
+
+    @Volatile
+    private var writabilityListener: P1Function<Boolean>? = null
+
+    init {
+        require(size > 0) { "size must be positive" }
+        val policy = backoff ?: ReconnectBackoff.fullJitter(1, 30, TimeUnit.SECONDS)
+        members = List(size) { Member(it).also { member -> member.setBackoff(policy) } }
+    }
+
+    /**
+     * 启动所有连接，重复调用无效果
+     *
+     * @return 当前实例
+     */
+    fun start(): NettyChannelPool {
+        check(!closed) { "Pool is closed" }
+        if (started.compareAndSet(false, true)) {
+            members.forEach { it.start() }
+        }
+        return this
+    }
+
+    /**
+     * 设置整体可写状态变化的监听器，参数为变化后的状态，在事件循环线程中回调
+     *
+     * @param listener 监听器，为空时移除
+     */
+    fun setWritabilityListener(listener: P1Function<Boolean>?) {
+        writabilityListener = listener
+    }
+
+    /**
+     * 当前活跃连接数
+     */
+    val activeCount: Int
+        get() = members.count { it.isConnected() }
+
+    /**
+     * 所有连接上尚未完成的写入数
+     */
+    val pendingWrites: Int
+        get() = members.sumOf { member -> member.getChannel()?.let { pendingCounter(it).get() } ?: 0 }
+
+    /**
+     * 所有连接写缓冲区中尚未写出的字节数
+     */
+    val pendingBytes: Long
+        get() = members.sumOf { member ->
+            member.getChannel()?.unsafe()?.outboundBuffer()?.totalPendingWriteBytes() ?: 0L
+        }
+
+    /**
+     * 连接池启动以来的重连次数（不含首次连接）
+     */
+    val reconnectCount: Long
+        get() = reconnects.get()
+
+    /**
+     * 因没有可写连接而被拒绝的写入数
+     */
+    val rejectedWrites: Long
+        get() = rejected.get()
+
+    /**
+     * 是否存在活跃且可写的连接
+     *
+     * @return 是否可写
+     */
+    fun isWritable(): Boolean = members.any { it.getChannel()?.let { ch -> ch.isActive && ch.isWritable } == true }
+
+    /**
+     * 按选择策略获取一个活跃且可写的连接
+     *
+     * @return 通道，没有可用连接时返回 null
+     */
+    fun acquire(): Channel? = select()?.getChannel()
+
+    /**
+     * 选择一个连接写入并刷新消息
+     *
+     * 没有活跃连接或所有连接都超过高水位时，消息会被释放，返回的 Future 以 [NetworkException] 失败。
+     *
+     * @param msg 消息
+     * @return 写入结果
+     */
+    fun writeAndFlush(msg: Any): Future<Void> {
+        val member = select()
+        val channel = member?.getChannel()
+        if (member == null || channel == null) {
+            rejected.incrementAndGet()
+            ReferenceCountUtil.release(msg)
+            val reason = if (activeCount == 0) "No active connection to $endpoint" else "All connections to $endpoint are saturated"
+            return bootstrap.config().group().next().newFailedFuture(NetworkException(reason))
+        }
+        // 计数绑定到本次写入的通道，重连后旧通道上的写入完成不会影响新通道的计数
+        val pending = pendingCounter(channel)
+        pending.incrementAndGet()
+        return channel.writeAndFlush(msg).addListener { pending.decrementAndGet() }
+    }
+
+    /**
+     * 停止所有连接并不再重连
+     */
+    override fun close() {
+        closed = true
+        members.forEach { it.stop() }
+    }
+
+    private fun select(): Member? {
+        return when (selection) {
+            Selection.ROUND_ROBIN -> {
+                val start = next.getAndIncrement()
+                for (i in 0..<size) {
+                    val member = members[Math.floorMod(start + i, size)]
+                    if (member.isUsable()) {
+                        return member
+                    }
+                }
+                null
+            }
+
+            Selection.LEAST_PENDING -> {
+                var best: Member? = null
+                var bestPending = Int.MAX_VALUE
+                var bestRoom = -1L
+                for (member in members) {
+                    val channel = member.getChannel() ?: continue
+                    if (!channel.isActive || !channel.isWritable) {
+                        continue
+                    }
+                    val pending = pendingCounter(channel).get()
+                    val room = channel.bytesBeforeUnwritable()
+                    if (pending < bestPending || (pending == bestPending && room > bestRoom)) {
+                        best = member
+                        bestPending = pending
+                        bestRoom = room
+                    }
+                }
+                best
+            }
+        }
+    }
+
+    // 重新计算整体可写状态，变化时通知监听器；多个事件循环并发调用时监听器可能收到重复通知
+    private fun refreshWritability() {
+        val now = isWritable()
+        if (now != writable) {
+            writable = now
+            writabilityListener?.call(now)
+        }
+    }
+
+    private inner class Member(private val index: Int) : ClientScheduleReconnect(bootstrap) {
+
+        @Volatile
+        private var connectedOnce = false
+
+        fun isUsable(): Boolean = getChannel()?.let { it.isActive && it.isWritable } == true
+
+        // 由域名创建的端点每次连接时重新解析
+        override fun doConnect(): ChannelFuture {
+            val address = if (endpoint.networkAddress.domain != null) {
+                endpoint.toUnresolvedAddress()
+            } else {
+                endpoint.toInetSocketAddress()
+            }
+            return getBootstrap().connect(address)
+        }
+
+        override fun onConnected(channel: Channel) {
+            super.onConnected(channel)
+            if (closed || getChannel() !== channel) {
+                return
+            }
+            if (connectedOnce) {
+                reconnects.incrementAndGet()
+            }
+            connectedOnce = true
+            channel.pipeline().addLast(WRITABILITY_HANDLER_NAME, object : ChannelInboundHandlerAdapter() {
+                override fun channelWritabilityChanged(ctx: ChannelHandlerContext) {
+                    refreshWritability()
+                    ctx.fireChannelWritabilityChanged()
+                }
+            })
+            refreshWritability()
+        }
+
+        override fun onConnectedLog(channel: Channel) {
+            log.debug("Pool connection #{} to {} established: {}", index, endpoint, channel)
+        }
+
+        override fun onConnectFailedLog(cause: Throwable?) {
+            log.warn("Pool connection #{} to {} failed: {}", index, endpoint, cause?.message)
+        }
+
+        override fun onStoppedLog() {
+            log.debug("Pool connection #{} to {} stopped", index, endpoint)
+        }
+
+        override fun onConnectClosed() {
+            log.debug("Pool connection #{} to {} closed", index, endpoint)
+            refreshWritability()
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile NettyTransport.kt
+ * LastUpdate 2026-10-18 22:45:56
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.netty
+
+/**
+ * Netty 传输实现类型，按优先级从高到低排列
+ */
+enum class NettyTransport {
+    /**
+     * Linux io_uring（netty-incubator-transport-io_uring）
+     */
+    IO_URING,
+
+    /**
+     * Linux epoll
+     */
+    EPOLL,
+
+    /**
+     * macOS/BSD kqueue
+     */
+    KQUEUE,
+
+    /**
+     * JDK NIO，所有平台均可用
+     */
+    NIO,
+}
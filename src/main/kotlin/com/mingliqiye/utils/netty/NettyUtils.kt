@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile NettyUtils.kt
- * LastUpdate 2026-01-31 20:50:41
+ * LastUpdate 2026-10-18 23:31:45
  * UpdateUser MingLiPro
  */
 
@@ -28,11 +28,18 @@ import com.mingliqiye.utils.functions.P1Function
 import io.netty.bootstrap.Bootstrap
 import io.netty.bootstrap.ServerBootstrap
 import io.netty.buffer.ByteBuf
+import io.netty.buffer.ByteBufAllocator
+import io.netty.buffer.ByteBufUtil
+import io.netty.buffer.CompositeByteBuf
 import io.netty.buffer.Unpooled
 import io.netty.channel.Channel
+import io.netty.channel.ChannelFuture
 import io.netty.channel.ChannelInitializer
+import io.netty.channel.DefaultFileRegion
 import java.nio.ByteBuffer
 import java.nio.charset.Charset
+import java.nio.file.Files
+import java.nio.file.Path
 
 /**
  * 将ByteBuffer转换为Netty的ByteBuf对象
@@ -134,7 +141,48 @@ fun Bootstrap.channelInitializer(funa: P1Function<Channel>): Bootstrap {
  * @return ByteBuf 转换后的Netty ByteBuf对象
  */
 fun String.toByteBuf(charset: Charset = Charsets.UTF_8): ByteBuf {
-    return Unpooled.wrappedBuffer(this.toByteArray(charset))
+    val length = encodedLength(this, charset)
+    return Unpooled.buffer(length).also { writeChars(it, this, charset, length) }
+}
+
+/**
+ * 使用指定分配器将字符序列编码为ByteBuf
+ *
+ * 直接编码写入分配的缓冲区，不产生中间字节数组；UTF-8 时按精确长度分配
+ *
+ * @receiver CharSequence 需要转换的字符序列
+ * @param allocator 缓冲区分配器，如 channel.alloc() 或 PooledByteBufAllocator.DEFAULT
+ * @param charset 字符编码，默认UTF-8
+ * @return ByteBuf 转换后的ByteBuf对象，由调用方负责释放
+ */
+fun CharSequence.toByteBuf(allocator: ByteBufAllocator, charset: Charset = Charsets.UTF_8): ByteBuf {
+    val length = encodedLength(this, charset)
+    val buffer = allocator.buffer(length)
+    try {
+        writeChars(buffer, this, charset, length)
+    } catch (e: Throwable) {
+        buffer.release()
+        throw e
+    }
+    return buffer
+}
+
+// writeCharSequence 写入 UTF-8 时会按每字符3字节预留空间，导致按精确长度分配的缓冲区扩容，因此按已知长度预留
+private fun writeChars(buffer: ByteBuf, chars: CharSequence, charset: Charset, length: Int) {
+    if (charset == Charsets.UTF_8) {
+        ByteBufUtil.reserveAndWriteUtf8(buffer, chars, length)
+    } else {
+        buffer.writeCharSequence(chars, charset)
+    }
+}
+
+// 估算编码后的字节数：UTF-8 精确计算，单字节字符集按字符数，其他按最大字节数
+private fun encodedLength(chars: CharSequence, charset: Charset): Int {
+    return when (charset) {
+        Charsets.UTF_8 -> ByteBufUtil.utf8Bytes(chars)
+        Charsets.US_ASCII, Charsets.ISO_8859_1 -> chars.length
+        else -> (charset.newEncoder().maxBytesPerChar() * chars.length).toInt()
+    }
 }
 
 /**
@@ -174,6 +222,28 @@ fun Long.toByteBuf(): ByteBuf {
     return buffer
 }
 
+/**
+ * 使用指定分配器将Int转换为ByteBuf
+ *
+ * @receiver Int 需要转换的整数值
+ * @param allocator 缓冲区分配器
+ * @return ByteBuf 包含4字节整数数据的ByteBuf对象，由调用方负责释放
+ */
+fun Int.toByteBuf(allocator: ByteBufAllocator): ByteBuf {
+    return allocator.buffer(4).writeInt(this)
+}
+
+/**
+ * 使用指定分配器将Long转换为ByteBuf
+ *
+ * @receiver Long 需要转换的长整数值
+ * @param allocator 缓冲区分配器
+ * @return ByteBuf 包含8字节长整数数据的ByteBuf对象，由调用方负责释放
+ */
+fun Long.toByteBuf(allocator: ByteBufAllocator): ByteBuf {
+    return allocator.buffer(8).writeLong(this)
+}
+
 /**
  * 将ByteBuf转换为Int
  *
@@ -203,7 +273,8 @@ fun ByteBuf.toLong(): Long {
 fun ByteBuf.safeToByteArray(): ByteArray {
     return if (this.hasArray()) {
         // 如果是堆内内存，直接获取数组
-        this.array().copyOfRange(this.arrayOffset(), this.arrayOffset() + this.readableBytes())
+        val start = this.arrayOffset() + this.readerIndex()
+        this.array().copyOfRange(start, start + this.readableBytes())
     } else {
         // 如果是堆外内存，使用readBytes
         val array = ByteArray(this.readableBytes())
@@ -215,12 +286,13 @@ fun ByteBuf.safeToByteArray(): ByteArray {
 /**
  * 获取ByteBuf的十六进制字符串表示
  *
+ * 查表转换可读区域，不复制字节数组也不改变读写索引
+ *
  * @receiver ByteBuf 需要转换的ByteBuf对象
- * @return String 十六进制字符串表示
+ * @return String 小写十六进制字符串表示
  */
 fun ByteBuf.toHexString(): String {
-    val array = this.safeToByteArray()
-    return array.joinToString("") { "%02x".format(it) }
+    return ByteBufUtil.hexDump(this)
 }
 
 /**
@@ -236,6 +308,20 @@ fun combineByteBuf(vararg byteBufs: ByteBuf): ByteBuf {
     return combined
 }
 
+/**
+ * 以零拷贝方式将多个ByteBuf组合为一个CompositeByteBuf
+ *
+ * 组合缓冲区接管输入缓冲区的所有权，释放组合缓冲区时会一并释放输入；
+ * 调用方如需继续使用输入缓冲区，应先调用 retain()
+ *
+ * @param allocator 缓冲区分配器
+ * @param byteBufs 需要组合的ByteBuf
+ * @return CompositeByteBuf 组合后的缓冲区，可读区域依次为各输入的可读区域
+ */
+fun combineByteBuf(allocator: ByteBufAllocator, vararg byteBufs: ByteBuf): CompositeByteBuf {
+    return allocator.compositeBuffer(maxOf(byteBufs.size, 2)).addComponents(true, *byteBufs)
+}
+
 /**
  * 安全关闭通道
  */
@@ -252,19 +338,39 @@ val Channel.isActive: Boolean
     get() = isOpen && isActive
 
 /**
- * 异步写入数据到通道
+ * 异步写入数据到通道，写入失败时记录日志
  *
  * @param data 需要写入的数据
  */
 fun Channel.writeAndFlushAsync(data: Any) {
+    writeAndFlush(data).addListener(CoalescingChannelWriter.LOG_FAILURE)
+}
+
+/**
+ * 异步写入数据到通道
+ *
+ * @param data 需要写入的数据
+ * @param onFailure 写入失败回调
+ */
+fun Channel.writeAndFlushAsync(data: Any, onFailure: P1Function<Throwable>) {
     writeAndFlush(data).addListener { future ->
         if (!future.isSuccess) {
-            // 可以在这里添加错误处理逻辑
-            println("Write failed: ${future.cause()}")
+            onFailure.call(future.cause())
         }
     }
 }
 
+/**
+ * 通过通道的默认 [CoalescingChannelWriter] 写入数据，同一事件循环周期内的写入合并刷新
+ *
+ * 适合大量小消息的场景，写入失败时记录日志
+ *
+ * @param data 需要写入的数据
+ */
+fun Channel.writeCoalesced(data: Any) {
+    CoalescingChannelWriter.of(this).write(data)
+}
+
 /**
  * 安全释放ByteBuf资源
  *
@@ -288,3 +394,19 @@ fun ByteBuf.tryRelease(): Boolean {
         false
     }
 }
+
+/**
+ * 以零拷贝方式将文件写入Channel
+ *
+ * 使用DefaultFileRegion，由FileChannel.transferTo直接发送文件数据，不经过用户态缓冲区；
+ * 文件在传输时打开、在区域释放时关闭。注意Channel启用SslHandler等需要改写数据的处理器时无法零拷贝，
+ * 此时应改用ChunkedWriteHandler配合ChunkedFile
+ *
+ * @receiver Channel 目标Channel
+ * @param path 要发送的文件路径
+ * @return ChannelFuture 写入操作的Future
+ */
+fun Channel.writeFileRegion(path: Path): ChannelFuture {
+    // 区域在真正传输时才打开文件，写入失败时随消息释放，不会遗留未关闭的文件通道
+    return writeAndFlush(DefaultFileRegion(path.toFile(), 0, Files.size(path)))
+}
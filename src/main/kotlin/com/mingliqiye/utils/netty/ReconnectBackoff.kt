@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile ReconnectBackoff.kt
+ * LastUpdate 2026-10-18 23:22:31
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.netty
+
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+
+/**
+ * 重连退避策略，决定每次重连前等待的时间。
+ *
+ * 实现必须线程安全（通常是无状态的），状态由调用方通过参数传入。
+ */
+fun interface ReconnectBackoff {
+
+    /**
+     * 计算下一次重连前的等待时间
+     *
+     * @param attempt 连续失败的重连次数，从 0 开始，连接稳定后重置
+     * @param previousDelayNanos 上一次等待的纳秒数，首次为 0
+     * @return 等待的纳秒数，不小于 0
+     */
+    fun nextDelayNanos(attempt: Int, previousDelayNanos: Long): Long
+
+    companion object {
+
+        /**
+         * 固定间隔
+         *
+         * @param delay 间隔
+         * @param unit 时间单位
+         * @return 退避策略
+         */
+        @JvmStatic
+        fun fixed(delay: Long, unit: TimeUnit): ReconnectBackoff {
+            require(delay >= 0) { "delay must not be negative" }
+            val nanos = unit.toNanos(delay)
+            return ReconnectBackoff { _, _ -> nanos }
+        }
+
+        /**
+         * 指数退避，不加抖动：min(cap, base * 2^attempt)
+         *
+         * @param base 初始间隔
+         * @param cap 最大间隔
+         * @param unit 时间单位
+         * @return 退避策略
+         */
+        @JvmStatic
+        fun exponential(base: Long, cap: Long, unit: TimeUnit): ReconnectBackoff {
+            val baseNanos = unit.toNanos(base)
+            val capNanos = unit.toNanos(cap)
+            checkRange(baseNanos, capNanos)
+            return ReconnectBackoff { attempt, _ -> exponentialNanos(baseNanos, capNanos, attempt) }
+        }
+
+        /**
+         * 带全抖动的指数退避：random(0, min(cap, base * 2^attempt))
+         *
+         * 大量客户端同时断开时，重连时间均匀分散在整个窗口内，避免同时涌向服务端。
+         *
+         * @param base 初始间隔
+         * @param cap 最大间隔
+         * @param unit 时间单位
+         * @return 退避策略
+         */
+        @JvmStatic
+        fun fullJitter(base: Long, cap: Long, unit: TimeUnit): ReconnectBackoff {
+            val baseNanos = unit.toNanos(base)
+            val capNanos = unit.toNanos(cap)
+            checkRange(baseNanos, capNanos)
+            return ReconnectBackoff { attempt, _ ->
+                ThreadLocalRandom.current().nextLong(exponentialNanos(baseNanos, capNanos, attempt) + 1)
+            }
+        }
+
+        /**
+         * 去相关抖动退避：min(cap, random(base, previous * 3))
+         *
+         * 等待时间依赖上一次的随机结果而非重试次数，分散效果与全抖动相近且平均等待更短。
+         *
+         * @param base 初始间隔
+         * @param cap 最大间隔
+         * @param unit 时间单位
+         * @return 退避策略
+         */
+        @JvmStatic
+        fun decorrelatedJitter(base: Long, cap: Long, unit: TimeUnit): ReconnectBackoff {
+            val baseNanos = unit.toNanos(base)
+            val capNanos = unit.toNanos(cap)
+            checkRange(baseNanos, capNanos)
+            return ReconnectBackoff { _, previousDelayNanos ->
+                val upper = if (previousDelayNanos > capNanos / 3) capNanos else maxOf(baseNanos, previousDelayNanos * 3)
+                minOf(capNanos, ThreadLocalRandom.current().nextLong(baseNanos, upper + 1))
+            }
+        }
+
+        private fun exponentialNanos(baseNanos: Long, capNanos: Long, attempt: Int): Long {
+            if (attempt >= 63 || baseNanos > (capNanos ushr attempt)) {
+                return capNanos
+            }
+            return baseNanos shl attempt
+        }
+
+        private fun checkRange(baseNanos: Long, capNanos: Long) {
+            require(baseNanos > 0) { "base must be positive" }
+            require(capNanos >= baseNanos) { "cap must not be less than base" }
+        }
+    }
+}
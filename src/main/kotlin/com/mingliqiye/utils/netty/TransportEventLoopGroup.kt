@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile TransportEventLoopGroup.kt
+ * LastUpdate 2026-10-18 22:45:56
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.netty
+
+import io.netty.bootstrap.Bootstrap
+import io.netty.bootstrap.ServerBootstrap
+import io.netty.channel.EventLoopGroup
+import io.netty.channel.socket.ServerSocketChannel
+import io.netty.channel.socket.SocketChannel
+import io.netty.util.concurrent.Future
+
+/**
+ * 事件循环组及与其传输实现匹配的通道类型
+ *
+ * 通道类型必须与事件循环组的传输实现一致，因此二者总是一起提供
+ *
+ * @param transport 传输实现类型
+ * @param group 事件循环组
+ * @param socketChannelClass 客户端套接字通道类型
+ * @param serverSocketChannelClass 服务端套接字通道类型
+ */
+class TransportEventLoopGroup(
+    val transport: NettyTransport,
+    val group: EventLoopGroup,
+    val socketChannelClass: Class<out SocketChannel>,
+    val serverSocketChannelClass: Class<out ServerSocketChannel>,
+) : AutoCloseable {
+
+    /**
+     * 创建已设置事件循环组和通道类型的客户端引导对象
+     *
+     * @return Bootstrap
+     */
+    fun bootstrap(): Bootstrap = Bootstrap().group(group).channel(socketChannelClass)
+
+    /**
+     * 创建已设置事件循环组和通道类型的服务端引导对象，接收与读写共用同一事件循环组
+     *
+     * @return ServerBootstrap
+     */
+    fun serverBootstrap(): ServerBootstrap = ServerBootstrap().group(group).channel(serverSocketChannelClass)
+
+    /**
+     * 优雅关闭事件循环组
+     *
+     * @return 关闭完成的 Future
+     */
+    fun shutdownGracefully(): Future<*> = group.shutdownGracefully()
+
+    override fun close() {
+        group.shutdownGracefully().syncUninterruptibly()
+    }
+
+    override fun toString(): String = "TransportEventLoopGroup(transport=$transport)"
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile VarIntFrameDecoder.kt
+ * LastUpdate 2026-10-19 00:28:56
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.netty
+
+import io.netty.buffer.ByteBuf
+import io.netty.channel.ChannelHandlerContext
+import io.netty.handler.codec.ByteToMessageDecoder
+import io.netty.handler.codec.CorruptedFrameException
+import io.netty.handler.codec.TooLongFrameException
+
+/**
+ * 变长整数长度前缀帧解码器。
+ *
+ * 每帧由无符号变长整数（最多5字节，与 ByteBuffer.putVarInt 编码一致）表示的长度和随后的负载组成，
+ * 解码直接在累积缓冲区上读取长度前缀，输出负载的保留切片（retained slice），不复制数据；
+ * 下游处理器负责释放收到的 ByteBuf。
+ *
+ * 超过 [maxFrameLength] 的帧会被整体丢弃并抛出一次 [TooLongFrameException]，之后继续解码后续帧；
+ * 长度前缀非法（超过5字节，或第5个字节超出 Int 剩余的4位）时丢弃当前所有可读数据并抛出 [CorruptedFrameException]。
+ *
+ * 大帧跨越多次读取时，可调用 setCumulator(COMPOSITE_CUMULATOR) 以组合方式累积，避免合并时复制。
+ *
+ * @param maxFrameLength 允许的最大负载长度
+ */
+class VarIntFrameDecoder(val maxFrameLength: Int = DEFAULT_MAX_FRAME_LENGTH) : ByteToMessageDecoder() {
+
+    companion object {
+        /**
+         * 默认最大帧负载长度（1 MiB）
+         */
+        const val DEFAULT_MAX_FRAME_LENGTH = 1 shl 20
+    }
+
+    private var bytesToDiscard = 0L
+
+    init {
+        require(maxFrameLength >= 0) { "maxFrameLength must not be negative" }
+    }
+
+    override fun decode(ctx: ChannelHandlerContext, input: ByteBuf, out: MutableList<Any>) {
+        if (bytesToDiscard > 0) {
+            val skip = minOf(bytesToDiscard, input.readableBytes().toLong()).toInt()
+            input.skipBytes(skip)
+            bytesToDiscard -= skip
+            return
+        }
+        val start = input.readerIndex()
+        val end = input.writerIndex()
+        var index = start
+        var length = 0
+        var shift = 0
+        while (true) {
+            if (index == end) {
+                return
+            }
+            val b = input.getByte(index++).toInt()
+            if (shift == 28) {
+                if (b < 0) {
+                    input.skipBytes(input.readableBytes())
+                    throw CorruptedFrameException("VarInt length prefix is longer than 5 bytes")
+                }
+                if (b > 0x0F) {
+                    input.skipBytes(input.readableBytes())
+                    throw CorruptedFrameException("VarInt length prefix exceeds 32 bits")
+                }
+            }
+            length = length or ((b and 0x7F) shl shift)
+            if (b >= 0) {
+                break
+            }
+            shift += 7
+        }
+        if (length < 0) {
+            input.skipBytes(input.readableBytes())
+            throw CorruptedFrameException("Negative frame length: $length")
+        }
+        val headerSize = index - start
+        if (length > maxFrameLength) {
+            input.skipBytes(headerSize)
+            val skip = minOf(length, input.readableBytes())
+            input.skipBytes(skip)
+            bytesToDiscard = (length - skip).toLong()
+            throw TooLongFrameException("Frame length $length exceeds $maxFrameLength")
+        }
+        if (end - index < length) {
+            return
+        }
+        input.skipBytes(headerSize)
+        out.add(input.readRetainedSlice(length))
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile VarIntFrameEncoder.kt
+ * LastUpdate 2026-10-19 00:28:56
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.netty
+
+import com.mingliqiye.utils.bytes.varIntSize
+import com.mingliqiye.utils.bytes.writeVarInt
+import io.netty.buffer.ByteBuf
+import io.netty.channel.ChannelHandler
+import io.netty.channel.ChannelHandlerContext
+import io.netty.handler.codec.MessageToMessageEncoder
+import io.netty.handler.codec.TooLongFrameException
+
+/**
+ * 变长整数长度前缀帧编码器，与 [VarIntFrameDecoder] 配合使用。
+ *
+ * 仅分配长度前缀所需的几个字节（编码与 ByteBuffer.putVarInt 相同），负载以保留引用的方式随前缀一起写出，不复制数据。
+ * 处理器无状态，可在多个管道间共享。
+ *
+ * @param maxFrameLength 允许的最大负载长度，超出时抛出 [TooLongFrameException]
+ */
+@ChannelHandler.Sharable
+class VarIntFrameEncoder(
+    val maxFrameLength: Int = VarIntFrameDecoder.DEFAULT_MAX_FRAME_LENGTH,
+) : MessageToMessageEncoder<ByteBuf>() {
+
+    init {
+        require(maxFrameLength >= 0) { "maxFrameLength must not be negative" }
+    }
+
+    override fun encode(ctx: ChannelHandlerContext, msg: ByteBuf, out: MutableList<Any>) {
+        val length = msg.readableBytes()
+        if (length > maxFrameLength) {
+            throw TooLongFrameException("Frame length $length exceeds $maxFrameLength")
+        }
+        // 前缀只有1~5字节，使用堆缓冲区以便直接写入底层数组
+        val header = ctx.alloc().heapBuffer(varIntSize(length))
+        val base = header.arrayOffset() + header.writerIndex()
+        header.writerIndex(header.writerIndex() + writeVarInt(header.array(), base, length) - base)
+        out.add(header)
+        out.add(msg.retain())
+    }
+}
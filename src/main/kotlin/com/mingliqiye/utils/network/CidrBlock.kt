@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile CidrBlock.kt
+ * LastUpdate 2026-10-18 22:52:46
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.network
+
+import java.io.Serializable
+
+/**
+ * CIDR 地址块，由网络地址和前缀长度组成，如 10.0.0.0/8、2001:db8::/32。
+ *
+ * 创建时会清除主机位，因此 10.1.2.3/8 与 10.0.0.0/8 表示同一个地址块。
+ *
+ * @author MingLiPro
+ */
+class CidrBlock private constructor(
+    /**
+     * 网络地址（主机位为0）
+     */
+    val address: NetworkAddress,
+    /**
+     * 前缀长度
+     */
+    val prefixLength: Int,
+) : Serializable {
+
+    companion object {
+
+        /**
+         * 解析 CIDR 字符串，不进行DNS查询；不带前缀长度时表示单个地址（/32 或 /128）
+         *
+         * @param cidr CIDR 字符串，如"192.168.0.0/16"
+         * @return CidrBlock 实例
+         * @throws NetworkException 格式无效时抛出
+         */
+        @JvmStatic
+        fun parse(cidr: String): CidrBlock {
+            val slash = cidr.indexOf('/')
+            if (slash < 0) {
+                val address = NetworkAddress.parse(cidr)
+                return of(address, maxLength(address))
+            }
+            val address = NetworkAddress.tryParse(cidr.subSequence(0, slash))
+                ?: throw NetworkException("[$cidr] 不是有效的CIDR地址块")
+            val length = cidr.substring(slash + 1).trim().toIntOrNull()
+                ?: throw NetworkException("[$cidr] 不是有效的CIDR地址块")
+            return of(address, length)
+        }
+
+        /**
+         * 通过地址和前缀长度创建地址块，地址的主机位会被清除
+         *
+         * @param address 地址
+         * @param prefixLength 前缀长度，IPv4为0~32，IPv6为0~128
+         * @return CidrBlock 实例
+         * @throws NetworkException 前缀长度超出范围时抛出
+         */
+        @JvmStatic
+        fun of(address: NetworkAddress, prefixLength: Int): CidrBlock {
+            if (prefixLength < 0 || prefixLength > maxLength(address)) {
+                throw NetworkException("前缀长度超出范围: $prefixLength")
+            }
+            val network = if (address.isIpv4) {
+                NetworkAddress.ofIpv4((address.low and ipv4Mask(prefixLength)).toInt())
+            } else {
+                NetworkAddress.ofIpv6(address.high and highMask(prefixLength), address.low and lowMask(prefixLength))
+            }
+            return CidrBlock(network, prefixLength)
+        }
+
+        private fun maxLength(address: NetworkAddress): Int = if (address.isIpv4) 32 else 128
+
+        private fun ipv4Mask(length: Int): Long = if (length == 0) 0 else (-1L shl (32 - length)) and 0xFFFFFFFFL
+
+        private fun highMask(length: Int): Long = when {
+            length == 0 -> 0
+            length >= 64 -> -1
+            else -> -1L shl (64 - length)
+        }
+
+        private fun lowMask(length: Int): Long = if (length <= 64) 0 else -1L shl (128 - length)
+    }
+
+    /**
+     * 判断地址是否属于当前地址块，地址族不同时返回false
+     *
+     * @param address 地址
+     * @return 属于时返回true
+     */
+    fun contains(address: NetworkAddress): Boolean {
+        if (address.iPv != this.address.iPv) {
+            return false
+        }
+        return if (address.isIpv4) {
+            address.low and ipv4Mask(prefixLength) == this.address.low
+        } else {
+            address.high and highMask(prefixLength) == this.address.high &&
+                    address.low and lowMask(prefixLength) == this.address.low
+        }
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        return other is CidrBlock && prefixLength == other.prefixLength && address == other.address
+    }
+
+    override fun hashCode(): Int = address.hashCode() * 31 + prefixLength
+
+    /**
+     * 返回规范的 CIDR 字符串，如"10.0.0.0/8"
+     *
+     * @return CIDR 字符串
+     */
+    override fun toString(): String = "${address.toCanonicalString()}/$prefixLength"
+}
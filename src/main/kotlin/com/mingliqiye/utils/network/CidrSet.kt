@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile CidrSet.kt
+ * LastUpdate 2026-10-18 22:52:46
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.network
+
+/**
+ * 线程安全的 CIDR 地址块集合，用于访问控制等按地址匹配的场景。
+ *
+ * 读取通过 volatile 引用访问不可变的 [IpPrefixTrie] 快照，不加锁；
+ * 修改时基于当前快照重建新快照后整体替换（写时复制），单次修改的开销与集合大小成正比，
+ * 批量修改应使用 [addAll] 或 [replaceAll]。
+ *
+ * @author MingLiPro
+ */
+class CidrSet() {
+
+    companion object {
+        /**
+         * 通过 CIDR 字符串创建集合
+         *
+         * @param cidrs CIDR 字符串
+         * @return CidrSet 实例
+         * @throws NetworkException 格式无效时抛出
+         */
+        @JvmStatic
+        fun of(vararg cidrs: String): CidrSet = CidrSet().also { set -> set.addAll(cidrs.map { CidrBlock.parse(it) }) }
+    }
+
+    @Volatile
+    private var trie: IpPrefixTrie<CidrBlock> = IpPrefixTrie.empty()
+
+    private val lock = Any()
+
+    /**
+     * 地址块数量
+     */
+    val size: Int
+        get() = trie.size
+
+    /**
+     * 判断地址是否属于集合中的任一地址块
+     *
+     * @param address 地址
+     * @return 属于时返回true
+     */
+    fun contains(address: NetworkAddress): Boolean = trie.matches(address)
+
+    /**
+     * 查找包含地址的最长地址块
+     *
+     * @param address 地址
+     * @return 最长匹配的地址块，不存在时返回null
+     */
+    fun match(address: NetworkAddress): CidrBlock? = trie.longestMatchBlock(address)
+
+    /**
+     * 获取当前内容的不可变快照，后续修改不影响已获取的快照
+     *
+     * @return 前缀树快照，值为地址块本身
+     */
+    fun snapshot(): IpPrefixTrie<CidrBlock> = trie
+
+    /**
+     * 加入地址块
+     *
+     * @param block 地址块
+     * @return 加入前不存在时返回true
+     */
+    fun add(block: CidrBlock): Boolean = synchronized(lock) {
+        val current = trie
+        if (current[block] != null) {
+            return false
+        }
+        trie = current.toBuilder().put(block, block).build()
+        true
+    }
+
+    /**
+     * 解析并加入 CIDR 字符串
+     *
+     * @param cidr CIDR 字符串
+     * @return 加入前不存在时返回true
+     * @throws NetworkException 格式无效时抛出
+     */
+    fun add(cidr: String): Boolean = add(CidrBlock.parse(cidr))
+
+    /**
+     * 批量加入地址块，只重建一次快照
+     *
+     * @param blocks 地址块
+     */
+    fun addAll(blocks: Iterable<CidrBlock>) = synchronized(lock) {
+        val builder = trie.toBuilder()
+        blocks.forEach { builder.put(it, it) }
+        trie = builder.build()
+    }
+
+    /**
+     * 移除地址块
+     *
+     * @param block 地址块
+     * @return 移除前存在时返回true
+     */
+    fun remove(block: CidrBlock): Boolean = synchronized(lock) {
+        val current = trie
+        if (current[block] == null) {
+            return false
+        }
+        trie = current.toBuilder().remove(block).build()
+        true
+    }
+
+    /**
+     * 以新的地址块整体替换集合内容
+     *
+     * @param blocks 地址块
+     */
+    fun replaceAll(blocks: Iterable<CidrBlock>) {
+        val builder = IpPrefixTrie.builder<CidrBlock>()
+        blocks.forEach { builder.put(it, it) }
+        val next = builder.build()
+        synchronized(lock) {
+            trie = next
+        }
+    }
+
+    /**
+     * 清空集合
+     */
+    fun clear() = synchronized(lock) {
+        trie = IpPrefixTrie.empty()
+    }
+
+    override fun toString(): String = "CidrSet(${trie.blocks().joinToString()})"
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile DnsResolver.kt
+ * LastUpdate 2026-10-19 00:25:40
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.network
+
+import com.mingliqiye.utils.concurrent.NamedThreadFactory
+import java.net.UnknownHostException
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 带缓存的异步主机名解析器。
+ *
+ * 解析在 executor 中执行，调用线程与事件循环线程不会阻塞；
+ * 成功结果缓存 ttl，主机名不存在（UnknownHostException）的结果缓存 negativeTtl；
+ * 同一主机名的并发解析只执行一次。IP字面量直接解析，不经过缓存与后端。
+ *
+ * 一个主机名解析到多个地址时，[resolve] 在这些地址间轮询。
+ * 系统解析器自身也有缓存（networkaddress.cache.ttl），实际刷新间隔取二者中较长者。
+ *
+ * @param backend 解析后端，默认使用系统解析器
+ * @param ttl 成功结果的缓存时间
+ * @param negativeTtl 主机名不存在的结果的缓存时间，为0时不缓存
+ * @param executor 执行解析的线程池，默认使用共享的守护线程池
+ * @param maxEntries 最多缓存的主机名数量
+ */
+class DnsResolver(
+    private val backend: HostResolver = HostResolver.SYSTEM,
+    val ttl: Duration = Duration.ofSeconds(DEFAULT_TTL_SECONDS),
+    val negativeTtl: Duration = Duration.ofSeconds(DEFAULT_NEGATIVE_TTL_SECONDS),
+    private val executor: Executor = defaultExecutor,
+    val maxEntries: Int = DEFAULT_MAX_ENTRIES,
+) {
+
+    companion object {
+        /**
+         * 默认成功结果缓存时间（秒）
+         */
+        const val DEFAULT_TTL_SECONDS = 30L
+
+        /**
+         * 默认失败结果缓存时间（秒）
+         */
+        const val DEFAULT_NEGATIVE_TTL_SECONDS = 5L
+
+        /**
+         * 默认最多缓存的主机名数量
+         */
+        const val DEFAULT_MAX_ENTRIES = 4096
+
+        private val defaultExecutor: Executor by lazy {
+            val factory = NamedThreadFactory.of("DnsResolver")
+            ThreadPoolExecutor(
+                4, 4, 60L, TimeUnit.SECONDS, LinkedBlockingQueue(),
+                ThreadFactory { r -> factory.newThread(r).also { it.isDaemon = true } }
+            ).apply { allowCoreThreadTimeOut(true) }
+        }
+
+        private val defaultResolver by lazy { DnsResolver() }
+
+        /**
+         * 获取共享的默认实例
+         *
+         * @return 默认实例
+         */
+        @JvmStatic
+        fun getDefault(): DnsResolver = defaultResolver
+
+        // 取出 CompletableFuture 包装的原始异常
+        internal fun unwrap(e: Throwable): Throwable {
+            return if (e is CompletionException && e.cause != null) e.cause!! else e
+        }
+    }
+
+    private class Entry(val addresses: List<NetworkAddress>, val error: Exception?, val expiresAt: Long) {
+        private val next = AtomicInteger()
+
+        fun next(): NetworkAddress = addresses[Math.floorMod(next.getAndIncrement(), addresses.size)]
+
+        fun rotated(): List<NetworkAddress> {
+            if (addresses.size < 2) {
+                return addresses
+            }
+            val start = Math.floorMod(next.getAndIncrement(), addresses.size)
+            return List(addresses.size) { addresses[(start + it) % addresses.size] }
+        }
+    }
+
+    private val cache = ConcurrentHashMap<String, Entry>()
+
+    private val inflight = ConcurrentHashMap<String, CompletableFuture<Entry>>()
+
+    private val ttlNanos = ttl.toNanos()
+
+    private val negativeTtlNanos = negativeTtl.toNanos()
+
+    init {
+        require(!ttl.isNegative) { "ttl must not be negative" }
+        require(!negativeTtl.isNegative) { "negativeTtl must not be negative" }
+        require(maxEntries > 0) { "maxEntries must be positive" }
+    }
+
+    /**
+     * 缓存的主机名数量（含已过期尚未清理的条目）
+     */
+    val size: Int
+        get() = cache.size
+
+    /**
+     * 异步解析主机名的所有地址
+     *
+     * @param host 主机名或IP字面量
+     * @return 解析结果，失败时以 [NetworkException] 异常完成
+     */
+    fun resolveAll(host: String): CompletableFuture<List<NetworkAddress>> = lookup(host).thenApply { it.addresses }
+
+    /**
+     * 异步解析主机名，存在多个地址时依次轮询
+     *
+     * @param host 主机名或IP字面量
+     * @return 解析结果，失败时以 [NetworkException] 异常完成
+     */
+    fun resolve(host: String): CompletableFuture<NetworkAddress> = lookup(host).thenApply { it.next() }
+
+    /**
+     * 异步解析主机名的所有地址，结果从当前轮询位置开始排列，
+     * 依次尝试这些地址的调用方（如连接重试）可借此把连接分散到各个地址
+     *
+     * @param host 主机名或IP字面量
+     * @return 解析结果，失败时以 [NetworkException] 异常完成
+     */
+    fun resolveAllRotated(host: String): CompletableFuture<List<NetworkAddress>> = lookup(host).thenApply { it.rotated() }
+
+    /**
+     * 同步解析主机名，存在多个地址时依次轮询；缓存命中时不阻塞
+     *
+     * @param host 主机名或IP字面量
+     * @return 解析到的地址
+     * @throws NetworkException 解析失败时抛出
+     */
+    fun resolveNow(host: String): NetworkAddress {
+        try {
+            return resolve(host).join()
+        } catch (e: CompletionException) {
+            val cause = unwrap(e)
+            throw cause as? NetworkException ?: NetworkException(cause as? Exception ?: e)
+        }
+    }
+
+    /**
+     * 移除主机名的缓存，下次解析时重新查询
+     *
+     * @param host 主机名
+     */
+    fun invalidate(host: String) {
+        cache.remove(key(host))
+    }
+
+    /**
+     * 清空缓存
+     */
+    fun clear() {
+        cache.clear()
+    }
+
+    private fun key(host: String): String = host.trim().lowercase()
+
+    private fun lookup(host: String): CompletableFuture<Entry> {
+        NetworkAddress.tryParse(host)?.let {
+            return CompletableFuture.completedFuture(Entry(listOf(it), null, 0))
+        }
+        val key = key(host)
+        val cached = cache[key]
+        if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+            return if (cached.error == null) {
+                CompletableFuture.completedFuture(cached)
+            } else {
+                CompletableFuture.failedFuture(NetworkException(cached.error))
+            }
+        }
+        var created: CompletableFuture<Entry>? = null
+        val future = inflight.computeIfAbsent(key) { CompletableFuture<Entry>().also { created = it } }
+        created?.let { submit(key, it) }
+        return future
+    }
+
+    private fun submit(key: String, future: CompletableFuture<Entry>) {
+        val task = Runnable {
+            try {
+                val addresses = backend.resolve(key).map { NetworkAddress.withDomain(it, key) }
+                if (addresses.isEmpty()) {
+                    throw UnknownHostException(key)
+                }
+                val entry = Entry(addresses, null, System.nanoTime() + ttlNanos)
+                if (ttlNanos > 0) {
+                    put(key, entry)
+                }
+                inflight.remove(key, future)
+                future.complete(entry)
+            } catch (e: Exception) {
+                if (e is UnknownHostException && negativeTtlNanos > 0) {
+                    put(key, Entry(emptyList(), e, System.nanoTime() + negativeTtlNanos))
+                }
+                inflight.remove(key, future)
+                future.completeExceptionally(e as? NetworkException ?: NetworkException(e))
+            }
+        }
+        try {
+            executor.execute(task)
+        } catch (e: RejectedExecutionException) {
+            inflight.remove(key, future)
+            future.completeExceptionally(NetworkException(e))
+        }
+    }
+
+    private fun put(key: String, entry: Entry) {
+        if (cache.size >= maxEntries && !cache.containsKey(key)) {
+            val now = System.nanoTime()
+            cache.values.removeIf { it.expiresAt - now <= 0 }
+            if (cache.size >= maxEntries) {
+                cache.keys.firstOrNull()?.let { cache.remove(it) }
+            }
+        }
+        cache[key] = entry
+    }
+}
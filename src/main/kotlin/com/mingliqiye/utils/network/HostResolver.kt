@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile HostResolver.kt
+ * LastUpdate 2026-10-18 22:57:16
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.network
+
+import java.net.InetAddress
+import java.net.UnknownHostException
+
+/**
+ * 主机名解析后端，[DnsResolver] 通过它执行实际的（阻塞）解析，
+ * 测试时可替换为返回固定结果的实现
+ */
+fun interface HostResolver {
+
+    companion object {
+        /**
+         * 使用系统解析器（InetAddress.getAllByName）的实现
+         */
+        @JvmField
+        val SYSTEM = HostResolver { host -> InetAddress.getAllByName(host).map { NetworkAddress.of(it) } }
+
+        /**
+         * 创建使用固定映射表的解析器，主机名不区分大小写，不存在时抛出 UnknownHostException
+         *
+         * @param hosts 主机名到地址列表的映射
+         * @return HostResolver 实例
+         */
+        @JvmStatic
+        fun of(hosts: Map<String, List<NetworkAddress>>): HostResolver {
+            val table = hosts.mapKeys { it.key.lowercase() }
+            return HostResolver { host -> table[host.lowercase()] ?: throw UnknownHostException(host) }
+        }
+    }
+
+    /**
+     * 解析主机名，可能阻塞
+     *
+     * @param host 主机名
+     * @return 解析到的地址，至少包含一个
+     * @throws UnknownHostException 主机名不存在时抛出
+     */
+    @Throws(UnknownHostException::class)
+    fun resolve(host: String): List<NetworkAddress>
+}
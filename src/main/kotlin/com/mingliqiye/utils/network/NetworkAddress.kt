@@ -16,26 +16,30 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile NetworkAddress.kt
- * LastUpdate 2026-02-05 10:20:31
+ * LastUpdate 2026-10-18 22:57:28
  * UpdateUser MingLiPro
  */
 
 package com.mingliqiye.utils.network
 
-import com.mingliqiye.utils.string.join
 import java.io.Serializable
+import java.net.Inet6Address
 import java.net.InetAddress
 import java.net.UnknownHostException
 import java.nio.ByteBuffer
-import java.util.regex.Pattern
+import java.util.concurrent.CompletableFuture
 
 /**
  * 网络地址类，用于表示一个网络地址（IP或域名），并提供相关操作。
  * 支持IPv4和IPv6地址的解析与验证。
  *
+ * 地址以紧凑的二进制形式保存：IPv4 为一个32位整数，IPv6 为高低两个64位整数。
+ * 字面量通过手写解析器解析，不使用正则表达式；[parse] 与 [tryParse] 只解析字面量，从不进行DNS查询。
+ * 相等性只比较地址本身，与输入文本和域名无关。
+ *
  * @author MingLiPro
  */
-class NetworkAddress private constructor(domip: String) : Serializable {
+class NetworkAddress private constructor() : Serializable {
 
     /**
      * IPv6标识
@@ -49,61 +53,155 @@ class NetworkAddress private constructor(domip: String) : Serializable {
         const val IPV4 = 4
 
         /**
-         * IPv4地址正则表达式
+         * 静态工厂方法，创建 NetworkAddress 实例。
+         *
+         * 输入是IP字面量时直接解析，否则通过默认的 [DnsResolver] 解析域名（带缓存，多个地址时轮询），
+         * 缓存未命中时会阻塞，请求线程上应使用 [ofAsync]
+         *
+         * @param domip 可能是IP地址或域名的字符串
+         * @return 新建的 NetworkAddress 实例
+         * @throws NetworkException 域名无法解析时抛出
          */
-        private const val IPV4REG =
-            "^((2(5[0-5]|[0-4]\\d))|[0-1]?\\d{1,2})(\\.((2" + "(5[0-5]|[0-4]\\d))|[0-1]?\\d{1,2})){3}$"
+        @JvmStatic
+        fun of(domip: String): NetworkAddress {
+            tryParse(domip)?.let {
+                it.text = domip.trim()
+                return it
+            }
+            return DnsResolver.getDefault().resolveNow(domip)
+        }
 
         /**
-         * 编译后的IPv4地址匹配模式
+         * 使用默认的 [DnsResolver] 异步创建 NetworkAddress 实例
+         *
+         * @param domip 可能是IP地址或域名的字符串
+         * @return 解析结果，失败时以 [NetworkException] 异常完成
          */
-        private val IPV4_PATTERN = Pattern.compile(IPV4REG)
+        @JvmStatic
+        fun ofAsync(domip: String): CompletableFuture<NetworkAddress> = ofAsync(domip, DnsResolver.getDefault())
 
         /**
-         * IPv6地址正则表达式
+         * 使用指定的 [DnsResolver] 异步创建 NetworkAddress 实例
+         *
+         * @param domip 可能是IP地址或域名的字符串
+         * @param resolver 解析器
+         * @return 解析结果，失败时以 [NetworkException] 异常完成
          */
-        private const val IPV6REG =
-            "^([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}$|" + "^(::([0-9a-fA-F]{1,4}:){0,6}[0-9a-fA-F]{1,4})$" + "|" + "^(::)$|" + "^([0-9a-fA-F]{1,4}::([0-9a-fA-F]{1,4}:){0,5}[0-9a-fA-F]{1,4})$|" + "^(([0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4})$|" + "^(([0-9a-fA-F]{1,4}:){6}(([0-9]{1,3}\\.){3}[0-9]{1,3}))$|" + "^::([fF]{4}:)?(([0-9]{1,3}\\.){3}[0-9]{1,3})$"
+        @JvmStatic
+        fun ofAsync(domip: String, resolver: DnsResolver): CompletableFuture<NetworkAddress> {
+            tryParse(domip)?.let {
+                it.text = domip.trim()
+                return CompletableFuture.completedFuture(it)
+            }
+            return resolver.resolve(domip)
+        }
 
         /**
-         * 编译后的IPv6地址匹配模式
+         * 复制地址并标记为由域名解析得到
          */
-        private val IPV6_PATTERN = Pattern.compile(IPV6REG)
+        internal fun withDomain(address: NetworkAddress, domain: String): NetworkAddress {
+            return NetworkAddress().also {
+                it.iPv = address.iPv
+                it.high = address.high
+                it.low = address.low
+                it.isdom = true
+                it.domain = domain
+            }
+        }
 
         /**
-         * 静态工厂方法，创建 NetworkAddress 实例。
+         * 将IP字面量解析为 NetworkAddress，不进行DNS查询。
          *
-         * @param domip 可能是IP地址或域名的字符串
-         * @return 新建的 NetworkAddress 实例
+         * 支持点分十进制IPv4及 RFC 4291 定义的IPv6文本形式（含 :: 压缩和内嵌IPv4），首尾空白会被忽略。
+         *
+         * @param ip IP地址字符串
+         * @return 解析后的 NetworkAddress 实例
+         * @throws NetworkException 如果不是有效的IP地址
          */
         @JvmStatic
-        fun of(domip: String): NetworkAddress {
-            return NetworkAddress(domip)
+        fun parse(ip: String): NetworkAddress {
+            return tryParse(ip) ?: throw NetworkException("[$ip] 不是有效的IPv4或IPv6地址")
+        }
+
+        /**
+         * 将IP字面量解析为 NetworkAddress，不进行DNS查询。
+         *
+         * @param ip IP地址字符串
+         * @return 解析后的 NetworkAddress 实例，不是有效的IP地址时返回null
+         */
+        @JvmStatic
+        fun tryParse(ip: CharSequence): NetworkAddress? {
+            val address = NetworkAddress()
+            return if (address.parseLiteral(ip)) address else null
         }
 
         @JvmStatic
         fun ofIpv4(byteBuffer: ByteBuffer): NetworkAddress {
-            val byteArray = ByteArray(4)
-            byteBuffer.get(byteArray)
-            return ofIpv4(byteArray)
+            return ofIpv4(byteBuffer.getInt())
         }
 
         @JvmStatic
         fun ofIpv4(byteArray: ByteArray): NetworkAddress {
-            return of(".".join(byteArray.map {
-                (it.toInt() and 0xFF).toString()
-            }))
+            return ofIpv4(readInt(byteArray, 0))
+        }
+
+        /**
+         * 通过32位整数创建IPv4地址，高位字节为第一段
+         *
+         * @param address IPv4地址
+         * @return 新建的 NetworkAddress 实例
+         */
+        @JvmStatic
+        fun ofIpv4(address: Int): NetworkAddress {
+            return NetworkAddress().also {
+                it.iPv = IPV4
+                it.low = address.toLong() and 0xFFFFFFFFL
+            }
+        }
+
+        /**
+         * 通过高低两个64位整数创建IPv6地址
+         *
+         * @param high 地址的高64位
+         * @param low 地址的低64位
+         * @return 新建的 NetworkAddress 实例
+         */
+        @JvmStatic
+        fun ofIpv6(high: Long, low: Long): NetworkAddress {
+            return NetworkAddress().also {
+                it.iPv = IPV6
+                it.high = high
+                it.low = low
+            }
+        }
+
+        /**
+         * 通过网络字节序的地址字节创建实例，4字节为IPv4，16字节为IPv6
+         *
+         * @param bytes 地址字节
+         * @return 新建的 NetworkAddress 实例
+         * @throws NetworkException 字节长度不是4或16时抛出
+         */
+        @JvmStatic
+        fun of(bytes: ByteArray): NetworkAddress {
+            return when (bytes.size) {
+                4 -> ofIpv4(readInt(bytes, 0))
+                16 -> ofIpv6(readLong(bytes, 0), readLong(bytes, 8))
+                else -> throw NetworkException("地址长度必须为4或16字节: ${bytes.size}")
+            }
         }
 
         /**
          * 静态工厂方法，通过 InetAddress 创建 NetworkAddress 实例。
          *
+         * 直接使用地址字节，不进行DNS查询
+         *
          * @param inetAddress InetAddress 对象
          * @return 新建的 NetworkAddress 实例
          */
         @JvmStatic
         fun of(inetAddress: InetAddress): NetworkAddress {
-            return NetworkAddress(inetAddress.hostAddress)
+            return of(inetAddress.address)
         }
 
         /**
@@ -132,22 +230,75 @@ class NetworkAddress private constructor(domip: String) : Serializable {
             if (ip == null) {
                 throw NetworkException("IP地址不能为null")
             }
-            val trimmedIp = ip.trim()
+            return parse(ip).iPv
+        }
+
+        /**
+         * 判断字符串是否为有效的IPv4或IPv6地址
+         *
+         * @param ip 要检测的字符串
+         * @return 有效时返回true
+         */
+        @JvmStatic
+        fun isIp(ip: CharSequence): Boolean = NetworkAddress().parseLiteral(ip)
 
-            // 判断是否匹配IPv4格式
-            if (IPV4_PATTERN.matcher(trimmedIp).matches()) {
-                return IPV4
+        private fun readInt(bytes: ByteArray, offset: Int): Int {
+            return (bytes[offset].toInt() and 0xFF shl 24) or
+                    (bytes[offset + 1].toInt() and 0xFF shl 16) or
+                    (bytes[offset + 2].toInt() and 0xFF shl 8) or
+                    (bytes[offset + 3].toInt() and 0xFF)
+        }
+
+        private fun readLong(bytes: ByteArray, offset: Int): Long {
+            return (readInt(bytes, offset).toLong() shl 32) or (readInt(bytes, offset + 4).toLong() and 0xFFFFFFFFL)
+        }
+
+        private fun writeLong(bytes: ByteArray, offset: Int, value: Long) {
+            for (i in 0 until 8) {
+                bytes[offset + i] = (value ushr (56 - i * 8)).toByte()
             }
+        }
 
-            // 判断是否匹配IPv6格式
-            if (IPV6_PATTERN.matcher(trimmedIp).matches()) {
-                return IPV6
+        // 解析点分十进制IPv4，失败返回-1
+        private fun parseIpv4(s: CharSequence, start: Int, end: Int): Long {
+            var i = start
+            var result = 0L
+            var parts = 0
+            while (true) {
+                var value = 0
+                var digits = 0
+                while (i < end) {
+                    val d = s[i] - '0'
+                    if (d < 0 || d > 9) {
+                        break
+                    }
+                    value = value * 10 + d
+                    i++
+                    if (++digits > 3) {
+                        return -1
+                    }
+                }
+                if (digits == 0 || value > 255) {
+                    return -1
+                }
+                result = (result shl 8) or value.toLong()
+                if (++parts == 4) {
+                    return if (i == end) result else -1
+                }
+                if (i == end || s[i] != '.') {
+                    return -1
+                }
+                i++
             }
+        }
 
-            // 不符合任一格式时抛出异常
-            throw NetworkException(
-                "[$ip] 不是有效的IPv4或IPv6地址"
-            )
+        private fun hexValue(c: Char): Int {
+            return when (c) {
+                in '0'..'9' -> c - '0'
+                in 'a'..'f' -> c - 'a' + 10
+                in 'A'..'F' -> c - 'A' + 10
+                else -> -1
+            }
         }
     }
 
@@ -158,43 +309,236 @@ class NetworkAddress private constructor(domip: String) : Serializable {
         private set
 
     /**
-     * IP地址字符串
+     * IPv6地址的高64位，IPv4地址时为0
+     */
+    var high: Long = 0
+        private set
+
+    /**
+     * IPv6地址的低64位，IPv4地址时低32位为地址
      */
-    var ip: String? = null
+    var low: Long = 0
         private set
 
+    /**
+     * 输入的IP文本，二进制创建时为空
+     */
+    private var text: String? = null
+
+    /**
+     * IP地址字符串，通过字面量创建时为输入文本，否则为 RFC 5952 规范形式
+     */
+    val ip: String?
+        get() = text ?: toCanonicalString().also { text = it }
+
     /**
      * 域名（如果输入的是域名）
      */
-    private var domain: String? = null
+    var domain: String? = null
+        private set
 
     /**
      * 标识是否是域名解析来的IP
      */
     private var isdom = false
 
+    // 解析IP字面量并写入当前实例，首尾空白会被忽略
+    private fun parseLiteral(s: CharSequence): Boolean {
+        var start = 0
+        var end = s.length
+        while (start < end && s[start] <= ' ') {
+            start++
+        }
+        while (end > start && s[end - 1] <= ' ') {
+            end--
+        }
+        for (i in start until end) {
+            if (s[i] == ':') {
+                return parseIpv6(s, start, end)
+            }
+        }
+        val v4 = parseIpv4(s, start, end)
+        if (v4 < 0) {
+            return false
+        }
+        iPv = IPV4
+        low = v4
+        return true
+    }
+
+    private fun parseIpv6(s: CharSequence, start: Int, end: Int): Boolean {
+        // :: 之前的分组累积在 head，之后的分组累积在 tail，最后将 head 移到高位
+        var headHigh = 0L
+        var headLow = 0L
+        var headCount = 0
+        var tailHigh = 0L
+        var tailLow = 0L
+        var tailCount = 0
+        var compressed = false
+        var i = start
+        if (end - start < 2) {
+            return false
+        }
+        if (s[i] == ':') {
+            if (s[i + 1] != ':') {
+                return false
+            }
+            compressed = true
+            i += 2
+        }
+        while (i < end) {
+            val segmentStart = i
+            var value = 0
+            var digits = 0
+            while (i < end) {
+                val h = hexValue(s[i])
+                if (h < 0) {
+                    break
+                }
+                value = (value shl 4) or h
+                i++
+                if (++digits > 4) {
+                    return false
+                }
+            }
+            val groups: Int
+            val bits: Long
+            if (i < end && s[i] == '.') {
+                // 内嵌IPv4只能出现在末尾，占两个分组
+                bits = parseIpv4(s, segmentStart, end)
+                if (bits < 0) {
+                    return false
+                }
+                groups = 2
+                i = end
+            } else {
+                if (digits == 0) {
+                    return false
+                }
+                groups = 1
+                bits = value.toLong()
+            }
+            val shift = groups * 16
+            if (compressed) {
+                tailHigh = (tailHigh shl shift) or (tailLow ushr (64 - shift))
+                tailLow = (tailLow shl shift) or bits
+                tailCount += groups
+            } else {
+                headHigh = (headHigh shl shift) or (headLow ushr (64 - shift))
+                headLow = (headLow shl shift) or bits
+                headCount += groups
+            }
+            if (headCount + tailCount > 8) {
+                return false
+            }
+            if (i == end) {
+                break
+            }
+            if (s[i] != ':') {
+                return false
+            }
+            i++
+            if (i < end && s[i] == ':') {
+                if (compressed) {
+                    return false
+                }
+                compressed = true
+                i++
+            } else if (i == end) {
+                return false
+            }
+        }
+        val total = headCount + tailCount
+        if (if (compressed) total > 7 else total != 8) {
+            return false
+        }
+        val shift = (8 - headCount) * 16
+        when {
+            shift == 0 -> {}
+            shift >= 128 -> {
+                headHigh = 0
+                headLow = 0
+            }
+
+            shift >= 64 -> {
+                headHigh = headLow shl (shift - 64)
+                headLow = 0
+            }
+
+            else -> {
+                headHigh = (headHigh shl shift) or (headLow ushr (64 - shift))
+                headLow = headLow shl shift
+            }
+        }
+        iPv = IPV6
+        high = headHigh or tailHigh
+        low = headLow or tailLow
+        return true
+    }
+
+    /**
+     * 是否为IPv4地址
+     */
+    val isIpv4: Boolean
+        get() = iPv == IPV4
+
+    /**
+     * 是否为IPv6地址
+     */
+    val isIpv6: Boolean
+        get() = iPv == IPV6
+
+    /**
+     * 是否为环回地址（127.0.0.0/8 或 ::1）
+     */
+    val isLoopback: Boolean
+        get() = if (isIpv4) low ushr 24 == 127L else high == 0L && low == 1L
+
+    /**
+     * 是否为未指定地址（0.0.0.0 或 ::）
+     */
+    val isAnyLocal: Boolean
+        get() = high == 0L && low == 0L
+
+    /**
+     * 是否为链路本地地址（169.254.0.0/16 或 fe80::/10）
+     */
+    val isLinkLocal: Boolean
+        get() = if (isIpv4) low ushr 16 == 0xA9FEL else high ushr 54 == 0x3FAL
+
+    /**
+     * 是否为私有地址（10.0.0.0/8、172.16.0.0/12、192.168.0.0/16 或唯一本地地址 fc00::/7）
+     */
+    val isPrivate: Boolean
+        get() = if (isIpv4) {
+            low ushr 24 == 10L || low ushr 20 == 0xAC1L || low ushr 16 == 0xC0A8L
+        } else {
+            high ushr 57 == 0x7EL
+        }
+
+    /**
+     * 是否为组播地址（224.0.0.0/4 或 ff00::/8）
+     */
+    val isMulticast: Boolean
+        get() = if (isIpv4) low ushr 28 == 0xEL else high ushr 56 == 0xFFL
+
     /**
-     * 构造方法，根据传入的字符串判断是IP地址还是域名，并进行相应处理。
+     * 是否为IPv4映射的IPv6地址（::ffff:0:0/96）
+     */
+    val isIpv4Mapped: Boolean
+        get() = isIpv6 && high == 0L && low ushr 32 == 0xFFFFL
+
+    /**
+     * 获取IPv4地址的32位整数形式
      *
-     * @param domip 可能是IP地址或域名的字符串
-     */
-    init {
-        try {
-            // 尝试将输入识别为IP地址
-            this.iPv = testIp(domip)
-            this.ip = domip
-        } catch (e: NetworkException) {
-            try {
-                // 如果不是有效IP，则尝试作为域名解析
-                val ips = getHostIp(domip)
-                this.iPv = testIp(ips)
-                this.ip = ips
-                this.isdom = true
-                this.domain = domip
-            } catch (ex: UnknownHostException) {
-                throw NetworkException(ex)
-            }
+     * @return IPv4地址，高位字节为第一段
+     * @throws NetworkException 当当前地址不是IPv4地址时抛出异常
+     */
+    fun toIpv4Int(): Int {
+        if (iPv != IPV4) {
+            throw NetworkException("该地址 不是IPv4地址")
         }
+        return low.toInt()
     }
 
     /**
@@ -204,12 +548,25 @@ class NetworkAddress private constructor(domip: String) : Serializable {
      * @throws NetworkException 当当前地址不是IPv4地址时抛出异常
      */
     fun toIpv4ByteArray(): ByteArray {
-        // 验证地址类型是否为IPv4
-        if (iPv != IPV4) {
-            throw NetworkException("该地址 不是IPv4地址")
+        val address = toIpv4Int()
+        return byteArrayOf(
+            (address ushr 24).toByte(), (address ushr 16).toByte(), (address ushr 8).toByte(), address.toByte()
+        )
+    }
+
+    /**
+     * 获取网络字节序的地址字节，IPv4为4字节，IPv6为16字节
+     *
+     * @return 地址字节
+     */
+    fun toByteArray(): ByteArray {
+        if (isIpv4) {
+            return toIpv4ByteArray()
         }
-        // 将IP地址字符串按点分割，转换为整数并进行位运算处理，最后转为字节数组
-        return ip!!.split(".").map { it.toInt() and 0xFF }.map { it.toByte() }.toByteArray()
+        val bytes = ByteArray(16)
+        writeLong(bytes, 0, high)
+        writeLong(bytes, 8, low)
+        return bytes
     }
 
     /**
@@ -219,22 +576,93 @@ class NetworkAddress private constructor(domip: String) : Serializable {
      * @return 返回写入了IPv4地址的ByteBuffer对象，便于链式调用
      */
     fun writeIpv4ToByteBuffer(byteBuffer: ByteBuffer): ByteBuffer {
-        return byteBuffer.put(toIpv4ByteArray())
+        return byteBuffer.putInt(toIpv4Int())
     }
 
     /**
-     * 将当前 NetworkAddress 转换为 InetAddress 对象。
+     * 将当前 NetworkAddress 转换为 InetAddress 对象，不进行DNS查询。
      *
      * @return InetAddress 对象
      */
     fun toInetAddress(): InetAddress {
-        try {
-            return InetAddress.getByName(if (ip != null) ip else domain)
-        } catch (e: UnknownHostException) {
-            throw RuntimeException(e)
+        val bytes = toByteArray()
+        return if (isIpv6) {
+            // 使用 Inet6Address 保留IPv4映射地址的IPv6形式
+            Inet6Address.getByAddress(domain, bytes, null)
+        } else {
+            InetAddress.getByAddress(domain, bytes)
         }
     }
 
+    /**
+     * 获取地址的规范文本形式：IPv4为点分十进制，IPv6为 RFC 5952 推荐形式
+     * （小写、省略前导零、压缩最长的连续零分组，IPv4映射地址使用内嵌IPv4表示）
+     *
+     * @return 规范文本
+     */
+    fun toCanonicalString(): String {
+        if (isIpv4) {
+            return formatIpv4(StringBuilder(15), low).toString()
+        }
+        val builder = StringBuilder(39)
+        if (isIpv4Mapped) {
+            return formatIpv4(builder.append("::ffff:"), low and 0xFFFFFFFFL).toString()
+        }
+        // 找到最长的连续零分组（长度至少为2，相同长度取第一个）
+        var bestStart = -1
+        var bestLength = 1
+        var runStart = -1
+        for (i in 0..8) {
+            if (i < 8 && group(i) == 0) {
+                if (runStart < 0) {
+                    runStart = i
+                }
+            } else if (runStart >= 0) {
+                if (i - runStart > bestLength) {
+                    bestStart = runStart
+                    bestLength = i - runStart
+                }
+                runStart = -1
+            }
+        }
+        var i = 0
+        while (i < 8) {
+            if (i == bestStart) {
+                builder.append("::")
+                i += bestLength
+                continue
+            }
+            if (i > 0 && i != bestStart + bestLength) {
+                builder.append(':')
+            }
+            builder.append(Integer.toHexString(group(i)))
+            i++
+        }
+        return builder.toString()
+    }
+
+    private fun group(index: Int): Int {
+        val word = if (index < 4) high else low
+        return (word ushr (48 - (index and 3) * 16)).toInt() and 0xFFFF
+    }
+
+    private fun formatIpv4(builder: StringBuilder, address: Long): StringBuilder {
+        return builder.append(address ushr 24 and 0xFF).append('.')
+            .append(address ushr 16 and 0xFF).append('.')
+            .append(address ushr 8 and 0xFF).append('.')
+            .append(address and 0xFF)
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        return other is NetworkAddress && iPv == other.iPv && high == other.high && low == other.low
+    }
+
+    override fun hashCode(): Int {
+        val mixed = (high * -0x61c8864680b583ebL) xor low
+        return (mixed xor (mixed ushr 32)).toInt() * 31 + iPv
+    }
+
     /**
      * 返回 NetworkAddress 的字符串表示形式。
      *
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile NetworkEndpoint.kt
- * LastUpdate 2026-02-05 10:20:31
+ * LastUpdate 2026-10-18 23:12:05
  * UpdateUser MingLiPro
  */
 
@@ -25,6 +25,7 @@ package com.mingliqiye.utils.network
 import java.io.Serializable
 import java.net.InetSocketAddress
 import java.nio.ByteBuffer
+import java.util.concurrent.CompletableFuture
 
 /**
  * IP和端口聚集类，用于封装网络地址与端口信息。
@@ -41,6 +42,7 @@ class NetworkEndpoint private constructor(
     companion object {
         /**
          * 根据给定的InetSocketAddress对象创建NetworkEndpoint实例。
+         * 已解析的地址直接使用其地址字节，不再进行DNS查询。
          *
          * @param address InetSocketAddress对象
          * @return 新建的NetworkEndpoint实例
@@ -48,9 +50,39 @@ class NetworkEndpoint private constructor(
          */
         @JvmStatic
         fun of(address: InetSocketAddress): NetworkEndpoint {
-            return NetworkEndpoint(
-                NetworkAddress.of(address.hostString), NetworkPort(address.port)
-            )
+            if (address.isUnresolved) {
+                return NetworkEndpoint(NetworkAddress.of(address.hostString), NetworkPort(address.port))
+            }
+            val networkAddress = NetworkAddress.of(address.address).let {
+                val host = address.hostString
+                if (NetworkAddress.isIp(host)) it else NetworkAddress.withDomain(it, host)
+            }
+            return NetworkEndpoint(networkAddress, NetworkPort(address.port))
+        }
+
+        /**
+         * 使用默认的 [DnsResolver] 异步创建NetworkEndpoint实例，解析不阻塞调用线程。
+         *
+         * @param host 主机名或IP地址字符串
+         * @param port 端口号
+         * @return 解析结果，失败时以 [NetworkException] 异常完成
+         */
+        @JvmStatic
+        fun ofAsync(host: String, port: Int): CompletableFuture<NetworkEndpoint> =
+            ofAsync(host, port, DnsResolver.getDefault())
+
+        /**
+         * 使用指定的 [DnsResolver] 异步创建NetworkEndpoint实例，解析不阻塞调用线程。
+         *
+         * @param host 主机名或IP地址字符串
+         * @param port 端口号
+         * @param resolver 解析器
+         * @return 解析结果，失败时以 [NetworkException] 异常完成
+         */
+        @JvmStatic
+        fun ofAsync(host: String, port: Int, resolver: DnsResolver): CompletableFuture<NetworkEndpoint> {
+            val networkPort = NetworkPort(port)
+            return NetworkAddress.ofAsync(host, resolver).thenApply { NetworkEndpoint(it, networkPort) }
         }
 
         /**
@@ -131,6 +163,16 @@ class NetworkEndpoint private constructor(
         )
     }
 
+    /**
+     * 转换为未解析的InetSocketAddress，由域名创建时保留域名，
+     * 配合 com.mingliqiye.utils.netty.DnsAddressResolverGroup 可在每次连接时重新解析。
+     *
+     * @return 未解析的InetSocketAddress对象
+     */
+    fun toUnresolvedAddress(): InetSocketAddress {
+        return InetSocketAddress.createUnresolved(networkAddress.domain ?: networkAddress.ip, networkPort.port)
+    }
+
     /**
      * 将当前NetworkEndpoint转换为"host:port"格式的字符串。
      * 例如："127.0.0.1:25563"
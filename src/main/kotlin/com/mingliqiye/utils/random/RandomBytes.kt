@@ -16,13 +16,15 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile RandomBytes.kt
- * LastUpdate 2026-01-28 10:47:13
+ * LastUpdate 2026-10-18 22:19:32
  * UpdateUser MingLiPro
  */
 @file:JvmName("RandomBytes")
 
 package com.mingliqiye.utils.random
 
+import java.util.Random
+
 /**
  * 生成指定长度的随机字节数组
  * @param length 数组长度
@@ -30,12 +32,20 @@ package com.mingliqiye.utils.random
  */
 fun randomBytes(length: Int): ByteArray {
     val bytes = ByteArray(length)
-    for (i in 0..<length) {
-        bytes[i] = randomByte(0x00.toByte(), 0xff.toByte())
-    }
+    secureRandom.nextBytes(bytes)
     return bytes
 }
 
+/**
+ * 使用随机字节填充给定数组
+ * @param into 待填充的数组
+ * @return 传入的数组
+ */
+fun randomBytes(into: ByteArray): ByteArray {
+    secureRandom.nextBytes(into)
+    return into
+}
+
 
 /**
  * 生成指定长度的随机字节数组
@@ -46,14 +56,53 @@ fun randomBytes(length: Int): ByteArray {
  * @return 包含随机字节的新数组
  */
 fun randomBytes(length: Int, bytes: ByteArray): ByteArray {
+    require(length <= 0 || bytes.isNotEmpty()) { "Source bytes must not be empty" }
     val rbytes = ByteArray(length)
     // 从源数组中随机选择字节填充到结果数组中
-    for (i in 0..<length) {
-        rbytes[i] = bytes[randomInt(i, bytes.size - 1)]
+    forEachRandomIndex(secureRandom, bytes.size, length) { i, index ->
+        rbytes[i] = bytes[index]
     }
     return rbytes
 }
 
+/**
+ * 生成 count 个 [0, bound) 范围内均匀分布的随机下标并依次交给 action
+ *
+ * bound 不超过 256 时批量取随机字节，按掩码截取后拒绝超出范围的值，避免逐个调用 nextInt。
+ *
+ * @param random 随机数生成器
+ * @param bound 下标上界（不包含），必须大于 0
+ * @param count 需要生成的下标数量
+ * @param action 接收序号与随机下标
+ */
+internal inline fun forEachRandomIndex(random: Random, bound: Int, count: Int, action: (Int, Int) -> Unit) {
+    if (count <= 0) {
+        return
+    }
+    if (bound == 1) {
+        for (i in 0..<count) action(i, 0)
+        return
+    }
+    if (bound > 256) {
+        for (i in 0..<count) action(i, random.nextInt(bound))
+        return
+    }
+    val mask = (Integer.highestOneBit(bound - 1) shl 1) - 1
+    // 按期望接受率估算一次需要的随机字节数，接受率不低于 1/2
+    val buffer = ByteArray(minOf(count.toLong() * (mask + 1) / bound + 16, 4096L).toInt())
+    var produced = 0
+    while (produced < count) {
+        random.nextBytes(buffer)
+        for (b in buffer) {
+            val index = b.toInt() and mask
+            if (index < bound) {
+                action(produced++, index)
+                if (produced == count) return
+            }
+        }
+    }
+}
+
 /**
  * 生成指定范围内的随机字节
  * @param from 起始字节值（包含）
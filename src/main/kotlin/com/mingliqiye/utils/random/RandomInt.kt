@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile RandomInt.kt
- * LastUpdate 2026-01-28 10:46:02
+ * LastUpdate 2026-10-18 22:18:39
  * UpdateUser MingLiPro
  */
 @file:JvmName("RandomInt")
@@ -25,9 +25,11 @@ package com.mingliqiye.utils.random
 
 import java.security.SecureRandom
 
-val secureRandom: SecureRandom by lazy {
-    SecureRandom.getInstanceStrong()
-}
+/**
+ * 安全随机数生成器，由 [RandomSources.secure] 提供
+ */
+val secureRandom: SecureRandom
+    get() = RandomSources.secure()
 
 
 fun SecureRandom.nextInt(min: Int, max: Int): Int {
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile RandomSources.kt
+ * LastUpdate 2026-10-18 22:18:39
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.random
+
+import java.security.DrbgParameters
+import java.security.NoSuchAlgorithmException
+import java.security.SecureRandom
+import java.util.SplittableRandom
+import java.util.concurrent.ThreadLocalRandom
+
+/**
+ * 随机数来源。
+ *
+ * 安全用途（ID、令牌、密钥、IV）使用 [secure]，默认是每线程一个非阻塞 DRBG，
+ * 可通过 [secureMode] 切换为强随机源；非安全用途（抽样、打散、测试数据）使用 [fast] 或 [splittable]。
+ */
+object RandomSources {
+
+    /**
+     * 安全随机数来源模式，默认 [SecureRandomMode.THREAD_LOCAL_DRBG]
+     */
+    @JvmStatic
+    @Volatile
+    var secureMode: SecureRandomMode = SecureRandomMode.THREAD_LOCAL_DRBG
+
+    private val drbg = ThreadLocal.withInitial { newDrbg() }
+
+    private val strong: SecureRandom by lazy {
+        SecureRandom.getInstanceStrong()
+    }
+
+    private val splittableRoot = SplittableRandom()
+
+    private val splittable = ThreadLocal.withInitial {
+        synchronized(splittableRoot) { splittableRoot.split() }
+    }
+
+    /**
+     * 获取当前模式下的安全随机数生成器
+     *
+     * 默认模式下返回当前线程独享的实例，不要跨线程传递。
+     *
+     * @return 安全随机数生成器
+     */
+    @JvmStatic
+    fun secure(): SecureRandom = when (secureMode) {
+        SecureRandomMode.THREAD_LOCAL_DRBG -> drbg.get()
+        SecureRandomMode.STRONG -> strong
+    }
+
+    /**
+     * 获取强随机源 SecureRandom.getInstanceStrong()，不受 [secureMode] 影响
+     *
+     * @return 强随机源
+     */
+    @JvmStatic
+    fun strong(): SecureRandom = strong
+
+    /**
+     * 获取当前线程的 ThreadLocalRandom，仅用于非安全用途
+     *
+     * @return ThreadLocalRandom
+     */
+    @JvmStatic
+    fun fast(): ThreadLocalRandom = ThreadLocalRandom.current()
+
+    /**
+     * 获取当前线程独享的 SplittableRandom，仅用于非安全用途
+     *
+     * @return SplittableRandom
+     */
+    @JvmStatic
+    fun splittable(): SplittableRandom = splittable.get()
+
+    // 优先使用仅在实例化时播种的 DRBG，不可用时退回平台默认实现
+    private fun newDrbg(): SecureRandom {
+        return try {
+            SecureRandom.getInstance(
+                "DRBG", DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, null)
+            )
+        } catch (e: NoSuchAlgorithmException) {
+            SecureRandom()
+        }
+    }
+}
@@ -16,13 +16,18 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile RandomString.kt
- * LastUpdate 2026-02-05 11:12:36
+ * LastUpdate 2026-10-18 22:19:32
  * UpdateUser MingLiPro
  */
 @file:JvmName("RandomString")
 
 package com.mingliqiye.utils.random
 
+/**
+ * 默认字符集（数字+大小写字母）
+ */
+private val ALPHANUMERIC = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray()
+
 /**
  * 生成指定长度和字符集的随机字符串
  *
@@ -31,14 +36,37 @@ package com.mingliqiye.utils.random
  * @return 指定长度的随机字符串
  */
 fun randomString(length: Int, chars: String): String {
-    val charsd: Array<String?> = chars.split("".toRegex()).dropLastWhile { it.isEmpty() }.toTypedArray()
-    val sb = StringBuilder(length)
-    // 循环生成随机字符并拼接
-    for (i in 0..<length) {
-        val index = randomInt(0, charsd.size - 1)
-        sb.append(charsd[index])
+    return randomString(length, chars.toCharArray())
+}
+
+/**
+ * 生成指定长度和字符集的随机字符串
+ *
+ * 每个字符在字符集中等概率出现，随机数按字节批量获取并以拒绝采样避免取模偏差。
+ *
+ * @param length 要生成的随机字符串长度
+ * @param alphabet 用于生成随机字符串的字符集，不能为空
+ * @return 指定长度的随机字符串
+ */
+fun randomString(length: Int, alphabet: CharArray): String {
+    return String(randomString(length, alphabet, CharArray(length)))
+}
+
+/**
+ * 生成随机字符并写入给定数组的前 length 个位置，不创建字符串
+ *
+ * @param length 要生成的字符数
+ * @param alphabet 用于生成随机字符串的字符集，不能为空
+ * @param into 目标数组，长度不小于 length
+ * @return 传入的目标数组
+ */
+fun randomString(length: Int, alphabet: CharArray, into: CharArray): CharArray {
+    require(length <= into.size) { "Target array too small: ${into.size} < $length" }
+    require(length <= 0 || alphabet.isNotEmpty()) { "Alphabet must not be empty" }
+    forEachRandomIndex(secureRandom, alphabet.size, length) { i, index ->
+        into[i] = alphabet[index]
     }
-    return sb.toString()
+    return into
 }
 
 /**
@@ -48,7 +76,46 @@ fun randomString(length: Int, chars: String): String {
  * @return 指定长度的随机字符串
  */
 fun randomString(length: Int): String {
-    return randomString(
-        length, "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ"
-    )
+    return randomString(length, ALPHANUMERIC)
+}
+
+/**
+ * 批量生成随机字符串，所有字符串共用一次批量随机数获取
+ *
+ * @param count 字符串数量
+ * @param length 每个字符串的长度
+ * @param alphabet 用于生成随机字符串的字符集，不能为空
+ * @return 随机字符串列表
+ */
+fun randomStrings(count: Int, length: Int, alphabet: CharArray): List<String> {
+    require(count >= 0 && length >= 0) { "count and length must not be negative" }
+    require(count == 0 || length == 0 || alphabet.isNotEmpty()) { "Alphabet must not be empty" }
+    val chars = CharArray(Math.multiplyExact(count, length))
+    forEachRandomIndex(secureRandom, alphabet.size, chars.size) { i, index ->
+        chars[i] = alphabet[index]
+    }
+    return List(count) { String(chars, it * length, length) }
+}
+
+/**
+ * 批量生成随机字符串
+ *
+ * @param count 字符串数量
+ * @param length 每个字符串的长度
+ * @param chars 用于生成随机字符串的字符集
+ * @return 随机字符串列表
+ */
+fun randomStrings(count: Int, length: Int, chars: String): List<String> {
+    return randomStrings(count, length, chars.toCharArray())
+}
+
+/**
+ * 批量生成随机字符串，使用默认字符集(数字+大小写字母)
+ *
+ * @param count 字符串数量
+ * @param length 每个字符串的长度
+ * @return 随机字符串列表
+ */
+fun randomStrings(count: Int, length: Int): List<String> {
+    return randomStrings(count, length, ALPHANUMERIC)
 }
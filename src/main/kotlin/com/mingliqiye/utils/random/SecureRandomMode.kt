@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.main
+ * CurrentFile SecureRandomMode.kt
+ * LastUpdate 2026-10-18 22:18:39
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.random
+
+/**
+ * 安全随机数来源模式
+ */
+enum class SecureRandomMode {
+    /**
+     * 每个线程独立的非阻塞 DRBG，仅在创建时读取一次系统熵，线程间无竞争（默认）
+     */
+    THREAD_LOCAL_DRBG,
+
+    /**
+     * 全局共享的 SecureRandom.getInstanceStrong()，在部分 Linux 系统上可能因读取熵源而阻塞
+     */
+    STRONG,
+}
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile SecureUtils.kt
- * LastUpdate 2026-02-05 11:12:36
+ * LastUpdate 2026-10-18 22:18:39
  * UpdateUser MingLiPro
  */
 
@@ -24,16 +24,11 @@
 
 package com.mingliqiye.utils.security
 
-import java.security.MessageDigest
-import java.security.SecureRandom
+import com.mingliqiye.utils.hash.DigestPool
+import com.mingliqiye.utils.random.RandomSources
 import javax.crypto.SecretKey
 import javax.crypto.spec.SecretKeySpec
 
-/**
- * 全局安全随机数生成器实例，用于生成加密安全的随机字节。
- */
-internal val SECURE_RANDOM = SecureRandom()
-
 /**
  * 生成指定长度的加密安全随机字节数组。
  *
@@ -42,7 +37,7 @@ internal val SECURE_RANDOM = SecureRandom()
  */
 fun getRandomBytes(length: Int): ByteArray {
     val bytes = ByteArray(length)
-    SECURE_RANDOM.nextBytes(bytes)
+    RandomSources.secure().nextBytes(bytes)
     return bytes
 }
 
@@ -54,8 +49,7 @@ fun getRandomBytes(length: Int): ByteArray {
  * @return 经过哈希处理后的密钥字节数组。
  */
 fun createSecretKey(algorithm: String, data: ByteArray): ByteArray {
-    val md = MessageDigest.getInstance(algorithm)
-    return md.digest(data)
+    return DigestPool.digest(algorithm, data)
 }
 
 /**
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile StringUtils.kt
- * LastUpdate 2026-03-12 10:05:22
+ * LastUpdate 2026-10-18 22:15:34
  * UpdateUser MingLiPro
  */
 @file:JvmName("StringUtils")
@@ -24,13 +24,11 @@
 package com.mingliqiye.utils.string
 
 import com.mingliqiye.utils.base.BaseType.BASE16
+import com.mingliqiye.utils.hash.DigestPool
 import com.mingliqiye.utils.logger.MingLiLoggerFactory
 import com.mingliqiye.utils.objects.isNull
 import java.net.URLDecoder
 import java.net.URLEncoder
-import java.security.MessageDigest
-import javax.crypto.Mac
-import javax.crypto.spec.SecretKeySpec
 import kotlin.contracts.ExperimentalContracts
 import kotlin.contracts.contract
 
@@ -280,24 +278,16 @@ fun String.urlDecode() = URLDecoder.decode(this, Charsets.UTF_8.name())
 
 
 fun String.hmacSHA256String(keyS: String): String {
-    val instance = Mac.getInstance("HmacSHA256")
-    val key = keyS.toByteArray()
-    instance.init(SecretKeySpec(key, 0, key.size, "HmacSHA256"))
-    val bytes = instance.doFinal(this.toByteArray())
+    val bytes = DigestPool.mac("HmacSHA256", keyS).doFinal(this.toByteArray())
     return BASE16.encode(bytes)
 }
 
 fun String.md5String(): String {
-    val instance = MessageDigest.getInstance("MD5")
-    instance.update(this.toByteArray())
-    val bytes = instance.digest()
+    val bytes = DigestPool.digest("MD5", this.toByteArray())
     return BASE16.encode(bytes)
 }
 
 fun String.hmacMd5String(keyS: String): String {
-    val instance = Mac.getInstance("HmacMD5")
-    val key = keyS.toByteArray()
-    instance.init(SecretKeySpec(key, 0, key.size, "HmacSHA256"))
-    val bytes = instance.doFinal(this.toByteArray())
+    val bytes = DigestPool.mac("HmacMD5", keyS).doFinal(this.toByteArray())
     return BASE16.encode(bytes)
 }
@@ -16,13 +16,13 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile ThreadRunner.kt
- * LastUpdate 2026-02-05 11:20:59
+ * LastUpdate 2026-10-19 00:24:09
  * UpdateUser MingLiPro
  */
 
 package com.mingliqiye.utils.thread
 
-import com.mingliqiye.utils.netty.NamedThreadFactory
+import com.mingliqiye.utils.concurrent.NamedThreadFactory
 import com.mingliqiye.utils.system.availableProcessors
 import java.util.concurrent.Callable
 import java.util.concurrent.ExecutorService
@@ -16,7 +16,7 @@
  * ProjectName mingli-utils
  * ModuleName mingli-utils.main
  * CurrentFile UUID.kt
- * LastUpdate 2026-03-12 10:07:08
+ * LastUpdate 2026-10-19 00:14:18
  * UpdateUser MingLiPro
  */
 
@@ -25,6 +25,7 @@ package com.mingliqiye.utils.uuid
 import com.mingliqiye.utils.array.copyTo
 import com.mingliqiye.utils.base.BaseCodec
 import com.mingliqiye.utils.base.BaseType
+import com.mingliqiye.utils.hash.DigestPool
 import com.mingliqiye.utils.random.randomByte
 import com.mingliqiye.utils.random.secureRandom
 import com.mingliqiye.utils.system.macAddressBytes
@@ -35,8 +36,8 @@ import io.swagger.v3.oas.annotations.media.Schema
 import java.io.Serializable
 import java.math.BigInteger
 import java.nio.ByteBuffer
-import java.security.MessageDigest
 import java.time.temporal.ChronoUnit
+import java.util.Objects
 import java.util.concurrent.atomic.AtomicLong
 import java.util.UUID as JUUID
 
@@ -77,6 +78,18 @@ class UUID : Serializable {
         @JvmStatic
         val UUID_EPOCH_OFFSET = 141427L
 
+        private val HEX_LOWER = "0123456789abcdef".toCharArray()
+        private val HEX_UPPER = "0123456789ABCDEF".toCharArray()
+
+        // ASCII 字符到十六进制数值的映射，非十六进制字符为 -1
+        private val HEX_VALUES = IntArray(128) { -1 }.also {
+            for (i in 0..9) it['0'.code + i] = i
+            for (i in 0..5) {
+                it['a'.code + i] = 10 + i
+                it['A'.code + i] = 10 + i
+            }
+        }
+
 
         @JvmStatic
         fun ofBase64ShortString(baseShortString: String): UUID {
@@ -187,11 +200,9 @@ class UUID : Serializable {
          */
         @JvmStatic
         fun getV3(namepath: UUID, user: String): UUID {
-            val md = MessageDigest.getInstance("MD5")
-            val userB = user.toByteArray()
-            val array = md.digest(
-                ByteBuffer.wrap(ByteArray(16 + userB.size)).put(namepath.data).put(userB).array()
-            )
+            val md = DigestPool.digest("MD5")
+            md.update(namepath.data)
+            val array = md.digest(user.toByteArray())
             array[6] = (array[6].toInt() and 0x0F or 0x30).toByte()
             array[8] = (array[8].toInt() and 0x3F or 0x80).toByte()
             return UUID(array)
@@ -206,14 +217,12 @@ class UUID : Serializable {
          */
         @JvmStatic
         fun getV5(namepath: UUID, user: String): UUID {
-            val sha1 = MessageDigest.getInstance("SHA-1")
-            val userB = user.toByteArray()
-            val array = sha1.digest(
-                ByteBuffer.wrap(ByteArray(namepath.data.size + userB.size)).put(namepath.data).put(userB).array()
-            )
+            val sha1 = DigestPool.digest("SHA-1")
+            sha1.update(namepath.data)
+            val array = sha1.digest(user.toByteArray())
             array[6] = (array[6].toInt() and 0x0F or 0x50).toByte()
             array[8] = (array[8].toInt() and 0x3F or 0x80).toByte()
-            return UUID(ByteBuffer.wrap(ByteArray(16)).put(array, 0, 16).array())
+            return UUID(array.copyOf(16))
         }
 
         /**
@@ -374,36 +383,73 @@ class UUID : Serializable {
          * @return UUID 字节数组
          */
         private fun fromString(uuidString: String): ByteArray {
-            val cleanStr = when (uuidString.length) {
-                36 -> {
-                    for (i in expectedHyphenPositions) {
-                        if (uuidString[i] != '-') {
-                            throw IllegalArgumentException("Invalid UUID string: $uuidString at index $i")
-                        }
-                    }
-                    uuidString.replace("-", "")
-                }
+            return parseBits(uuidString.length, { uuidString[it] }, {
+                throw IllegalArgumentException("Invalid UUID string: $uuidString")
+            }) { msb, lsb ->
+                ByteBuffer.allocate(16).putLong(msb).putLong(lsb).array()
+            }
+        }
 
-                32 -> uuidString
-                else -> throw IllegalArgumentException("Invalid UUID string: $uuidString")
+        /**
+         * 直接从字符数组中解析 UUID，不创建中间字符串。
+         *
+         * 支持带连字符的 36 位格式与不带连字符的 32 位格式，十六进制字符不区分大小写。
+         *
+         * @param chars 字符数组
+         * @param offset 起始偏移
+         * @param length 字符长度
+         * @return UUID 实例
+         * @throws IndexOutOfBoundsException 当 offset、length 超出字符数组范围时抛出
+         * @throws IllegalArgumentException 当字符不是合法的 UUID 时抛出
+         */
+        @JvmStatic
+        fun of(chars: CharArray, offset: Int, length: Int): UUID {
+            Objects.checkFromIndexSize(offset, length, chars.size)
+            return parseBits(length, { chars[offset + it] }, {
+                throw IllegalArgumentException("Invalid UUID string: ${String(chars, offset, length)}")
+            }) { msb, lsb ->
+                UUID(msb, lsb)
             }
+        }
 
-            // 直接按索引提取各段并校验
-            val segments = arrayOf(
-                cleanStr.take(8),
-                cleanStr.substring(8, 12),
-                cleanStr.substring(12, 16),
-                cleanStr.substring(16, 20),
-                cleanStr.substring(20, 32)
-            )
-
-            for (segment in segments) {
-                if (!segment.matches(Regex("^[0-9A-Fa-f]+$"))) {
-                    throw IllegalArgumentException("Invalid UUID segment: $segment")
+        /**
+         * 逐字符查表解析 32/36 位 UUID 文本为高低两个长整型。
+         *
+         * @param length 文本长度
+         * @param charAt 按下标取字符
+         * @param invalid 文本非法时的处理，必须抛出异常
+         * @param build 使用解析出的高低位构造结果
+         */
+        private inline fun <R> parseBits(
+            length: Int,
+            charAt: (Int) -> Char,
+            invalid: () -> Nothing,
+            build: (Long, Long) -> R
+        ): R {
+            val hasHyphen = when (length) {
+                36 -> true
+                32 -> false
+                else -> invalid()
+            }
+            var msb = 0L
+            var lsb = 0L
+            var pos = 0
+            var hyphen = 0
+            for (n in 0 until 32) {
+                if (hasHyphen && hyphen < expectedHyphenPositions.size && pos == expectedHyphenPositions[hyphen]) {
+                    if (charAt(pos++) != '-') invalid()
+                    hyphen++
+                }
+                val c = charAt(pos++).code
+                val digit = if (c < 128) HEX_VALUES[c] else -1
+                if (digit < 0) invalid()
+                if (n < 16) {
+                    msb = (msb shl 4) or digit.toLong()
+                } else {
+                    lsb = (lsb shl 4) or digit.toLong()
                 }
             }
-
-            return cleanStr.chunked(2).map { it.toInt(16).toByte() }.toByteArray()
+            return build(msb, lsb)
         }
 
         /**
@@ -525,11 +571,7 @@ class UUID : Serializable {
      * @return UUID 字符串
      */
     fun getString(isUpper: Boolean = false): String {
-        return getString().let {
-            if (isUpper) {
-                it.uppercase()
-            } else it
-        }
+        return getString(isUpper, false)
     }
 
     /**
@@ -540,11 +582,31 @@ class UUID : Serializable {
      * @return UUID 字符串
      */
     fun getString(isUpper: Boolean = false, isnotSpace: Boolean = false): String {
-        return getString(isUpper).let {
-            if (isnotSpace) {
-                it.replace("-", "")
-            } else it
+        val chars = CharArray(if (isnotSpace) 32 else 36)
+        writeChars(chars, 0, isUpper, isnotSpace)
+        return String(chars)
+    }
+
+    /**
+     * 将 UUID 的十六进制字符直接写入字符数组，不创建中间字符串。
+     *
+     * @param dest 目标字符数组，剩余空间至少为 36（移除连字符时为 32）
+     * @param offset 写入起始偏移
+     * @param isUpper 是否使用大写字母
+     * @param isnotSpace 是否移除连字符
+     * @return 写入的字符数
+     */
+    fun writeChars(dest: CharArray, offset: Int = 0, isUpper: Boolean = false, isnotSpace: Boolean = false): Int {
+        val digits = if (isUpper) HEX_UPPER else HEX_LOWER
+        var pos = offset
+        for (n in 0 until 32) {
+            if (!isnotSpace && (n == 8 || n == 12 || n == 16 || n == 20)) {
+                dest[pos++] = '-'
+            }
+            val bits = if (n < 16) mostSigBits else leastSigBits
+            dest[pos++] = digits[((bits ushr ((15 - (n and 15)) shl 2)) and 0xF).toInt()]
         }
+        return pos - offset
     }
 
     fun getString(uuidFormatType: UUIDFormatType): String {
@@ -566,43 +628,7 @@ class UUID : Serializable {
      */
     // 优化后的 toString 方法
     fun getString(): String {
-        return buildString(36) {
-            val msbHigh = (mostSigBits ushr 32).toInt()
-            val msbMid = ((mostSigBits ushr 16) and 0xFFFF).toInt()
-            val msbLow = (mostSigBits and 0xFFFF).toInt()
-            val lsbHigh = ((leastSigBits ushr 48) and 0xFFFF).toInt()
-            val lsbLow = (leastSigBits and 0xFFFFFFFFFFFFL)
-
-            append(msbHigh.toHexString())
-            append('-')
-            append(msbMid.toShort().toHexString(4))
-            append('-')
-            append(msbLow.toShort().toHexString(4))
-            append('-')
-            append(lsbHigh.toShort().toHexString(4))
-            append('-')
-            append(lsbLow.toHexString(12))
-        }
-    }
-
-    /**
-     * 将长整型转换为指定长度的十六进制字符串。
-     *
-     * @param length 字符串长度
-     * @return 十六进制字符串
-     */
-    private fun Long.toHexString(length: Int): String {
-        return this.toString(16).padStart(length, '0')
-    }
-
-    /**
-     * 将短整型转换为指定长度的十六进制字符串。
-     *
-     * @param length 字符串长度
-     * @return 十六进制字符串
-     */
-    private fun Short.toHexString(length: Int): String {
-        return this.toLong().and(0xFFFF).toString(16).padStart(length, '0')
+        return getString(false, false)
     }
 
     /**
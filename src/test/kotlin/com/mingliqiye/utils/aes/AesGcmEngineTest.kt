@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile AesGcmEngineTest.kt
+ * LastUpdate 2026-10-19 00:10:12
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.aes
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+import java.util.Base64
+import javax.crypto.AEADBadTagException
+import javax.crypto.Cipher
+import javax.crypto.spec.GCMParameterSpec
+import javax.crypto.spec.SecretKeySpec
+
+/**
+ * AesGcmEngine 加解密与 AesUtils 旧格式兼容性测试。
+ */
+class AesGcmEngineTest {
+
+    // 旧版 AesUtils.encrypt 使用固定 IV 生成的令牌，口令为 legacy-password
+    private val legacyToken =
+        "QXhRbE5rZFlhWHFMbksyKzpSMFBCQlNuUlB0aktSelZhendDakNWdnllNHRVdUdpTm1kSTFDMU5MRXFJRnRxbitJUT09"
+
+    private val key = ByteArray(32) { it.toByte() }
+
+    // 与旧版 AesUtils.encrypt 相同的实现：MD5 派生密钥，输出 Base64(Base64(iv):Base64(密文+标签))
+    private fun legacyEncrypt(text: String, password: String): String {
+        val secretKey = SecretKeySpec(MessageDigest.getInstance("MD5").digest(password.toByteArray()), "AES")
+        val iv = ByteArray(GCM_IV_LENGTH) { (it * 31).toByte() }
+        val cipher = Cipher.getInstance(TRANSFORMATION)
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, GCMParameterSpec(GCM_TAG_LENGTH * 8, iv))
+        val encrypted = cipher.doFinal(text.toByteArray())
+        val base64 = Base64.getEncoder()
+        return base64.encodeToString("${base64.encodeToString(iv)}:${base64.encodeToString(encrypted)}".toByteArray())
+    }
+
+    private fun legacyDecrypt(token: String, password: String): String {
+        val parts = String(Base64.getDecoder().decode(token)).split(':', limit = 2)
+        val secretKey = SecretKeySpec(MessageDigest.getInstance("MD5").digest(password.toByteArray()), "AES")
+        val cipher = Cipher.getInstance(TRANSFORMATION)
+        val iv = Base64.getDecoder().decode(parts[0])
+        cipher.init(Cipher.DECRYPT_MODE, secretKey, GCMParameterSpec(GCM_TAG_LENGTH * 8, iv))
+        return String(cipher.doFinal(Base64.getDecoder().decode(parts[1])))
+    }
+
+    @Test
+    fun roundTrips() {
+        val engine = AesGcmEngine.of(key)
+        for (size in listOf(0, 1, 15, 16, 17, 1000)) {
+            val plaintext = ByteArray(size) { (it * 7).toByte() }
+            val sealed = engine.encrypt(plaintext)
+            assertEquals(AesGcmEngine.sealedSize(size), sealed.size)
+            assertArrayEquals(plaintext, engine.decrypt(sealed))
+        }
+        val aad = "header".toByteArray()
+        assertArrayEquals("data".toByteArray(), engine.decrypt(engine.encrypt("data".toByteArray(), aad), aad))
+        assertEquals("你好, world", engine.decryptToString(engine.encryptToString("你好, world")))
+
+        val input = ByteBuffer.wrap("buffer".toByteArray())
+        val sealed = ByteBuffer.allocate(AesGcmEngine.sealedSize(6))
+        engine.encrypt(input, sealed)
+        sealed.flip()
+        val output = ByteBuffer.allocate(6)
+        engine.decrypt(sealed, output)
+        assertEquals("buffer", String(output.array()))
+    }
+
+    @Test
+    fun decryptsLegacyTokens() {
+        assertEquals("你好, legacy token!", decrypt(legacyToken, "legacy-password"))
+        assertEquals("fresh", decrypt(legacyEncrypt("fresh", "p@ss"), "p@ss"))
+        // 新版生成的令牌旧版实现同样可以解密
+        assertEquals("forward", legacyDecrypt(encrypt("forward", "p@ss")!!, "p@ss"))
+        assertEquals("engine", String(AesGcmEngine.fromPassword("p@ss").decrypt(
+            AesGcmEngine.fromPassword("p@ss").encrypt("engine".toByteArray())
+        )))
+    }
+
+    @Test
+    fun rejectsTampering() {
+        val engine = AesGcmEngine.of(key)
+        val sealed = engine.encrypt("secret message".toByteArray(), "aad".toByteArray())
+        // 分别篡改 IV、密文与标签
+        for (index in listOf(0, GCM_IV_LENGTH + 1, sealed.size - 1)) {
+            val tampered = sealed.copyOf()
+            tampered[index] = (tampered[index].toInt() xor 1).toByte()
+            assertThrows(AEADBadTagException::class.java) { engine.decrypt(tampered, "aad".toByteArray()) }
+        }
+        assertThrows(AEADBadTagException::class.java) { engine.decrypt(sealed, "other".toByteArray()) }
+        assertThrows(AEADBadTagException::class.java) { engine.decrypt(sealed.copyOf(AesGcmEngine.OVERHEAD - 1)) }
+        assertThrows(AEADBadTagException::class.java) {
+            AesGcmEngine.of(ByteArray(32)).decrypt(sealed, "aad".toByteArray())
+        }
+    }
+
+    @Test
+    fun legacyDecryptReturnsNullOnTampering() {
+        val token = encrypt("secret", "key")!!
+        val parts = String(Base64.getDecoder().decode(token)).split(':')
+        val encrypted = Base64.getDecoder().decode(parts[1])
+        // 翻转标签的最后一位
+        encrypted[encrypted.size - 1] = (encrypted[encrypted.size - 1].toInt() xor 1).toByte()
+        val base64 = Base64.getEncoder()
+        val tampered = base64.encodeToString("${parts[0]}:${base64.encodeToString(encrypted)}".toByteArray())
+        assertNull(decrypt(tampered, "key"))
+        assertNull(decrypt(token, "wrong-key"))
+        assertNull(decrypt("not a token", "key"))
+    }
+}
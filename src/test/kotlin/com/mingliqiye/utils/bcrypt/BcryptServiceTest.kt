@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile BcryptServiceTest.kt
+ * LastUpdate 2026-10-19 00:24:49
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.bcrypt
+
+import com.mingliqiye.utils.hash.bcryptAsync
+import com.mingliqiye.utils.hash.checkBcrypt
+import com.mingliqiye.utils.hash.checkBcryptAsync
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+/**
+ * [BcryptService] 测试：异步哈希与校验往返、有界线程池的拒绝行为以及工作因子测量。
+ */
+class BcryptServiceTest {
+
+    @Test
+    fun asyncRoundTrip() {
+        val hashed = bcryptAsync("密码 password").get(30, TimeUnit.SECONDS)
+        assertTrue(hashed.startsWith("\$2a\$${BcryptService.DEFAULT_COST}\$"), hashed)
+        assertTrue(checkBcryptAsync("密码 password", hashed).get(30, TimeUnit.SECONDS))
+        assertFalse(checkBcryptAsync("密码 Password", hashed).get(30, TimeUnit.SECONDS))
+        // 与同步实现互通
+        assertTrue(checkBcrypt("密码 password", hashed))
+        assertTrue(checkBcryptAsync("abc", hashpw("abc", gensalt(4))).get(30, TimeUnit.SECONDS))
+
+        val error = assertThrows(ExecutionException::class.java) {
+            checkBcryptAsync("abc", "not a bcrypt hash").get(30, TimeUnit.SECONDS)
+        }
+        assertTrue(error.cause is IllegalArgumentException)
+    }
+
+    @Test
+    fun serviceUsesConfiguredCostAndNamedDaemonThreads() {
+        BcryptService(threads = 2, cost = 5, name = "bcrypt-test").use { service ->
+            val hashed = service.hash("secret").get(30, TimeUnit.SECONDS)
+            assertTrue(hashed.startsWith("\$2a\$05\$"), hashed)
+            assertTrue(service.check("secret", hashed).get(30, TimeUnit.SECONDS))
+            assertFalse(service.check("Secret", hashed).get(30, TimeUnit.SECONDS))
+
+            service.cost = 4
+            assertTrue(service.hash("secret").get(30, TimeUnit.SECONDS).startsWith("\$2a\$04\$"))
+            // 校验使用哈希自带的工作因子
+            assertTrue(service.check("secret", hashed).get(30, TimeUnit.SECONDS))
+
+            val workers = Thread.getAllStackTraces().keys.filter { it.name.startsWith("bcrypt-test-") }
+            assertTrue(workers.isNotEmpty())
+            assertTrue(workers.all { it.isDaemon })
+            assertThrows(IllegalArgumentException::class.java) { service.cost = 3 }
+            assertThrows(IllegalArgumentException::class.java) { service.cost = 32 }
+            assertEquals(4, service.cost)
+        }
+    }
+
+    @Test
+    fun boundedPoolRejectsWhenQueueIsFull() {
+        BcryptService(threads = 1, queueCapacity = 1, cost = 12, name = "bcrypt-reject").use { service ->
+            // 第一个任务直接交给新建的工作线程，第二个进入队列，第三个在队列已满时被拒绝
+            val running = service.hash("a")
+            val queued = service.hash("b")
+            val rejected = service.hash("c")
+            assertTrue(rejected.isCompletedExceptionally)
+            val error = assertThrows(ExecutionException::class.java) { rejected.get() }
+            assertTrue(error.cause is RejectedExecutionException)
+            assertEquals(1L, service.rejectedCount)
+
+            assertTrue(checkpw("a", running.get(60, TimeUnit.SECONDS)))
+            assertTrue(checkpw("b", queued.get(60, TimeUnit.SECONDS)))
+            assertEquals(0, service.queueDepth)
+
+            service.close()
+            assertTrue(service.check("a", "\$2a\$04\$abcdefghijklmnopqrstuu").isCompletedExceptionally)
+            assertEquals(2L, service.rejectedCount)
+        }
+    }
+
+    @Test
+    fun invalidConstructorArguments() {
+        assertThrows(IllegalArgumentException::class.java) { BcryptService(threads = 0) }
+        assertThrows(IllegalArgumentException::class.java) { BcryptService(threads = 1, queueCapacity = 0) }
+        assertThrows(IllegalArgumentException::class.java) { BcryptService(threads = 1, cost = 3) }
+    }
+
+    @Test
+    fun calibrateCost() {
+        // 目标时间远大于实际耗时时一直升到上限
+        assertEquals(6, BcryptService.calibrateCost(60_000, BcryptService.MIN_COST, 6))
+        assertEquals(5, BcryptService.calibrateCost(60_000, 5, 5))
+        // 目标时间极短时不低于下限
+        assertEquals(7, BcryptService.calibrateCost(1, 7, 10))
+        assertTrue(BcryptService.calibrateCost(1, BcryptService.MIN_COST, 8) in BcryptService.MIN_COST..8)
+
+        assertThrows(IllegalArgumentException::class.java) { BcryptService.calibrateCost(0) }
+        assertThrows(IllegalArgumentException::class.java) { BcryptService.calibrateCost(100, 3, 10) }
+        assertThrows(IllegalArgumentException::class.java) { BcryptService.calibrateCost(100, 10, 32) }
+        assertThrows(IllegalArgumentException::class.java) { BcryptService.calibrateCost(100, 10, 9) }
+    }
+
+    @Test
+    fun calibrateUpdatesServiceCost() {
+        BcryptService(threads = 1, cost = 10, name = "bcrypt-calibrate").use { service ->
+            val cost = service.calibrate(1, BcryptService.MIN_COST).get(60, TimeUnit.SECONDS)
+            assertTrue(cost in BcryptService.MIN_COST..10, "cost=$cost")
+            assertEquals(cost, service.cost)
+            val prefix = "\$2a\$%02d\$".format(cost)
+            assertTrue(service.hash("x").get(30, TimeUnit.SECONDS).startsWith(prefix))
+        }
+    }
+}
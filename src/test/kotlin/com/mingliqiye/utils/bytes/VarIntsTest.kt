@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile VarIntsTest.kt
+ * LastUpdate 2026-10-19 00:27:16
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.bytes
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.EOFException
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.util.Random
+
+/**
+ * 变长整数与 ZigZag 编码的边界值与往返测试。
+ */
+class VarIntsTest {
+
+    companion object {
+        // 每个编码长度的上下边界，以及符号位与极值
+        private val INT_BOUNDARIES = intArrayOf(
+            0, 1, 127, 128, 16383, 16384, (1 shl 21) - 1, 1 shl 21, (1 shl 28) - 1, 1 shl 28,
+            Int.MAX_VALUE, Int.MIN_VALUE, -1, -128, -129
+        )
+
+        private val LONG_BOUNDARIES: LongArray = (0..9).flatMap { k ->
+            listOf((1L shl (7 * k)) - 1, 1L shl (7 * k))
+        }.toLongArray() + longArrayOf(Long.MAX_VALUE, Long.MIN_VALUE, -1L, Int.MAX_VALUE.toLong(), Int.MIN_VALUE.toLong())
+    }
+
+    @Test
+    fun zigZagKnownValues() {
+        assertEquals(0, zigZagEncode(0))
+        assertEquals(1, zigZagEncode(-1))
+        assertEquals(2, zigZagEncode(1))
+        assertEquals(3, zigZagEncode(-2))
+        assertEquals(-2, zigZagEncode(Int.MAX_VALUE))
+        assertEquals(-1, zigZagEncode(Int.MIN_VALUE))
+        assertEquals(-2L, zigZagEncode(Long.MAX_VALUE))
+        assertEquals(-1L, zigZagEncode(Long.MIN_VALUE))
+        assertEquals(1L, zigZagEncode(-1L))
+    }
+
+    @Test
+    fun zigZagRoundTrip() {
+        val random = Random(7)
+        val ints = INT_BOUNDARIES + IntArray(1000) { random.nextInt() }
+        for (value in ints) {
+            assertEquals(value, zigZagDecode(zigZagEncode(value)))
+        }
+        val longs = LONG_BOUNDARIES + LongArray(1000) { random.nextLong() }
+        for (value in longs) {
+            assertEquals(value, zigZagDecode(zigZagEncode(value)))
+        }
+    }
+
+    @Test
+    fun varIntSizeBoundaries() {
+        assertEquals(1, varIntSize(0))
+        assertEquals(1, varIntSize(127))
+        assertEquals(2, varIntSize(128))
+        assertEquals(2, varIntSize(16383))
+        assertEquals(3, varIntSize(16384))
+        assertEquals(3, varIntSize((1 shl 21) - 1))
+        assertEquals(4, varIntSize(1 shl 21))
+        assertEquals(4, varIntSize((1 shl 28) - 1))
+        assertEquals(5, varIntSize(1 shl 28))
+        assertEquals(MAX_VAR_INT_SIZE, varIntSize(-1))
+        assertEquals(MAX_VAR_INT_SIZE, varIntSize(Int.MIN_VALUE))
+        for (k in 0..9) {
+            assertEquals(maxOf(1, k), varLongSize((1L shl (7 * k)) - 1), "2^${7 * k} - 1")
+            assertEquals(k + 1, varLongSize(1L shl (7 * k)), "2^${7 * k}")
+        }
+        assertEquals(MAX_VAR_LONG_SIZE, varLongSize(-1L))
+    }
+
+    @Test
+    fun encodedBytes() {
+        val buffer = ByteBuffer.allocate(16)
+        buffer.putVarInt(300)
+        assertArrayEquals(byteArrayOf(0xAC.toByte(), 0x02), buffer.array().copyOf(buffer.position()))
+        buffer.clear()
+        buffer.putVarInt(-1)
+        assertArrayEquals(
+            byteArrayOf(0xFF.toByte(), 0xFF.toByte(), 0xFF.toByte(), 0xFF.toByte(), 0x0F),
+            buffer.array().copyOf(buffer.position())
+        )
+    }
+
+    @Test
+    fun byteBufferRoundTrip() {
+        for (value in INT_BOUNDARIES) {
+            val buffer = ByteBuffer.allocate(MAX_VAR_INT_SIZE * 2)
+            buffer.putVarInt(value)
+            assertEquals(varIntSize(value), buffer.position(), "size of $value")
+            buffer.putSignedVarInt(value)
+            buffer.flip()
+            assertEquals(value, buffer.getVarInt())
+            assertEquals(value, buffer.getSignedVarInt())
+            assertEquals(0, buffer.remaining())
+        }
+        for (value in LONG_BOUNDARIES) {
+            val buffer = ByteBuffer.allocate(MAX_VAR_LONG_SIZE * 2)
+            buffer.putVarLong(value)
+            assertEquals(varLongSize(value), buffer.position(), "size of $value")
+            buffer.putSignedVarLong(value)
+            buffer.flip()
+            assertEquals(value, buffer.getVarLong())
+            assertEquals(value, buffer.getSignedVarLong())
+            assertEquals(0, buffer.remaining())
+        }
+    }
+
+    @Test
+    fun bulkCodecsMatchSingleValueCodecs() {
+        val random = Random(11)
+        val values = INT_BOUNDARIES + IntArray(500) { random.nextInt() shr random.nextInt(32) }
+        for (zigZag in booleanArrayOf(false, true)) {
+            // 剩余空间充足的堆内缓冲区走数组快速路径，直接缓冲区走逐个写入路径
+            val heap = ByteBuffer.allocate(values.size * MAX_VAR_INT_SIZE).putVarInts(values, zigZag = zigZag)
+            val direct = ByteBuffer.allocateDirect(values.size * MAX_VAR_INT_SIZE).putVarInts(values, zigZag = zigZag)
+            val single = ByteBuffer.allocate(values.size * MAX_VAR_INT_SIZE)
+            for (value in values) {
+                if (zigZag) single.putSignedVarInt(value) else single.putVarInt(value)
+            }
+            assertEquals(single.position(), heap.position())
+            assertEquals(single.position(), direct.position())
+            val expected = single.array().copyOf(single.position())
+            assertArrayEquals(expected, heap.array().copyOf(heap.position()))
+            val directBytes = ByteArray(direct.position()).also { direct.flip().get(it) }
+            assertArrayEquals(expected, directBytes)
+
+            heap.flip()
+            assertArrayEquals(values, heap.getVarInts(values.size, zigZag))
+            assertEquals(0, heap.remaining())
+            direct.flip()
+            assertArrayEquals(values, direct.getVarInts(values.size, zigZag))
+        }
+    }
+
+    @Test
+    fun bulkCodecsCheckRange() {
+        val buffer = ByteBuffer.allocate(64)
+        assertThrows(IndexOutOfBoundsException::class.java) { buffer.putVarInts(IntArray(4), 2, 3) }
+        assertThrows(IndexOutOfBoundsException::class.java) { buffer.getVarInts(IntArray(4), -1, 2) }
+    }
+
+    @Test
+    fun tooLongEncodingIsRejected() {
+        val tooLong = byteArrayOf(0x80.toByte(), 0x80.toByte(), 0x80.toByte(), 0x80.toByte(), 0x80.toByte(), 0x01)
+        assertThrows(IOException::class.java) { ByteBuffer.wrap(tooLong).getVarInt() }
+        // 剩余字节足够时走数组快速路径
+        assertThrows(IOException::class.java) { ByteBuffer.wrap(tooLong + ByteArray(10)).getVarInts(2) }
+        assertThrows(IOException::class.java) { ByteArrayInputStream(tooLong).readVarInt() }
+        assertThrows(IOException::class.java) { VarIntReader(ByteArrayInputStream(tooLong)).readVarInt() }
+        val tooLongLong = ByteArray(11) { 0x80.toByte() }
+        assertThrows(IOException::class.java) { ByteBuffer.wrap(tooLongLong).getVarLong() }
+        assertThrows(IOException::class.java) { VarIntReader(ByteArrayInputStream(tooLongLong)).readVarLong() }
+    }
+
+    @Test
+    fun fifthByteOverflowIsRejected() {
+        for (last in listOf(0x10, 0x1F, 0x40, 0x7F)) {
+            val overflow = byteArrayOf(-1, -1, -1, -1, last.toByte())
+            assertThrows(IOException::class.java, { ByteBuffer.wrap(overflow).getVarInt() }, "$last")
+            // 剩余字节足够时走数组快速路径，不足时逐个读取
+            assertThrows(IOException::class.java, { ByteBuffer.wrap(overflow + ByteArray(5)).getVarInts(2) }, "$last")
+            assertThrows(IOException::class.java, { ByteBuffer.wrap(byteArrayOf(1) + overflow).getVarInts(2) }, "$last")
+            assertThrows(IOException::class.java, { ByteArrayInputStream(overflow).readVarInt() }, "$last")
+            assertThrows(IOException::class.java, {
+                VarIntReader(ByteArrayInputStream(overflow + ByteArray(5))).readVarInt()
+            }, "$last")
+            // 每次只返回一个字节的输入流使读取器走逐字节的慢路径
+            assertThrows(IOException::class.java, { VarIntReader(OneByteInputStream(overflow)).readVarInt() }, "$last")
+        }
+        // 第5个字节低4位是合法的最大值
+        val max = byteArrayOf(-1, -1, -1, -1, 0x0F)
+        assertEquals(-1, ByteBuffer.wrap(max).getVarInt())
+        assertArrayEquals(intArrayOf(-1, -1), ByteBuffer.wrap(max + max).getVarInts(2))
+        assertEquals(-1, ByteArrayInputStream(max).readVarInt())
+        assertEquals(-1, VarIntReader(ByteArrayInputStream(max)).readVarInt())
+        assertEquals(-1, VarIntReader(OneByteInputStream(max)).readVarInt())
+        val intMax = byteArrayOf(-1, -1, -1, -1, 0x07)
+        assertEquals(Int.MAX_VALUE, ByteBuffer.wrap(intMax).getVarInt())
+        assertEquals(Int.MAX_VALUE, VarIntReader(OneByteInputStream(intMax)).readVarInt())
+    }
+
+    // 每次 read 最多返回一个字节
+    private class OneByteInputStream(data: ByteArray) : ByteArrayInputStream(data) {
+        override fun read(b: ByteArray, off: Int, len: Int): Int = super.read(b, off, minOf(len, 1))
+    }
+
+    @Test
+    fun streamsRoundTrip() {
+        val out = ByteArrayOutputStream()
+        for (value in INT_BOUNDARIES) {
+            out.writeVarInt(value)
+        }
+        for (value in LONG_BOUNDARIES) {
+            out.writeVarLong(value)
+        }
+        val bytes = out.toByteArray()
+
+        val input = ByteArrayInputStream(bytes)
+        for (value in INT_BOUNDARIES) {
+            assertEquals(value, input.readVarInt())
+        }
+        for (value in LONG_BOUNDARIES) {
+            assertEquals(value, input.readVarLong())
+        }
+
+        // 缓冲区很小时编码会跨越多次填充
+        VarIntReader(ByteArrayInputStream(bytes), 3).use { reader ->
+            for (value in INT_BOUNDARIES) {
+                assertEquals(value, reader.readVarInt())
+            }
+            for (value in LONG_BOUNDARIES) {
+                assertEquals(value, reader.readVarLong())
+            }
+            assertThrows(EOFException::class.java) { reader.readByte() }
+        }
+    }
+
+    @Test
+    fun readerBulkAndSigned() {
+        val values = INT_BOUNDARIES
+        val buffer = ByteBuffer.allocate(values.size * MAX_VAR_INT_SIZE + MAX_VAR_LONG_SIZE).putVarInts(values, zigZag = true)
+        buffer.putSignedVarLong(Long.MIN_VALUE)
+        val reader = VarIntReader(ByteArrayInputStream(buffer.array(), 0, buffer.position()), 4)
+        assertArrayEquals(values, reader.readVarInts(IntArray(values.size), zigZag = true))
+        assertEquals(Long.MIN_VALUE, reader.readSignedVarLong())
+    }
+
+    @Test
+    fun truncatedInputFails() {
+        val truncated = byteArrayOf(0x80.toByte(), 0x80.toByte())
+        assertThrows(IOException::class.java) { ByteArrayInputStream(truncated).readVarInt() }
+        assertThrows(IOException::class.java) { VarIntReader(ByteArrayInputStream(truncated)).readVarInt() }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile DeepClonerTest.kt
+ * LastUpdate 2026-10-19 00:02:34
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.clone
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.Collections
+import java.util.EnumMap
+import java.util.EnumSet
+import java.util.Optional
+import java.util.PriorityQueue
+import java.util.TreeMap
+import java.util.concurrent.ConcurrentSkipListSet
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+/**
+ * DeepCloner 对 record、JDK 集合与 Optional 的拷贝测试，拷贝结果应与源对象类型和内部配置一致。
+ */
+class DeepClonerTest {
+
+    private val cloner = DeepCloner()
+
+    @JvmRecord
+    data class Schedule(val slots: EnumMap<TimeUnit, MutableList<String>>)
+
+    @JvmRecord
+    data class Node(val name: String, val children: MutableList<Any>)
+
+    class Bean(var names: MutableList<String> = ArrayList())
+
+    // 访问顺序的 LRU 缓存，父类 LinkedHashMap 无法反射访问
+    class LruCache(val maxSize: Int) : LinkedHashMap<String, MutableList<String>>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, MutableList<String>>): Boolean {
+            return size > maxSize
+        }
+    }
+
+    @Test
+    fun recordWithEnumMapField() {
+        val slots = EnumMap<TimeUnit, MutableList<String>>(TimeUnit::class.java)
+        slots[TimeUnit.SECONDS] = mutableListOf("a")
+        val source = Schedule(slots)
+        val copy = cloner.clone(source)
+
+        assertEquals(source, copy)
+        assertSame(EnumMap::class.java, copy.slots.javaClass)
+        assertNotSame(source.slots, copy.slots)
+        assertNotSame(source.slots[TimeUnit.SECONDS], copy.slots[TimeUnit.SECONDS])
+
+        // 空 EnumMap 同样保留键类型
+        val empty = cloner.clone(EnumMap<TimeUnit, String>(TimeUnit::class.java))
+        empty[TimeUnit.DAYS] = "x"
+        assertEquals("x", empty[TimeUnit.DAYS])
+    }
+
+    @Test
+    fun enumSetKeepsType() {
+        val source = EnumSet.of(TimeUnit.SECONDS, TimeUnit.DAYS)
+        val copy = cloner.clone(source)
+        assertSame(source.javaClass, copy.javaClass)
+        assertNotSame(source, copy)
+        assertEquals(source, copy)
+
+        val empty = cloner.clone(EnumSet.noneOf(TimeUnit::class.java))
+        assertTrue(empty is EnumSet<*>)
+        assertTrue(empty.isEmpty())
+    }
+
+    @Test
+    fun priorityQueueKeepsComparator() {
+        val source = PriorityQueue<Int>(Collections.reverseOrder())
+        source.addAll(listOf(1, 5, 3))
+        val copy = cloner.clone(source)
+        assertSame(PriorityQueue::class.java, copy.javaClass)
+        assertSame(source.comparator(), copy.comparator())
+        assertEquals(5, copy.peek())
+        assertEquals(3, copy.size)
+    }
+
+    @Test
+    fun sortedCollectionsKeepComparator() {
+        val map = TreeMap<String, Int>(String.CASE_INSENSITIVE_ORDER)
+        map["b"] = 2
+        map["A"] = 1
+        val mapCopy = cloner.clone(map)
+        assertEquals(listOf("A", "b"), mapCopy.keys.toList())
+        assertEquals(1, mapCopy["a"])
+
+        val set = ConcurrentSkipListSet<Int>(Collections.reverseOrder())
+        set.addAll(listOf(1, 2, 3))
+        val setCopy = cloner.clone(set)
+        assertSame(ConcurrentSkipListSet::class.java, setCopy.javaClass)
+        assertEquals(listOf(3, 2, 1), setCopy.toList())
+    }
+
+    @Test
+    fun linkedHashMapKeepsAccessOrder() {
+        val source = LinkedHashMap<String, Int>(16, 0.75f, true)
+        source["a"] = 1
+        source["b"] = 2
+        source["c"] = 3
+        source["a"]
+        val copy = cloner.clone(source)
+        assertEquals(listOf("b", "c", "a"), copy.keys.toList())
+        copy["b"]
+        assertEquals(listOf("c", "a", "b"), copy.keys.toList())
+        // 源对象的顺序不受拷贝影响
+        assertEquals(listOf("b", "c", "a"), source.keys.toList())
+    }
+
+    @Test
+    fun linkedHashMapSubclassKeepsAccessOrderAndFields() {
+        val source = LruCache(2)
+        source["a"] = mutableListOf("1")
+        source["b"] = mutableListOf("2")
+        source["a"]
+        val copy = cloner.clone(source)
+        assertSame(LruCache::class.java, copy.javaClass)
+        assertEquals(2, copy.maxSize)
+        assertEquals(listOf("b", "a"), copy.keys.toList())
+        assertNotSame(source["a"], copy["a"])
+        copy["c"] = mutableListOf("3")
+        assertEquals(listOf("a", "c"), copy.keys.toList())
+    }
+
+    @Test
+    fun boundedQueueKeepsCapacity() {
+        val source = LinkedBlockingQueue<String>(3)
+        source.add("a")
+        val copy = cloner.clone(source)
+        assertEquals(2, copy.remainingCapacity())
+        assertEquals("a", copy.peek())
+    }
+
+    @Test
+    fun unmodifiableCollectionsKeepType() {
+        val source = Collections.unmodifiableList(arrayListOf("a", "b"))
+        val copy = cloner.clone(source)
+        assertSame(source.javaClass, copy.javaClass)
+        assertEquals(source, copy)
+
+        val immutable = java.util.List.of(1, 2)
+        assertSame(immutable.javaClass, cloner.clone(immutable).javaClass)
+    }
+
+    @Test
+    fun optionalClonesValue() {
+        val value = mutableListOf("a")
+        val copy = cloner.clone(Optional.of(value))
+        assertEquals(value, copy.get())
+        assertNotSame(value, copy.get())
+        assertFalse(cloner.clone(Optional.empty<String>()).isPresent)
+    }
+
+    @Test
+    fun sharedRecordStaysShared() {
+        val node = Node("n", mutableListOf())
+        val source = mutableListOf<Any>(node, node)
+        val copy = cloner.clone(source)
+        assertNotSame(node, copy[0])
+        assertSame(copy[0], copy[1])
+    }
+
+    @Test
+    fun recordCycleFailsFast() {
+        val node = Node("n", mutableListOf())
+        node.children.add(node)
+        assertThrows(IllegalStateException::class.java) { cloner.clone(node) }
+    }
+
+    @Test
+    fun registrationReplacesCachedHandlers() {
+        val bean = Bean(mutableListOf("a"))
+        assertNotSame(bean, cloner.clone(bean))
+
+        cloner.registerImmutable(Bean::class.java)
+        assertSame(bean, cloner.clone(bean))
+
+        cloner.registerStrategy(Bean::class.java) { source, context -> Bean(context.clone(source.names)) }
+        val copy = cloner.clone(bean)
+        assertNotSame(bean, copy)
+        assertEquals(listOf("a"), copy.names)
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile DtoUtilsTest.kt
+ * LastUpdate 2026-10-19 00:04:51
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.dto
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+
+/**
+ * DtoUtils 字段拷贝规则测试：基本类型拓宽、类型不匹配时跳过、静态字段与 DOT_COPY 注解。
+ */
+class DtoUtilsTest {
+
+    class Source {
+        var boxedInt: Int? = 7
+        var boxedByte: Byte? = 3
+        var boxedChar: Char? = 'a'
+        var anyValue: Any? = 42
+        var primitiveInt: Int = 9
+        var narrowing: Long? = 1L
+        var fractional: Double? = 1.5
+        var text: Any? = "text"
+        var nullValue: Int? = null
+        var list: List<String> = listOf("a")
+        var skipped: String = "source"
+        var staticTarget: String = "source"
+
+        companion object {
+            @JvmField
+            var shared: String = "static"
+        }
+    }
+
+    class Target {
+        var boxedInt: Long = 0
+        var boxedByte: Double = 0.0
+        var boxedChar: Int = 0
+        var anyValue: Long = 0
+        var primitiveInt: Double = 0.0
+        var narrowing: Int = -1
+        var fractional: Long = -1
+        var text: Long = -1
+        var nullValue: Int = -1
+        var list: List<String>? = null
+        var shared: String? = null
+
+        @field:DtoCopy(DotCopyType.DOT_COPY)
+        var skipped: String = "target"
+
+        companion object {
+            @JvmField
+            var staticTarget: String = "target"
+        }
+    }
+
+    open class Base {
+        var id: Long = 1
+    }
+
+    class Child : Base() {
+        var name: String? = "child"
+        var tags: MutableList<String> = mutableListOf("x")
+    }
+
+    @Test
+    fun widensBoxedValuesIntoPrimitives() {
+        val target = toDto(Source(), Target::class.java)
+        assertEquals(7L, target.boxedInt)
+        assertEquals(3.0, target.boxedByte)
+        assertEquals('a'.code, target.boxedChar)
+        assertEquals(42L, target.anyValue)
+        assertEquals(9.0, target.primitiveInt)
+    }
+
+    @Test
+    fun skipsIncompatibleValues() {
+        val target = toDto(Source(), Target::class.java)
+        // 收窄转换、小数转整数、非数值与 null 都不写入基本类型字段
+        assertEquals(-1, target.narrowing)
+        assertEquals(-1L, target.fractional)
+        assertEquals(-1L, target.text)
+        assertEquals(-1, target.nullValue)
+    }
+
+    @Test
+    fun staticAndAnnotatedFields() {
+        val source = Source()
+        val target = toDto(source, Target::class.java)
+        assertSame(source.list, target.list)
+        // 源的静态字段参与匹配，目标的静态字段与 DOT_COPY 字段不写入
+        assertEquals("static", target.shared)
+        assertEquals("target", target.skipped)
+        assertEquals("target", Target.staticTarget)
+    }
+
+    @Test
+    fun copiesInheritedFields() {
+        val child = Child()
+        child.id = 5
+        val copy = clone(child)
+        assertNotSame(child, copy)
+        assertEquals(5L, copy.id)
+        assertEquals("child", copy.name)
+        assertSame(child.tags, copy.tags)
+
+        val dtos = toDtoList(listOf(child, Child().also { it.name = null }), Child::class.java)
+        assertEquals("child", dtos[0].name)
+        assertNull(dtos[1].name)
+    }
+}
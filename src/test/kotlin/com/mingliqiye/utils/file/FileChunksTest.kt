@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile FileChunksTest.kt
+ * LastUpdate 2026-10-19 00:17:44
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.file
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayOutputStream
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.Random
+
+/**
+ * [mapChunks]、[forEachChunk] 与 [writeByteArrayChunks] 的临时文件往返测试，
+ * 覆盖空文件、长度不是块大小整数倍的文件以及块大小大于文件的情况。
+ */
+class FileChunksTest {
+
+    private lateinit var dir: Path
+
+    private val sizes = listOf(0, 1, 4095, 4096, 4097, 10_000)
+
+    private val chunkSizes = listOf(1, 7, 4096, 65536)
+
+    @BeforeEach
+    fun setUp() {
+        dir = Files.createTempDirectory("file-chunks")
+    }
+
+    @AfterEach
+    fun tearDown() {
+        Files.walk(dir).use { paths -> paths.sorted(Comparator.reverseOrder()).forEach(Files::delete) }
+    }
+
+    private fun content(size: Int) = ByteArray(size).also { Random(size.toLong()).nextBytes(it) }
+
+    private fun ByteBuffer.toBytes() = ByteArray(remaining()).also { get(it) }
+
+    private fun write(size: Int): Path {
+        val path = dir.resolve("data-$size.bin")
+        Files.write(path, content(size))
+        return path
+    }
+
+    @Test
+    fun mapChunksRoundTrip() {
+        for (size in sizes) {
+            val path = write(size)
+            for (chunkSize in chunkSizes) {
+                val chunks = path.mapChunks(chunkSize).map { it.toBytes() }.toList()
+                val label = "size=$size chunk=$chunkSize"
+                assertEquals((size + chunkSize - 1) / chunkSize, chunks.size, label)
+                chunks.dropLast(1).forEach { assertEquals(chunkSize, it.size, label) }
+                assertArrayEquals(content(size), chunks.fold(ByteArray(0)) { acc, bytes -> acc + bytes }, label)
+            }
+        }
+        assertEquals(0, write(0).toString().mapChunks(16).count())
+    }
+
+    @Test
+    fun mapChunksIsLazy() {
+        val path = write(10_000)
+        val first = path.mapChunks(4096).first()
+        assertEquals(4096, first.remaining())
+        assertTrue(first.isReadOnly)
+        assertThrows(IllegalArgumentException::class.java) { path.mapChunks(0) }
+    }
+
+    @Test
+    fun forEachChunkRoundTrip() {
+        for (size in sizes) {
+            val path = write(size)
+            for (chunkSize in chunkSizes) {
+                val out = ByteArrayOutputStream()
+                val lengths = ArrayList<Int>()
+                path.forEachChunk(chunkSize) {
+                    lengths += it.remaining()
+                    out.write(it.toBytes())
+                }
+                val label = "size=$size chunk=$chunkSize"
+                assertEquals((size + chunkSize - 1) / chunkSize, lengths.size, label)
+                lengths.dropLast(1).forEach { assertEquals(chunkSize, it, label) }
+                assertArrayEquals(content(size), out.toByteArray(), label)
+            }
+        }
+        assertThrows(IllegalArgumentException::class.java) { write(1).forEachChunk(0) {} }
+    }
+
+    @Test
+    fun writeByteArrayChunksRoundTrip() {
+        for (size in sizes) {
+            val expected = content(size)
+            for (chunkSize in chunkSizes) {
+                // 分块数量超过一次聚集写入的批大小时也要完整写出
+                val chunks = (0 until size step chunkSize).map { expected.copyOfRange(it, minOf(size, it + chunkSize)) }
+                val label = "size=$size chunk=$chunkSize"
+
+                val fromIterator = dir.resolve("nested/iterator.bin")
+                fromIterator.writeByteArrayChunks(chunks.iterator())
+                assertArrayEquals(expected, Files.readAllBytes(fromIterator), label)
+
+                val fromSequence = dir.resolve("sequence.bin")
+                fromSequence.toString().writeByteArrayChunks(chunks.asSequence())
+                assertArrayEquals(expected, Files.readAllBytes(fromSequence), label)
+
+                val fromList = dir.resolve("list.bin")
+                fromList.writeByteArrayChunks(chunks)
+                assertArrayEquals(expected, Files.readAllBytes(fromList), label)
+            }
+        }
+    }
+
+    @Test
+    fun writeByteArrayChunksTruncatesAndSkipsEmptyChunks() {
+        val path = write(10_000)
+        path.writeByteArrayChunks(sequenceOf(ByteArray(0), byteArrayOf(1, 2), ByteArray(0), byteArrayOf(3)))
+        assertArrayEquals(byteArrayOf(1, 2, 3), Files.readAllBytes(path))
+        path.writeByteArrayChunks(emptySequence())
+        assertEquals(0L, Files.size(path))
+    }
+}
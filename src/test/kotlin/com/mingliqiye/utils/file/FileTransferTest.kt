@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile FileTransferTest.kt
+ * LastUpdate 2026-10-19 00:19:20
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.file
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayOutputStream
+import java.nio.ByteBuffer
+import java.nio.channels.Pipe
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.Random
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * 零拷贝文件传输测试：文件到文件的分块复制，以及通过非阻塞 Pipe 触发 Selector 等待路径的发送与接收。
+ */
+class FileTransferTest {
+
+    private lateinit var dir: Path
+
+    @BeforeEach
+    fun setUp() {
+        dir = Files.createTempDirectory("file-transfer")
+    }
+
+    @AfterEach
+    fun tearDown() {
+        Files.walk(dir).use { paths -> paths.sorted(Comparator.reverseOrder()).forEach(Files::delete) }
+    }
+
+    private fun content(size: Int) = ByteArray(size).also { Random(size.toLong()).nextBytes(it) }
+
+    private fun write(size: Int): Path {
+        val path = dir.resolve("source-$size.bin")
+        Files.write(path, content(size))
+        return path
+    }
+
+    @Test
+    fun fileToFileInChunks() {
+        for (size in listOf(0, 1, 1000, 65536, 100_003)) {
+            val source = write(size)
+            val target = dir.resolve("nested/target.bin")
+            Files.createDirectories(target.parent)
+            Files.write(target, ByteArray(200_000))
+            for (chunkSize in listOf(1000L, 4096L, DEFAULT_TRANSFER_CHUNK_SIZE)) {
+                val progress = ArrayList<Long>()
+                val copied = source.transferFile(target, chunkSize) { transferred, total ->
+                    assertEquals(size.toLong(), total)
+                    progress += transferred
+                }
+                val label = "size=$size chunk=$chunkSize"
+                assertEquals(size.toLong(), copied, label)
+                assertArrayEquals(content(size), Files.readAllBytes(target), label)
+                assertEquals(((size + chunkSize - 1) / chunkSize).toInt(), progress.size, label)
+                assertEquals(progress.sorted(), progress, label)
+                assertEquals(if (size == 0) null else size.toLong(), progress.lastOrNull(), label)
+            }
+        }
+        val fileCopy = dir.resolve("file-copy.bin").toFile()
+        assertEquals(1000L, write(1000).toFile().transferFile(fileCopy))
+        assertArrayEquals(content(1000), fileCopy.readBytes())
+    }
+
+    @Test
+    fun rateLimitDelaysTransfer() {
+        val source = write(64 * 1024)
+        val start = System.nanoTime()
+        source.transferFile(dir.resolve("limited.bin"), 8 * 1024L, 256 * 1024L)
+        // 64KB 按 256KB/s 限速约需 250ms
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200))
+    }
+
+    @Test
+    fun sendToNonBlockingPipe() {
+        // 数据量远大于 Pipe 的内核缓冲区，且读端缓慢消费，写端必然出现 0 字节写入并进入 Selector 等待
+        val size = 1024 * 1024 + 17
+        val source = write(size)
+        val pipe = Pipe.open()
+        val reader = CompletableFuture.supplyAsync {
+            pipe.source().use { channel ->
+                val out = ByteArrayOutputStream()
+                val buffer = ByteBuffer.allocate(8192)
+                var reads = 0
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip()
+                    out.write(buffer.array(), 0, buffer.limit())
+                    buffer.clear()
+                    if (++reads % 16 == 0) Thread.sleep(1)
+                }
+                out.toByteArray()
+            }
+        }
+        pipe.sink().use { sink ->
+            sink.configureBlocking(false)
+            assertEquals(size.toLong(), source.transferTo(sink, 64 * 1024L))
+        }
+        assertArrayEquals(content(size), reader.get(30, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun receiveFromNonBlockingPipe() {
+        // 写端分批写入并在批次之间停顿，读端会多次遇到暂无数据，需要等待可读后继续
+        val size = 300_000
+        val data = content(size)
+        val pipe = Pipe.open()
+        val writer = CompletableFuture.runAsync {
+            pipe.sink().use { channel ->
+                var offset = 0
+                while (offset < size) {
+                    val length = minOf(50_000, size - offset)
+                    val buffer = ByteBuffer.wrap(data, offset, length)
+                    while (buffer.hasRemaining()) channel.write(buffer)
+                    offset += length
+                    Thread.sleep(20)
+                }
+            }
+        }
+        val target = dir.resolve("received.bin")
+        pipe.source().use { source ->
+            source.configureBlocking(false)
+            assertEquals(size.toLong(), target.transferFrom(source, Long.MAX_VALUE, 64 * 1024L))
+        }
+        writer.get(30, TimeUnit.SECONDS)
+        assertArrayEquals(data, Files.readAllBytes(target))
+    }
+
+    @Test
+    fun receiveStopsAtCount() {
+        val data = content(10_000)
+        val pipe = Pipe.open()
+        pipe.sink().use { sink -> sink.write(ByteBuffer.wrap(data)) }
+        val target = dir.resolve("partial.bin")
+        pipe.source().use { source ->
+            source.configureBlocking(false)
+            assertEquals(4000L, target.transferFrom(source, 4000, 1024))
+        }
+        assertArrayEquals(data.copyOf(4000), Files.readAllBytes(target))
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile DigestPoolTest.kt
+ * LastUpdate 2026-10-19 00:13:12
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.hash
+
+import com.mingliqiye.utils.base.BaseType.BASE16
+import com.mingliqiye.utils.security.createSecretKey
+import com.mingliqiye.utils.string.hmacMd5String
+import com.mingliqiye.utils.string.hmacSHA256String
+import com.mingliqiye.utils.string.md5String
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Test
+import java.security.MessageDigest
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+
+/**
+ * DigestPool 及基于它的字符串摘要函数的输出一致性测试。
+ *
+ * 期望值一部分来自 RFC 1321 / RFC 2202 / RFC 4231 的已知向量，
+ * 另一部分由改造前的实现（每次 getInstance 并 init）直接计算得到。
+ */
+class DigestPoolTest {
+
+    private val keys = listOf("k", "Jefe", "另一个密钥", "x".repeat(200))
+
+    private val messages = listOf("", "abc", "what do ya want for nothing?", "中文内容", "y".repeat(1000))
+
+    @Test
+    fun knownVectors() {
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", "abc".md5String().lowercase())
+        assertEquals("d41d8cd98f00b204e9800998ecf8427e", "".md5String().lowercase())
+        assertEquals(
+            "750c783e6ab0b503eaa86e310a5db738",
+            "what do ya want for nothing?".hmacMd5String("Jefe").lowercase()
+        )
+        assertEquals(
+            "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+            "what do ya want for nothing?".hmacSHA256String("Jefe").lowercase()
+        )
+    }
+
+    @Test
+    fun stringFunctionsMatchBaseline() {
+        for (message in messages) {
+            assertEquals(baselineMd5(message), message.md5String())
+            for (key in keys) {
+                assertEquals(baselineMac("HmacSHA256", message, key), message.hmacSHA256String(key), key)
+                assertEquals(baselineMac("HmacMD5", message, key), message.hmacMd5String(key), key)
+            }
+        }
+    }
+
+    @Test
+    fun alternatingKeysDoNotLeakState() {
+        // 同一线程内交替使用不同密钥，结果不应受前一次调用影响
+        repeat(3) {
+            for (key in keys) {
+                assertEquals(baselineMac("HmacSHA256", "abc", key), "abc".hmacSHA256String(key), key)
+            }
+        }
+    }
+
+    @Test
+    fun macInstancesAreNotShared() {
+        val first = DigestPool.mac("HmacSHA256", "k")
+        val second = DigestPool.mac("HmacSHA256", "k")
+        assertNotSame(first, second)
+        first.update("partial".toByteArray())
+        assertArrayEquals(
+            Mac.getInstance("HmacSHA256").apply { init(SecretKeySpec("k".toByteArray(), "HmacSHA256")) }
+                .doFinal("abc".toByteArray()),
+            second.doFinal("abc".toByteArray())
+        )
+    }
+
+    @Test
+    fun shaDigestsMatchMessageDigest() {
+        for (algorithm in listOf("SHA-1", "SHA-256", "SHA-512")) {
+            for (message in messages) {
+                val expected = MessageDigest.getInstance(algorithm).digest(message.toByteArray())
+                assertArrayEquals(expected, createSecretKey(algorithm, message), algorithm)
+                assertArrayEquals(expected, DigestPool.digest(algorithm, message.toByteArray()), algorithm)
+            }
+        }
+        DigestPool.clear()
+        assertArrayEquals(
+            MessageDigest.getInstance("SHA-256").digest("abc".toByteArray()),
+            DigestPool.digest("SHA-256", "abc".toByteArray())
+        )
+    }
+
+    private fun baselineMd5(message: String): String {
+        val instance = MessageDigest.getInstance("MD5")
+        instance.update(message.toByteArray())
+        return BASE16.encode(instance.digest())
+    }
+
+    private fun baselineMac(algorithm: String, message: String, keyS: String): String {
+        val instance = Mac.getInstance(algorithm)
+        val key = keyS.toByteArray()
+        instance.init(SecretKeySpec(key, 0, key.size, "HmacSHA256"))
+        return BASE16.encode(instance.doFinal(message.toByteArray()))
+    }
+}
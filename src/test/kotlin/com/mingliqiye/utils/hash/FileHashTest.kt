@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile FileHashTest.kt
+ * LastUpdate 2026-10-19 00:20:25
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.hash
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.security.MessageDigest
+import java.security.NoSuchAlgorithmException
+import java.util.Random
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.TimeUnit
+
+/**
+ * [calculateFileHashes] 与 [calculateFileTreeHash] 的测试。
+ *
+ * 整文件摘要使用 RFC 1321 / FIPS 180 的已知向量（其中百万个 'a' 跨越多个读取缓冲区）；
+ * 树哈希与测试内按文档定义顺序实现的参考值比较，并在不同并行度的线程池中重复计算，确认结果与调度无关。
+ */
+class FileHashTest {
+
+    private lateinit var dir: Path
+
+    @BeforeEach
+    fun setUp() {
+        dir = Files.createTempDirectory("file-hash")
+    }
+
+    @AfterEach
+    fun tearDown() {
+        Files.walk(dir).use { paths -> paths.sorted(Comparator.reverseOrder()).forEach(Files::delete) }
+    }
+
+    private fun write(name: String, data: ByteArray): Path = dir.resolve(name).also { Files.write(it, data) }
+
+    @Test
+    fun knownVectors() {
+        val abc = write("abc.txt", "abc".toByteArray())
+        val hashes = calculateFileHashes(abc, "SHA-256", "MD5", "SHA-1")
+        assertEquals(listOf("SHA-256", "MD5", "SHA-1"), hashes.keys.toList())
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", hashes.getValue("MD5").lowercase())
+        assertEquals("a9993e364706816aba3e25717850c26c9cd0d89d", hashes.getValue("SHA-1").lowercase())
+        assertEquals(
+            "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+            hashes.getValue("SHA-256").lowercase()
+        )
+
+        val empty = write("empty.txt", ByteArray(0))
+        assertEquals("d41d8cd98f00b204e9800998ecf8427e", calculateFileHash(empty, "MD5").lowercase())
+        assertEquals(
+            "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+            calculateFileHash(empty.toFile(), "SHA-256").lowercase()
+        )
+
+        val million = write("million.txt", ByteArray(1_000_000) { 'a'.code.toByte() })
+        val millionHashes = calculateFileHashes(million.toFile(), "MD5", "SHA-1", "SHA-256")
+        assertEquals("7707d6ae4e027c70eea2a935c2296f21", millionHashes.getValue("MD5").lowercase())
+        assertEquals("34aa973cd4c4daa4f61eeb2bdbad27316534016f", millionHashes.getValue("SHA-1").lowercase())
+        assertEquals(
+            "cdc76e5c9914fb9281a1c7e284d73e67f1809a48a497200e046d39ccc7112cd0",
+            millionHashes.getValue("SHA-256").lowercase()
+        )
+    }
+
+    @Test
+    fun missingFileAndUnknownAlgorithm() {
+        val missing = dir.resolve("missing.bin")
+        assertThrows(IOException::class.java) { calculateFileHashes(missing, "MD5") }
+        assertThrows(IOException::class.java) { calculateFileTreeHash(missing) }
+        val file = write("data.bin", ByteArray(10))
+        assertThrows(NoSuchAlgorithmException::class.java) { calculateFileHashes(file, "NO-SUCH-HASH") }
+        assertThrows(NoSuchAlgorithmException::class.java) { calculateFileTreeHash(file, "NO-SUCH-HASH") }
+        assertThrows(IllegalArgumentException::class.java) { calculateFileTreeHash(file, "SHA-256", 0) }
+    }
+
+    @Test
+    fun treeHashKnownVectors() {
+        // 空文件按一个空块计算：H(0x00)
+        assertEquals(
+            "6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d",
+            calculateFileTreeHash(write("empty.bin", ByteArray(0))).lowercase()
+        )
+        // 单块文件：H(0x00 || "abc")
+        val abc = write("abc.bin", "abc".toByteArray())
+        val leaf = MessageDigest.getInstance("SHA-256").run {
+            update(0x00)
+            digest("abc".toByteArray())
+        }
+        assertEquals(hex(leaf), calculateFileTreeHash(abc).lowercase())
+        // 两块文件：H(0x01 || H(0x00 || "ab") || H(0x00 || "c"))
+        assertEquals(
+            hex(referenceTreeHash("abc".toByteArray(), "SHA-256", 2)),
+            calculateFileTreeHash(abc, "SHA-256", 2).lowercase()
+        )
+    }
+
+    @Test
+    fun treeHashIsIndependentOfScheduling() {
+        val data = ByteArray(100_003).also { Random(33L).nextBytes(it) }
+        val file = write("tree.bin", data)
+        for (blockSize in listOf(1000, 4096, 33_334, 100_003, 1 shl 20)) {
+            for (algorithm in listOf("SHA-256", "MD5")) {
+                val expected = hex(referenceTreeHash(data, algorithm, blockSize))
+                assertEquals(expected, calculateFileTreeHash(file, algorithm, blockSize).lowercase())
+                for (parallelism in listOf(1, 2, 7, 16)) {
+                    val pool = ForkJoinPool(parallelism)
+                    try {
+                        repeat(3) {
+                            // 在指定并行度的池中提交时，并行流在该池中执行
+                            val actual = pool.submit<String> { calculateFileTreeHash(file.toFile(), algorithm, blockSize) }
+                                .get(30, TimeUnit.SECONDS)
+                            assertEquals(expected, actual.lowercase(), "$algorithm block=$blockSize parallelism=$parallelism")
+                        }
+                    } finally {
+                        pool.shutdown()
+                    }
+                }
+            }
+        }
+    }
+
+    // 按文档定义串行计算：叶子 H(0x00 || 块)，内部节点 H(0x01 || 左 || 右)，奇数个节点时最后一个直接提升
+    private fun referenceTreeHash(data: ByteArray, algorithm: String, blockSize: Int): ByteArray {
+        val digest = MessageDigest.getInstance(algorithm)
+        var level = (0 until maxOf(1, (data.size + blockSize - 1) / blockSize)).map { index ->
+            digest.update(0x00)
+            digest.update(data, index * blockSize, minOf(blockSize, data.size - index * blockSize))
+            digest.digest()
+        }
+        while (level.size > 1) {
+            level = level.chunked(2).map { pair ->
+                if (pair.size == 1) {
+                    pair[0]
+                } else {
+                    digest.update(0x01)
+                    digest.update(pair[0])
+                    digest.digest(pair[1])
+                }
+            }
+        }
+        return level[0]
+    }
+
+    private fun hex(bytes: ByteArray) = bytes.joinToString("") { "%02x".format(it) }
+}
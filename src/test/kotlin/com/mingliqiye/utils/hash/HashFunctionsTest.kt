@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile HashFunctionsTest.kt
+ * LastUpdate 2026-10-18 23:19:32
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.hash
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayInputStream
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.Random
+
+/**
+ * XxHash64、Xxh3、Murmur3 的已知向量与各输入形式的一致性测试。
+ *
+ * 向量覆盖各算法的长度分支（0、1~3、4~8、9~16、17~128、129~240、大于240 及跨越条带/块的长度），
+ * 数据为 `(i * 31 + 7).toByte()`，期望值由参考实现生成。
+ */
+class HashFunctionsTest {
+
+    private class Vector(val length: Int, val xxHash64: ULong, val xxh3: ULong, val murmurLow: ULong, val murmurHigh: ULong)
+
+    companion object {
+        private const val XX_SEED = -7046029254386353131L // 0x9E3779B97F4A7C15
+        private const val MURMUR_SEED = 42
+
+        private val SEED_0 = listOf(
+            Vector(0, 0xef46db3751d8e999UL, 0x2d06800538d394c2UL, 0x0000000000000000UL, 0x0000000000000000UL),
+            Vector(1, 0xa96c7f0ce858bbb7UL, 0x4c5cca45d0f4811fUL, 0xc427909d8972bd17UL, 0x5c15702a45b199ddUL),
+            Vector(3, 0x56e6957632a487f9UL, 0x15f7093b173d005cUL, 0x33ff6eda4da0a23bUL, 0x5f905e8bd93c3afbUL),
+            Vector(4, 0xc60d15b1e3ff8f04UL, 0xdca012f95811b6b9UL, 0x331195913937a3b4UL, 0x642e0845db611d66UL),
+            Vector(8, 0x3da5c7aa269683e0UL, 0xdec6a9a43575982eUL, 0xd927130c3ea3af5dUL, 0xeeab4cb4fb7e6832UL),
+            Vector(9, 0x4b17a9ba9e215c09UL, 0xcbe393399f17ffbdUL, 0x320f43f3fbfb3be4UL, 0xa373172dd046f7a2UL),
+            Vector(16, 0xa19ad429b02bc413UL, 0x7e484c18d74895d0UL, 0x466b79ebf689da14UL, 0x8c548b02b805858aUL),
+            Vector(17, 0xfe9f0feb7eeedc09UL, 0x208bde5ee2bed407UL, 0xeb322f84309de524UL, 0x082aa01f2728481bUL),
+            Vector(31, 0x4a74f3a1a39ad4a1UL, 0xa937652b0119ca11UL, 0x49db93da32960569UL, 0x90b21e6033dc6c1eUL),
+            Vector(32, 0x8d57d6a4671cc43dUL, 0x03df0ac5255d1446UL, 0x428638cea8126132UL, 0xf0ca1d512a155d2eUL),
+            Vector(33, 0x62c9fd21ed857664UL, 0x199a362122d71f46UL, 0xfa0bc7309230cdebUL, 0x3721c70c96532164UL),
+            Vector(128, 0x725a5b9b3bedfe94UL, 0xf92b70eaa21a6288UL, 0xbc55dbc65725662fUL, 0x5e340853a1a2bd7aUL),
+            Vector(129, 0x28fc8362643627d7UL, 0xf8f76713f2bb60faUL, 0xd8c4559255418dbfUL, 0x04f5576945d1c9ecUL),
+            Vector(240, 0xd430520ae3ed2fc6UL, 0xccc7375172c41f03UL, 0xc2648c943e77a081UL, 0x79537ed1125bebfaUL),
+            Vector(241, 0xd3f50496d5bf27e0UL, 0x0b3b630948ce4a00UL, 0xb82a1bc82254c360UL, 0x7a81894e62b4b65fUL),
+            Vector(1024, 0x149aa44972cdae00UL, 0x23bc880ebf0d29c6UL, 0x81a9a5a4204401e6UL, 0x81dff2b157e1f185UL),
+            Vector(1025, 0x2c9d0b038b4a4b35UL, 0xc09fdfbc398c7d82UL, 0x0e6045ee8b9f27e6UL, 0xea66d3af09eafeb3UL),
+            Vector(4096, 0xe21174be82dc78d9UL, 0xa3c19f8174cde0bbUL, 0xab3ebc38d22785f6UL, 0xd6584d9cccbe1667UL),
+            Vector(10000, 0xb391f8297b8f1500UL, 0x441f01d9711bebedUL, 0x2fc6c4babc4978d5UL, 0x9234a029dd3e6c36UL),
+        )
+
+        // xxHash 使用 XX_SEED，Murmur3 使用 MURMUR_SEED
+        private val SEEDED = listOf(
+            Vector(0, 0xc4349fc93c010000UL, 0x602b0e2cd6662c8bUL, 0xf02aa77dfa1b8523UL, 0xd1016610da11cbb9UL),
+            Vector(1, 0x585882422a6165e7UL, 0x2f3acd3805f81de3UL, 0xa3d4bd915e085de6UL, 0x4cd9de007e6b3282UL),
+            Vector(3, 0x5acb303e78133c22UL, 0x079dd5d54d89480aUL, 0xc5a5077b8fa1ad62UL, 0xd4dabba06ba63d06UL),
+            Vector(4, 0x7d51d5e2461732b3UL, 0x1a246e2efb9c9b2eUL, 0x06a62f0d571f0947UL, 0xdc2feb660c1498dcUL),
+            Vector(8, 0x758848f033fa76a2UL, 0x19ef7d3919108affUL, 0x30f9b1472688795aUL, 0x7532798ca80aacdfUL),
+            Vector(9, 0xd4576cf554b7d929UL, 0x9c98d3e24dc54d34UL, 0xac0990cd13190693UL, 0x5f65a86e7048f75aUL),
+            Vector(16, 0xe3594f9058b426e7UL, 0xa106510078b0a252UL, 0xfcd99ff14053c032UL, 0x9b12bbaa96d650acUL),
+            Vector(17, 0xa0c8a40ef8f3a9f7UL, 0x0b2caf8bf9648effUL, 0x9837e2b1ab425635UL, 0xff549b341f135923UL),
+            Vector(31, 0x8137041f5af88413UL, 0xe425437c705fbca4UL, 0x35442c11db9aaab6UL, 0x3f123ec482138d6fUL),
+            Vector(32, 0x184ebcf3745cd46cUL, 0x3acbfdfb7e9f9668UL, 0x8093876db861a234UL, 0x57f46707c7934b46UL),
+            Vector(33, 0x52fac3c981f3cc2eUL, 0x913b37d6b8df6d23UL, 0xd1df0f05ed5b2e33UL, 0x3cb3e29b9f87a546UL),
+            Vector(128, 0x766daa420b6c6d5dUL, 0x95425530beb89fe8UL, 0x05fee32ae81865dbUL, 0x84f564a43c3d2983UL),
+            Vector(129, 0x34c101f001255e7fUL, 0x29fa850b97ed9666UL, 0x73b76475048bed93UL, 0xf31b26e40ff2ba44UL),
+            Vector(240, 0x38d21e4b153c50c9UL, 0x2d882e7899ff64ccUL, 0xa437dcfd97b56458UL, 0xaf067f2ba3e2733cUL),
+            Vector(241, 0x71acde7c1adbce38UL, 0x422e82e8913e49e0UL, 0xbcec5afdfee9b221UL, 0xc8d46ca3272ae1f3UL),
+            Vector(1024, 0x3ffe1c69f2d78178UL, 0x7e249adc60e1f9b4UL, 0x8d8d4cc34f704b3fUL, 0xc1728ab07c095d22UL),
+            Vector(1025, 0x11e09ec612e2aa1dUL, 0x16cfe055154ff1ddUL, 0xfa17d4725e38181aUL, 0xd092275748d85354UL),
+            Vector(4096, 0xe4d8ced124df0294UL, 0x224e1aff9c0f0707UL, 0x4e846bcaba12a199UL, 0x7ef8ecfb7c8af0b3UL),
+            Vector(10000, 0x87b6f67e6aa5a117UL, 0xd19cf166bc6207dfUL, 0x6c45861090080ac3UL, 0xfe9ebf872a8525ceUL),
+        )
+
+        private fun data(length: Int) = ByteArray(length) { (it * 31 + 7).toByte() }
+    }
+
+    @Test
+    fun xxHash64Vectors() {
+        for (v in SEED_0) {
+            assertEquals(v.xxHash64.toLong(), XxHash64.hash(data(v.length)), "length ${v.length}")
+        }
+        for (v in SEEDED) {
+            assertEquals(v.xxHash64.toLong(), XxHash64.hash(data(v.length), XX_SEED), "length ${v.length}")
+        }
+    }
+
+    @Test
+    fun xxh3Vectors() {
+        for (v in SEED_0) {
+            assertEquals(v.xxh3.toLong(), Xxh3.hash(data(v.length)), "length ${v.length}")
+        }
+        for (v in SEEDED) {
+            assertEquals(v.xxh3.toLong(), Xxh3.hash(data(v.length), XX_SEED), "length ${v.length}")
+        }
+    }
+
+    @Test
+    fun murmur3Vectors() {
+        for (v in SEED_0) {
+            assertEquals(Hash128(v.murmurLow.toLong(), v.murmurHigh.toLong()), Murmur3.hash128(data(v.length)), "length ${v.length}")
+        }
+        for (v in SEEDED) {
+            assertEquals(Hash128(v.murmurLow.toLong(), v.murmurHigh.toLong()), Murmur3.hash128(data(v.length), MURMUR_SEED), "length ${v.length}")
+        }
+    }
+
+    @Test
+    fun quickBrownFox() {
+        val fox = "The quick brown fox jumps over the lazy dog".toByteArray()
+        assertEquals(0x0b242d361fda71bcUL.toLong(), XxHash64.hash(fox))
+        assertEquals(0xce7d19a5418fb365UL.toLong(), Xxh3.hash(fox))
+        // 官方向量 6c1b07bc7bbc4be347939ac4a93c437a 按小端拆分为两个 64 位整数
+        assertEquals(Hash128(0xe34bbc7bbc071b6cUL.toLong(), 0x7a433ca9c49a9347UL.toLong()), Murmur3.hash128(fox))
+        assertEquals(0xe34bbc7bbc071b6cUL.toLong(), Murmur3.hash64(fox))
+    }
+
+    @Test
+    fun inputFormsMatchByteArray() {
+        for (v in SEED_0) {
+            val bytes = data(v.length)
+            // 切片位于数组中间，验证偏移量处理
+            val padded = ByteArray(bytes.size + 10).also { bytes.copyInto(it, 3) }
+            val direct = ByteBuffer.allocateDirect(bytes.size).put(bytes).flip()
+            val heap = ByteBuffer.wrap(padded, 3, bytes.size)
+
+            assertEquals(XxHash64.hash(bytes), XxHash64.hash(padded, 3, bytes.size, 0))
+            assertEquals(XxHash64.hash(bytes), XxHash64.hash(direct))
+            assertEquals(XxHash64.hash(bytes), XxHash64.hash(heap))
+            assertEquals(XxHash64.hash(bytes), XxHash64.hash(ByteArrayInputStream(bytes)))
+            assertEquals(Xxh3.hash(bytes), Xxh3.hash(padded, 3, bytes.size, 0))
+            assertEquals(Xxh3.hash(bytes), Xxh3.hash(direct))
+            assertEquals(Xxh3.hash(bytes), Xxh3.hash(heap))
+            assertEquals(Xxh3.hash(bytes), Xxh3.hash(ByteArrayInputStream(bytes)))
+            assertEquals(Murmur3.hash128(bytes), Murmur3.hash128(padded, 3, bytes.size, 0))
+            assertEquals(Murmur3.hash128(bytes), Murmur3.hash128(direct))
+            assertEquals(Murmur3.hash128(bytes), Murmur3.hash128(heap))
+            assertEquals(Murmur3.hash128(bytes), Murmur3.hash128(ByteArrayInputStream(bytes)))
+            // 读取不改变缓冲区的 position
+            assertEquals(0, direct.position())
+            assertEquals(3, heap.position())
+        }
+    }
+
+    @Test
+    fun charSequenceHashesUtf16LeBytes() {
+        val text = "mingli-utils 哈希 😀 " + "x".repeat(300)
+        val bytes = ByteBuffer.allocate(text.length * 2).order(ByteOrder.LITTLE_ENDIAN)
+        text.forEach { bytes.putChar(it) }
+        val array = bytes.array()
+        assertEquals(XxHash64.hash(array, 7), XxHash64.hash(text, 7))
+        assertEquals(Xxh3.hash(array, 7), Xxh3.hash(text, 7))
+        assertEquals(Murmur3.hash128(array, 7), Murmur3.hash128(text, 7))
+        assertEquals(Murmur3.hash64(array, 7), Murmur3.hash64(text, 7))
+    }
+
+    @Test
+    fun streamingMatchesOneShotForAnySplit() {
+        val random = Random(1)
+        for (length in intArrayOf(0, 1, 15, 31, 32, 100, 240, 241, 1023, 1025, 5000)) {
+            val bytes = data(length)
+            repeat(20) {
+                val xx = XxHash64.newHasher(XX_SEED)
+                val xx3 = Xxh3.newHasher(XX_SEED)
+                val murmur = Murmur3.newHasher(MURMUR_SEED)
+                var offset = 0
+                while (offset < length) {
+                    val n = minOf(length - offset, random.nextInt(300))
+                    xx.update(bytes, offset, n)
+                    xx3.update(ByteBuffer.wrap(bytes, offset, n))
+                    murmur.update(bytes, offset, n)
+                    offset += n
+                }
+                assertEquals(XxHash64.hash(bytes, XX_SEED), xx.digest(), "xxHash64 length $length")
+                assertEquals(Xxh3.hash(bytes, XX_SEED), xx3.digest(), "xxh3 length $length")
+                assertEquals(Murmur3.hash128(bytes, MURMUR_SEED), murmur.digest(), "murmur3 length $length")
+            }
+        }
+    }
+
+    @Test
+    fun hasherResetStartsOver() {
+        val bytes = data(500)
+        val hasher = Xxh3.newHasher()
+        hasher.update(data(77))
+        hasher.reset().update(bytes)
+        assertEquals(Xxh3.hash(bytes), hasher.digest())
+        // digest 不结束状态，可以继续追加
+        hasher.update(bytes)
+        assertEquals(Xxh3.hash(bytes + bytes), hasher.digest())
+    }
+}
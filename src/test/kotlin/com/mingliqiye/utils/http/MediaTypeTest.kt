@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile MediaTypeTest.kt
+ * LastUpdate 2026-10-18 23:43:08
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.http
+
+import com.mingliqiye.utils.exception.UnsupportedMediaTypeException
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import java.util.Locale
+
+/**
+ * MediaType 哈希索引查找、扩展名查找与 charset 解析测试。
+ */
+class MediaTypeTest {
+
+    @Test
+    fun everyConstantRoundTripsThroughFind() {
+        for (type in MediaType.entries) {
+            assertSame(type, MediaType.find(type.value), type.name)
+            assertSame(type, MediaType.find(type.value.uppercase(Locale.ROOT)), type.name)
+            assertSame(type, MediaType.find(type.value.lowercase(Locale.ROOT)), type.name)
+            assertSame(type, MediaType.find(" ${type.value} ; charset=utf-8"), type.name)
+            assertSame(type, MediaType.of(type.value), type.name)
+        }
+    }
+
+    @Test
+    fun constantValuesAreUniqueIgnoringCase() {
+        val seen = HashMap<String, MediaType>()
+        for (type in MediaType.entries) {
+            val previous = seen.put(type.value.lowercase(Locale.ROOT), type)
+            assertNull(previous, type.name)
+        }
+    }
+
+    @Test
+    fun findIgnoresParametersAndWhitespace() {
+        assertSame(MediaType.APPLICATION_JSON, MediaType.find("application/json"))
+        assertSame(MediaType.APPLICATION_JSON, MediaType.find("Application/JSON;charset=UTF-8"))
+        assertSame(MediaType.APPLICATION_JSON, MediaType.find("\tapplication/json\r\n"))
+        assertSame(MediaType.TEXT_HTML, MediaType.find("text/html; charset=\"utf-8\""))
+    }
+
+    @Test
+    fun unknownTypesAreRejected() {
+        assertNull(MediaType.find(""))
+        assertNull(MediaType.find("   "))
+        assertNull(MediaType.find(";charset=utf-8"))
+        assertNull(MediaType.find("application/jsonx"))
+        assertNull(MediaType.find("application/jso"))
+        assertNull(MediaType.find("application"))
+        assertThrows(UnsupportedMediaTypeException::class.java) { MediaType.of("foo/bar") }
+    }
+
+    @Test
+    fun looksUpExtensions() {
+        assertSame(MediaType.APPLICATION_JSON, MediaType.ofExtension("json"))
+        assertSame(MediaType.APPLICATION_JSON, MediaType.ofExtension(".JSON"))
+        assertSame(MediaType.IMAGE_JPEG, MediaType.ofExtension("jpeg"))
+        assertNull(MediaType.ofExtension("unknownext"))
+        assertNull(MediaType.ofExtension(""))
+
+        assertSame(MediaType.TEXT_HTML, MediaType.ofFileName("/var/www/index.HTML"))
+        assertSame(MediaType.APPLICATION_GZIP, MediaType.ofFileName("C:\\data\\archive.tar.gz"))
+        assertNull(MediaType.ofFileName("README"))
+        assertNull(MediaType.ofFileName("dir.d/README"))
+        assertNull(MediaType.ofFileName("dir.d\\README"))
+    }
+
+    @Test
+    fun parsesCharset() {
+        assertSame(Charsets.UTF_8, MediaType.charsetOf("text/plain; charset=utf-8"))
+        assertSame(Charsets.UTF_8, MediaType.charsetOf("text/plain;CHARSET = \"UTF-8\" ; format=flowed"))
+        assertSame(Charsets.ISO_8859_1, MediaType.charsetOf("text/plain; format=flowed; charset=iso-8859-1"))
+        assertEquals("Shift_JIS", MediaType.charsetOf("text/plain; charset=Shift_JIS")?.name())
+        assertNull(MediaType.charsetOf("text/plain"))
+        assertNull(MediaType.charsetOf("text/plain; charset=no-such-charset"))
+        assertNull(MediaType.charsetOf("text/plain; charset="))
+        assertNull(MediaType.charsetOf("text/plain; charsetx=utf-8"))
+    }
+}
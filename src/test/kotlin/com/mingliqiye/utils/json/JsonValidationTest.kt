@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile JsonValidationTest.kt
+ * LastUpdate 2026-10-19 00:06:26
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.json
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper
+import com.mingliqiye.utils.json.api.JacksonBinaryFormat
+import com.mingliqiye.utils.json.api.JacksonBinaryJsonApi
+import com.mingliqiye.utils.json.api.JacksonJsonApi
+import com.mingliqiye.utils.json.api.base.JsonApi
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayInputStream
+
+/**
+ * Jackson 2/3 实现的 isValidJson 测试：输入必须恰好包含一个值，覆盖字符串、字节数组与输入流三种重载。
+ */
+class JsonValidationTest {
+
+    private val valid = listOf(
+        "{\"a\":1}",
+        "[1,2,{\"b\":[null,true]}]",
+        "\"text\"",
+        "1",
+        "-1.5e3",
+        "true",
+        "null",
+        " \n\t{\"a\":[1,{\"b\":2}]} \r\n",
+    )
+
+    private val invalid = listOf(
+        "",
+        " ",
+        " \n\t ",
+        "{\"a\":1} {\"b\":2}",
+        "{\"a\":1} x",
+        "{\"a\":1}]",
+        "1 2",
+        "[1,2",
+        "{\"a\":}",
+        "{a:1}",
+        "'text'",
+    )
+
+    private fun check(api: JsonApi) {
+        for (json in valid) {
+            assertTrue(api.isValidJson(json), json)
+            assertTrue(api.isValidJson(json.toByteArray()), json)
+            assertTrue(api.isValidJson(ByteArrayInputStream(json.toByteArray())), json)
+        }
+        for (json in invalid) {
+            assertFalse(api.isValidJson(json), json)
+            assertFalse(api.isValidJson(json.toByteArray()), json)
+            assertFalse(api.isValidJson(ByteArrayInputStream(json.toByteArray())), json)
+        }
+    }
+
+    @Test
+    fun jackson2ValidatesSingleDocument() {
+        check(JacksonJsonApi())
+    }
+
+    @Test
+    fun jackson3ValidatesSingleDocument() {
+        check(Jackson3JsonApi(tools.jackson.databind.ObjectMapper()))
+    }
+
+    @Test
+    fun binaryValidatesSingleDocument() {
+        val api = JacksonBinaryJsonApi(JacksonBinaryFormat.SMILE)
+        val document = SmileMapper().writeValueAsBytes(mapOf("a" to listOf(1, 2), "b" to "text"))
+        assertTrue(api.isValidJson(document))
+        assertTrue(api.isValidJson(ByteArrayInputStream(document)))
+
+        assertFalse(api.isValidJson(ByteArray(0)))
+        assertFalse(api.isValidJson(ByteArrayInputStream(ByteArray(0))))
+        assertFalse(api.isValidJson(document.copyOf(document.size - 1)))
+        assertFalse(api.isValidJson(document + document))
+        assertFalse(api.isValidJson(ByteArrayInputStream(document + document)))
+        // 文本方法委托给文本 JSON 实现
+        assertTrue(api.isValidJson("{\"a\":1}"))
+        assertFalse(api.isValidJson("{\"a\":1} 2"))
+    }
+}
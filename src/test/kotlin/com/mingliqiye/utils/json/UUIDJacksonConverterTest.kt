@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile UUIDJacksonConverterTest.kt
+ * LastUpdate 2026-10-19 00:15:36
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.json
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.exc.InvalidFormatException
+import com.fasterxml.jackson.databind.exc.MismatchedInputException
+import com.mingliqiye.utils.annotation.UUIDJsonFormat
+import com.mingliqiye.utils.base.BaseType
+import com.mingliqiye.utils.json.converters.UUIDJsonConverter
+import com.mingliqiye.utils.json.converters.base.getJackson3Module
+import com.mingliqiye.utils.json.converters.base.getJacksonModule
+import com.mingliqiye.utils.uuid.UUID
+import com.mingliqiye.utils.uuid.UUIDFormatType
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import tools.jackson.databind.json.JsonMapper
+
+/**
+ * Jackson 2/3 的 UUID 专用序列化器与反序列化器测试：默认格式、[UUIDJsonFormat] 注解格式、null 与非法输入。
+ */
+class UUIDJacksonConverterTest {
+
+    class Holder {
+        var plain: UUID? = null
+
+        @UUIDJsonFormat(UUIDFormatType.UPPER_NO_SPACE)
+        var compact: UUID? = null
+
+        @UUIDJsonFormat(base = BaseType.BASE64URL)
+        var short: UUID? = null
+    }
+
+    private val uuid = UUID.of("123e4567-e89b-12d3-a456-426614174000")
+
+    private val expectedJson = "{\"plain\":\"123e4567-e89b-12d3-a456-426614174000\"," +
+            "\"compact\":\"123E4567E89B12D3A456426614174000\"," +
+            "\"short\":\"${uuid.getString(BaseType.BASE64URL)}\"}"
+
+    private val jackson2 = ObjectMapper().registerModule(UUIDJsonConverter.getJsonConverter().getJacksonModule())
+
+    private val jackson3 = JsonMapper.builder()
+        .addModule(UUIDJsonConverter.getJsonConverter().getJackson3Module())
+        .build()
+
+    private fun holder() = Holder().apply {
+        plain = uuid
+        compact = uuid
+        short = uuid
+    }
+
+    // Jackson 3 默认按字母序输出属性，按树结构比较
+    private fun assertJson(expected: String, actual: String) {
+        assertEquals(jackson2.readTree(expected), jackson2.readTree(actual))
+    }
+
+    private fun assertHolder(holder: Holder) {
+        assertEquals(uuid, holder.plain)
+        assertEquals(uuid, holder.compact)
+        assertEquals(uuid, holder.short)
+    }
+
+    @Test
+    fun jackson2RoundTrip() {
+        val json = jackson2.writeValueAsString(holder())
+        assertJson(expectedJson, json)
+        assertHolder(jackson2.readValue(json, Holder::class.java))
+        // 字节输入走 UTF-8 解析器的文本缓冲区
+        assertHolder(jackson2.readValue(json.toByteArray(), Holder::class.java))
+        assertEquals("\"${uuid.getString()}\"", jackson2.writeValueAsString(uuid))
+        assertEquals(uuid, jackson2.readValue("\"123E4567E89B12D3A456426614174000\"", UUID::class.java))
+    }
+
+    @Test
+    fun jackson2NullAndInvalid() {
+        val empty = jackson2.readValue("{\"plain\":null,\"compact\":null,\"short\":null}", Holder::class.java)
+        assertNull(empty.plain)
+        assertNull(empty.compact)
+        assertNull(empty.short)
+        assertJson("{\"plain\":null,\"compact\":null,\"short\":null}", jackson2.writeValueAsString(Holder()))
+        assertThrows(InvalidFormatException::class.java) {
+            jackson2.readValue("\"123e4567-e89b-12d3-a456-42661417400g\"", UUID::class.java)
+        }
+        assertThrows(InvalidFormatException::class.java) {
+            jackson2.readValue("{\"plain\":\"123e4567e89b-12d3-a456-4266141740000\"}", Holder::class.java)
+        }
+        assertThrows(MismatchedInputException::class.java) { jackson2.readValue("123", UUID::class.java) }
+    }
+
+    @Test
+    fun jackson3RoundTrip() {
+        val json = jackson3.writeValueAsString(holder())
+        assertJson(expectedJson, json)
+        assertHolder(jackson3.readValue(json, Holder::class.java))
+        assertHolder(jackson3.readValue(json.toByteArray(), Holder::class.java))
+        assertEquals("\"${uuid.getString()}\"", jackson3.writeValueAsString(uuid))
+        assertEquals(uuid, jackson3.readValue("\"123E4567E89B12D3A456426614174000\"", UUID::class.java))
+    }
+
+    @Test
+    fun jackson3NullAndInvalid() {
+        val empty = jackson3.readValue("{\"plain\":null,\"compact\":null,\"short\":null}", Holder::class.java)
+        assertNull(empty.plain)
+        assertNull(empty.compact)
+        assertNull(empty.short)
+        assertJson("{\"plain\":null,\"compact\":null,\"short\":null}", jackson3.writeValueAsString(Holder()))
+        assertThrows(tools.jackson.databind.exc.InvalidFormatException::class.java) {
+            jackson3.readValue("\"123e4567-e89b-12d3-a456-42661417400g\"", UUID::class.java)
+        }
+        assertThrows(tools.jackson.databind.exc.MismatchedInputException::class.java) {
+            jackson3.readValue("123", UUID::class.java)
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile ClientScheduleReconnectTest.kt
+ * LastUpdate 2026-10-18 23:22:58
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.netty
+
+import io.netty.bootstrap.Bootstrap
+import io.netty.bootstrap.ServerBootstrap
+import io.netty.buffer.Unpooled
+import io.netty.channel.Channel
+import io.netty.channel.ChannelFuture
+import io.netty.channel.ChannelInboundHandlerAdapter
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInitializer
+import io.netty.channel.DefaultEventLoopGroup
+import io.netty.channel.local.LocalAddress
+import io.netty.channel.local.LocalChannel
+import io.netty.channel.local.LocalServerChannel
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * 使用进程内的 Local 传输模拟服务端行为，验证重连次数只在连接稳定后重置。
+ */
+class ClientScheduleReconnectTest {
+
+    private enum class ServerBehavior { CLOSE_IMMEDIATELY, SEND_GREETING, SILENT }
+
+    private lateinit var group: DefaultEventLoopGroup
+
+    private lateinit var address: LocalAddress
+
+    private var server: Channel? = null
+
+    private var client: TestClient? = null
+
+    private inner class TestClient : ClientScheduleReconnect(Bootstrap().group(group).channel(LocalChannel::class.java)) {
+        // 每次连接成功时记录当时的重连次数
+        val attemptsOnConnect = CopyOnWriteArrayList<Int>()
+
+        val connected = CountDownLatch(1)
+
+        override fun initBootstrap(bootstrap: Bootstrap) {
+            bootstrap.handler(object : ChannelInitializer<LocalChannel>() {
+                override fun initChannel(ch: LocalChannel) {}
+            })
+        }
+
+        override fun doConnect(): ChannelFuture = getBootstrap().connect(address)
+
+        override fun onConnectedLog(channel: Channel) {
+            attemptsOnConnect.add(getReconnectAttempts())
+            connected.countDown()
+        }
+
+        override fun onConnectFailedLog(cause: Throwable?) {}
+
+        override fun onStoppedLog() {}
+
+        override fun onConnectClosed() {}
+    }
+
+    @BeforeEach
+    fun setUp() {
+        group = DefaultEventLoopGroup(2)
+        address = LocalAddress(LocalAddress.ANY.id() + System.nanoTime())
+    }
+
+    @AfterEach
+    fun tearDown() {
+        client?.stop()
+        server?.close()?.syncUninterruptibly()
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly()
+    }
+
+    private fun startServer(behavior: ServerBehavior) {
+        server = ServerBootstrap().group(group).channel(LocalServerChannel::class.java)
+            .childHandler(object : ChannelInitializer<LocalChannel>() {
+                override fun initChannel(ch: LocalChannel) {
+                    ch.pipeline().addLast(object : ChannelInboundHandlerAdapter() {
+                        override fun channelActive(ctx: ChannelHandlerContext) {
+                            when (behavior) {
+                                ServerBehavior.CLOSE_IMMEDIATELY -> ctx.close()
+                                // 稍后发送，模拟握手后的服务端问候
+                                ServerBehavior.SEND_GREETING -> ctx.executor().schedule({
+                                    ctx.writeAndFlush(Unpooled.wrappedBuffer(byteArrayOf(1)))
+                                }, 50, TimeUnit.MILLISECONDS)
+                                ServerBehavior.SILENT -> {}
+                            }
+                        }
+                    })
+                }
+            }).bind(address).syncUninterruptibly().channel()
+    }
+
+    private fun startClient(stableMillis: Long): TestClient {
+        val client = TestClient()
+        this.client = client
+        client.setBackoff(ReconnectBackoff.fixed(5, TimeUnit.MILLISECONDS))
+        client.setStableTime(stableMillis, TimeUnit.MILLISECONDS)
+        client.start()
+        return client
+    }
+
+    private fun awaitCondition(timeoutMillis: Long, condition: () -> Boolean): Boolean {
+        val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis)
+        while (System.nanoTime() < deadline) {
+            if (condition()) return true
+            Thread.sleep(5)
+        }
+        return condition()
+    }
+
+    @Test
+    fun attemptsKeepGrowingWhenServerClosesRightAfterAccept() {
+        startServer(ServerBehavior.CLOSE_IMMEDIATELY)
+        val client = startClient(10_000)
+        assertTrue(awaitCondition(5_000) { client.attemptsOnConnect.size >= 5 }, "client keeps reconnecting")
+        val attempts = client.attemptsOnConnect.toList()
+        // 连接成功但未稳定，重连次数不会被重置，退避才能逐次增长
+        for (i in 1 until attempts.size) {
+            assertTrue(attempts[i] > attempts[i - 1], "attempts not reset: $attempts")
+        }
+    }
+
+    @Test
+    fun firstReadResetsAttempts() {
+        startServer(ServerBehavior.CLOSE_IMMEDIATELY)
+        val client = startClient(60_000)
+        assertTrue(awaitCondition(5_000) { client.getReconnectAttempts() >= 3 })
+        server!!.close().syncUninterruptibly()
+        startServer(ServerBehavior.SEND_GREETING)
+        assertTrue(awaitCondition(5_000) { client.isConnected() }, "client reconnects")
+        // 稳定时间远大于等待时间，重置只能由收到的第一条数据触发
+        assertTrue(awaitCondition(5_000) { client.getReconnectAttempts() == 0 })
+        assertNull(client.getChannel()!!.pipeline().get(ClientScheduleReconnect.STABILITY_HANDLER_NAME))
+    }
+
+    @Test
+    fun stableTimeResetsAttemptsOfSilentConnection() {
+        startServer(ServerBehavior.CLOSE_IMMEDIATELY)
+        val client = startClient(100)
+        assertTrue(awaitCondition(5_000) { client.getReconnectAttempts() >= 3 })
+        // 服务端改为保持连接但不发送数据，稳定时间过后重连次数归零
+        server!!.close().syncUninterruptibly()
+        startServer(ServerBehavior.SILENT)
+        assertTrue(awaitCondition(5_000) { client.isConnected() }, "client reconnects")
+        assertTrue(client.getReconnectAttempts() > 0)
+        assertTrue(awaitCondition(5_000) { client.getReconnectAttempts() == 0 })
+    }
+
+    @Test
+    fun zeroStableTimeResetsOnConnect() {
+        startServer(ServerBehavior.SILENT)
+        val client = startClient(0)
+        assertTrue(client.connected.await(5, TimeUnit.SECONDS))
+        assertEquals(0, client.getReconnectAttempts())
+        assertEquals(listOf(0), client.attemptsOnConnect.toList())
+    }
+}
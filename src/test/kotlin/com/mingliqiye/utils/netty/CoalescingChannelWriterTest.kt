@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile CoalescingChannelWriterTest.kt
+ * LastUpdate 2026-10-18 23:36:38
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.netty
+
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelOutboundHandlerAdapter
+import io.netty.channel.ChannelPromise
+import io.netty.channel.embedded.EmbeddedChannel
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+
+/**
+ * CoalescingChannelWriter 在 EmbeddedChannel 上的合并刷新与失败汇总测试。
+ */
+class CoalescingChannelWriterTest {
+
+    // 记录刷新次数，并让以 "fail" 开头的消息写入失败
+    private class Recorder : ChannelOutboundHandlerAdapter() {
+        var flushes = 0
+
+        override fun write(ctx: ChannelHandlerContext, msg: Any, promise: ChannelPromise) {
+            if (msg is String && msg.startsWith("fail")) {
+                promise.setFailure(IllegalStateException(msg))
+                return
+            }
+            ctx.write(msg, promise)
+        }
+
+        override fun flush(ctx: ChannelHandlerContext) {
+            flushes++
+            ctx.flush()
+        }
+    }
+
+    @Test
+    fun coalescesWritesIntoBatches() {
+        val recorder = Recorder()
+        val channel = EmbeddedChannel(recorder)
+        val writer = CoalescingChannelWriter(channel, 4, Int.MAX_VALUE, null)
+        for (i in 0 until 10) {
+            writer.write("m$i")
+        }
+        assertEquals(10, writer.pendingMessages)
+        channel.runPendingTasks()
+
+        assertEquals(0, writer.pendingMessages)
+        assertEquals(10L, writer.writtenCount)
+        assertEquals(3L, writer.flushCount)
+        assertEquals(3, recorder.flushes)
+        for (i in 0 until 10) {
+            assertEquals("m$i", channel.readOutbound<String>())
+        }
+        assertNull(channel.readOutbound<String>())
+        channel.finishAndReleaseAll()
+    }
+
+    @Test
+    fun reportsFailuresOncePerBatch() {
+        val channel = EmbeddedChannel(Recorder())
+        val failures = ArrayList<Throwable>()
+        val writer = CoalescingChannelWriter(channel, 4, Int.MAX_VALUE) { failures.add(it) }
+        listOf("fail-0", "ok-1", "fail-2", "fail-3", "ok-4", "ok-5", "ok-6", "ok-7", "fail-8")
+            .forEach { writer.write(it) }
+        channel.runPendingTasks()
+
+        // 三个批次：[fail-0, ok-1, fail-2, fail-3]、[ok-4..ok-7]、[fail-8]
+        assertEquals(2, failures.size)
+        assertEquals("fail-0", failures[0].message)
+        assertEquals("fail-8", failures[1].message)
+        channel.finishAndReleaseAll()
+    }
+
+    @Test
+    fun ofReturnsChannelWriter() {
+        val channel = EmbeddedChannel()
+        val writer = CoalescingChannelWriter.of(channel)
+        assertSame(writer, CoalescingChannelWriter.of(channel))
+        channel.finishAndReleaseAll()
+    }
+}
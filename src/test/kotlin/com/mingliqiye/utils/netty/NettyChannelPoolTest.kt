@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile NettyChannelPoolTest.kt
+ * LastUpdate 2026-10-19 00:42:17
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.netty
+
+import com.mingliqiye.utils.network.NetworkEndpoint
+import com.mingliqiye.utils.network.NetworkException
+import io.netty.bootstrap.Bootstrap
+import io.netty.bootstrap.ServerBootstrap
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled
+import io.netty.channel.Channel
+import io.netty.channel.ChannelHandler
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInboundHandlerAdapter
+import io.netty.channel.ChannelInitializer
+import io.netty.channel.ChannelOption
+import io.netty.channel.WriteBufferWaterMark
+import io.netty.channel.group.DefaultChannelGroup
+import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.SocketChannel
+import io.netty.channel.socket.nio.NioServerSocketChannel
+import io.netty.channel.socket.nio.NioSocketChannel
+import io.netty.util.ReferenceCountUtil
+import io.netty.util.concurrent.GlobalEventExecutor
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.net.InetSocketAddress
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 基于本地回环回显服务端的连接池测试。
+ */
+class NettyChannelPoolTest {
+
+    private lateinit var group: NioEventLoopGroup
+
+    private lateinit var server: Channel
+
+    private lateinit var serverChildren: DefaultChannelGroup
+
+    private val echoed = AtomicLong()
+
+    private var pool: NettyChannelPool? = null
+
+    @ChannelHandler.Sharable
+    private inner class CountingHandler : ChannelInboundHandlerAdapter() {
+        override fun channelRead(ctx: ChannelHandlerContext, msg: Any) {
+            echoed.addAndGet((msg as ByteBuf).readableBytes().toLong())
+            ReferenceCountUtil.release(msg)
+        }
+    }
+
+    @BeforeEach
+    fun setUp() {
+        group = NioEventLoopGroup(2)
+        serverChildren = DefaultChannelGroup(GlobalEventExecutor.INSTANCE)
+        server = ServerBootstrap().group(group).channel(NioServerSocketChannel::class.java)
+            .childHandler(object : ChannelInitializer<SocketChannel>() {
+                override fun initChannel(ch: SocketChannel) {
+                    serverChildren.add(ch)
+                    ch.pipeline().addLast(object : ChannelInboundHandlerAdapter() {
+                        override fun channelRead(ctx: ChannelHandlerContext, msg: Any) {
+                            ctx.writeAndFlush(msg)
+                        }
+                    })
+                }
+            }).bind("127.0.0.1", 0).syncUninterruptibly().channel()
+    }
+
+    @AfterEach
+    fun tearDown() {
+        pool?.close()
+        server.close().syncUninterruptibly()
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly()
+    }
+
+    private fun bootstrap(): Bootstrap {
+        val handler = CountingHandler()
+        return Bootstrap().group(group).channel(NioSocketChannel::class.java)
+            .handler(object : ChannelInitializer<SocketChannel>() {
+                override fun initChannel(ch: SocketChannel) {
+                    ch.pipeline().addLast(handler)
+                }
+            })
+    }
+
+    private fun newPool(bootstrap: Bootstrap, size: Int, waterMark: WriteBufferWaterMark? = null): NettyChannelPool {
+        val endpoint = NetworkEndpoint.of(server.localAddress() as InetSocketAddress)
+        return NettyChannelPool(
+            endpoint, bootstrap, size, backoff = ReconnectBackoff.fixed(10, TimeUnit.MILLISECONDS), waterMark = waterMark
+        ).also { pool = it }
+    }
+
+    private fun awaitCondition(timeoutMillis: Long, condition: () -> Boolean): Boolean {
+        val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis)
+        while (System.nanoTime() < deadline) {
+            if (condition()) return true
+            Thread.sleep(5)
+        }
+        return condition()
+    }
+
+    @Test
+    fun echoAcrossAllConnections() {
+        val pool = newPool(bootstrap(), 3).start()
+        assertTrue(awaitCondition(5_000) { pool.activeCount == 3 })
+        val futures = List(300) { pool.writeAndFlush(Unpooled.wrappedBuffer(ByteArray(100) { it.toByte() })) }
+        futures.forEach { assertTrue(it.awaitUninterruptibly(5, TimeUnit.SECONDS) && it.isSuccess) }
+        assertTrue(awaitCondition(5_000) { echoed.get() == 30_000L }, "echoed ${echoed.get()} bytes")
+        assertEquals(0, pool.pendingWrites)
+        assertEquals(0L, pool.rejectedWrites)
+        // 负载分散到了多个连接
+        assertEquals(3, serverChildren.size)
+    }
+
+    @Test
+    fun writeIsRejectedWithoutActiveConnection() {
+        val pool = newPool(bootstrap(), 2)
+        val msg = Unpooled.buffer(8).writeLong(1)
+        val future = pool.writeAndFlush(msg)
+        assertTrue(future.awaitUninterruptibly(5, TimeUnit.SECONDS))
+        assertTrue(future.cause() is NetworkException)
+        assertEquals(0, msg.refCnt())
+        assertEquals(1L, pool.rejectedWrites)
+        assertFalse(pool.isWritable())
+    }
+
+    @Test
+    fun callerWaterMarkIsKept() {
+        val custom = WriteBufferWaterMark(1024, 4096)
+        val pool = newPool(bootstrap().option(ChannelOption.WRITE_BUFFER_WATER_MARK, custom), 1).start()
+        assertTrue(awaitCondition(5_000) { pool.activeCount == 1 })
+        val config = pool.acquire()!!.config().writeBufferWaterMark
+        assertEquals(1024, config.low())
+        assertEquals(4096, config.high())
+    }
+
+    @Test
+    fun explicitWaterMarkOverridesBootstrap() {
+        val pool = newPool(
+            bootstrap().option(ChannelOption.WRITE_BUFFER_WATER_MARK, WriteBufferWaterMark(1024, 4096)),
+            1,
+            WriteBufferWaterMark(2048, 8192)
+        ).start()
+        assertTrue(awaitCondition(5_000) { pool.activeCount == 1 })
+        assertEquals(8192, pool.acquire()!!.config().writeBufferWaterMark.high())
+    }
+
+    @Test
+    fun pendingCountIsPerChannelAcrossReconnect() {
+        val pool = newPool(bootstrap(), 1).start()
+        assertTrue(awaitCondition(5_000) { pool.activeCount == 1 })
+        val first = pool.acquire()!!
+        // 服务端停止读取，使旧通道上积压未完成的写入，随后服务端断开，这些写入随旧通道失败
+        serverChildren.forEach { it.config().isAutoRead = false }
+        val futures = List(50) { pool.writeAndFlush(Unpooled.wrappedBuffer(ByteArray(64 * 1024))) }
+        serverChildren.close().syncUninterruptibly()
+        assertTrue(awaitCondition(5_000) { pool.acquire().let { it != null && it !== first } }, "pool reconnects")
+        futures.forEach { it.awaitUninterruptibly(5, TimeUnit.SECONDS) }
+        val second = pool.acquire()!!
+        assertNotSame(first, second)
+        // 旧通道的写入完成不会把新通道的计数减成负数
+        assertEquals(0, pool.pendingWrites)
+        val future = pool.writeAndFlush(Unpooled.wrappedBuffer(ByteArray(10)))
+        assertTrue(future.awaitUninterruptibly(5, TimeUnit.SECONDS) && future.isSuccess)
+        // 等待方可能先于计数监听器被唤醒，轮询等待计数归零
+        assertTrue(awaitCondition(5_000) { pool.pendingWrites == 0 })
+        assertEquals(1L, pool.reconnectCount)
+    }
+}
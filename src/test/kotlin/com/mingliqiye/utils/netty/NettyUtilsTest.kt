@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile NettyUtilsTest.kt
+ * LastUpdate 2026-10-18 23:31:08
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.netty
+
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.PooledByteBufAllocator
+import io.netty.buffer.Unpooled
+import io.netty.channel.DefaultFileRegion
+import io.netty.channel.embedded.EmbeddedChannel
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.nio.file.Files
+
+/**
+ * NettyUtils 中缓冲区辅助函数的内容与引用计数测试。
+ *
+ * 使用独立的池化分配器，测试结束时检查没有未释放的分配，以发现缓冲区泄漏。
+ */
+class NettyUtilsTest {
+
+    private val allocator = PooledByteBufAllocator(true, 1, 1, 8192, 9, 0, 0, true)
+
+    @AfterEach
+    fun checkNoLeak() {
+        val metric = allocator.metric()
+        val active = metric.directArenas().sumOf { it.numActiveAllocations() } +
+                metric.heapArenas().sumOf { it.numActiveAllocations() }
+        assertEquals(0L, active, "buffers allocated by the test were not released")
+    }
+
+    private fun ByteBuf.readAll(): ByteArray = ByteArray(readableBytes()).also { getBytes(readerIndex(), it) }
+
+    @Test
+    fun stringToByteBufUsesExactUtf8Length() {
+        for (text in listOf("", "ascii", "中文字符", "emoji 😀 mixed 中", "\u0080߿ࠀ￿")) {
+            val expected = text.toByteArray(Charsets.UTF_8)
+            val unpooled = text.toByteBuf()
+            assertArrayEquals(expected, unpooled.readAll())
+            assertEquals(expected.size, unpooled.capacity())
+            unpooled.release()
+
+            val pooled = text.toByteBuf(allocator)
+            assertArrayEquals(expected, pooled.readAll())
+            assertEquals(expected.size, pooled.writerIndex())
+            pooled.release()
+        }
+    }
+
+    @Test
+    fun otherCharsets() {
+        val text = "Grüße"
+        for (charset in listOf(Charsets.ISO_8859_1, Charsets.UTF_16LE, Charsets.UTF_16)) {
+            val buffer = StringBuilder(text).toByteBuf(allocator, charset)
+            assertArrayEquals(text.toByteArray(charset), buffer.readAll())
+            assertEquals(text, buffer.toString(charset))
+            buffer.release()
+        }
+    }
+
+    @Test
+    fun numbersToByteBuf() {
+        val int = 0x01020304.toByteBuf(allocator)
+        assertEquals(4, int.readableBytes())
+        assertEquals(0x01020304, int.toInt())
+        int.release()
+        val long = Long.MIN_VALUE.toByteBuf(allocator)
+        assertEquals(8, long.readableBytes())
+        assertEquals(Long.MIN_VALUE, long.toLong())
+        long.release()
+        assertEquals(-1, (-1).toByteBuf().toInt())
+        assertEquals(42L, 42L.toByteBuf().toLong())
+    }
+
+    @Test
+    fun combineByteBufTakesOwnership() {
+        val a = "hello ".toByteBuf(allocator)
+        val b = allocator.directBuffer().writeBytes("world".toByteArray())
+        b.readerIndex(0)
+        val composite = combineByteBuf(allocator, a, b)
+        assertEquals("hello world", composite.toString(Charsets.UTF_8))
+        assertEquals(2, composite.numComponents())
+        composite.release()
+        assertEquals(0, a.refCnt())
+        assertEquals(0, b.refCnt())
+    }
+
+    @Test
+    fun copyingCombineLeavesInputsUntouched() {
+        val a = Unpooled.wrappedBuffer(byteArrayOf(1, 2, 3))
+        a.readByte()
+        val b = Unpooled.wrappedBuffer(byteArrayOf(4, 5))
+        val combined = combineByteBuf(a, b)
+        assertArrayEquals(byteArrayOf(2, 3, 4, 5), combined.readAll())
+        assertEquals(1, a.readerIndex())
+        assertEquals(1, a.refCnt())
+    }
+
+    @Test
+    fun hexStringCoversReadableRegionOnly() {
+        val buffer = allocator.buffer().writeBytes(byteArrayOf(0x00, 0x0f, 0x7f, 0x80.toByte(), 0xff.toByte()))
+        buffer.readByte()
+        assertEquals("0f7f80ff", buffer.toHexString())
+        assertEquals(1, buffer.readerIndex())
+        buffer.release()
+    }
+
+    @Test
+    fun safeToByteArrayHonoursReaderIndex() {
+        val heap = allocator.heapBuffer().writeBytes(byteArrayOf(1, 2, 3, 4))
+        val direct = allocator.directBuffer().writeBytes(byteArrayOf(1, 2, 3, 4))
+        for (buffer in listOf(heap, direct)) {
+            buffer.skipBytes(2)
+            assertArrayEquals(byteArrayOf(3, 4), buffer.safeToByteArray())
+            assertEquals(2, buffer.readerIndex())
+            buffer.release()
+        }
+        // 切片的 arrayOffset 不为 0
+        val slice = Unpooled.wrappedBuffer(byteArrayOf(9, 8, 7, 6, 5)).slice(1, 3)
+        slice.readByte()
+        assertArrayEquals(byteArrayOf(7, 6), slice.safeToByteArray())
+    }
+
+    @Test
+    fun writeFileRegionReleasesRegion() {
+        val file = Files.createTempFile("netty-utils", ".bin")
+        try {
+            Files.write(file, ByteArray(1000) { it.toByte() })
+            val channel = EmbeddedChannel()
+            assertTrue(channel.writeFileRegion(file).isSuccess)
+            val region = channel.readOutbound<DefaultFileRegion>()
+            assertEquals(1000L, region.count())
+            assertTrue(region.release())
+            assertTrue(channel.finishAndReleaseAll().not())
+        } finally {
+            Files.deleteIfExists(file)
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile VarIntFrameCodecTest.kt
+ * LastUpdate 2026-10-19 00:29:49
+ * UpdateUser MingLiPro
+ */
+
+package com.mingliqiye.utils.netty
+
+import com.mingliqiye.utils.bytes.putVarInt
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.PooledByteBufAllocator
+import io.netty.buffer.Unpooled
+import io.netty.channel.embedded.EmbeddedChannel
+import io.netty.handler.codec.CorruptedFrameException
+import io.netty.handler.codec.EncoderException
+import io.netty.handler.codec.TooLongFrameException
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.nio.ByteBuffer
+import java.util.Random
+
+/**
+ * VarIntFrameEncoder 与 VarIntFrameDecoder 在 EmbeddedChannel 上的编解码测试。
+ */
+class VarIntFrameCodecTest {
+
+    private fun payload(length: Int) = ByteArray(length) { (it * 7 + 1).toByte() }
+
+    // 与 ByteBuffer.putVarInt 一致的帧编码
+    private fun frame(payload: ByteArray): ByteArray {
+        val buffer = ByteBuffer.allocate(payload.size + 5).putVarInt(payload.size).put(payload)
+        return buffer.array().copyOf(buffer.position())
+    }
+
+    private fun readFrame(channel: EmbeddedChannel): ByteArray? {
+        val buf = channel.readInbound<ByteBuf>() ?: return null
+        try {
+            return ByteArray(buf.readableBytes()).also { buf.readBytes(it) }
+        } finally {
+            buf.release()
+        }
+    }
+
+    @Test
+    fun encoderWritesVarIntHeaderWithoutCopyingPayload() {
+        val channel = EmbeddedChannel(VarIntFrameEncoder())
+        for (length in intArrayOf(0, 1, 127, 128, 300, 16384)) {
+            val msg = Unpooled.wrappedBuffer(payload(length))
+            assertTrue(channel.writeOutbound(msg))
+            val header = channel.readOutbound<ByteBuf>()
+            val body = channel.readOutbound<ByteBuf>()
+            val expected = frame(payload(length))
+            val headerBytes = ByteArray(header.readableBytes()).also { header.readBytes(it) }
+            assertArrayEquals(expected.copyOf(expected.size - length), headerBytes)
+            // 负载就是原缓冲区本身
+            assertTrue(body === msg)
+            header.release()
+            body.release()
+            // 空负载是不计引用的 EMPTY_BUFFER
+            if (length > 0) {
+                assertEquals(0, msg.refCnt())
+            }
+        }
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun encoderHeaderMatchesPutVarIntForEveryPrefixLength() {
+        val channel = EmbeddedChannel(VarIntFrameEncoder(Int.MAX_VALUE))
+        // 池化分配器的堆缓冲区通常共享同一底层数组，arrayOffset 不为 0
+        channel.config().allocator = PooledByteBufAllocator(false)
+        val chunk = ByteArray(1 shl 20)
+        for (length in intArrayOf(0, 1, 127, 128, 16383, 16384, (1 shl 21) - 1, 1 shl 21, 1 shl 28, (1 shl 28) + 5)) {
+            // 由共享数组组成的组合缓冲区，只在逻辑上达到目标长度
+            val parts = ArrayList<ByteBuf>()
+            var remaining = length
+            while (remaining > 0) {
+                val n = minOf(remaining, chunk.size)
+                parts += Unpooled.wrappedBuffer(chunk, 0, n)
+                remaining -= n
+            }
+            val msg = Unpooled.wrappedBuffer(parts.size.coerceAtLeast(1), *parts.toTypedArray())
+            assertTrue(channel.writeOutbound(msg))
+            val header = channel.readOutbound<ByteBuf>()
+            val body = channel.readOutbound<ByteBuf>()
+            val expected = ByteBuffer.allocate(5).putVarInt(length)
+            val headerBytes = ByteArray(header.readableBytes()).also { header.readBytes(it) }
+            assertArrayEquals(expected.array().copyOf(expected.position()), headerBytes, "length=$length")
+            assertEquals(length, body.readableBytes())
+            header.release()
+            body.release()
+        }
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun encoderRejectsOversizeFrame() {
+        val channel = EmbeddedChannel(VarIntFrameEncoder(16))
+        val msg = Unpooled.wrappedBuffer(ByteArray(17))
+        val e = assertThrows(EncoderException::class.java) { channel.writeOutbound(msg) }
+        assertTrue(e.cause is TooLongFrameException)
+        assertEquals(0, msg.refCnt())
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun decodeWholeAndCoalescedFrames() {
+        val channel = EmbeddedChannel(VarIntFrameDecoder())
+        val payloads = listOf(payload(0), payload(5), payload(200), payload(20000))
+        val all = payloads.map { frame(it) }.reduce { a, b -> a + b }
+        channel.writeInbound(Unpooled.wrappedBuffer(all))
+        for (p in payloads) {
+            assertArrayEquals(p, readFrame(channel))
+        }
+        assertNull(readFrame(channel))
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun decodeFramesSplitAtEveryByte() {
+        val channel = EmbeddedChannel(VarIntFrameDecoder())
+        val p = payload(300)
+        for (b in frame(p)) {
+            channel.writeInbound(Unpooled.wrappedBuffer(byteArrayOf(b)))
+        }
+        assertArrayEquals(p, readFrame(channel))
+        assertNull(readFrame(channel))
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun decodeFramesSplitRandomly() {
+        val random = Random(3)
+        val channel = EmbeddedChannel(VarIntFrameDecoder())
+        val payloads = List(200) { payload(random.nextInt(3000)) }
+        val stream = payloads.map { frame(it) }.reduce { a, b -> a + b }
+        var offset = 0
+        while (offset < stream.size) {
+            val n = minOf(stream.size - offset, 1 + random.nextInt(700))
+            channel.writeInbound(Unpooled.wrappedBuffer(stream, offset, n))
+            offset += n
+        }
+        for (p in payloads) {
+            assertArrayEquals(p, readFrame(channel))
+        }
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun encoderAndDecoderRoundTrip() {
+        val encoder = EmbeddedChannel(VarIntFrameEncoder())
+        val decoder = EmbeddedChannel(VarIntFrameDecoder())
+        val payloads = listOf(payload(1), payload(129), payload(70000))
+        for (p in payloads) {
+            encoder.writeOutbound(Unpooled.wrappedBuffer(p))
+        }
+        while (true) {
+            val buf = encoder.readOutbound<ByteBuf>() ?: break
+            decoder.writeInbound(buf)
+        }
+        for (p in payloads) {
+            assertArrayEquals(p, readFrame(decoder))
+        }
+        assertFalse(encoder.finish())
+        assertFalse(decoder.finish())
+    }
+
+    @Test
+    fun oversizeFrameIsDiscardedAndDecodingContinues() {
+        val channel = EmbeddedChannel(VarIntFrameDecoder(100))
+        val next = payload(10)
+        val last = payload(20)
+        val input = Unpooled.wrappedBuffer(frame(payload(101)) + frame(next))
+        assertThrows(TooLongFrameException::class.java) { channel.writeInbound(input) }
+        // 同一次读取中剩余的帧留在累积缓冲区，下次读取时与新数据一起解码
+        channel.writeInbound(Unpooled.wrappedBuffer(frame(last)))
+        assertArrayEquals(next, readFrame(channel))
+        assertArrayEquals(last, readFrame(channel))
+        assertFalse(channel.finish())
+        assertEquals(0, input.refCnt())
+    }
+
+    @Test
+    fun oversizeFrameSplitAcrossReadsIsDiscarded() {
+        val channel = EmbeddedChannel(VarIntFrameDecoder(1000))
+        val big = frame(payload(5000))
+        // 前缀与部分负载先到达，剩余负载分多次到达
+        assertThrows(TooLongFrameException::class.java) {
+            channel.writeInbound(Unpooled.wrappedBuffer(big, 0, 100))
+        }
+        var offset = 100
+        while (offset < big.size) {
+            val n = minOf(big.size - offset, 700)
+            channel.writeInbound(Unpooled.wrappedBuffer(big, offset, n))
+            offset += n
+        }
+        assertNull(readFrame(channel))
+        // 丢弃结束后正常解码，只抛出一次异常
+        val next = payload(999)
+        channel.writeInbound(Unpooled.wrappedBuffer(frame(next)))
+        assertArrayEquals(next, readFrame(channel))
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun frameAtMaxLengthIsAccepted() {
+        val channel = EmbeddedChannel(VarIntFrameDecoder(100))
+        val p = payload(100)
+        channel.writeInbound(Unpooled.wrappedBuffer(frame(p)))
+        assertArrayEquals(p, readFrame(channel))
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun corruptedPrefixIsRejected() {
+        val channel = EmbeddedChannel(VarIntFrameDecoder())
+        val input = Unpooled.wrappedBuffer(byteArrayOf(0x80.toByte(), 0x80.toByte(), 0x80.toByte(), 0x80.toByte(), 0x80.toByte(), 1, 2))
+        assertThrows(CorruptedFrameException::class.java) { channel.writeInbound(input) }
+        assertEquals(0, input.refCnt())
+        // 长度超过 Int 范围（第5字节高位被置位）
+        val negative = Unpooled.wrappedBuffer(byteArrayOf(0xFF.toByte(), 0xFF.toByte(), 0xFF.toByte(), 0xFF.toByte(), 0x0F))
+        assertThrows(CorruptedFrameException::class.java) { channel.writeInbound(negative) }
+        assertFalse(channel.finish())
+    }
+
+    @Test
+    fun fifthPrefixByteOverflowIsRejected() {
+        val channel = EmbeddedChannel(VarIntFrameDecoder())
+        for (last in intArrayOf(0x10, 0x1F, 0x40, 0x7F)) {
+            // 未检查时 last shl 28 会溢出为 0 或较小的长度，被当作合法帧
+            val input = Unpooled.wrappedBuffer(
+                byteArrayOf(0x80.toByte(), 0x80.toByte(), 0x80.toByte(), 0x80.toByte(), last.toByte(), 1, 2)
+            )
+            val e = assertThrows(CorruptedFrameException::class.java) { channel.writeInbound(input) }
+            assertTrue(e.message!!.contains("32 bits"), e.message)
+            assertEquals(0, input.refCnt())
+            assertNull(readFrame(channel))
+        }
+        // 第5个字节分开到达时同样拒绝
+        channel.writeInbound(Unpooled.wrappedBuffer(byteArrayOf(0x80.toByte(), 0x80.toByte(), 0x80.toByte(), 0x80.toByte())))
+        assertThrows(CorruptedFrameException::class.java) {
+            channel.writeInbound(Unpooled.wrappedBuffer(byteArrayOf(0x20, 1, 2, 3)))
+        }
+        assertNull(readFrame(channel))
+        // 出错后继续解码后续帧
+        val p = payload(10)
+        channel.writeInbound(Unpooled.wrappedBuffer(frame(p)))
+        assertArrayEquals(p, readFrame(channel))
+        assertFalse(channel.finish())
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile DnsResolverTest.kt
+ * LastUpdate 2026-10-18 23:41:40
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.network
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.net.UnknownHostException
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * DnsResolver 使用可控的 HostResolver 测试缓存、失败缓存、并发合并与轮询。
+ */
+class DnsResolverTest {
+
+    private val a1 = NetworkAddress.parse("10.0.0.1")
+    private val a2 = NetworkAddress.parse("10.0.0.2")
+    private val a3 = NetworkAddress.parse("10.0.0.3")
+
+    // 在调用线程中执行解析，使结果可确定
+    private val direct = Executor { it.run() }
+
+    // 记录每个主机名被查询的次数
+    private class FakeBackend(private val hosts: Map<String, List<NetworkAddress>>) : HostResolver {
+        val calls = ConcurrentHashMap<String, AtomicInteger>()
+
+        override fun resolve(host: String): List<NetworkAddress> {
+            calls.computeIfAbsent(host) { AtomicInteger() }.incrementAndGet()
+            return hosts[host] ?: throw UnknownHostException(host)
+        }
+
+        fun calls(host: String): Int = calls[host]?.get() ?: 0
+    }
+
+    private fun resolver(backend: HostResolver, ttl: Duration, negativeTtl: Duration, executor: Executor = direct) =
+        DnsResolver(backend, ttl, negativeTtl, executor, DnsResolver.DEFAULT_MAX_ENTRIES)
+
+    @Test
+    fun cachesUntilTtlExpires() {
+        val backend = FakeBackend(mapOf("example.test" to listOf(a1)))
+        val resolver = resolver(backend, Duration.ofMillis(200), Duration.ZERO)
+
+        assertEquals(a1, resolver.resolveNow("example.test"))
+        assertEquals(a1, resolver.resolveNow("Example.TEST "))
+        assertEquals(1, backend.calls("example.test"))
+        assertEquals(1, resolver.size)
+
+        Thread.sleep(300)
+        assertEquals(a1, resolver.resolveNow("example.test"))
+        assertEquals(2, backend.calls("example.test"))
+    }
+
+    @Test
+    fun zeroTtlDisablesCache() {
+        val backend = FakeBackend(mapOf("example.test" to listOf(a1)))
+        val resolver = resolver(backend, Duration.ZERO, Duration.ZERO)
+        resolver.resolveNow("example.test")
+        resolver.resolveNow("example.test")
+        assertEquals(2, backend.calls("example.test"))
+        assertEquals(0, resolver.size)
+    }
+
+    @Test
+    fun cachesUnknownHost() {
+        val backend = FakeBackend(emptyMap())
+        val resolver = resolver(backend, Duration.ofSeconds(30), Duration.ofMillis(200))
+
+        val first = assertThrows(NetworkException::class.java) { resolver.resolveNow("missing.test") }
+        assertTrue(first.cause is UnknownHostException)
+        val second = assertThrows(NetworkException::class.java) { resolver.resolveNow("missing.test") }
+        assertTrue(second.cause is UnknownHostException)
+        assertEquals(1, backend.calls("missing.test"))
+
+        Thread.sleep(300)
+        assertThrows(NetworkException::class.java) { resolver.resolveNow("missing.test") }
+        assertEquals(2, backend.calls("missing.test"))
+    }
+
+    @Test
+    fun doesNotCacheOtherFailures() {
+        val calls = AtomicInteger()
+        val backend = HostResolver {
+            calls.incrementAndGet()
+            throw IllegalStateException("backend down")
+        }
+        val resolver = resolver(backend, Duration.ofSeconds(30), Duration.ofSeconds(30))
+        assertThrows(NetworkException::class.java) { resolver.resolveNow("flaky.test") }
+        assertThrows(NetworkException::class.java) { resolver.resolveNow("flaky.test") }
+        assertEquals(2, calls.get())
+        assertEquals(0, resolver.size)
+    }
+
+    @Test
+    fun deduplicatesConcurrentLookups() {
+        val started = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        val calls = AtomicInteger()
+        val backend = HostResolver {
+            calls.incrementAndGet()
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            listOf(a1, a2)
+        }
+        val executor = Executors.newFixedThreadPool(4)
+        try {
+            val resolver = resolver(backend, Duration.ofSeconds(30), Duration.ZERO, executor)
+            val first = resolver.resolveAll("slow.test")
+            assertTrue(started.await(5, TimeUnit.SECONDS))
+            val futures = List(8) { resolver.resolveAll("slow.test") }
+            assertTrue(futures.none { it.isDone })
+            release.countDown()
+
+            val expected = listOf(a1, a2)
+            assertEquals(expected, first.get(5, TimeUnit.SECONDS))
+            futures.forEach { assertEquals(expected, it.get(5, TimeUnit.SECONDS)) }
+            assertEquals(1, calls.get())
+            // 完成后走缓存
+            assertEquals(expected, resolver.resolveAll("slow.test").getNow(null))
+            assertEquals(1, calls.get())
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    fun rotatesAddresses() {
+        val backend = FakeBackend(mapOf("multi.test" to listOf(a1, a2, a3)))
+        val resolver = resolver(backend, Duration.ofSeconds(30), Duration.ZERO)
+
+        val picked = List(6) { resolver.resolveNow("multi.test") }
+        assertEquals(listOf(a1, a2, a3, a1, a2, a3), picked)
+        assertEquals("multi.test", picked[0].domain)
+
+        assertEquals(listOf(a1, a2, a3), resolver.resolveAll("multi.test").join())
+        assertEquals(listOf(a1, a2, a3), resolver.resolveAllRotated("multi.test").join())
+        assertEquals(listOf(a2, a3, a1), resolver.resolveAllRotated("multi.test").join())
+        assertEquals(a3, resolver.resolveNow("multi.test"))
+        assertEquals(1, backend.calls("multi.test"))
+    }
+
+    @Test
+    fun literalsBypassBackend() {
+        val backend = FakeBackend(emptyMap())
+        val resolver = resolver(backend, Duration.ofSeconds(30), Duration.ofSeconds(30))
+        assertEquals(a1, resolver.resolveNow("10.0.0.1"))
+        assertEquals(NetworkAddress.parse("::1"), resolver.resolveNow("::1"))
+        assertTrue(backend.calls.isEmpty())
+        assertEquals(0, resolver.size)
+    }
+
+    @Test
+    fun invalidateForcesLookup() {
+        val backend = FakeBackend(mapOf("example.test" to listOf(a1)))
+        val resolver = resolver(backend, Duration.ofSeconds(30), Duration.ZERO)
+        resolver.resolveNow("example.test")
+        resolver.invalidate("EXAMPLE.test")
+        resolver.resolveNow("example.test")
+        assertEquals(2, backend.calls("example.test"))
+
+        resolver.clear()
+        assertEquals(0, resolver.size)
+    }
+
+    @Test
+    fun rejectedExecutionFailsFuture() {
+        val resolver = resolver(FakeBackend(emptyMap()), Duration.ofSeconds(30), Duration.ZERO) {
+            throw RejectedExecutionException("closed")
+        }
+        val future: CompletableFuture<NetworkAddress> = resolver.resolve("example.test")
+        assertTrue(future.isCompletedExceptionally)
+        // 失败不会残留在并发合并表中，之后的调用重新提交
+        assertTrue(resolver.resolve("example.test").isCompletedExceptionally)
+        // IP字面量不经过线程池
+        assertEquals(a1, resolver.resolveNow("10.0.0.1"))
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile IpPrefixTrieTest.kt
+ * LastUpdate 2026-10-18 23:39:57
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.network
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.Random
+
+/**
+ * IpPrefixTrie 最长前缀匹配与暴力搜索的对比测试，以及 CidrSet 的基本行为。
+ */
+class IpPrefixTrieTest {
+
+    private fun bruteForce(blocks: Map<CidrBlock, Int>, address: NetworkAddress): CidrBlock? {
+        return blocks.keys.filter { it.contains(address) }.maxByOrNull { it.prefixLength }
+    }
+
+    private fun randomIpv4(random: Random) = NetworkAddress.ofIpv4(random.nextInt())
+
+    // 高位集中在少数几个取值上，使随机前缀之间产生嵌套
+    private fun randomIpv6(random: Random): NetworkAddress {
+        val high = (0x20010db8L shl 32) or (random.nextInt(4).toLong() shl 16) or (random.nextLong() ushr 48)
+        return NetworkAddress.ofIpv6(high, random.nextLong())
+    }
+
+    // 在已有前缀内随机填充主机位，命中嵌套前缀和区间边界附近的地址
+    private fun inside(block: CidrBlock, random: Random): NetworkAddress {
+        val address = block.address
+        return if (address.isIpv4) {
+            val host = if (block.prefixLength == 32) 0 else random.nextInt() ushr block.prefixLength
+            NetworkAddress.ofIpv4(address.low.toInt() or host)
+        } else {
+            val length = block.prefixLength
+            val high = when {
+                length >= 64 -> address.high
+                length == 0 -> random.nextLong()
+                else -> address.high or (random.nextLong() ushr length)
+            }
+            val low = when {
+                length <= 64 -> random.nextLong()
+                length == 128 -> address.low
+                else -> address.low or (random.nextLong() ushr (length - 64))
+            }
+            NetworkAddress.ofIpv6(high, low)
+        }
+    }
+
+    private fun randomBlocks(random: Random, count: Int, ipv4: Boolean): Map<CidrBlock, Int> {
+        val max = if (ipv4) 32 else 128
+        val blocks = LinkedHashMap<CidrBlock, Int>()
+        while (blocks.size < count) {
+            val block = if (blocks.isNotEmpty() && random.nextInt(3) == 0) {
+                // 在已有前缀下派生更长的前缀
+                val parent = blocks.keys.elementAt(random.nextInt(blocks.size))
+                val length = parent.prefixLength + random.nextInt(max - parent.prefixLength + 1)
+                CidrBlock.of(inside(parent, random), length)
+            } else {
+                val address = if (ipv4) randomIpv4(random) else randomIpv6(random)
+                CidrBlock.of(address, random.nextInt(max + 1).coerceAtLeast(if (ipv4) 4 else 16))
+            }
+            blocks[block] = blocks.size
+        }
+        return blocks
+    }
+
+    private fun checkAgainstBruteForce(ipv4: Boolean, seed: Long) {
+        val random = Random(seed)
+        for (round in 0 until 20) {
+            val blocks = randomBlocks(random, 1 + random.nextInt(200), ipv4)
+            val builder = IpPrefixTrie.builder<Int>()
+            blocks.forEach { (block, value) -> builder.put(block, value) }
+            val trie = builder.build()
+            assertEquals(blocks.size, trie.size)
+            val keys = blocks.keys.toList()
+            for (n in 0 until 2000) {
+                val address = when (n % 3) {
+                    0 -> if (ipv4) randomIpv4(random) else randomIpv6(random)
+                    1 -> inside(keys[random.nextInt(keys.size)], random)
+                    // 前缀起始地址本身及其前一个地址
+                    else -> {
+                        val start = keys[random.nextInt(keys.size)].address
+                        if (random.nextBoolean()) start else if (ipv4) {
+                            NetworkAddress.ofIpv4(start.low.toInt() - 1)
+                        } else {
+                            NetworkAddress.ofIpv6(if (start.low == 0L) start.high - 1 else start.high, start.low - 1)
+                        }
+                    }
+                }
+                val expected = bruteForce(blocks, address)
+                assertEquals(expected, trie.longestMatchBlock(address), address.toCanonicalString())
+                assertEquals(expected?.let { blocks[it] }, trie.longestMatch(address))
+                assertEquals(expected != null, trie.matches(address))
+            }
+        }
+    }
+
+    @Test
+    fun ipv4MatchesBruteForce() {
+        checkAgainstBruteForce(true, 48)
+    }
+
+    @Test
+    fun ipv6MatchesBruteForce() {
+        checkAgainstBruteForce(false, 4806)
+    }
+
+    @Test
+    fun nestedPrefixesPickLongest() {
+        val trie = IpPrefixTrie.builder<String>()
+            .put("0.0.0.0/0", "default")
+            .put("10.0.0.0/8", "a")
+            .put("10.1.0.0/16", "b")
+            .put("10.1.2.0/24", "c")
+            .put("10.1.2.3", "d")
+            .put("::/0", "v6")
+            .put("2001:db8::/32", "doc")
+            .build()
+        assertEquals("d", trie.longestMatch(NetworkAddress.parse("10.1.2.3")))
+        assertEquals("c", trie.longestMatch(NetworkAddress.parse("10.1.2.4")))
+        assertEquals("b", trie.longestMatch(NetworkAddress.parse("10.1.255.255")))
+        assertEquals("a", trie.longestMatch(NetworkAddress.parse("10.255.0.0")))
+        assertEquals("default", trie.longestMatch(NetworkAddress.parse("11.0.0.0")))
+        assertEquals("doc", trie.longestMatch(NetworkAddress.parse("2001:db8:ffff::1")))
+        assertEquals("v6", trie.longestMatch(NetworkAddress.parse("2001:db9::")))
+        // IPv4映射地址不匹配IPv4前缀
+        assertEquals("v6", trie.longestMatch(NetworkAddress.parse("::ffff:10.1.2.3")))
+    }
+
+    @Test
+    fun builderReplacesAndRemoves() {
+        val trie = IpPrefixTrie.builder<Int>()
+            .put("192.168.0.0/16", 1)
+            .put("192.168.1.0/24", 2)
+            .put("192.168.0.0/16", 3)
+            .build()
+        assertEquals(2, trie.size)
+        assertEquals(3, trie[CidrBlock.parse("192.168.0.0/16")])
+        assertNull(trie[CidrBlock.parse("192.168.2.0/24")])
+
+        val removed = trie.toBuilder().remove(CidrBlock.parse("192.168.1.0/24")).build()
+        assertEquals(3, removed.longestMatch(NetworkAddress.parse("192.168.1.1")))
+        assertEquals(2, trie.longestMatch(NetworkAddress.parse("192.168.1.1")))
+        assertTrue(IpPrefixTrie.empty<Int>().size == 0)
+        assertFalse(IpPrefixTrie.empty<Int>().matches(NetworkAddress.parse("1.2.3.4")))
+    }
+
+    @Test
+    fun cidrSetTracksUpdates() {
+        val set = CidrSet.of("10.0.0.0/8", "fd00::/8")
+        assertTrue(set.contains(NetworkAddress.parse("10.2.3.4")))
+        assertTrue(set.contains(NetworkAddress.parse("fd12::1")))
+        assertFalse(set.contains(NetworkAddress.parse("11.0.0.1")))
+
+        val snapshot = set.snapshot()
+        assertTrue(set.add("10.2.0.0/16"))
+        assertFalse(set.add("10.2.0.0/16"))
+        assertEquals(CidrBlock.parse("10.2.0.0/16"), set.match(NetworkAddress.parse("10.2.3.4")))
+        // 旧快照不受后续修改影响
+        assertEquals(CidrBlock.parse("10.0.0.0/8"), snapshot.longestMatchBlock(NetworkAddress.parse("10.2.3.4")))
+
+        assertTrue(set.remove(CidrBlock.parse("10.0.0.0/8")))
+        assertFalse(set.contains(NetworkAddress.parse("10.3.0.0")))
+        set.clear()
+        assertSame(null, set.match(NetworkAddress.parse("10.2.3.4")))
+    }
+
+    @Test
+    fun cidrBlockClearsHostBits() {
+        assertEquals("10.1.0.0/16", CidrBlock.parse("10.1.2.3/16").toString())
+        assertEquals("2001:db8::/32", CidrBlock.parse("2001:db8:1::5/32").toString())
+        assertEquals("1.2.3.4/32", CidrBlock.parse("1.2.3.4").toString())
+        assertEquals(CidrBlock.parse("10.1.0.0/16"), CidrBlock.parse("10.1.255.255/16"))
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile NetworkAddressTest.kt
+ * LastUpdate 2026-10-18 23:37:54
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.network
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.net.InetAddress
+import java.util.Random
+
+/**
+ * NetworkAddress 字面量解析与 RFC 5952 规范文本输出测试。
+ */
+class NetworkAddressTest {
+
+    private fun canonical(ip: String) = NetworkAddress.parse(ip).toCanonicalString()
+
+    @Test
+    fun parsesValidIpv4() {
+        val address = NetworkAddress.parse("192.168.1.10")
+        assertTrue(address.isIpv4)
+        assertEquals(0xC0A8010A.toInt(), address.toIpv4Int())
+        assertEquals("0.0.0.0", canonical("0.0.0.0"))
+        assertEquals("255.255.255.255", canonical("255.255.255.255"))
+        assertEquals("1.2.3.4", canonical(" 1.2.3.4\t"))
+        // 与旧版正则保持兼容，前导零按十进制解析
+        assertEquals("10.1.2.3", canonical("010.001.002.003"))
+    }
+
+    @Test
+    fun rejectsInvalidIpv4() {
+        val invalid = listOf(
+            "", " ", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1.2.3.256", "1..2.3", ".1.2.3", "1.2.3.",
+            "1.2.3.4 5", "0001.2.3.4", "a.b.c.d", "1.2.3.-4", "+1.2.3.4", "1.2.3.4/24"
+        )
+        for (ip in invalid) {
+            assertNull(NetworkAddress.tryParse(ip), ip)
+            assertFalse(NetworkAddress.isIp(ip), ip)
+        }
+        assertThrows(NetworkException::class.java) { NetworkAddress.parse("300.1.1.1") }
+    }
+
+    @Test
+    fun parsesValidIpv6() {
+        val valid = mapOf(
+            "::" to "::",
+            "::1" to "::1",
+            "1::" to "1::",
+            "1:2:3:4:5:6:7:8" to "1:2:3:4:5:6:7:8",
+            "2001:0DB8:0000:0000:0000:0000:0000:0001" to "2001:db8::1",
+            "2001:db8::" to "2001:db8::",
+            "1:2:3:4:5:6:7::" to "1:2:3:4:5:6:7:0",
+            "::2:3:4:5:6:7:8" to "0:2:3:4:5:6:7:8",
+            "fe80::1:2" to "fe80::1:2",
+            "::ffff:192.0.2.1" to "::ffff:192.0.2.1",
+            "::FFFF:c000:0201" to "::ffff:192.0.2.1",
+            "64:ff9b::192.0.2.33" to "64:ff9b::c000:221",
+            "1:2:3:4:5:6:1.2.3.4" to "1:2:3:4:5:6:102:304",
+            "::1.2.3.4" to "::102:304",
+        )
+        for ((ip, expected) in valid) {
+            val address = NetworkAddress.tryParse(ip)
+            assertTrue(address != null && address.isIpv6, ip)
+            assertEquals(expected, address!!.toCanonicalString(), ip)
+            assertArrayEquals(InetAddress.getByName(ip).address.let { toV6(it) }, address.toByteArray())
+        }
+    }
+
+    @Test
+    fun rejectsInvalidIpv6() {
+        val invalid = listOf(
+            ":", ":::", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7:8::", "::1:2:3:4:5:6:7:8",
+            "1::2::3", "::1::", "1:::2", ":1::2", "1::2:", "1:2:3:4:5:6:7:", ":1:2:3:4:5:6:7:8",
+            "12345::", "1:2:3:4:5:6:7:8g", "g::1", "1:2:3:4:5:6:7:1.2.3.4", "::1.2.3", "::1.2.3.4:5",
+            "1.2.3.4::", "::256.1.1.1", "fe80::1%eth0", "[::1]", "::1/64"
+        )
+        for (ip in invalid) {
+            assertNull(NetworkAddress.tryParse(ip), ip)
+        }
+        assertThrows(NetworkException::class.java) { NetworkAddress.parse("1::2::3") }
+    }
+
+    @Test
+    fun formatsRfc5952Canonical() {
+        // 小写并省略前导零
+        assertEquals("2001:db8::a:b", canonical("2001:DB8:0:0:0:0:000A:000b"))
+        // 压缩最长的连续零分组
+        assertEquals("1:0:0:1::1", canonical("1:0:0:1:0:0:0:1"))
+        assertEquals("1::1:0:0:1", canonical("1:0:0:0:1:0:0:1"))
+        // 长度相同时压缩第一组
+        assertEquals("1::2:0:0:3:4", canonical("1:0:0:2:0:0:3:4"))
+        // 单个零分组不压缩
+        assertEquals("2001:db8:0:1:1:1:1:1", canonical("2001:db8::1:1:1:1:1"))
+        assertEquals("1:0:2:0:3:0:4:0", canonical("1:0:2:0:3:0:4:0"))
+        // 首尾零分组
+        assertEquals("0:0:0:1::", canonical("0:0:0:1:0:0:0:0"))
+        assertEquals("::1:0:0:0", canonical("0:0:0:0:1:0:0:0"))
+        assertEquals("1::", canonical("1:0:0:0:0:0:0:0"))
+        // 规范文本重新解析得到相同地址
+        val address = NetworkAddress.parse("2001:DB8:0:0:8:800:200C:417A")
+        assertEquals("2001:db8::8:800:200c:417a", address.toCanonicalString())
+        assertEquals(address, NetworkAddress.parse(address.toCanonicalString()))
+    }
+
+    @Test
+    fun matchesInetAddressForRandomAddresses() {
+        val random = Random(47)
+        for (n in 0 until 2000) {
+            val bytes = ByteArray(16)
+            random.nextBytes(bytes)
+            // 随机清零若干分组以覆盖各种压缩情况
+            for (g in 0 until 8) {
+                if (random.nextInt(3) == 0) {
+                    bytes[g * 2] = 0
+                    bytes[g * 2 + 1] = 0
+                }
+            }
+            val address = NetworkAddress.of(bytes)
+            assertArrayEquals(bytes, address.toByteArray())
+            val text = address.toCanonicalString()
+            assertArrayEquals(toV6(InetAddress.getByName(text).address), bytes, text)
+            assertEquals(address, NetworkAddress.parse(text))
+            assertEquals(address.hashCode(), NetworkAddress.parse(text).hashCode())
+        }
+    }
+
+    @Test
+    fun convertsIpv4Forms() {
+        val address = NetworkAddress.parse("10.20.30.40")
+        assertArrayEquals(byteArrayOf(10, 20, 30, 40), address.toIpv4ByteArray())
+        assertEquals(address, NetworkAddress.ofIpv4(byteArrayOf(10, 20, 30, 40)))
+        assertEquals(address, NetworkAddress.ofIpv4(0x0A141E28))
+        assertEquals(address, NetworkAddress.of(InetAddress.getByName("10.20.30.40")))
+        assertEquals("10.20.30.40", NetworkAddress.ofIpv4(0x0A141E28).ip)
+        assertNotEquals(address, NetworkAddress.parse("::ffff:10.20.30.40"))
+        assertTrue(NetworkAddress.parse("::ffff:10.20.30.40").isIpv4Mapped)
+    }
+
+    @Test
+    fun classifiesAddresses() {
+        assertTrue(NetworkAddress.parse("127.0.0.1").isLoopback)
+        assertTrue(NetworkAddress.parse("::1").isLoopback)
+        assertTrue(NetworkAddress.parse("0.0.0.0").isAnyLocal)
+        assertTrue(NetworkAddress.parse("::").isAnyLocal)
+        assertTrue(NetworkAddress.parse("169.254.1.1").isLinkLocal)
+        assertTrue(NetworkAddress.parse("fe80::1").isLinkLocal)
+        assertTrue(NetworkAddress.parse("10.0.0.1").isPrivate)
+        assertTrue(NetworkAddress.parse("172.31.255.255").isPrivate)
+        assertFalse(NetworkAddress.parse("172.32.0.0").isPrivate)
+        assertTrue(NetworkAddress.parse("192.168.0.1").isPrivate)
+        assertTrue(NetworkAddress.parse("fd00::1").isPrivate)
+        assertTrue(NetworkAddress.parse("224.0.0.1").isMulticast)
+        assertTrue(NetworkAddress.parse("ff02::1").isMulticast)
+        assertFalse(NetworkAddress.parse("8.8.8.8").isPrivate)
+    }
+
+    // InetAddress 对IPv4映射地址返回4字节，统一展开为16字节
+    private fun toV6(bytes: ByteArray): ByteArray {
+        if (bytes.size == 16) {
+            return bytes
+        }
+        return ByteArray(16).also {
+            it[10] = -1
+            it[11] = -1
+            bytes.copyInto(it, 12)
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile RandomIndexTest.kt
+ * LastUpdate 2026-10-19 00:23:03
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.random
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.Random
+import kotlin.math.sqrt
+
+/**
+ * [forEachRandomIndex] 及基于它的 [randomString]、[randomStrings]、[randomBytes] 的范围与分布测试。
+ *
+ * 分布检验使用固定种子的 Random，卡方阈值取约 1e-6 显著性水平（Wilson–Hilferty 近似），结果可复现。
+ */
+class RandomIndexTest {
+
+    private val bounds = listOf(1, 2, 3, 5, 10, 62, 64, 100, 129, 200, 255, 256, 257, 1000)
+
+    @Test
+    fun indicesStayInRangeAndCoverEveryValue() {
+        for (bound in bounds) {
+            val random = Random(bound.toLong())
+            val count = bound * 50
+            val seen = IntArray(bound)
+            var expectedSequence = 0
+            forEachRandomIndex(random, bound, count) { i, index ->
+                assertEquals(expectedSequence++, i, "bound=$bound")
+                assertTrue(index in 0..<bound, "bound=$bound index=$index")
+                seen[index]++
+            }
+            assertEquals(count, expectedSequence, "bound=$bound")
+            assertTrue(seen.all { it > 0 }, "bound=$bound")
+        }
+    }
+
+    @Test
+    fun nonPositiveCountDoesNothing() {
+        for (count in listOf(0, -1)) {
+            forEachRandomIndex(Random(1), 10, count) { _, _ -> throw AssertionError("unexpected call") }
+        }
+    }
+
+    @Test
+    fun indicesAreUniform() {
+        for (bound in listOf(3, 10, 62, 100, 200, 300)) {
+            val random = Random(42L + bound)
+            val count = bound * 2000
+            val counts = LongArray(bound)
+            forEachRandomIndex(random, bound, count) { _, index -> counts[index]++ }
+            val expected = count.toDouble() / bound
+            val chiSquare = counts.sumOf { (it - expected) * (it - expected) / expected }
+            val df = bound - 1.0
+            val z = 4.75
+            val term = 1 - 2 / (9 * df) + z * sqrt(2 / (9 * df))
+            val critical = df * term * term * term
+            assertTrue(chiSquare < critical, "bound=$bound chiSquare=$chiSquare critical=$critical")
+        }
+    }
+
+    @Test
+    fun randomStringUsesOnlyAlphabet() {
+        val alphabets = listOf("a", "01", "abc", "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ", "中文字符")
+        for (alphabet in alphabets) {
+            val text = randomString(5000, alphabet)
+            assertEquals(5000, text.length)
+            assertTrue(text.all { it in alphabet }, alphabet)
+            assertEquals(alphabet.toSet(), text.toSet(), alphabet)
+        }
+        assertTrue(randomString(1000).all { it.isLetterOrDigit() && it.code < 128 })
+        assertEquals("", randomString(0, ""))
+    }
+
+    @Test
+    fun randomStringIntoArray() {
+        val into = CharArray(10) { '#' }
+        randomString(6, "xy".toCharArray(), into)
+        assertTrue(into.take(6).all { it == 'x' || it == 'y' })
+        assertEquals("####", String(into, 6, 4))
+        assertThrows(IllegalArgumentException::class.java) { randomString(11, "xy".toCharArray(), into) }
+        assertThrows(IllegalArgumentException::class.java) { randomString(1, CharArray(0)) }
+    }
+
+    @Test
+    fun randomStringsBatch() {
+        val strings = randomStrings(50, 16, "abc")
+        assertEquals(50, strings.size)
+        assertTrue(strings.all { it.length == 16 && it.all { c -> c in "abc" } })
+        assertEquals(List(3) { "" }, randomStrings(3, 0, ""))
+        assertEquals(emptyList<String>(), randomStrings(0, 5))
+        assertThrows(IllegalArgumentException::class.java) { randomStrings(-1, 5) }
+        assertThrows(IllegalArgumentException::class.java) { randomStrings(1, 1, "") }
+    }
+
+    @Test
+    fun randomBytesFromSource() {
+        val source = byteArrayOf(-128, 0, 7, 127)
+        val bytes = randomBytes(4000, source)
+        assertTrue(bytes.all { it in source })
+        assertEquals(source.toSet(), bytes.toSet())
+        assertEquals(0, randomBytes(0, ByteArray(0)).size)
+        assertThrows(IllegalArgumentException::class.java) { randomBytes(1, ByteArray(0)) }
+    }
+}
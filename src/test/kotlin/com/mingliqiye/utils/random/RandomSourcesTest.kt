@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile RandomSourcesTest.kt
+ * LastUpdate 2026-10-19 00:22:12
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.random
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.security.DrbgParameters
+import java.security.SecureRandom
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+
+/**
+ * [RandomSources] 在各 [SecureRandomMode] 下返回的随机源测试。
+ */
+class RandomSourcesTest {
+
+    @AfterEach
+    fun tearDown() {
+        RandomSources.secureMode = SecureRandomMode.THREAD_LOCAL_DRBG
+    }
+
+    private fun <T> onOtherThread(block: () -> T): T = CompletableFuture.supplyAsync(block).get(30, TimeUnit.SECONDS)
+
+    @Test
+    fun defaultModeUsesThreadLocalDrbg() {
+        assertEquals(SecureRandomMode.THREAD_LOCAL_DRBG, RandomSources.secureMode)
+        val random = RandomSources.secure()
+        assertEquals("DRBG", random.algorithm)
+        val parameters = random.parameters as DrbgParameters.Instantiation
+        assertEquals(DrbgParameters.Capability.RESEED_ONLY, parameters.capability)
+        assertTrue(parameters.strength >= 256)
+
+        assertSame(random, RandomSources.secure())
+        assertSame(random, secureRandom)
+        assertNotSame(random, RandomSources.strong())
+        assertNotSame(random, onOtherThread { RandomSources.secure() })
+    }
+
+    @Test
+    fun strongModeUsesSharedStrongInstance() {
+        RandomSources.secureMode = SecureRandomMode.STRONG
+        val random = RandomSources.secure()
+        assertSame(RandomSources.strong(), random)
+        assertSame(random, secureRandom)
+        assertSame(random, onOtherThread { RandomSources.secure() })
+        assertEquals(SecureRandom.getInstanceStrong().algorithm, random.algorithm)
+    }
+
+    @Test
+    fun switchingModeBackRestoresThreadInstance() {
+        val drbg = RandomSources.secure()
+        RandomSources.secureMode = SecureRandomMode.STRONG
+        assertSame(RandomSources.strong(), RandomSources.secure())
+        RandomSources.secureMode = SecureRandomMode.THREAD_LOCAL_DRBG
+        assertSame(drbg, RandomSources.secure())
+    }
+
+    @Test
+    fun strongIsIndependentOfMode() {
+        val strong = RandomSources.strong()
+        for (mode in SecureRandomMode.entries) {
+            RandomSources.secureMode = mode
+            assertSame(strong, RandomSources.strong())
+        }
+    }
+
+    @Test
+    fun nonSecureSources() {
+        assertSame(ThreadLocalRandom.current(), RandomSources.fast())
+        val splittable = RandomSources.splittable()
+        assertSame(splittable, RandomSources.splittable())
+        assertNotSame(splittable, onOtherThread { RandomSources.splittable() })
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 mingliqiye
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ProjectName mingli-utils
+ * ModuleName mingli-utils.test
+ * CurrentFile UUIDTextTest.kt
+ * LastUpdate 2026-10-19 00:14:43
+ * UpdateUser MingLiPro
+ */
+
+
+package com.mingliqiye.utils.uuid
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import java.util.Random
+import java.util.UUID as JUUID
+
+/**
+ * UUID 字符数组解析 [UUID.of] 与 [UUID.writeChars] 的测试，结果与 `java.util.UUID` 对照。
+ */
+class UUIDTextTest {
+
+    private val samples: List<JUUID> = Random(20261019L).let { random ->
+        listOf(JUUID(0L, 0L), JUUID(-1L, -1L)) + List(64) { JUUID(random.nextLong(), random.nextLong()) }
+    }
+
+    @Test
+    fun parsesFromCharArrayWithOffset() {
+        for (expected in samples) {
+            val text = expected.toString()
+            for (candidate in listOf(text, text.uppercase(), text.replace("-", ""), text.replace("-", "").uppercase())) {
+                val chars = "xx${candidate}yyy".toCharArray()
+                val uuid = UUID.of(chars, 2, candidate.length)
+                assertEquals(expected, uuid.getUuid(), candidate)
+                assertEquals(UUID.of(candidate), uuid, candidate)
+            }
+        }
+    }
+
+    @Test
+    fun rejectsBadOffsets() {
+        val chars = JUUID.randomUUID().toString().toCharArray()
+        assertThrows(IndexOutOfBoundsException::class.java) { UUID.of(chars, -1, 36) }
+        assertThrows(IndexOutOfBoundsException::class.java) { UUID.of(chars, 1, 36) }
+        assertThrows(IndexOutOfBoundsException::class.java) { UUID.of(chars, 0, 37) }
+        assertThrows(IndexOutOfBoundsException::class.java) { UUID.of(chars, 37, 0) }
+        assertThrows(IndexOutOfBoundsException::class.java) { UUID.of(chars, 5, 32) }
+        assertThrows(IndexOutOfBoundsException::class.java) { UUID.of(chars, 0, -1) }
+    }
+
+    @Test
+    fun rejectsBadLengthsAndCharacters() {
+        val text = "123e4567-e89b-12d3-a456-426614174000"
+        for (length in listOf(0, 31, 33, 35)) {
+            assertThrows(IllegalArgumentException::class.java) { UUID.of(text.toCharArray(), 0, length) }
+        }
+        assertThrows(IllegalArgumentException::class.java) { UUID.of(text.replace('e', 'g').toCharArray(), 0, 36) }
+        assertThrows(IllegalArgumentException::class.java) { UUID.of(text.replace('4', '٤').toCharArray(), 0, 36) }
+        // 32 位格式中出现连字符
+        assertThrows(IllegalArgumentException::class.java) {
+            UUID.of(("-" + text.replace("-", "").substring(1)).toCharArray(), 0, 32)
+        }
+    }
+
+    @Test
+    fun rejectsMisplacedHyphens() {
+        val text = "123e4567-e89b-12d3-a456-426614174000"
+        for (position in UUID.expectedHyphenPositions) {
+            // 连字符替换为十六进制字符
+            val replaced = text.toCharArray().also { it[position] = '0' }
+            assertThrows(IllegalArgumentException::class.java) { UUID.of(replaced, 0, 36) }
+            // 连字符与相邻字符互换位置
+            val shifted = text.toCharArray().also {
+                it[position] = it[position - 1]
+                it[position - 1] = '-'
+            }
+            assertThrows(IllegalArgumentException::class.java) { UUID.of(shifted, 0, 36) }
+        }
+        assertThrows(IllegalArgumentException::class.java) { UUID.of("123e4567e-89b-12d3-a456-426614174000") }
+    }
+
+    @Test
+    fun writeCharsRoundTrip() {
+        for (expected in samples) {
+            val uuid = UUID.of(expected.mostSignificantBits, expected.leastSignificantBits)
+            for (type in UUIDFormatType.entries) {
+                val dest = CharArray(40) { '#' }
+                val written = uuid.writeChars(dest, 3, type.isUpper, type.isnotSpace)
+                assertEquals(if (type.isnotSpace) 32 else 36, written)
+                assertEquals("###", String(dest, 0, 3))
+                assertEquals("#".repeat(40 - 3 - written), String(dest, 3 + written, 40 - 3 - written))
+
+                val text = String(dest, 3, written)
+                var javaText = expected.toString()
+                if (type.isnotSpace) javaText = javaText.replace("-", "")
+                if (type.isUpper) javaText = javaText.uppercase()
+                assertEquals(javaText, text)
+                assertEquals(uuid.getString(type), text)
+                assertEquals(uuid, UUID.of(dest, 3, written))
+            }
+        }
+    }
+}